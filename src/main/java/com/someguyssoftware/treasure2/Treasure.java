@@ -43,6 +43,7 @@ import com.someguyssoftware.treasure2.capability.KeyRingStorage;
 import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
 import com.someguyssoftware.treasure2.charm.TreasureCharms;
 import com.someguyssoftware.treasure2.client.gui.GuiHandler;
+import com.someguyssoftware.treasure2.command.SimulateLootCommand;
 import com.someguyssoftware.treasure2.command.SpawnCharmCommand;
 import com.someguyssoftware.treasure2.command.SpawnChestCommand;
 import com.someguyssoftware.treasure2.command.SpawnPitCommand;
@@ -51,6 +52,7 @@ import com.someguyssoftware.treasure2.command.SpawnPitStructureOnlyCommand;
 import com.someguyssoftware.treasure2.command.SpawnRuinsCommand;
 import com.someguyssoftware.treasure2.command.SpawnWellStructureCommand;
 import com.someguyssoftware.treasure2.command.SpawnWitherTreeCommand;
+import com.someguyssoftware.treasure2.command.TreasureStatsCommand;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
 import com.someguyssoftware.treasure2.eventhandler.AnvilEventHandler;
@@ -72,10 +74,7 @@ import com.someguyssoftware.treasure2.material.TreasureCharmableMaterials;
 import com.someguyssoftware.treasure2.meta.TreasureMetaManager;
 import com.someguyssoftware.treasure2.network.CharmMessageHandlerOnClient;
 import com.someguyssoftware.treasure2.network.CharmMessageToClient;
-import com.someguyssoftware.treasure2.network.PoisonMistMessageHandlerOnServer;
-import com.someguyssoftware.treasure2.network.PoisonMistMessageToServer;
-import com.someguyssoftware.treasure2.network.WitherMistMessageHandlerOnServer;
-import com.someguyssoftware.treasure2.network.WitherMistMessageToServer;
+import com.someguyssoftware.treasure2.network.CharmStateSync;
 import com.someguyssoftware.treasure2.world.gen.structure.TreasureDecayManager;
 import com.someguyssoftware.treasure2.world.gen.structure.TreasureTemplateManager;
 import com.someguyssoftware.treasure2.worldgen.GemOreWorldGenerator;
@@ -201,12 +200,7 @@ public class Treasure extends AbstractMod {
 		// register the GUI handler
 		NetworkRegistry.INSTANCE.registerGuiHandler(this, new GuiHandler());
 
-		int PARTICLE_MESSAGE_ID = 14;
 		simpleNetworkWrapper = NetworkRegistry.INSTANCE.newSimpleChannel("treasure2_channel");
-		simpleNetworkWrapper.registerMessage(PoisonMistMessageHandlerOnServer.class, PoisonMistMessageToServer.class,
-				PARTICLE_MESSAGE_ID, Side.SERVER);
-		simpleNetworkWrapper.registerMessage(WitherMistMessageHandlerOnServer.class, WitherMistMessageToServer.class,
-				15, Side.SERVER);
 		simpleNetworkWrapper.registerMessage(CharmMessageHandlerOnClient.class, CharmMessageToClient.class,
 				25, Side.CLIENT);
 
@@ -244,6 +238,7 @@ public class Treasure extends AbstractMod {
 			equipmentCharmHandler = new HotbarEquipmentCharmHandler();
 		}
 		MinecraftForge.EVENT_BUS.register(new CharmEventHandler(equipmentCharmHandler));
+		MinecraftForge.EVENT_BUS.register(CharmStateSync.getInstance());
 		
 		TreasureCharms.init();
 	}
@@ -260,6 +255,9 @@ public class Treasure extends AbstractMod {
 		// add a show version command
 		event.registerServerCommand(new ShowVersionCommand(this));
 
+		// add the generation metrics command
+		event.registerServerCommand(new TreasureStatsCommand());
+
 		/*
 		 * FOR DEBUGGING ONLY register additional commands
 		 */
@@ -271,6 +269,7 @@ public class Treasure extends AbstractMod {
 		event.registerServerCommand(new SpawnWitherTreeCommand());
 		event.registerServerCommand(new SpawnRuinsCommand());
 		event.registerServerCommand(new SpawnCharmCommand());		
+		event.registerServerCommand(new SimulateLootCommand());
 	}
 
 	/**
@@ -309,6 +308,9 @@ public class Treasure extends AbstractMod {
 		// perform any post init
 		super.postInit(event);
 
+		// resolve the pouchable items now that all the items are registered
+		TreasureConfig.WEALTH.resolvePouchables();
+
 		// associate painting items to painting blocks and vice versa
 		((PaintingItem) TreasureItems.PAINTING_BLOCKS_BRICKS).setPaintingBlock(TreasureBlocks.PAINTING_BLOCKS_BRICKS);
 		((PaintingItem) TreasureItems.PAINTING_BLOCKS_COBBLESTONE)
@@ -0,0 +1,60 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.biome;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.someguyssoftware.gottschcore.biome.BiomeHelper;
+import com.someguyssoftware.treasure2.config.IBiomesConfig;
+
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+/**
+ * The biomes allowed by a biomes config, compiled into a map by biome.
+ * A biome is allowed if it is white listed by name, or is not black listed by name and is allowed by the biome type lists.
+ * Biomes registered after the config is compiled are evaluated on first use.
+ * The map is keyed by the biome itself rather than its ID, as a save may remap the biome IDs after the config is compiled.
+ */
+public class BiomeEligibility {
+	private final IBiomesConfig biomes;
+	private final Map<Biome, Boolean> allowed = new IdentityHashMap<>();
+
+	/**
+	 *
+	 * @param biomes
+	 */
+	public BiomeEligibility(IBiomesConfig biomes) {
+		this.biomes = biomes;
+		for (Biome biome : ForgeRegistries.BIOMES.getValuesCollection()) {
+			isAllowed(biome);
+		}
+	}
+
+	/**
+	 *
+	 * @param biome
+	 * @return
+	 */
+	public boolean isAllowed(Biome biome) {
+		Boolean isAllowed = allowed.get(biome);
+		if (isAllowed == null) {
+			isAllowed = evaluate(biome);
+			allowed.put(biome, isAllowed);
+		}
+		return isAllowed;
+	}
+
+	private boolean evaluate(Biome biome) {
+		TreasureBiomeHelper.Result result = TreasureBiomeHelper.isBiomeAllowed(biome, biomes.getWhiteList(), biomes.getBlackList());
+		if (result == TreasureBiomeHelper.Result.BLACK_LISTED) {
+			return false;
+		}
+		if (result == TreasureBiomeHelper.Result.WHITE_LISTED) {
+			return true;
+		}
+		return BiomeHelper.isBiomeAllowed(biome, biomes.getTypeWhiteList(), biomes.getTypeBlackList());
+	}
+}
@@ -9,10 +9,13 @@ import java.util.List;
 import com.someguyssoftware.gottschcore.block.AbstractModContainerBlock;
 import com.someguyssoftware.gottschcore.enums.Rotate;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.chest.ChestRenderState;
 import com.someguyssoftware.treasure2.chest.ILockSlot;
 import com.someguyssoftware.treasure2.chest.TreasureChestType;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.Rarity;
 import com.someguyssoftware.treasure2.lock.LockState;
+import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
 import net.minecraft.block.material.Material;
@@ -29,8 +32,13 @@ import net.minecraft.util.Mirror;
 import net.minecraft.util.Rotation;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.ChunkCache;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.property.ExtendedBlockState;
+import net.minecraftforge.common.property.IExtendedBlockState;
+import net.minecraftforge.common.property.IUnlistedProperty;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -40,6 +48,31 @@ import net.minecraftforge.fml.relauncher.SideOnly;
  */
 public abstract class AbstractChestBlock extends AbstractModContainerBlock implements ITreasureBlock {
 	public static final PropertyEnum<EnumFacing> FACING = PropertyDirection.create("facing", EnumFacing.class);
+
+	/*
+	 * what the baked block model of the chest draws
+	 */
+	public static final IUnlistedProperty<ChestRenderState> RENDER_STATE = new IUnlistedProperty<ChestRenderState>() {
+		@Override
+		public String getName() {
+			return "render_state";
+		}
+
+		@Override
+		public boolean isValid(ChestRenderState value) {
+			return true;
+		}
+
+		@Override
+		public Class<ChestRenderState> getType() {
+			return ChestRenderState.class;
+		}
+
+		@Override
+		public String valueToString(ChestRenderState value) {
+			return value.toString();
+		}
+	};
 	/*
 	 *  the class of the tileEntityClass this BlockChest should use.
 	 */
@@ -158,11 +191,31 @@ public abstract class AbstractChestBlock extends AbstractModContainerBlock imple
 	}
 	
 	/**
-	 * Render using a TESR.
+	 * Render using the baked chest model while the chest is idle, and a TESR while it is animated.
 	 */
 	@Override
 	public EnumBlockRenderType getRenderType(IBlockState iBlockState) {
-		return EnumBlockRenderType.ENTITYBLOCK_ANIMATED;
+		return TreasureConfig.CHESTS.enableBakedChestModels ? EnumBlockRenderType.MODEL : EnumBlockRenderType.ENTITYBLOCK_ANIMATED;
+	}
+
+	/**
+	 * 
+	 */
+	@Override
+	public IBlockState getExtendedState(IBlockState state, IBlockAccess world, BlockPos pos) {
+		if (!(state instanceof IExtendedBlockState)) {
+			return state;
+		}
+		// chunk rebuilds must not create tile entities off the client thread
+		boolean isChunkRebuild = world instanceof ChunkCache;
+		TileEntity tileEntity = isChunkRebuild ? ((ChunkCache) world).getTileEntity(pos, Chunk.EnumCreateEntityType.CHECK) : world.getTileEntity(pos);
+		if (!(tileEntity instanceof AbstractTreasureChestTileEntity)) {
+			return state;
+		}
+		AbstractTreasureChestTileEntity chestTileEntity = (AbstractTreasureChestTileEntity) tileEntity;
+		// the snapshot is taken on the client thread, so the lock states and lid angles are not read here
+		return ((IExtendedBlockState) state).withProperty(RENDER_STATE,
+				isChunkRebuild ? chestTileEntity.updateChunkRenderState() : chestTileEntity.getRenderState());
 	}
 	
 	/**
@@ -284,7 +337,7 @@ public abstract class AbstractChestBlock extends AbstractModContainerBlock imple
 	 */
 	@Override
 	protected BlockStateContainer createBlockState() {
-		return new BlockStateContainer(this, new IProperty[] {FACING});
+		return new ExtendedBlockState(this, new IProperty[] {FACING}, new IUnlistedProperty[] {RENDER_STATE});
 	}
 	
 	/**
@@ -9,13 +9,17 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.someguyssoftware.gottschcore.block.ModBlock;
+import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.registry.WishingWellRegistry;
 
 import net.minecraft.block.SoundType;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.Item;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 
 /**
  * @author Mark Gottschling on Sep 19, 2014
@@ -43,4 +47,26 @@ public class DesertWishingWellBlock extends ModBlock implements IWishingWellBloc
 	public Item getItemDropped(IBlockState state, Random rand, int fortune) {
         return Item.getItemFromBlock(Blocks.SANDSTONE);
     }
+
+	/**
+	 * Registers the block in the wishing well index.
+	 */
+	@Override
+	public void onBlockAdded(World worldIn, BlockPos pos, IBlockState state) {
+		super.onBlockAdded(worldIn, pos, state);
+		if (WorldInfo.isServerSide(worldIn)) {
+			WishingWellRegistry.getInstance().register(worldIn, pos);
+		}
+	}
+
+	/**
+	 * Unregisters the block from the wishing well index.
+	 */
+	@Override
+	public void breakBlock(World worldIn, BlockPos pos, IBlockState state) {
+		if (WorldInfo.isServerSide(worldIn)) {
+			WishingWellRegistry.getInstance().unregister(worldIn, pos);
+		}
+		super.breakBlock(worldIn, pos, state);
+	}
 }
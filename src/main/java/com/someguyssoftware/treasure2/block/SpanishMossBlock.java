@@ -104,10 +104,6 @@ public class SpanishMossBlock extends BlockBush {
 			public float provideMaxScale() {
 				return 10F;
 			}
-
-			@Override
-			public void doPlayerCollisions(World world) {
-			}
 		};
 		mistParticle.init();
 
@@ -18,13 +18,16 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.someguyssoftware.gottschcore.block.ModBlock;
+import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.registry.WishingWellRegistry;
 
 /**
  * @author Mark Gottschling on Sep 19, 2014
@@ -52,4 +55,26 @@ public class WishingWellBlock extends ModBlock implements IWishingWellBlock {
 	public Item getItemDropped(IBlockState state, Random rand, int fortune) {
         return Item.getItemFromBlock(Blocks.MOSSY_COBBLESTONE);
     }
+
+	/**
+	 * Registers the block in the wishing well index.
+	 */
+	@Override
+	public void onBlockAdded(World worldIn, BlockPos pos, IBlockState state) {
+		super.onBlockAdded(worldIn, pos, state);
+		if (WorldInfo.isServerSide(worldIn)) {
+			WishingWellRegistry.getInstance().register(worldIn, pos);
+		}
+	}
+
+	/**
+	 * Unregisters the block from the wishing well index.
+	 */
+	@Override
+	public void breakBlock(World worldIn, BlockPos pos, IBlockState state) {
+		if (WorldInfo.isServerSide(worldIn)) {
+			WishingWellRegistry.getInstance().unregister(worldIn, pos);
+		}
+		super.breakBlock(worldIn, pos, state);
+	}
 }
@@ -3,6 +3,7 @@
  */
 package com.someguyssoftware.treasure2.block;
 
+import java.util.List;
 import java.util.Random;
 
 import com.someguyssoftware.gottschcore.block.CardinalDirectionFacadeBlock;
@@ -25,8 +26,12 @@ import net.minecraft.block.properties.PropertyEnum;
 import net.minecraft.block.state.BlockStateContainer;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Items;
+import net.minecraft.init.MobEffects;
 import net.minecraft.item.Item;
+import net.minecraft.potion.Potion;
+import net.minecraft.potion.PotionEffect;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.IStringSerializable;
@@ -47,6 +52,15 @@ public class WitherLogSoulBlock extends CardinalDirectionFacadeBlock
 
 	public static final PropertyEnum<Appearance> APPEARANCE = PropertyEnum.create("appearance", Appearance.class);
 
+	/*
+	 * The volume of the mist on the server, modelled on the particles of randomDisplayTick(): they spawn up to 2.5 blocks
+	 * out from the center, drift about half a block and settle up to 3 blocks below their spawn height.
+	 */
+	private static final double MIST_RADIUS = 3.0D;
+	private static final double MIST_DEPTH = 3.0D;
+	private static final double MIST_HEIGHT = 0.25D;
+	private static final int MIST_EFFECT_DURATION = 300;
+
 	/*
 	 * An array of AxisAlignedBB bounds for the bounding box
 	 */
@@ -153,6 +167,39 @@ public class WitherLogSoulBlock extends CardinalDirectionFacadeBlock
 		Minecraft.getMinecraft().effectRenderer.addEffect(mistParticle);
 	}
 
+	/**
+	 * Server-side. Applies the mist effect (wither for the face, otherwise poison) to the players within the mist volume
+	 * that do not already have it. Torches thin out the mist, as they do the particles.
+	 * @param world
+	 * @param pos
+	 * @param state
+	 * @param players the players within the proximity of the emitter
+	 * @param random
+	 */
+	public void inflictMistEffects(World world, BlockPos pos, IBlockState state, List<EntityPlayer> players, Random random) {
+		if (!TreasureConfig.WORLD_GEN.getGeneralProperties().enablePoisonFog) {
+			return;
+		}
+		if (!checkTorchPrevention(world, random, pos.getX(), pos.getY(), pos.getZ())) {
+			return;
+		}
+
+		Appearance appearance = state.getValue(APPEARANCE);
+		double x = pos.getX() + 0.5D;
+		double z = pos.getZ() + 0.5D;
+		// the face particles are spawned on the ground
+		double y = appearance == Appearance.FACE ? pos.getY() - 1.875D : pos.getY();
+		AxisAlignedBB volume = new AxisAlignedBB(x - MIST_RADIUS, y - MIST_DEPTH, z - MIST_RADIUS,
+				x + MIST_RADIUS, y + MIST_HEIGHT, z + MIST_RADIUS);
+		Potion potion = appearance == Appearance.FACE ? MobEffects.WITHER : MobEffects.POISON;
+
+		for (EntityPlayer player : players) {
+			if (player.getEntityBoundingBox().intersects(volume) && player.getActivePotionEffect(potion) == null) {
+				player.addPotionEffect(new PotionEffect(potion, MIST_EFFECT_DURATION, 0));
+			}
+		}
+	}
+
 	/**
 	 * 
 	 */
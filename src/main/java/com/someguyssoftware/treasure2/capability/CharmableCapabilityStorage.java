@@ -41,21 +41,21 @@ import net.minecraftforge.common.capabilities.Capability;
  *
  */
 public class CharmableCapabilityStorage implements Capability.IStorage<ICharmableCapability> {
-	private static final String SOURCE = "source";
-	private static final String EXECUTING = "executing";
-	private static final String BINDABLE = "bindable";
-	private static final String INNATE = "innate";	
-	private static final String IMBUABLE = "imbuable";
-	private static final String IMBUING = "imbuing";	
-	private static final String SOCKETABLE = "socketable";	
-	private static final String BASE_MATERIAL = "baseMaterial";
-	private static final String SOURCE_ITEM = "sourceItem";
-	private static final String MAX_CHARM_LEVEL = "maxCharmLevel";
-	private static final String NAMED_BY_MATERIAL = "namedByMaterial";
-	private static final String NAMED_BY_CHARM = "namedByCharm";
-	private static final String LEVEL_MODIFIER = "levelModifier";
+	static final String SOURCE = "source";
+	static final String EXECUTING = "executing";
+	static final String BINDABLE = "bindable";
+	static final String INNATE = "innate";	
+	static final String IMBUABLE = "imbuable";
+	static final String IMBUING = "imbuing";	
+	static final String SOCKETABLE = "socketable";	
+	static final String BASE_MATERIAL = "baseMaterial";
+	static final String SOURCE_ITEM = "sourceItem";
+	static final String MAX_CHARM_LEVEL = "maxCharmLevel";
+	static final String NAMED_BY_MATERIAL = "namedByMaterial";
+	static final String NAMED_BY_CHARM = "namedByCharm";
+	static final String LEVEL_MODIFIER = "levelModifier";
 	
-	private static final String MAX_SOCKET_SIZE = "maxSocketSize";
+	static final String MAX_SOCKET_SIZE = "maxSocketSize";
 
 	@Override
 	public NBTBase writeNBT(Capability<ICharmableCapability> capability, ICharmableCapability instance, EnumFacing side) {
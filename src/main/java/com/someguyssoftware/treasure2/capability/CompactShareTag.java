@@ -0,0 +1,593 @@
+/*
+ * This file is part of  Treasure2.
+ * Copyright (c) 2022, Mark Gottschling (gottsch)
+ *
+ * All rights reserved.
+ *
+ * Treasure2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Treasure2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Treasure2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+package com.someguyssoftware.treasure2.capability;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.capability.modifier.GreatAdornmentLevelModifier;
+import com.someguyssoftware.treasure2.capability.modifier.LordsAdornmentLevelModifier;
+import com.someguyssoftware.treasure2.capability.modifier.NoLevelModifier;
+import com.someguyssoftware.treasure2.charm.ICharm;
+import com.someguyssoftware.treasure2.charm.ICharmEntity;
+import com.someguyssoftware.treasure2.charm.TreasureCharmRegistry;
+import com.someguyssoftware.treasure2.charm.cost.CostEvaluator;
+import com.someguyssoftware.treasure2.charm.cost.EquipmentCostEvaluator;
+import com.someguyssoftware.treasure2.charm.cost.QualityRuneCostReducerEvaluator;
+import com.someguyssoftware.treasure2.material.CharmableMaterial;
+import com.someguyssoftware.treasure2.material.TreasureCharmableMaterials;
+import com.someguyssoftware.treasure2.rune.IRune;
+import com.someguyssoftware.treasure2.rune.IRuneEntity;
+import com.someguyssoftware.treasure2.rune.TreasureRunes;
+import com.someguyssoftware.treasure2.util.ResourceLocationUtil;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+/**
+ * The share tag of the charmable, runestones and durability capabilities of an item, in a compact versioned encoding.
+ * The capabilities are written by their storages and the tags are then transcoded into a byte array where
+ * charms, runestones, materials, cost evaluators and level modifiers are referenced by integer ids,
+ * the boolean properties are packed into bit flags and the numbers are written as varints.
+ * Any property that the encoding does not know of is carried as nbt, so the storages remain the single
+ * place where the capabilities are read and written.
+ * Decoded share tags are cached by their content, so identical stacks are not decoded again.
+ */
+public final class CompactShareTag {
+	// the capability sections
+	public static final int CHARMABLE = 1;
+	public static final int RUNESTONES = 2;
+	public static final int DURABILITY = 4;
+
+	private static final String DATA_TAG = "compact";
+	private static final int FORMAT_VERSION = 1;
+	private static final int CACHE_SIZE = 256;
+
+	private static final CharmableCapabilityStorage CHARMABLE_STORAGE = new CharmableCapabilityStorage();
+	private static final RunestonesCapabilityStorage RUNESTONES_STORAGE = new RunestonesCapabilityStorage();
+	private static final DurabilityCapabilityStorage DURABILITY_STORAGE = new DurabilityCapabilityStorage();
+
+	private static final InventoryType[] INVENTORY_TYPES = InventoryType.values();
+	private static final String NAME = "name";
+	private static final String COST_CLASS = "costClass";
+	private static final String NESTED_EVALUATOR = "evaluator";
+	private static final String APPLIED_TO = "appliedTo";
+	private static final String AIR = Items.AIR.getRegistryName().toString();
+
+	private static final String[] COST_EVALUATORS = {
+			CostEvaluator.class.getCanonicalName(),
+			EquipmentCostEvaluator.class.getCanonicalName(),
+			QualityRuneCostReducerEvaluator.class.getCanonicalName()
+	};
+	private static final String[] LEVEL_MODIFIERS = {
+			NoLevelModifier.class.getName(),
+			GreatAdornmentLevelModifier.class.getName(),
+			LordsAdornmentLevelModifier.class.getName()
+	};
+
+	// the charmable flags, by bit. the source item flag follows them
+	private static final String[] CHARMABLE_FLAGS = {
+			CharmableCapabilityStorage.SOURCE, CharmableCapabilityStorage.EXECUTING, CharmableCapabilityStorage.BINDABLE,
+			CharmableCapabilityStorage.INNATE, CharmableCapabilityStorage.IMBUABLE, CharmableCapabilityStorage.IMBUING,
+			CharmableCapabilityStorage.SOCKETABLE, CharmableCapabilityStorage.NAMED_BY_MATERIAL, CharmableCapabilityStorage.NAMED_BY_CHARM
+	};
+	private static final int NO_SOURCE_ITEM = 1 << CHARMABLE_FLAGS.length;
+	private static final String[] RUNESTONES_FLAGS = {RunestonesCapabilityStorage.BINDABLE_TAG, RunestonesCapabilityStorage.SOCKETABLE_TAG};
+	private static final String[] DURABILITY_INTEGERS = {
+			DurabilityCapabilityStorage.DURABILITY_TAG, DurabilityCapabilityStorage.MAX_DURABILITY_TAG,
+			DurabilityCapabilityStorage.REPAIRS_TAG, DurabilityCapabilityStorage.MAX_REPAIRS_TAG
+	};
+
+	// charm entity flags. the full double flags follow them
+	private static final int EXCLUSIVE = 1;
+	private static final int HAS_COST_EVALUATOR = 2;
+	private static final int HAS_EXTRAS = 4;
+	private static final int FULL_DOUBLE_SHIFT = 3;
+	private static final String[] CHARM_DOUBLES = {
+			ICharmEntity.MANA, ICharmEntity.MAX_MANA, ICharmEntity.FREQUENCY, ICharmEntity.AMOUNT, ICharmEntity.COOLDOWN, ICharmEntity.RANGE
+	};
+	private static final String[] CHARM_INTEGERS = {ICharmEntity.DURATION, ICharmEntity.RECHARGES, ICharmEntity.MAX_RECHARGES};
+
+	// cost evaluator and runestone entity flags
+	private static final int HAS_NESTED_EVALUATOR = 1;
+	private static final int APPLIED = 1;
+	private static final int HAS_MORE = 2;
+
+	private static final Map<Content, Decoded> CACHE = new LinkedHashMap<Content, Decoded>(CACHE_SIZE, 0.75F, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Content, Decoded> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	private CompactShareTag() {}
+
+	/**
+	 *
+	 * @param stack
+	 * @param sections the capability sections to write
+	 * @return the share tag
+	 */
+	public static NBTTagCompound write(ItemStack stack, int sections) {
+		ICharmableCapability charmable = (sections & CHARMABLE) != 0 ? stack.getCapability(TreasureCapabilities.CHARMABLE, null) : null;
+		IRunestonesCapability runestones = (sections & RUNESTONES) != 0 ? stack.getCapability(TreasureCapabilities.RUNESTONES, null) : null;
+		IDurabilityCapability durability = (sections & DURABILITY) != 0 ? stack.getCapability(TreasureCapabilities.DURABILITY, null) : null;
+
+		ByteBuf buf = Unpooled.buffer();
+		buf.writeByte(FORMAT_VERSION);
+		buf.writeByte((charmable == null ? 0 : CHARMABLE) | (runestones == null ? 0 : RUNESTONES) | (durability == null ? 0 : DURABILITY));
+		if (charmable != null) {
+			writeCharmable(buf, (NBTTagCompound) CHARMABLE_STORAGE.writeNBT(TreasureCapabilities.CHARMABLE, charmable, null));
+		}
+		if (runestones != null) {
+			writeRunestones(buf, (NBTTagCompound) RUNESTONES_STORAGE.writeNBT(TreasureCapabilities.RUNESTONES, runestones, null));
+		}
+		if (durability != null) {
+			writeDurability(buf, (NBTTagCompound) DURABILITY_STORAGE.writeNBT(TreasureCapabilities.DURABILITY, durability, null));
+		}
+
+		byte[] data = new byte[buf.readableBytes()];
+		buf.readBytes(data);
+		NBTTagCompound nbt = new NBTTagCompound();
+		nbt.setByteArray(DATA_TAG, data);
+		return nbt;
+	}
+
+	/**
+	 * Reads a share tag into the capabilities of the stack.
+	 * @param stack
+	 * @param nbt
+	 * @return false if the tag is not a compact share tag
+	 */
+	public static boolean read(ItemStack stack, @Nullable NBTTagCompound nbt) {
+		if (nbt == null || !nbt.hasKey(DATA_TAG, Constants.NBT.TAG_BYTE_ARRAY)) {
+			return false;
+		}
+		Decoded decoded = decode(nbt.getByteArray(DATA_TAG));
+		if (decoded == null) {
+			return true;
+		}
+		if (decoded.charmable != null && stack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
+			CHARMABLE_STORAGE.readNBT(TreasureCapabilities.CHARMABLE, stack.getCapability(TreasureCapabilities.CHARMABLE, null), null, decoded.charmable);
+		}
+		if (decoded.runestones != null && stack.hasCapability(TreasureCapabilities.RUNESTONES, null)) {
+			RUNESTONES_STORAGE.readNBT(TreasureCapabilities.RUNESTONES, stack.getCapability(TreasureCapabilities.RUNESTONES, null), null, decoded.runestones);
+		}
+		if (decoded.durability != null && stack.hasCapability(TreasureCapabilities.DURABILITY, null)) {
+			DURABILITY_STORAGE.readNBT(TreasureCapabilities.DURABILITY, stack.getCapability(TreasureCapabilities.DURABILITY, null), null, decoded.durability);
+		}
+		return true;
+	}
+
+	/**
+	 * NOTE share tags are read on the network thread, so the cache is synchronized.
+	 * @param data
+	 * @return the storage tags of the data, or null if the data can't be read
+	 */
+	private static Decoded decode(byte[] data) {
+		Content content = new Content(data);
+		synchronized (CACHE) {
+			Decoded decoded = CACHE.get(content);
+			if (decoded != null) {
+				return decoded;
+			}
+		}
+
+		Decoded decoded = new Decoded();
+		try {
+			ByteBuf buf = Unpooled.wrappedBuffer(data);
+			int version = buf.readUnsignedByte();
+			if (version != FORMAT_VERSION) {
+				Treasure.LOGGER.warn("unsupported share tag version -> {}", version);
+				return null;
+			}
+			int sections = buf.readUnsignedByte();
+			if ((sections & CHARMABLE) != 0) {
+				decoded.charmable = readCharmable(buf);
+			}
+			if ((sections & RUNESTONES) != 0) {
+				decoded.runestones = readRunestones(buf);
+			}
+			if ((sections & DURABILITY) != 0) {
+				decoded.durability = readDurability(buf);
+			}
+		}
+		catch(Exception e) {
+			Treasure.LOGGER.error("Unable to read share tag:", e);
+			return null;
+		}
+
+		synchronized (CACHE) {
+			CACHE.put(new Content(data.clone()), decoded);
+		}
+		return decoded;
+	}
+
+	/*
+	 * charmable
+	 */
+	private static void writeCharmable(ByteBuf buf, NBTTagCompound tag) {
+		String sourceItem = tag.getString(CharmableCapabilityStorage.SOURCE_ITEM);
+		ByteBufUtils.writeVarInt(buf, getFlags(tag, CHARMABLE_FLAGS) | (AIR.equals(sourceItem) ? NO_SOURCE_ITEM : 0), 5);
+		writeEntities(buf, tag, entity -> writeCharmEntity(buf, entity));
+
+		String baseMaterial = tag.getString(CharmableCapabilityStorage.BASE_MATERIAL);
+		writeId(buf, getMaterialId(TreasureCharmableMaterials.getBaseMaterial(ResourceLocationUtil.create(baseMaterial)), TreasureCharmableMaterials::getBaseMaterial), baseMaterial);
+		if (!AIR.equals(sourceItem)) {
+			writeId(buf, getMaterialId(TreasureCharmableMaterials.getSourceItem(ResourceLocationUtil.create(sourceItem)), TreasureCharmableMaterials::getSourceItem), sourceItem);
+		}
+		String levelModifier = tag.getString(CharmableCapabilityStorage.LEVEL_MODIFIER);
+		writeId(buf, Arrays.asList(LEVEL_MODIFIERS).indexOf(levelModifier), levelModifier);
+		ByteBufUtils.writeVarInt(buf, zigzag(tag.getInteger(CharmableCapabilityStorage.MAX_SOCKET_SIZE)), 5);
+	}
+
+	private static NBTTagCompound readCharmable(ByteBuf buf) {
+		NBTTagCompound tag = new NBTTagCompound();
+		int flags = ByteBufUtils.readVarInt(buf, 5);
+		setFlags(tag, CHARMABLE_FLAGS, flags);
+		readEntities(buf, tag, () -> readCharmEntity(buf));
+
+		tag.setString(CharmableCapabilityStorage.BASE_MATERIAL, readName(buf, id -> TreasureCharmableMaterials.getBaseMaterial(id).map(m -> m.getName().toString()), "base material"));
+		tag.setString(CharmableCapabilityStorage.SOURCE_ITEM, (flags & NO_SOURCE_ITEM) != 0 ? AIR
+				: readName(buf, id -> TreasureCharmableMaterials.getSourceItem(id).map(m -> m.getName().toString()), "source item"));
+		tag.setString(CharmableCapabilityStorage.LEVEL_MODIFIER, readName(buf, id -> getTableName(LEVEL_MODIFIERS, id), "level modifier"));
+		tag.setInteger(CharmableCapabilityStorage.MAX_SOCKET_SIZE, unzigzag(ByteBufUtils.readVarInt(buf, 5)));
+		return tag;
+	}
+
+	private static void writeCharmEntity(ByteBuf buf, NBTTagCompound tag) {
+		NBTTagCompound extras = tag.copy();
+		String name = tag.getCompoundTag(ICharmEntity.CHARM).getString(NAME);
+		boolean hasCostEvaluator = tag.getCompoundTag(ICharmEntity.COST_EVALUATOR).hasKey(COST_CLASS, Constants.NBT.TAG_STRING);
+		extras.removeTag(ICharmEntity.CHARM);
+		extras.removeTag(ICharmEntity.EXCLUSIVE);
+		removeTags(extras, CHARM_DOUBLES);
+		removeTags(extras, CHARM_INTEGERS);
+		if (hasCostEvaluator) {
+			extras.removeTag(ICharmEntity.COST_EVALUATOR);
+		}
+
+		int fullDoubles = getFullDoubles(tag, CHARM_DOUBLES);
+		int flags = (tag.getBoolean(ICharmEntity.EXCLUSIVE) ? EXCLUSIVE : 0) | (hasCostEvaluator ? HAS_COST_EVALUATOR : 0)
+				| (extras.hasNoTags() ? 0 : HAS_EXTRAS) | fullDoubles << FULL_DOUBLE_SHIFT;
+		writeId(buf, TreasureCharmRegistry.getId(ResourceLocationUtil.create(name)), name);
+		ByteBufUtils.writeVarInt(buf, flags, 5);
+		writeDoubles(buf, tag, CHARM_DOUBLES, fullDoubles);
+		writeIntegers(buf, tag, CHARM_INTEGERS);
+		if (hasCostEvaluator) {
+			writeCostEvaluator(buf, tag.getCompoundTag(ICharmEntity.COST_EVALUATOR));
+		}
+		if (!extras.hasNoTags()) {
+			ByteBufUtils.writeTag(buf, extras);
+		}
+	}
+
+	private static NBTTagCompound readCharmEntity(ByteBuf buf) {
+		String name = readName(buf, id -> TreasureCharmRegistry.getById(id).map(ICharm::getName).map(Object::toString), "charm");
+		int flags = ByteBufUtils.readVarInt(buf, 5);
+		NBTTagCompound charmTag = new NBTTagCompound();
+		charmTag.setString(NAME, name);
+
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setTag(ICharmEntity.CHARM, charmTag);
+		tag.setBoolean(ICharmEntity.EXCLUSIVE, (flags & EXCLUSIVE) != 0);
+		readDoubles(buf, tag, CHARM_DOUBLES, flags >> FULL_DOUBLE_SHIFT);
+		readIntegers(buf, tag, CHARM_INTEGERS);
+		if ((flags & HAS_COST_EVALUATOR) != 0) {
+			tag.setTag(ICharmEntity.COST_EVALUATOR, readCostEvaluator(buf));
+		}
+		if ((flags & HAS_EXTRAS) != 0) {
+			tag.merge(ByteBufUtils.readTag(buf));
+		}
+		return tag;
+	}
+
+	private static void writeCostEvaluator(ByteBuf buf, NBTTagCompound tag) {
+		NBTTagCompound extras = tag.copy();
+		String costClass = tag.getString(COST_CLASS);
+		boolean hasNested = tag.getCompoundTag(NESTED_EVALUATOR).hasKey(COST_CLASS, Constants.NBT.TAG_STRING);
+		extras.removeTag(COST_CLASS);
+		if (hasNested) {
+			extras.removeTag(NESTED_EVALUATOR);
+		}
+
+		writeId(buf, Arrays.asList(COST_EVALUATORS).indexOf(costClass), costClass);
+		buf.writeByte((hasNested ? HAS_NESTED_EVALUATOR : 0) | (extras.hasNoTags() ? 0 : HAS_MORE));
+		if (hasNested) {
+			writeCostEvaluator(buf, tag.getCompoundTag(NESTED_EVALUATOR));
+		}
+		if (!extras.hasNoTags()) {
+			ByteBufUtils.writeTag(buf, extras);
+		}
+	}
+
+	private static NBTTagCompound readCostEvaluator(ByteBuf buf) {
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setString(COST_CLASS, readName(buf, id -> getTableName(COST_EVALUATORS, id), "cost evaluator"));
+		int flags = buf.readUnsignedByte();
+		if ((flags & HAS_NESTED_EVALUATOR) != 0) {
+			tag.setTag(NESTED_EVALUATOR, readCostEvaluator(buf));
+		}
+		if ((flags & HAS_MORE) != 0) {
+			tag.merge(ByteBufUtils.readTag(buf));
+		}
+		return tag;
+	}
+
+	/*
+	 * runestones
+	 */
+	private static void writeRunestones(ByteBuf buf, NBTTagCompound tag) {
+		buf.writeByte(getFlags(tag, RUNESTONES_FLAGS));
+		writeEntities(buf, tag, entity -> writeRuneEntity(buf, entity));
+	}
+
+	private static NBTTagCompound readRunestones(ByteBuf buf) {
+		NBTTagCompound tag = new NBTTagCompound();
+		setFlags(tag, RUNESTONES_FLAGS, buf.readUnsignedByte());
+		readEntities(buf, tag, () -> readRuneEntity(buf));
+		return tag;
+	}
+
+	private static void writeRuneEntity(ByteBuf buf, NBTTagCompound tag) {
+		NBTTagCompound extras = tag.copy();
+		String name = tag.getCompoundTag(IRuneEntity.RUNESTONE).getString(NAME);
+		NBTTagList appliedTo = tag.getTagList(APPLIED_TO, Constants.NBT.TAG_STRING);
+		extras.removeTag(IRuneEntity.RUNESTONE);
+		extras.removeTag(IRuneEntity.APPLIED);
+		extras.removeTag(APPLIED_TO);
+
+		writeId(buf, TreasureRunes.getId(ResourceLocationUtil.create(name)), name);
+		buf.writeByte((tag.getBoolean(IRuneEntity.APPLIED) ? APPLIED : 0) | (extras.hasNoTags() ? 0 : HAS_MORE));
+		ByteBufUtils.writeVarInt(buf, appliedTo.tagCount(), 5);
+		for (int index = 0; index < appliedTo.tagCount(); index++) {
+			ByteBufUtils.writeUTF8String(buf, appliedTo.getStringTagAt(index));
+		}
+		if (!extras.hasNoTags()) {
+			ByteBufUtils.writeTag(buf, extras);
+		}
+	}
+
+	private static NBTTagCompound readRuneEntity(ByteBuf buf) {
+		String name = readName(buf, id -> TreasureRunes.getById(id).map(IRune::getName).map(Object::toString), "runestone");
+		int flags = buf.readUnsignedByte();
+		NBTTagCompound runestoneTag = new NBTTagCompound();
+		runestoneTag.setString(NAME, name);
+
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setTag(IRuneEntity.RUNESTONE, runestoneTag);
+		tag.setBoolean(IRuneEntity.APPLIED, (flags & APPLIED) != 0);
+		NBTTagList appliedTo = new NBTTagList();
+		int size = ByteBufUtils.readVarInt(buf, 5);
+		for (int index = 0; index < size; index++) {
+			appliedTo.appendTag(new NBTTagString(ByteBufUtils.readUTF8String(buf)));
+		}
+		tag.setTag(APPLIED_TO, appliedTo);
+		if ((flags & HAS_MORE) != 0) {
+			tag.merge(ByteBufUtils.readTag(buf));
+		}
+		return tag;
+	}
+
+	/*
+	 * durability
+	 */
+	private static void writeDurability(ByteBuf buf, NBTTagCompound tag) {
+		buf.writeBoolean(tag.getBoolean(DurabilityCapabilityStorage.INFINITE_TAG));
+		writeIntegers(buf, tag, DURABILITY_INTEGERS);
+	}
+
+	private static NBTTagCompound readDurability(ByteBuf buf) {
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setBoolean(DurabilityCapabilityStorage.INFINITE_TAG, buf.readBoolean());
+		readIntegers(buf, tag, DURABILITY_INTEGERS);
+		return tag;
+	}
+
+	/*
+	 * the entity lists of the inventory types, as the storages write them
+	 */
+	private static void writeEntities(ByteBuf buf, NBTTagCompound tag, Consumer<NBTTagCompound> writer) {
+		for (InventoryType type : INVENTORY_TYPES) {
+			NBTTagList list = tag.getTagList(type.name(), Constants.NBT.TAG_COMPOUND);
+			ByteBufUtils.writeVarInt(buf, list.tagCount(), 5);
+			for (int index = 0; index < list.tagCount(); index++) {
+				writer.accept(list.getCompoundTagAt(index));
+			}
+		}
+	}
+
+	private static void readEntities(ByteBuf buf, NBTTagCompound tag, Supplier<NBTTagCompound> reader) {
+		for (InventoryType type : INVENTORY_TYPES) {
+			int size = ByteBufUtils.readVarInt(buf, 5);
+			if (size > 0) {
+				NBTTagList list = new NBTTagList();
+				for (int index = 0; index < size; index++) {
+					list.appendTag(reader.get());
+				}
+				tag.setTag(type.name(), list);
+			}
+		}
+	}
+
+	/*
+	 * ids, with the name written in full when it has no id
+	 */
+	private static void writeId(ByteBuf buf, int id, String name) {
+		ByteBufUtils.writeVarInt(buf, id + 1, 5);
+		if (id < 0) {
+			ByteBufUtils.writeUTF8String(buf, name);
+		}
+	}
+
+	private static String readName(ByteBuf buf, IntFunction<Optional<String>> registry, String kind) {
+		int code = ByteBufUtils.readVarInt(buf, 5);
+		if (code == 0) {
+			return ByteBufUtils.readUTF8String(buf);
+		}
+		return registry.apply(code - 1).orElseThrow(() -> new IllegalStateException(String.format("Unable to find %s id %d in registry.", kind, code - 1)));
+	}
+
+	/**
+	 *
+	 * @param material
+	 * @param registry
+	 * @return the id of the material if it identifies the material, otherwise -1
+	 */
+	private static int getMaterialId(Optional<CharmableMaterial> material, IntFunction<Optional<CharmableMaterial>> registry) {
+		if (material.isPresent() && registry.apply(material.get().getId()).filter(m -> m == material.get()).isPresent()) {
+			return material.get().getId();
+		}
+		return -1;
+	}
+
+	private static Optional<String> getTableName(String[] table, int id) {
+		return id >= 0 && id < table.length ? Optional.of(table[id]) : Optional.empty();
+	}
+
+	/*
+	 * flags and numbers
+	 */
+	private static int getFlags(NBTTagCompound tag, String[] keys) {
+		int flags = 0;
+		for (int index = 0; index < keys.length; index++) {
+			if (tag.getBoolean(keys[index])) {
+				flags |= 1 << index;
+			}
+		}
+		return flags;
+	}
+
+	private static void setFlags(NBTTagCompound tag, String[] keys, int flags) {
+		for (int index = 0; index < keys.length; index++) {
+			tag.setBoolean(keys[index], (flags & 1 << index) != 0);
+		}
+	}
+
+	/**
+	 *
+	 * @param tag
+	 * @param keys
+	 * @return the bits of the doubles that are not whole numbers and are written in full
+	 */
+	private static int getFullDoubles(NBTTagCompound tag, String[] keys) {
+		int fullDoubles = 0;
+		for (int index = 0; index < keys.length; index++) {
+			double value = tag.getDouble(keys[index]);
+			if (value != (int) value) {
+				fullDoubles |= 1 << index;
+			}
+		}
+		return fullDoubles;
+	}
+
+	private static void writeDoubles(ByteBuf buf, NBTTagCompound tag, String[] keys, int fullDoubles) {
+		for (int index = 0; index < keys.length; index++) {
+			if ((fullDoubles & 1 << index) != 0) {
+				buf.writeDouble(tag.getDouble(keys[index]));
+			}
+			else {
+				ByteBufUtils.writeVarInt(buf, zigzag((int) tag.getDouble(keys[index])), 5);
+			}
+		}
+	}
+
+	private static void readDoubles(ByteBuf buf, NBTTagCompound tag, String[] keys, int fullDoubles) {
+		for (int index = 0; index < keys.length; index++) {
+			tag.setDouble(keys[index], (fullDoubles & 1 << index) != 0 ? buf.readDouble() : unzigzag(ByteBufUtils.readVarInt(buf, 5)));
+		}
+	}
+
+	private static void writeIntegers(ByteBuf buf, NBTTagCompound tag, String[] keys) {
+		for (String key : keys) {
+			ByteBufUtils.writeVarInt(buf, zigzag(tag.getInteger(key)), 5);
+		}
+	}
+
+	private static void readIntegers(ByteBuf buf, NBTTagCompound tag, String[] keys) {
+		for (String key : keys) {
+			tag.setInteger(key, unzigzag(ByteBufUtils.readVarInt(buf, 5)));
+		}
+	}
+
+	private static void removeTags(NBTTagCompound tag, String[] keys) {
+		for (String key : keys) {
+			tag.removeTag(key);
+		}
+	}
+
+	// small negative numbers are written in a single byte
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/*
+	 * The content of a share tag, as a cache key.
+	 */
+	private static final class Content {
+		private final byte[] data;
+		private final int hash;
+
+		Content(byte[] data) {
+			this.data = data;
+			this.hash = Arrays.hashCode(data);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Content && ((Content) obj).hash == hash && Arrays.equals(((Content) obj).data, data);
+		}
+	}
+
+	/*
+	 * The storage tags of a decoded share tag. They are shared by all the stacks with the same content and must not be modified.
+	 */
+	private static final class Decoded {
+		private NBTTagCompound charmable;
+		private NBTTagCompound runestones;
+		private NBTTagCompound durability;
+	}
+}
@@ -17,9 +17,11 @@ import net.minecraftforge.common.capabilities.Capability;
 public class DurabilityCapabilityStorage implements Capability.IStorage<IDurabilityCapability> {
 	@Deprecated
     private static final String EFFECTIVE_MAX_DAMAGE_TAG = "effectiveMaxDamage";
-	private static final String MAX_DURABILITY_TAG = "maxDurability";
-	private static final String DURABILITY_TAG = "durability";
-	private static final String INFINITE_TAG = "infinite";
+	static final String MAX_DURABILITY_TAG = "maxDurability";
+	static final String DURABILITY_TAG = "durability";
+	static final String INFINITE_TAG = "infinite";
+	static final String REPAIRS_TAG = "repairs";
+	static final String MAX_REPAIRS_TAG = "maxRepairs";
     
 	@Override
 	public NBTBase writeNBT(Capability<IDurabilityCapability> capability, IDurabilityCapability instance, EnumFacing side) {
@@ -28,8 +30,8 @@ public class DurabilityCapabilityStorage implements Capability.IStorage<IDurabil
 			mainTag.setInteger(DURABILITY_TAG, instance.getDurability());
 			mainTag.setInteger(MAX_DURABILITY_TAG, instance.getMaxDurability());
 			mainTag.setBoolean(INFINITE_TAG, instance.isInfinite());
-			mainTag.setInteger("repairs", instance.getRepairs());
-			mainTag.setInteger("maxRepairs", instance.getMaxRepairs());
+			mainTag.setInteger(REPAIRS_TAG, instance.getRepairs());
+			mainTag.setInteger(MAX_REPAIRS_TAG, instance.getMaxRepairs());
 		} catch (Exception e) {
 			LOGGER.error("Unable to write state to NBT:", e);
 		}
@@ -57,11 +59,11 @@ public class DurabilityCapabilityStorage implements Capability.IStorage<IDurabil
 				instance.setInfinite(tag.getBoolean(INFINITE_TAG));
 			}
 			
-			if (tag.hasKey("repairs")) {
-				instance.setRepairs(tag.getInteger("repairs"));
+			if (tag.hasKey(REPAIRS_TAG)) {
+				instance.setRepairs(tag.getInteger(REPAIRS_TAG));
 			}
-			if (tag.hasKey("maxRepairs")) {
-				instance.setMaxRepairs(tag.getInteger("maxRepairs"));
+			if (tag.hasKey(MAX_REPAIRS_TAG)) {
+				instance.setMaxRepairs(tag.getInteger(MAX_REPAIRS_TAG));
 			}
 		}		
 	}
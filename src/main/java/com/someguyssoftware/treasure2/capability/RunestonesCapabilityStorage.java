@@ -24,8 +24,8 @@ import net.minecraftforge.common.capabilities.Capability;
  *
  */
 public class RunestonesCapabilityStorage implements Capability.IStorage<IRunestonesCapability> {
-    private static final String BINDABLE_TAG = "bindable";
-	private static final String SOCKETABLE_TAG = "socketable";
+    static final String BINDABLE_TAG = "bindable";
+	static final String SOCKETABLE_TAG = "socketable";
     
 	@Override
 	public NBTBase writeNBT(Capability<IRunestonesCapability> capability, IRunestonesCapability instance, EnumFacing side) {
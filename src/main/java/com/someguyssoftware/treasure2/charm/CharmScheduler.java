@@ -0,0 +1,175 @@
+/*
+ * This file is part of  Treasure2.
+ * Copyright (c) 2022, Mark Gottschling (gottsch)
+ *
+ * All rights reserved.
+ *
+ * Treasure2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Treasure2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Treasure2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+package com.someguyssoftware.treasure2.charm;
+
+import java.util.Arrays;
+
+/**
+ * Schedules the update charms of a player on a timer wheel.
+ * Each periodic charm is due on the ticks where (tick + phase) is a multiple of its period, where the phase is the player's,
+ * so the charms of different players are spread over the ticks instead of all being due on the same tick.
+ * Only the wheel slots of the elapsed ticks are visited, so charms that are not due are not looked at.
+ * Charms without a period are due on every tick.
+ */
+public class CharmScheduler {
+	// the number of ticks covered by one turn of the wheel. must be a power of 2
+	private static final int WHEEL_SIZE = 64;
+	private static final int MASK = WHEEL_SIZE - 1;
+	private static final int NONE = -1;
+	private static final CharmContext[] NO_CHARMS = new CharmContext[0];
+
+	private final long phase;
+	// the charms in priority order
+	private final CharmContext[] contexts;
+	private final long[] periods;
+	private final long[] deadlines;
+	// the charms of each slot, as linked lists of charm indexes
+	private final int[] heads = new int[WHEEL_SIZE];
+	private final int[] next;
+	private final int[] everyTick;
+	private final CharmContext[] everyTickContexts;
+	// the indexes of the due charms, reused each tick
+	private final int[] due;
+	private long lastTick = Long.MIN_VALUE;
+
+	/**
+	 *
+	 * @param contexts the charms in priority order
+	 * @param phase the phase of the player
+	 */
+	public CharmScheduler(CharmContext[] contexts, long phase) {
+		this.contexts = contexts;
+		this.phase = phase;
+		this.periods = new long[contexts.length];
+		this.deadlines = new long[contexts.length];
+		this.next = new int[contexts.length];
+		this.due = new int[contexts.length];
+
+		int everyTickCount = 0;
+		for (int index = 0; index < contexts.length; index++) {
+			periods[index] = contexts[index].getEntity().getCharm().getUpdatePeriod(contexts[index].getEntity());
+			if (periods[index] <= 0) {
+				everyTickCount++;
+			}
+		}
+		everyTick = new int[everyTickCount];
+		everyTickContexts = new CharmContext[everyTickCount];
+		everyTickCount = 0;
+		for (int index = 0; index < contexts.length; index++) {
+			if (periods[index] <= 0) {
+				everyTickContexts[everyTickCount] = contexts[index];
+				everyTick[everyTickCount++] = index;
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param tick the current world tick
+	 * @return the charms that are due on the tick, in priority order
+	 */
+	public CharmContext[] getDue(long tick) {
+		if (contexts.length == 0) {
+			return NO_CHARMS;
+		}
+		if (lastTick == Long.MIN_VALUE || tick < lastTick) {
+			// first use, or the player is in a world with an earlier time
+			schedule(tick);
+			lastTick = tick - 1;
+		}
+		if (tick == lastTick) {
+			return NO_CHARMS;
+		}
+
+		int count = 0;
+		for (int index : everyTick) {
+			due[count++] = index;
+		}
+		// visit each slot of the elapsed ticks once
+		long first = Math.max(lastTick + 1, tick - MASK);
+		for (long slotTick = first; slotTick <= tick; slotTick++) {
+			int slot = (int) (slotTick & MASK);
+			int previous = NONE;
+			int index = heads[slot];
+			while (index != NONE) {
+				int following = next[index];
+				if (deadlines[index] <= tick) {
+					// unlink. the charm is rescheduled once all the slots have been visited
+					if (previous == NONE) {
+						heads[slot] = following;
+					}
+					else {
+						next[previous] = following;
+					}
+					due[count++] = index;
+				}
+				else {
+					previous = index;
+				}
+				index = following;
+			}
+		}
+		for (int dueIndex = everyTick.length; dueIndex < count; dueIndex++) {
+			add(due[dueIndex], getDeadline(tick + 1, periods[due[dueIndex]]));
+		}
+		lastTick = tick;
+
+		if (count == everyTick.length) {
+			return everyTickContexts;
+		}
+		Arrays.sort(due, 0, count);
+		CharmContext[] result = new CharmContext[count];
+		for (int index = 0; index < count; index++) {
+			result[index] = contexts[due[index]];
+		}
+		return result;
+	}
+
+	/**
+	 * Schedules all the periodic charms from the tick.
+	 * @param tick
+	 */
+	private void schedule(long tick) {
+		Arrays.fill(heads, NONE);
+		for (int index = 0; index < contexts.length; index++) {
+			if (periods[index] > 0) {
+				add(index, getDeadline(tick, periods[index]));
+			}
+		}
+	}
+
+	private void add(int index, long deadline) {
+		int slot = (int) (deadline & MASK);
+		deadlines[index] = deadline;
+		next[index] = heads[slot];
+		heads[slot] = index;
+	}
+
+	/**
+	 *
+	 * @param from
+	 * @param period
+	 * @return the first tick at or after from that is on the player's phase of the period
+	 */
+	private long getDeadline(long from, long period) {
+		long remainder = Math.floorMod(from + phase, period);
+		return remainder == 0 ? from : from + period - remainder;
+	}
+}
@@ -60,6 +60,11 @@ public class DecayCurse extends Charm {
 		return REGISTERED_EVENT;
 	}
 
+	@Override
+	public long getUpdatePeriod(ICharmEntity entity) {
+		return (long) entity.getFrequency();
+	}
+
 	/**
 	 * NOTE: it is assumed that only the allowable events are calling this action.
 	 */
@@ -68,17 +73,15 @@ public class DecayCurse extends Charm {
 		boolean result = false;
 		//		Treasure.logger.debug("in decay");
 //		if (world.getTotalWorldTime() % 100 == 0) {
-		if (world.getTotalWorldTime() % entity.getFrequency() == 0) {
-			if (!player.isDead && entity.getMana() > 0 && player.getHealth() > 0.0) {
-				//			Treasure.logger.debug("player is alive and charm is good still...");
-				player.setHealth(MathHelper.clamp(player.getHealth() - (float)getAmount(), 0.0F, player.getMaxHealth()));				
+		if (!player.isDead && entity.getMana() > 0 && player.getHealth() > 0.0) {
+			//			Treasure.logger.debug("player is alive and charm is good still...");
+			player.setHealth(MathHelper.clamp(player.getHealth() - (float)getAmount(), 0.0F, player.getMaxHealth()));				
 //				entity.setMana(MathHelper.clamp(entity.getMana() - 1.0,  0D, entity.getMana()));
-				applyCost(world, random, coords, player, event, entity, getAmount());
-				//				Treasure.logger.debug("new data -> {}", data);
-				result = true;
-			}
-
+			applyCost(world, random, coords, player, event, entity, getAmount());
+			//				Treasure.logger.debug("new data -> {}", data);
+			result = true;
 		}
+
 		return result;
 	}
 	
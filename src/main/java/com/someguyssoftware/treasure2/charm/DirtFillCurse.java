@@ -65,6 +65,11 @@ public class DirtFillCurse extends Charm {
 		return true;
 	}
 
+	@Override
+	public long getUpdatePeriod(ICharmEntity entity) {
+		return 200;
+	}
+
 	/**
 	 * 
 	 */
@@ -72,17 +77,14 @@ public class DirtFillCurse extends Charm {
 	public boolean update(World world, Random random, ICoords coords, EntityPlayer player, Event event, final ICharmEntity entity) {
 		boolean result = false;
 
-		// update every 10 seconds
-		if (world.getTotalWorldTime() % 200 == 0) {
-			if (!player.isDead && entity.getMana() > 0) {
-				// randomly select an empty inventory slot and fill it with dirt
-				List<Integer> emptySlots = getEmptySlotsRandomized(player.inventory, random);
-				if (emptySlots != null && !emptySlots.isEmpty()) {
-					player.inventory.setInventorySlotContents(((Integer)emptySlots.get(emptySlots.size() - 1)).intValue(), new ItemStack(Blocks.DIRT, 1));		
+		if (!player.isDead && entity.getMana() > 0) {
+			// randomly select an empty inventory slot and fill it with dirt
+			List<Integer> emptySlots = getEmptySlotsRandomized(player.inventory, random);
+			if (emptySlots != null && !emptySlots.isEmpty()) {
+				player.inventory.setInventorySlotContents(((Integer)emptySlots.get(emptySlots.size() - 1)).intValue(), new ItemStack(Blocks.DIRT, 1));		
 //					entity.setMana(MathHelper.clamp(entity.getMana() - 1.0,  0D, entity.getMana()));
-					applyCost(world, random, coords, player, event, entity, 1.0);
-					result = true;
-				}
+				applyCost(world, random, coords, player, event, entity, 1.0);
+				result = true;
 			}
 		}
 		return result;
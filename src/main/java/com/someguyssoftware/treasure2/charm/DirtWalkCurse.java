@@ -56,6 +56,11 @@ public class DirtWalkCurse extends Charm {
 		return true;
 	}
 
+	@Override
+	public long getUpdatePeriod(ICharmEntity entity) {
+		return 200;
+	}
+
 	/**
 	 * 
 	 */
@@ -63,17 +68,14 @@ public class DirtWalkCurse extends Charm {
 	public boolean update(World world, Random random, ICoords coords, EntityPlayer player, Event event, final ICharmEntity entity) {
 		boolean result = false;
 
-		// update every 10 seconds
-		if (world.getTotalWorldTime() % 200 == 0) {
-			if (!player.isDead && entity.getMana() > 0) {
-				// if the current position where standing isn't already dirt, change it to dirt
-				IBlockState state = world.getBlockState(coords.down(1).toPos());
-				if (state.getBlock() != Blocks.DIRT) {
-					world.setBlockState(coords.down(1).toPos(), Blocks.DIRT.getDefaultState());
+		if (!player.isDead && entity.getMana() > 0) {
+			// if the current position where standing isn't already dirt, change it to dirt
+			IBlockState state = world.getBlockState(coords.down(1).toPos());
+			if (state.getBlock() != Blocks.DIRT) {
+				world.setBlockState(coords.down(1).toPos(), Blocks.DIRT.getDefaultState());
 //					entity.setMana(MathHelper.clamp(entity.getMana() - 1.0,  0D, entity.getMana()));
-					applyCost(world, random, coords, player, event, entity, 1.0);
-					result = true;
-				}
+				applyCost(world, random, coords, player, event, entity, 1.0);
+				result = true;
 			}
 		}
 		return result;
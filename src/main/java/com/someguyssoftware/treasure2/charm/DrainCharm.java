@@ -35,7 +35,6 @@ import net.minecraft.entity.monster.EntityMob;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.DamageSource;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.util.text.translation.I18n;
@@ -70,6 +69,11 @@ public class DrainCharm extends Charm {
 		return REGISTERED_EVENT;
 	}
 
+	@Override
+	public long getUpdatePeriod(ICharmEntity entity) {
+		return (long) entity.getFrequency();
+	}
+
 	/**
 	 * NOTE: it is assumed that only the allowable events are calling this action.
 	 */
@@ -77,37 +81,35 @@ public class DrainCharm extends Charm {
 	public boolean update(World world, Random random, ICoords coords, EntityPlayer player, Event event, final ICharmEntity entity) {
 		boolean result = false;
 
-		if (world.getTotalWorldTime() % entity.getFrequency() == 0) {
-			if (entity.getMana() > 0 && player.getHealth() < player.getMaxHealth() && !player.isDead) {
-				// get player position
-				double px = player.posX;
-				double py = player.posY;
-				double pz = player.posZ;
+		if (entity.getMana() > 0 && player.getHealth() < player.getMaxHealth() && !player.isDead) {
+			// get player position
+			double px = player.posX;
+			double py = player.posY;
+			double pz = player.posZ;
 
-				// calculate the new amount
-				double range = entity.getRange();
-				AtomicDouble drainedHealth = new AtomicDouble(0);
-				List<EntityMob> mobs = world.getEntitiesWithinAABB(EntityMob.class, new AxisAlignedBB(px - range, py - range, pz - range, px + range, py + range, pz + range));
-				if (mobs.isEmpty()) {
-					return result;
-				}
-				mobs.forEach(mob -> {
-					boolean flag = mob.attackEntityFrom(DamageSource.GENERIC, (float)getAmount());
-					Treasure.LOGGER.debug("health drained from mob -> {} was successful -> {}", mob.getName(), flag);
-					if (flag) {
-						drainedHealth.addAndGet(getAmount());
-					}
-				});
-
-				if (drainedHealth.get() > 0.0) {
-					player.setHealth(MathHelper.clamp(player.getHealth() + (float)drainedHealth.get(), 0.0F, player.getMaxHealth()));		
-					//					entity.setMana(MathHelper.clamp(entity.getMana() - 1D,  0D, entity.getMana()));
-					applyCost(world, random, coords, player, event, entity, 1.0);
-					result = true;
-				}                
+			// calculate the new amount
+			double range = entity.getRange();
+			AtomicDouble drainedHealth = new AtomicDouble(0);
+			List<EntityMob> mobs = HostileMobSnapshot.getMobsWithinRange(world, px, py, pz, range);
+			if (mobs.isEmpty()) {
+				return result;
 			}
+			mobs.forEach(mob -> {
+				boolean flag = mob.attackEntityFrom(DamageSource.GENERIC, (float)getAmount());
+				Treasure.LOGGER.debug("health drained from mob -> {} was successful -> {}", mob.getName(), flag);
+				if (flag) {
+					drainedHealth.addAndGet(getAmount());
+				}
+			});
 
+			if (drainedHealth.get() > 0.0) {
+				player.setHealth(MathHelper.clamp(player.getHealth() + (float)drainedHealth.get(), 0.0F, player.getMaxHealth()));		
+				//					entity.setMana(MathHelper.clamp(entity.getMana() - 1D,  0D, entity.getMana()));
+				applyCost(world, random, coords, player, event, entity, 1.0);
+				result = true;
+			}                
 		}
+
 		return result;
 	}
 	
@@ -62,20 +62,23 @@ public class GreaterHealingCharm extends Charm implements IHealing {
 		return HEAL_RATE;
 	}
 
+	@Override
+	public long getUpdatePeriod(ICharmEntity entity) {
+		return (long) entity.getFrequency();
+	}
+
 	/**
 	 * NOTE: it is assumed that only the allowable events are calling this action.
 	 */
 	@Override
 	public boolean update(World world, Random random, ICoords coords, EntityPlayer player, Event event, final ICharmEntity entity) {
 		boolean result = false;
-		if (world.getTotalWorldTime() % entity.getFrequency() == 0) {
-			if (entity.getMana() > 0 && player.getHealth() < player.getMaxHealth() && !player.isDead) {
-				float amount = Math.min(getHealRate(), player.getMaxHealth() - player.getHealth());
-				player.setHealth(MathHelper.clamp(player.getHealth() + amount, 0.0F, player.getMaxHealth()));		
+		if (entity.getMana() > 0 && player.getHealth() < player.getMaxHealth() && !player.isDead) {
+			float amount = Math.min(getHealRate(), player.getMaxHealth() - player.getHealth());
+			player.setHealth(MathHelper.clamp(player.getHealth() + amount, 0.0F, player.getMaxHealth()));		
 //				entity.setMana(MathHelper.clamp(entity.getMana() - amount,  0D, entity.getMana()));
-				applyCost(world, random, coords, player, event, entity, amount);
-				result = true;
-			}
+			applyCost(world, random, coords, player, event, entity, amount);
+			result = true;
 		}
 		return result;
 	}
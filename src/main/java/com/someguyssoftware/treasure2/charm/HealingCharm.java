@@ -43,20 +43,23 @@ public class HealingCharm extends Charm {
 		return REGISTERED_EVENT;
 	}
 
+	@Override
+	public long getUpdatePeriod(ICharmEntity entity) {
+		return (long) entity.getFrequency();
+	}
+
 	/**
 	 * NOTE: it is assumed that only the allowable events are calling this action.
 	 */
 	@Override
 	public boolean update(World world, Random random, ICoords coords, EntityPlayer player, Event event, final ICharmEntity entity) {
 		boolean result = false;
-		if (world.getTotalWorldTime() % entity.getFrequency() == 0) {
-			if (entity.getMana() > 0 && player.getHealth() < player.getMaxHealth() && !player.isDead) {
-				// determine the actual amount of health (0.0 -> getAmount())
-				float amount = Math.min((float)getAmount(), player.getMaxHealth() - player.getHealth());
-				player.setHealth(MathHelper.clamp(player.getHealth() + amount, 0.0F, player.getMaxHealth()));		
-				applyCost(world, random, coords, player, event, entity, amount);
-				result = true;
-			}
+		if (entity.getMana() > 0 && player.getHealth() < player.getMaxHealth() && !player.isDead) {
+			// determine the actual amount of health (0.0 -> getAmount())
+			float amount = Math.min((float)getAmount(), player.getMaxHealth() - player.getHealth());
+			player.setHealth(MathHelper.clamp(player.getHealth() + amount, 0.0F, player.getMaxHealth()));		
+			applyCost(world, random, coords, player, event, entity, amount);
+			result = true;
 		}
 		return result;
 	}
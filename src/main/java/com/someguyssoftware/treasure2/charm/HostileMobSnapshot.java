@@ -0,0 +1,159 @@
+/*
+ * This file is part of  Treasure2.
+ * Copyright (c) 2022, Mark Gottschling (gottsch)
+ *
+ * All rights reserved.
+ *
+ * Treasure2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Treasure2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Treasure2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+package com.someguyssoftware.treasure2.charm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.someguyssoftware.treasure2.Treasure;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.monster.EntityMob;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * The hostile mobs of a world's loaded chunks, bucketed by chunk, for the area effect charms.
+ * A chunk's bucket is filled on the first query of a tick that covers the chunk and is reused by the other queries
+ * of the same tick, so the charms of players that are standing together do not each scan the same chunks.
+ */
+public class HostileMobSnapshot {
+	private static final Map<Integer, HostileMobSnapshot> SNAPSHOTS = new HashMap<>();
+
+	private final Map<Long, List<EntityMob>> mobsByChunk = new HashMap<>();
+	private long tick = Long.MIN_VALUE;
+
+	private HostileMobSnapshot() {}
+
+	/**
+	 *
+	 * @param world
+	 * @return the snapshot of the world
+	 */
+	public static synchronized HostileMobSnapshot get(World world) {
+		return SNAPSHOTS.computeIfAbsent(world.provider.getDimension(), dimension -> new HostileMobSnapshot());
+	}
+
+	/**
+	 * Convenience method.
+	 * @param world
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @param range
+	 * @return the hostile mobs whose bounding boxes intersect the cube of the range around the position
+	 */
+	public static List<EntityMob> getMobsWithinRange(World world, double x, double y, double z, double range) {
+		if (world.isRemote) {
+			return world.getEntitiesWithinAABB(EntityMob.class, new AxisAlignedBB(x - range, y - range, z - range, x + range, y + range, z + range));
+		}
+		return get(world).getWithinRange(world, x, y, z, range);
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @param range
+	 * @return the hostile mobs whose bounding boxes intersect the cube of the range around the position
+	 */
+	public List<EntityMob> getWithinRange(World world, double x, double y, double z, double range) {
+		if (tick != world.getTotalWorldTime()) {
+			mobsByChunk.clear();
+			tick = world.getTotalWorldTime();
+		}
+		double minX = x - range;
+		double minY = y - range;
+		double minZ = z - range;
+		double maxX = x + range;
+		double maxY = y + range;
+		double maxZ = z + range;
+
+		List<EntityMob> result = new ArrayList<>();
+		// a mob is in the entity list of the chunk of its position, so its bounding box may extend into the neighbouring chunks
+		int minChunkX = MathHelper.floor((minX - World.MAX_ENTITY_RADIUS) / 16.0D);
+		int maxChunkX = MathHelper.floor((maxX + World.MAX_ENTITY_RADIUS) / 16.0D);
+		int minChunkZ = MathHelper.floor((minZ - World.MAX_ENTITY_RADIUS) / 16.0D);
+		int maxChunkZ = MathHelper.floor((maxZ + World.MAX_ENTITY_RADIUS) / 16.0D);
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+				for (EntityMob mob : getMobs(world, chunkX, chunkZ)) {
+					// mobs killed earlier in the tick are still in the bucket
+					if (!mob.isDead && mob.getEntityBoundingBox().intersects(minX, minY, minZ, maxX, maxY, maxZ)) {
+						result.add(mob);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param chunkX
+	 * @param chunkZ
+	 * @return the hostile mobs of the chunk, or none if the chunk is not loaded
+	 */
+	private List<EntityMob> getMobs(World world, int chunkX, int chunkZ) {
+		long key = ChunkPos.asLong(chunkX, chunkZ);
+		List<EntityMob> mobs = mobsByChunk.get(key);
+		if (mobs == null) {
+			Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+			if (chunk == null) {
+				mobs = Collections.emptyList();
+			}
+			else {
+				mobs = new ArrayList<>();
+				for (ClassInheritanceMultiMap<Entity> entities : chunk.getEntityLists()) {
+					for (EntityMob mob : entities.getByClass(EntityMob.class)) {
+						mobs.add(mob);
+					}
+				}
+			}
+			mobsByChunk.put(key, mobs);
+		}
+		return mobs;
+	}
+
+	@Mod.EventBusSubscriber(modid = Treasure.MODID)
+	public static class EventHandler {
+		@SubscribeEvent
+		public static void onWorldUnload(WorldEvent.Unload event) {
+			if (!event.getWorld().isRemote) {
+				synchronized (HostileMobSnapshot.class) {
+					SNAPSHOTS.remove(event.getWorld().provider.getDimension());
+				}
+			}
+		}
+	}
+}
@@ -61,6 +61,15 @@ public interface ICharm {
 	
     public boolean update(World world, Random random, ICoords coords, EntityPlayer player, Event event, final ICharmEntity entity);
 
+    /**
+     * 
+     * @param entity
+     * @return the number of ticks between the updates of a charm that is updated periodically, or 0 if it is updated on every event
+     */
+    default long getUpdatePeriod(ICharmEntity entity) {
+    	return 0;
+    }
+
     public void addInformation(ItemStack stack, World worldIn, List<String> tooltip, ITooltipFlag flagIn, ICharmEntity entity, InventoryType type);
     
 	public NBTTagCompound save(NBTTagCompound nbt);
@@ -70,6 +70,11 @@ public class IlluminationCharm extends Charm {
 		return entity;
 	}
 
+	@Override
+	public long getUpdatePeriod(ICharmEntity entity) {
+		return 100;
+	}
+
 	@Override
 	public ICharmEntity createEntity(ICharmEntity entity) {
 		ICharmEntity newEntity = new IlluminationCharmEntity((IlluminationCharmEntity)entity);
@@ -83,82 +88,80 @@ public class IlluminationCharm extends Charm {
 	public boolean update(World world, Random random, ICoords coords, EntityPlayer player, Event event, final ICharmEntity entity) {
 		boolean result = false;
 
-		if (world.getTotalWorldTime() % 100 == 0) {
-			if ( !player.isDead && entity.getMana() > 0) {
-				ICoords currentCoords = new Coords((int)Math.floor(player.posX), (int)Math.floor(player.posY), (int)Math.floor(player.posZ));
-
-				/*
-				 * validation checks
-				 */
-				// check that the block at current position is air or replaceable
-				Cube cube = new Cube(world, currentCoords);
-				if (!cube.isAir() && !cube.isReplaceable()) {
-					return false;
-				}
-				// check that the block underneath is solid
-				cube = new Cube(world, currentCoords.down(1));
-				if (!cube.isSolid()) {
-					Treasure.LOGGER.debug("not solid at -> {}", currentCoords.down(1));
-					return false;
-				}
-				if (!(entity instanceof IlluminationCharmEntity)) {
-					Treasure.LOGGER.debug("data are not instance of IlluminationCharmEntity -> {}.{}", this.getClass().getSimpleName(), entity.getClass().getSimpleName());
-					return false;
-				}
+		if ( !player.isDead && entity.getMana() > 0) {
+			ICoords currentCoords = new Coords((int)Math.floor(player.posX), (int)Math.floor(player.posY), (int)Math.floor(player.posZ));
 
-				IlluminationCharmEntity charmData = (IlluminationCharmEntity)entity;
-				// cast as linked list
-				List<ICoords> list = (List<ICoords>)charmData.getCoordsList();
-				Treasure.LOGGER.debug("charm coords list size -> {}", list.size());
-				double value = entity.getMana();
+			/*
+			 * validation checks
+			 */
+			// check that the block at current position is air or replaceable
+			Cube cube = new Cube(world, currentCoords);
+			if (!cube.isAir() && !cube.isReplaceable()) {
+				return false;
+			}
+			// check that the block underneath is solid
+			cube = new Cube(world, currentCoords.down(1));
+			if (!cube.isSolid()) {
+				Treasure.LOGGER.debug("not solid at -> {}", currentCoords.down(1));
+				return false;
+			}
+			if (!(entity instanceof IlluminationCharmEntity)) {
+				Treasure.LOGGER.debug("data are not instance of IlluminationCharmEntity -> {}.{}", this.getClass().getSimpleName(), entity.getClass().getSimpleName());
+				return false;
+			}
 
-				boolean isUpdated = false;
-				// check if the coordsList is empty or not
-				if (list.isEmpty()) {
-					// add current position
+			IlluminationCharmEntity charmData = (IlluminationCharmEntity)entity;
+			// cast as linked list
+			List<ICoords> list = (List<ICoords>)charmData.getCoordsList();
+			Treasure.LOGGER.debug("charm coords list size -> {}", list.size());
+			double value = entity.getMana();
+
+			boolean isUpdated = false;
+			// check if the coordsList is empty or not
+			if (list.isEmpty()) {
+				// add current position
+				list.add(0, currentCoords);
+				isUpdated = true;
+			}
+			else {
+				// determine if new position is different than last position - ie first element in data.coordsList
+				ICoords firstCoords = list.get(0);
+				if (!currentCoords.equals(firstCoords) && firstCoords.getDistanceSq(currentCoords) >= 25) {
+					// add current coords to coords list
 					list.add(0, currentCoords);
-					isUpdated = true;
-				}
-				else {
-					// determine if new position is different than last position - ie first element in data.coordsList
-					ICoords firstCoords = list.get(0);
-					if (!currentCoords.equals(firstCoords) && firstCoords.getDistanceSq(currentCoords) >= 25) {
-						// add current coords to coords list
-						list.add(0, currentCoords);
-						// check if coords list is greater than max (data.value)
-						if (list.size() > (int)charmData.getMana()) {
-							// get difference in size
-							int diff = (int) (list.size() - charmData.getMana());
-							//															Treasure.logger.debug("diff -> {}", diff);
-							for (int index = 0; index < diff; index++) {
-								ICoords lastCoords = list.get(list.size()-1);
-								Block block = world.getBlockState(lastCoords.toPos()).getBlock();
-								if (block == Blocks.TORCH) {
-									//	Treasure.logger.debug("set torch to air at -> {}", lastCoords.toShortString());
-									world.setBlockToAir(lastCoords.toPos());
-								}
-								else {
-									//	Treasure.logger.debug("torch no longer found at -> {}", currentCoords.toShortString());
-									// decrement value since torch was harvested
-									value -= 1;
-								}
-								list.remove(lastCoords);
-								//	Treasure.logger.debug("remove torch from list at -> {}; new size ->{}", lastCoords.toShortString(), list.size());								
-							}	
-						}
-						isUpdated = true;
+					// check if coords list is greater than max (data.value)
+					if (list.size() > (int)charmData.getMana()) {
+						// get difference in size
+						int diff = (int) (list.size() - charmData.getMana());
+						//															Treasure.logger.debug("diff -> {}", diff);
+						for (int index = 0; index < diff; index++) {
+							ICoords lastCoords = list.get(list.size()-1);
+							Block block = world.getBlockState(lastCoords.toPos()).getBlock();
+							if (block == Blocks.TORCH) {
+								//	Treasure.logger.debug("set torch to air at -> {}", lastCoords.toShortString());
+								world.setBlockToAir(lastCoords.toPos());
+							}
+							else {
+								//	Treasure.logger.debug("torch no longer found at -> {}", currentCoords.toShortString());
+								// decrement value since torch was harvested
+								value -= 1;
+							}
+							list.remove(lastCoords);
+							//	Treasure.logger.debug("remove torch from list at -> {}; new size ->{}", lastCoords.toShortString(), list.size());								
+						}	
 					}
+					isUpdated = true;
 				}
-				if (isUpdated == true ) {
-					world.setBlockState(currentCoords.toPos(), Blocks.TORCH.getDefaultState());
-					//	Treasure.logger.debug("set torch at -> {}", currentCoords.toShortString());
-					if (value < 0) {
-						value = 0;
-					}
-					entity.setMana(value);
-					//	Treasure.logger.debug("new data -> {}", data);
-					result = true;
+			}
+			if (isUpdated == true ) {
+				world.setBlockState(currentCoords.toPos(), Blocks.TORCH.getDefaultState());
+				//	Treasure.logger.debug("set torch at -> {}", currentCoords.toShortString());
+				if (value < 0) {
+					value = 0;
 				}
+				entity.setMana(value);
+				//	Treasure.logger.debug("new data -> {}", data);
+				result = true;
 			}
 		}
 		return result;
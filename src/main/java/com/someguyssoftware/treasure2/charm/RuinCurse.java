@@ -66,6 +66,11 @@ public class RuinCurse extends Charm {
 		return true;
 	}
 
+	@Override
+	public long getUpdatePeriod(ICharmEntity entity) {
+		return (long) entity.getFrequency();
+	}
+
 	/**
 	 * 
 	 */
@@ -73,29 +78,27 @@ public class RuinCurse extends Charm {
 	public boolean update(World world, Random random, ICoords coords, EntityPlayer player, Event event, final ICharmEntity entity) {
 		boolean result = false;
 		if (!player.isDead && entity.getMana() > 0 && player.getHealth() > 0.0) {
-			if (world.getTotalWorldTime() % entity.getFrequency() == 0) {
-				FluentIterable<ItemStack> inventoryEquipment = (FluentIterable<ItemStack>) player.getEquipmentAndArmor();
-				List<ItemStack> actualEquipment = new ArrayList<>(5);
-				inventoryEquipment.forEach(itemStack -> {
-					if (itemStack.getItem() != Items.AIR) {
-						actualEquipment.add(itemStack);
-					}
-				});
-				if (actualEquipment != null && actualEquipment.size() > 0) {
-					// randomly pick an item
-					ItemStack selectedItemStack  = actualEquipment.get(random.nextInt(actualEquipment.size()));
-					Treasure.LOGGER.debug("damaging item -> {}, current damage -> {} of {}", selectedItemStack.getDisplayName(), selectedItemStack.getItemDamage(), selectedItemStack.getMaxDamage());
-					// damage the item
-					if (selectedItemStack.isItemStackDamageable()) {
-						selectedItemStack.attemptDamageItem((int)getAmount(), random, null);
-						Treasure.LOGGER.debug("damaged item -> {}, now at damaged -> {} of {}", selectedItemStack.getDisplayName(), selectedItemStack.getItemDamage(), selectedItemStack.getMaxDamage());
+			FluentIterable<ItemStack> inventoryEquipment = (FluentIterable<ItemStack>) player.getEquipmentAndArmor();
+			List<ItemStack> actualEquipment = new ArrayList<>(5);
+			inventoryEquipment.forEach(itemStack -> {
+				if (itemStack.getItem() != Items.AIR) {
+					actualEquipment.add(itemStack);
+				}
+			});
+			if (actualEquipment != null && actualEquipment.size() > 0) {
+				// randomly pick an item
+				ItemStack selectedItemStack  = actualEquipment.get(random.nextInt(actualEquipment.size()));
+				Treasure.LOGGER.debug("damaging item -> {}, current damage -> {} of {}", selectedItemStack.getDisplayName(), selectedItemStack.getItemDamage(), selectedItemStack.getMaxDamage());
+				// damage the item
+				if (selectedItemStack.isItemStackDamageable()) {
+					selectedItemStack.attemptDamageItem((int)getAmount(), random, null);
+					Treasure.LOGGER.debug("damaged item -> {}, now at damaged -> {} of {}", selectedItemStack.getDisplayName(), selectedItemStack.getItemDamage(), selectedItemStack.getMaxDamage());
 //						entity.setMana(MathHelper.clamp(entity.getMana() - 1.0,  0D, entity.getMana()));
-						applyCost(world, random, coords, player, event, entity, getAmount());
-					}
-				}			
-				Treasure.LOGGER.debug("charm {} new data -> {}", this.getName(), entity);
-				result = true;
-			}
+					applyCost(world, random, coords, player, event, entity, getAmount());
+				}
+			}			
+			Treasure.LOGGER.debug("charm {} new data -> {}", this.getName(), entity);
+			result = true;
 		}
 		return result;
 	}
@@ -53,6 +53,11 @@ public class SatietyCharm extends Charm {
 		super(builder);
 	}
 
+	@Override
+	public long getUpdatePeriod(ICharmEntity entity) {
+		return (long) getFrequency();
+	}
+
 	@Override
 	public Class<?> getRegisteredEvent() {
 		return REGISTERED_EVENT;
@@ -61,13 +66,11 @@ public class SatietyCharm extends Charm {
 	@Override
 	public boolean update(World world, Random random, ICoords coords, EntityPlayer player, Event event, final ICharmEntity entity) {
 		boolean result = false;
-			if (world.getTotalWorldTime() % getFrequency() == 0) {	
-				if (!player.isDead && entity.getMana() > 0 && player.getFoodStats().getFoodLevel() < MAX_FOOD_LEVEL) {
-					player.getFoodStats().addStats((int)getAmount(), (int)getAmount());
-//					entity.setMana(entity.getMana() - 1);
-					applyCost(world, random, coords, player, event, entity, 1.0);
-					result = true;
-				}
+		if (!player.isDead && entity.getMana() > 0 && player.getFoodStats().getFoodLevel() < MAX_FOOD_LEVEL) {
+			player.getFoodStats().addStats((int)getAmount(), (int)getAmount());
+//			entity.setMana(entity.getMana() - 1);
+			applyCost(world, random, coords, player, event, entity, 1.0);
+			result = true;
 		}
 		return result;
 	}
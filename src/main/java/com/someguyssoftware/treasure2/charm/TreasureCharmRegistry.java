@@ -34,6 +34,9 @@ public class TreasureCharmRegistry {
     private static final Map<ResourceLocation, ICharm> REGISTRY = new HashMap<>();
     private static final Map<Integer, List<ICharm>> REGISTRY_BY_LEVEL = new HashMap<>();
     private static final Map<Rarity, List<ICharm>> REGISTRY_BY_RARITY = new HashMap<>();
+    // charms by network id, assigned in registration order, which is the same on the client and server
+    private static final List<ICharm> REGISTRY_BY_ID = new ArrayList<>();
+    private static final Map<ResourceLocation, Integer> IDS = new HashMap<>();
 
     /**
      * 
@@ -42,6 +45,8 @@ public class TreasureCharmRegistry {
     public static void register(ICharm charm) {
         if (!REGISTRY.containsKey(charm.getName())) {
             REGISTRY.put(charm.getName(), charm);
+            IDS.put(charm.getName(), REGISTRY_BY_ID.size());
+            REGISTRY_BY_ID.add(charm);
         }
         if (!REGISTRY_BY_LEVEL.containsKey(Integer.valueOf(charm.getLevel()))) {
         	List<ICharm> charmList = new ArrayList<>();
@@ -74,6 +79,28 @@ public class TreasureCharmRegistry {
         return Optional.empty();
     }
     
+    /**
+     * 
+     * @param name
+     * @return the network id of the charm or -1 if it is not registered
+     */
+    public static int getId(ResourceLocation name) {
+        Integer id = IDS.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * 
+     * @param id
+     * @return
+     */
+    public static Optional<ICharm> getById(int id) {
+        if (id >= 0 && id < REGISTRY_BY_ID.size()) {
+            return Optional.of(REGISTRY_BY_ID.get(id));
+        }
+        return Optional.empty();
+    }
+
     /**
      * @param level
      * @return
@@ -0,0 +1,125 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.chest;
+
+import java.util.List;
+
+import com.someguyssoftware.treasure2.item.LockItem;
+import com.someguyssoftware.treasure2.lock.LockState;
+
+/**
+ * An immutable snapshot of what a chest's block model draws into the chunk geometry:
+ * whether the lid is idle (closed and not in use) and the locks, by slot.
+ * Taken on the client thread and passed to the block model as an unlisted property of the extended block state,
+ * so chunk rebuilds do not read the mutable lock states of the tile entity.
+ */
+public class ChestRenderState {
+	private static final LockItem[] NO_LOCKS = new LockItem[0];
+	private static final float[] NO_SLOTS = new float[0];
+	// the values of a slot: x offset, y offset, z offset, rotation
+	private static final int SLOT_SIZE = 4;
+
+	private final boolean idle;
+	private final LockItem[] locks;
+	// slots are mutable, so their values are copied
+	private final float[] slots;
+	// a bitmask of the indexes of the slots that have a lock
+	private final int lockedSlots;
+
+	/**
+	 *
+	 * @param idle
+	 * @param lockStates
+	 */
+	public ChestRenderState(boolean idle, List<LockState> lockStates) {
+		this.idle = idle;
+		if (lockStates == null || lockStates.isEmpty()) {
+			this.locks = NO_LOCKS;
+			this.slots = NO_SLOTS;
+			this.lockedSlots = 0;
+		}
+		else {
+			this.locks = new LockItem[lockStates.size()];
+			this.slots = new float[lockStates.size() * SLOT_SIZE];
+			int lockedSlots = 0;
+			for (int index = 0; index < lockStates.size(); index++) {
+				LockState lockState = lockStates.get(index);
+				locks[index] = lockState.getLock();
+				ILockSlot slot = lockState.getSlot();
+				if (slot != null) {
+					slots[index * SLOT_SIZE] = slot.getXOffset();
+					slots[index * SLOT_SIZE + 1] = slot.getYOffset();
+					slots[index * SLOT_SIZE + 2] = slot.getZOffset();
+					slots[index * SLOT_SIZE + 3] = slot.getRotation();
+					if (locks[index] != null) {
+						lockedSlots |= 1 << slot.getIndex();
+					}
+				}
+			}
+			this.lockedSlots = lockedSlots;
+		}
+	}
+
+	/**
+	 *
+	 * @param lockStates
+	 * @return true if the snapshot has the same locks in the same slots as the lock states
+	 */
+	public boolean hasLocks(List<LockState> lockStates) {
+		int size = lockStates == null ? 0 : lockStates.size();
+		if (size != locks.length) {
+			return false;
+		}
+		for (int index = 0; index < size; index++) {
+			LockState lockState = lockStates.get(index);
+			if (lockState.getLock() != locks[index]) {
+				return false;
+			}
+			ILockSlot slot = lockState.getSlot();
+			if (locks[index] != null && (slot == null
+					|| slot.getXOffset() != getXOffset(index) || slot.getYOffset() != getYOffset(index)
+					|| slot.getZOffset() != getZOffset(index) || slot.getRotation() != getRotation(index))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public boolean isIdle() {
+		return idle;
+	}
+
+	public int getLockCount() {
+		return locks.length;
+	}
+
+	/**
+	 *
+	 * @param index
+	 * @return the lock in the slot, or null if the slot is empty
+	 */
+	public LockItem getLock(int index) {
+		return locks[index];
+	}
+
+	public float getXOffset(int index) {
+		return slots[index * SLOT_SIZE];
+	}
+
+	public float getYOffset(int index) {
+		return slots[index * SLOT_SIZE + 1];
+	}
+
+	public float getZOffset(int index) {
+		return slots[index * SLOT_SIZE + 2];
+	}
+
+	public float getRotation(int index) {
+		return slots[index * SLOT_SIZE + 3];
+	}
+
+	public int getLockedSlots() {
+		return lockedSlots;
+	}
+}
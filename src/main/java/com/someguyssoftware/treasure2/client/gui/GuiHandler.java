@@ -21,8 +21,6 @@ package com.someguyssoftware.treasure2.client.gui;
 
 import static com.someguyssoftware.treasure2.Treasure.LOGGER;
 
-import java.util.Random;
-
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.client.gui.inventory.CharmingTableGui;
 import com.someguyssoftware.treasure2.client.gui.inventory.CompressorChestGui;
@@ -102,7 +100,7 @@ public class GuiHandler implements IGuiHandler {
                 LOGGER.debug("chest gen  -> {}", chestTileEntity.getGenerationContext().getChestGeneratorType().getChestGenerator().getClass().getSimpleName());
                 
                 // fill the chest with loot
-                chestGenerator.fillChest(world, new Random(), tileEntity, chestTileEntity.getGenerationContext().getLootRarity(), player);
+                chestGenerator.fillChest(world, world.rand, tileEntity, chestTileEntity.getGenerationContext().getLootRarity(), player);
 
 			}
 		}
@@ -1,5 +1,8 @@
 package com.someguyssoftware.treasure2.client.model;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
 import net.minecraft.client.model.ModelBase;
@@ -203,6 +206,14 @@ public class BandedChestModel extends ModelBase implements ITreasureChestModel {
 	    pad.render(0.0625F);
 	}
 
+	/**
+	 * 
+	 */
+	@Override
+	public List<ModelRenderer> getParts(int lockedSlots) {
+		return Arrays.asList(base, lid, RightBottomBand, RightTopBand, LeftTopBand, FrontLeftTopBand, BackRightTopBand, BackLeftTopBand, LeftBottomBand, FrontRightTopBand, Ledge, Ledge2, Ledge3, hinge1, hinge2, pad);
+	}
+
 	@Override
 	public ModelRenderer getLid() {
 		return lid;
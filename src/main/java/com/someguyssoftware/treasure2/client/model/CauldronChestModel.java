@@ -1,5 +1,8 @@
 package com.someguyssoftware.treasure2.client.model;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
 import net.minecraft.client.model.ModelBase;
@@ -179,6 +182,14 @@ public class CauldronChestModel extends ModelBase implements ITreasureChestModel
 		br2.render(angle);		
 	}
 
+	/**
+	 * 
+	 */
+	@Override
+	public List<ModelRenderer> getParts(int lockedSlots) {
+		return Arrays.asList(front, back, left, right, bottom, lidLeft, lidRight, flFoot, fl2, frFoot, fr2, blFoot, bl2, brFoot, br2);
+	}
+
 	@Override
 	public ModelRenderer getLid() {
 		return lidLeft;
@@ -1,5 +1,8 @@
 package com.someguyssoftware.treasure2.client.model;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.someguyssoftware.treasure2.lock.LockState;
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
@@ -207,6 +210,14 @@ public class CompressorChestModel extends ModelBase implements ITreasureChestMod
 	    latch4.render(f5);
 	}
 
+	/**
+	 * 
+	 */
+	@Override
+	public List<ModelRenderer> getParts(int lockedSlots) {
+		return Arrays.asList(base, lid1, lid2, lid3, lid4, latch1, latch2, latch3, latch4);
+	}
+
 	/**
 	 * @return the base
 	 */
@@ -1,5 +1,8 @@
 package com.someguyssoftware.treasure2.client.model;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
 import net.minecraft.client.model.ModelBase;
@@ -189,6 +192,14 @@ public class DreadPirateChestModel extends ModelBase implements ITreasureChestMo
 		handle2.render(f5);
 	}
 
+	/**
+	 * 
+	 */
+	@Override
+	public List<ModelRenderer> getParts(int lockedSlots) {
+		return Arrays.asList(lid, baseMiddle, baseSide1, baseSide2, bottom, skullTop, skullBottom, topHinge1, topHinge2, bottomHinge1, bottomHinge2, corner1, corner2, handle1, handle2);
+	}
+
 	@Override
 	public ModelRenderer getLid() {
 		return lid;
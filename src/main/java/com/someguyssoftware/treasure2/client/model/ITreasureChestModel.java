@@ -3,6 +3,9 @@
  */
 package com.someguyssoftware.treasure2.client.model;
 
+import java.util.Collections;
+import java.util.List;
+
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
 import net.minecraft.client.model.ModelRenderer;
@@ -16,4 +19,14 @@ public interface ITreasureChestModel {
 	public void renderAll(ITreasureChestTileEntity te);
 
 	public ModelRenderer getLid();
+
+	/**
+	 * The parts that renderAll() draws, in their closed state, for baking the model into the chunk geometry.
+	 * Models that return no parts are only rendered by the TESR.
+	 * @param lockedSlots a bitmask of the indexes of the slots that have a lock
+	 * @return
+	 */
+	default public List<ModelRenderer> getParts(int lockedSlots) {
+		return Collections.emptyList();
+	}
 }
@@ -1,5 +1,8 @@
 package com.someguyssoftware.treasure2.client.model;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
 import net.minecraft.client.model.ModelBase;
@@ -94,6 +97,14 @@ public class MilkCrateModel extends ModelBase implements ITreasureChestModel {
 		bottomFace.render(angle);
 	}
 
+	/**
+	 * 
+	 */
+	@Override
+	public List<ModelRenderer> getParts(int lockedSlots) {
+		return Arrays.asList(lid, padBottom, northFace, southFace, eastFace, westFace, bottomFace);
+	}
+
 	@Override
 	public ModelRenderer getLid() {
 		return lid;
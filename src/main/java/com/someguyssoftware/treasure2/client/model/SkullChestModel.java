@@ -1,5 +1,8 @@
 package com.someguyssoftware.treasure2.client.model;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
 import net.minecraft.client.model.ModelBase;
@@ -88,6 +91,14 @@ public class SkullChestModel extends ModelBase implements ITreasureChestModel {
 		jawBottom.render(0.0625F);
 	}
 
+	/**
+	 * 
+	 */
+	@Override
+	public List<ModelRenderer> getParts(int lockedSlots) {
+		return Arrays.asList(top, head, jaw, jawBottom);
+	}
+
 	@Override
 	public ModelRenderer getLid() {
 		return top;
@@ -1,5 +1,9 @@
 package com.someguyssoftware.treasure2.client.model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import com.someguyssoftware.treasure2.lock.LockState;
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
@@ -153,6 +157,21 @@ public class StandardChestModel extends ModelBase implements ITreasureChestModel
 		}
 	}
 
+	/**
+	 * Latch2 and Latch3 are only drawn for the locked side slots.
+	 */
+	@Override
+	public List<ModelRenderer> getParts(int lockedSlots) {
+		List<ModelRenderer> parts = new ArrayList<>(Arrays.asList(base, lid, padTop, padBottom, hingeBottom1, hingeBottom2, Latch1));
+		if ((lockedSlots & (1 << 1)) != 0) {
+			parts.add(Latch3);
+		}
+		if ((lockedSlots & (1 << 2)) != 0) {
+			parts.add(Latch2);
+		}
+		return parts;
+	}
+
 	/**
 	 * @return the base
 	 */
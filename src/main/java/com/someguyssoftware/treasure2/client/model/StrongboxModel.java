@@ -1,5 +1,8 @@
 package com.someguyssoftware.treasure2.client.model;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
 import net.minecraft.client.model.ModelBase;
@@ -106,6 +109,14 @@ public class StrongboxModel extends ModelBase implements ITreasureChestModel {
 		pad.render(0.0625F);
 		pad2.render(0.0625F);
 	}
+
+	/**
+	 * 
+	 */
+	@Override
+	public List<ModelRenderer> getParts(int lockedSlots) {
+		return Arrays.asList(box, lid, foot1, foot2, foot3, foot4, latch, pad, pad2);
+	}
 	
 	@Override
 	public ModelRenderer getLid() {
@@ -3,6 +3,9 @@
  */
 package com.someguyssoftware.treasure2.client.model;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
 import net.minecraft.client.model.ModelBase;
@@ -100,6 +103,14 @@ public class VikingChestModel  extends ModelBase implements ITreasureChestModel
 		back.render(0.0625F);
 	}
 
+	/**
+	 * 
+	 */
+	@Override
+	public List<ModelRenderer> getParts(int lockedSlots) {
+		return Arrays.asList(mainBox, lid, side1, side2, front, back);
+	}
+
 	@Override
 	public ModelRenderer getLid() {
 		return lid;
@@ -0,0 +1,181 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.client.model.baked;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+import javax.vecmath.Matrix4f;
+
+import com.someguyssoftware.treasure2.block.AbstractChestBlock;
+import com.someguyssoftware.treasure2.chest.ChestRenderState;
+import com.someguyssoftware.treasure2.item.LockItem;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.IBakedModel;
+import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
+import net.minecraft.client.renderer.block.model.ItemOverrideList;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.common.property.IExtendedBlockState;
+
+/**
+ * The block model of a chest. Draws the chest body and its locks into the chunk geometry while the chest is idle,
+ * and nothing while the TESR animates the chest.
+ */
+public class BakedChestModel implements IBakedModel {
+	private final IBakedModel original;
+	/*
+	 * the body quads by horizontal facing index then locked slots, or null if the chest is only drawn by the TESR
+	 */
+	private final List<BakedQuad>[][] body;
+	/*
+	 * the lock rotation and scale of the TESR, by quarter turn of the slot rotation
+	 */
+	private final Matrix4f[] lockTransforms;
+	/*
+	 * the item models of the locks, resolved at model bake time
+	 */
+	private final Map<LockItem, LockModel> lockModels;
+	private final Map<LockKey, List<BakedQuad>> lockQuads = new ConcurrentHashMap<>();
+
+	/**
+	 *
+	 * @param original the block model from the blockstate, used for the particle texture
+	 * @param body
+	 * @param lockTransforms
+	 * @param lockModels
+	 */
+	public BakedChestModel(IBakedModel original, @Nullable List<BakedQuad>[][] body, Matrix4f[] lockTransforms, Map<LockItem, LockModel> lockModels) {
+		this.original = original;
+		this.body = body;
+		this.lockTransforms = lockTransforms;
+		this.lockModels = lockModels;
+	}
+
+	@Override
+	public List<BakedQuad> getQuads(@Nullable IBlockState state, @Nullable EnumFacing side, long rand) {
+		if (side != null || body == null || !(state instanceof IExtendedBlockState)) {
+			return Collections.emptyList();
+		}
+		ChestRenderState renderState = ((IExtendedBlockState) state).getValue(AbstractChestBlock.RENDER_STATE);
+		if (renderState == null || !renderState.isIdle()) {
+			return Collections.emptyList();
+		}
+
+		int facing = Math.max(0, state.getValue(AbstractChestBlock.FACING).getHorizontalIndex());
+		List<BakedQuad>[] bodies = body[facing];
+		List<BakedQuad> bodyQuads = bodies[renderState.getLockedSlots() & (bodies.length - 1)];
+		if (renderState.getLockedSlots() == 0) {
+			return bodyQuads;
+		}
+
+		List<BakedQuad> quads = new ArrayList<>(bodyQuads);
+		for (int index = 0; index < renderState.getLockCount(); index++) {
+			LockItem lock = renderState.getLock(index);
+			if (lock != null && lockModels.containsKey(lock)) {
+				LockKey key = new LockKey(lock, renderState.getXOffset(index), renderState.getYOffset(index),
+						renderState.getZOffset(index), Math.floorMod(Math.round(renderState.getRotation(index) / 90F), 4));
+				quads.addAll(lockQuads.computeIfAbsent(key, this::bakeLock));
+			}
+		}
+		return quads;
+	}
+
+	/**
+	 * Follows the TESR: slot offset, lock rotation and scale, then the item model of the lock
+	 */
+	private List<BakedQuad> bakeLock(LockKey key) {
+		LockModel lockModel = lockModels.get(key.lock);
+		Matrix4f transform = ChestModelBaker.translation(key.x, key.y, key.z);
+		transform.mul(lockTransforms[key.quarter]);
+		if (lockModel.perspective != null) {
+			transform.mul(lockModel.perspective);
+		}
+		transform.mul(ChestModelBaker.translation(-0.5F, -0.5F, -0.5F));
+		return ChestModelBaker.bakeItemQuads(lockModel.quads, transform);
+	}
+
+	@Override
+	public boolean isAmbientOcclusion() {
+		return false;
+	}
+
+	@Override
+	public boolean isGui3d() {
+		return original.isGui3d();
+	}
+
+	@Override
+	public boolean isBuiltInRenderer() {
+		return false;
+	}
+
+	@Override
+	public TextureAtlasSprite getParticleTexture() {
+		return original.getParticleTexture();
+	}
+
+	@Override
+	public ItemCameraTransforms getItemCameraTransforms() {
+		return original.getItemCameraTransforms();
+	}
+
+	@Override
+	public ItemOverrideList getOverrides() {
+		return ItemOverrideList.NONE;
+	}
+
+	/*
+	 * The quads and the perspective transform of the item model of a lock
+	 */
+	static class LockModel {
+		private final List<BakedQuad> quads;
+		private final Matrix4f perspective;
+
+		LockModel(List<BakedQuad> quads, @Nullable Matrix4f perspective) {
+			this.quads = quads;
+			this.perspective = perspective;
+		}
+	}
+
+	/*
+	 * A lock in a slot position
+	 */
+	private static class LockKey {
+		private final LockItem lock;
+		private final float x;
+		private final float y;
+		private final float z;
+		private final int quarter;
+
+		LockKey(LockItem lock, float x, float y, float z, int quarter) {
+			this.lock = lock;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			this.quarter = quarter;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof LockKey)) {
+				return false;
+			}
+			LockKey other = (LockKey) obj;
+			return lock == other.lock && x == other.x && y == other.y && z == other.z && quarter == other.quarter;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(lock), x, y, z, quarter);
+		}
+	}
+}
@@ -0,0 +1,237 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.client.model.baked;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.vecmath.Matrix4f;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import com.someguyssoftware.gottschcore.enums.Direction;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.block.AbstractChestBlock;
+import com.someguyssoftware.treasure2.chest.ChestRenderState;
+import com.someguyssoftware.treasure2.chest.LockSlot;
+import com.someguyssoftware.treasure2.client.render.tileentity.TreasureChestTileEntityRenderer;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.item.LockItem;
+import com.someguyssoftware.treasure2.lock.LockState;
+import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
+
+import net.minecraft.block.Block;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.IBakedModel;
+import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
+import net.minecraft.client.renderer.block.model.ModelResourceLocation;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.tileentity.TileEntityRendererDispatcher;
+import net.minecraft.client.renderer.tileentity.TileEntitySpecialRenderer;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.client.event.ModelBakeEvent;
+import net.minecraftforge.client.event.TextureStitchEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * Bakes the chest models into block models, so that idle chests are drawn as part of the chunk geometry.
+ * The JSON block models of the chests are only icons, so the block models are baked from the chest models of the TESRs.
+ * The TESR draws a chest only while its lid is moving, or until the chunk has been rebuilt with the chest's current state.
+ */
+@Mod.EventBusSubscriber(modid = Treasure.MODID, value = Side.CLIENT)
+public class BakedChestModels {
+	/*
+	 * the ticks to wait after a chunk rebuild before the TESR stops drawing the chest,
+	 * so the chest is not missing while the rebuilt chunk is uploaded
+	 */
+	private static final long UPLOAD_TICKS = 2;
+	private static final String INVENTORY_VARIANT = "inventory";
+	private static final EnumFacing[] ITEM_SIDES = {null, EnumFacing.DOWN, EnumFacing.UP, EnumFacing.NORTH, EnumFacing.SOUTH, EnumFacing.WEST, EnumFacing.EAST};
+
+	/*
+	 * the sprites of the chest textures, by texture
+	 */
+	private static final Map<ResourceLocation, PaddedTextureSprite> SPRITES = new HashMap<>();
+
+	private BakedChestModels() {}
+
+	/**
+	 *
+	 * @param te
+	 * @return true if the chunk geometry draws the chest as it is now
+	 */
+	public static boolean isDrawnByChunk(AbstractTreasureChestTileEntity te) {
+		// the lock states may have changed on the client since the last tick
+		te.updateRenderState();
+		ChestRenderState state = te.getRenderState();
+		if (te.getChunkRenderState() != state) {
+			te.requestRenderUpdate();
+			return false;
+		}
+		return state.isIdle() && te.getChunkRenderAge() >= UPLOAD_TICKS;
+	}
+
+	/**
+	 *
+	 * @param event
+	 */
+	@SubscribeEvent
+	public static void onTextureStitchPre(TextureStitchEvent.Pre event) {
+		if (!TreasureConfig.CHESTS.enableBakedChestModels) {
+			return;
+		}
+		SPRITES.clear();
+		for (Block block : ForgeRegistries.BLOCKS.getValuesCollection()) {
+			TreasureChestTileEntityRenderer renderer = getRenderer(block);
+			if (renderer == null || SPRITES.containsKey(renderer.getTexture())) {
+				continue;
+			}
+			ResourceLocation texture = renderer.getTexture();
+			// ex. treasure2:textures/entity/chest/wood-chest.png -> treasure2:entity/chest/wood-chest
+			String path = texture.getResourcePath();
+			String spriteName = texture.getResourceDomain() + ":" + path.substring("textures/".length(), path.length() - ".png".length());
+			PaddedTextureSprite sprite = new PaddedTextureSprite(spriteName, texture);
+			if (event.getMap().setTextureEntry(sprite)) {
+				SPRITES.put(texture, sprite);
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param event
+	 */
+	@SubscribeEvent
+	public static void onModelBake(ModelBakeEvent event) {
+		if (!TreasureConfig.CHESTS.enableBakedChestModels) {
+			return;
+		}
+		Map<ResourceLocation, AbstractChestBlock> blocks = new HashMap<>();
+		for (Block block : ForgeRegistries.BLOCKS.getValuesCollection()) {
+			if (block instanceof AbstractChestBlock) {
+				blocks.put(block.getRegistryName(), (AbstractChestBlock) block);
+			}
+		}
+
+		Map<LockItem, BakedChestModel.LockModel> lockModels = bakeLocks(event);
+		Map<AbstractChestBlock, BakedParts> parts = new HashMap<>();
+		for (ModelResourceLocation location : new ArrayList<>(event.getModelRegistry().getKeys())) {
+			AbstractChestBlock block = blocks.get(new ResourceLocation(location.getResourceDomain(), location.getResourcePath()));
+			if (block == null || INVENTORY_VARIANT.equals(location.getVariant())) {
+				continue;
+			}
+			BakedParts bakedParts = parts.computeIfAbsent(block, BakedChestModels::bake);
+			IBakedModel original = event.getModelRegistry().getObject(location);
+			event.getModelRegistry().putObject(location, new BakedChestModel(original, bakedParts.body, bakedParts.lockTransforms, lockModels));
+		}
+		Treasure.LOGGER.debug("baked {} chest models", parts.size());
+	}
+
+	/**
+	 * Resolves the item models of the locks up front, so chunk rebuilds do not create item stacks or resolve models.
+	 * Follows the TESR: RenderItem.renderItem() with TransformType.NONE
+	 * @param event
+	 * @return the quads and the perspective transform of the item model of each lock
+	 */
+	private static Map<LockItem, BakedChestModel.LockModel> bakeLocks(ModelBakeEvent event) {
+		Map<LockItem, BakedChestModel.LockModel> lockModels = new IdentityHashMap<>();
+		for (Item item : ForgeRegistries.ITEMS.getValuesCollection()) {
+			if (!(item instanceof LockItem)) {
+				continue;
+			}
+			IBakedModel model = event.getModelRegistry().getObject(new ModelResourceLocation(item.getRegistryName(), INVENTORY_VARIANT));
+			if (model == null) {
+				continue;
+			}
+			model = model.getOverrides().handleItemState(model, new ItemStack(item), null, null);
+			Pair<? extends IBakedModel, Matrix4f> perspective = model.handlePerspective(ItemCameraTransforms.TransformType.NONE);
+			model = perspective.getLeft();
+
+			List<BakedQuad> quads = new ArrayList<>();
+			for (EnumFacing side : ITEM_SIDES) {
+				quads.addAll(model.getQuads(null, side, 0L));
+			}
+			lockModels.put((LockItem) item, new BakedChestModel.LockModel(quads, perspective.getRight()));
+		}
+		return lockModels;
+	}
+
+	/**
+	 *
+	 * @param block
+	 * @return the body quads, or null if the chest is only drawn by the TESR, and the lock transforms
+	 */
+	@SuppressWarnings("unchecked")
+	private static BakedParts bake(AbstractChestBlock block) {
+		TreasureChestTileEntityRenderer renderer = getRenderer(block);
+		if (renderer == null || !renderer.isBaked() || !SPRITES.containsKey(renderer.getTexture())) {
+			return new BakedParts(null, null);
+		}
+		PaddedTextureSprite sprite = SPRITES.get(renderer.getTexture());
+
+		Matrix4f[] lockTransforms = new Matrix4f[4];
+		for (int quarter = 0; quarter < 4; quarter++) {
+			LockState lockState = new LockState();
+			lockState.setSlot(new LockSlot(0, Direction.NORTH, 0F, 0F, 0F, quarter * 90F));
+			lockTransforms[quarter] = ChestModelBaker.captureTransform(() -> {
+				renderer.updateLockRotation(lockState);
+				renderer.updateLockScale();
+			});
+		}
+
+		int masks = 1 << block.getChestType().getSlots().length;
+		List<BakedQuad>[][] body = new List[EnumFacing.HORIZONTALS.length][masks];
+		for (EnumFacing facing : EnumFacing.HORIZONTALS) {
+			int rotation = renderer.getRotation(facing.getIndex());
+			// the TESR transform, at the block origin
+			Matrix4f transform = ChestModelBaker.captureTransform(() -> {
+				renderer.updateTranslation(0D, 0D, 0D);
+				GlStateManager.rotate(180F, 0F, 0F, 1.0F);
+				GlStateManager.rotate((float) rotation, 0.0F, 1.0F, 0.0F);
+				renderer.updateScale();
+			});
+			for (int lockedSlots = 0; lockedSlots < masks; lockedSlots++) {
+				body[facing.getHorizontalIndex()][lockedSlots] = ChestModelBaker.bakeParts(renderer.getModel().getParts(lockedSlots),
+						renderer.getRestPose(), transform, sprite);
+			}
+		}
+		return new BakedParts(body, lockTransforms);
+	}
+
+	/**
+	 *
+	 * @param block
+	 * @return the TESR of the chest block, or null if the block is not a chest
+	 */
+	private static TreasureChestTileEntityRenderer getRenderer(Block block) {
+		if (!(block instanceof AbstractChestBlock) || ((AbstractChestBlock) block).getTileEntityClass() == null) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		TileEntitySpecialRenderer<TileEntity> renderer = TileEntityRendererDispatcher.instance
+				.getRenderer((Class<? extends TileEntity>) ((AbstractChestBlock) block).getTileEntityClass());
+		return renderer instanceof TreasureChestTileEntityRenderer ? (TreasureChestTileEntityRenderer) renderer : null;
+	}
+
+	private static class BakedParts {
+		private final List<BakedQuad>[][] body;
+		private final Matrix4f[] lockTransforms;
+
+		BakedParts(List<BakedQuad>[][] body, Matrix4f[] lockTransforms) {
+			this.body = body;
+			this.lockTransforms = lockTransforms;
+		}
+	}
+}
@@ -0,0 +1,276 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.client.model.baked;
+
+import java.lang.reflect.Field;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.vecmath.Matrix4f;
+import javax.vecmath.Point3f;
+import javax.vecmath.Vector3f;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.client.model.ITreasureChestModel;
+
+import net.minecraft.client.model.ModelBase;
+import net.minecraft.client.model.ModelBox;
+import net.minecraft.client.model.ModelRenderer;
+import net.minecraft.client.model.PositionTextureVertex;
+import net.minecraft.client.model.TexturedQuad;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.renderer.vertex.VertexFormat;
+import net.minecraft.client.renderer.vertex.VertexFormatElement;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.client.model.pipeline.LightUtil;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+
+/**
+ * Converts the parts of a chest model, and lock item models, into block quads.
+ * The quads are transformed exactly as the TESR transforms the model, so the baked chest lines up with the animated one.
+ */
+public class ChestModelBaker {
+	// the scale that renderAll() renders the model parts at
+	private static final float SCALE = 0.0625F;
+	// the BLOCK format is position (3), color (1), uv (2) and lightmap (1)
+	private static final int VERTEX_SIZE = 7;
+
+	private static final Field QUAD_LIST = ReflectionHelper.findField(ModelBox.class, "quadList", "field_78254_i");
+
+	private ChestModelBaker() {}
+
+	/**
+	 *
+	 * @param model
+	 * @return the rotation angles of all the parts of the model
+	 */
+	public static Map<ModelRenderer, float[]> captureRestPose(ITreasureChestModel model) {
+		if (!(model instanceof ModelBase)) {
+			return Collections.emptyMap();
+		}
+		Map<ModelRenderer, float[]> pose = new IdentityHashMap<>();
+		for (ModelRenderer part : ((ModelBase) model).boxList) {
+			pose.put(part, new float[] {part.rotateAngleX, part.rotateAngleY, part.rotateAngleZ});
+		}
+		return pose;
+	}
+
+	/**
+	 * Captures the model view matrix built by the transform. Must be called on the client thread.
+	 * @param transform
+	 * @return
+	 */
+	public static Matrix4f captureTransform(Runnable transform) {
+		FloatBuffer buffer = BufferUtils.createFloatBuffer(16);
+		GlStateManager.matrixMode(GL11.GL_MODELVIEW);
+		GlStateManager.pushMatrix();
+		GlStateManager.loadIdentity();
+		transform.run();
+		GlStateManager.getFloat(GL11.GL_MODELVIEW_MATRIX, buffer);
+		GlStateManager.popMatrix();
+
+		float[] values = new float[16];
+		buffer.get(values);
+		Matrix4f matrix = new Matrix4f(values);
+		// GL matrices are column-major
+		matrix.transpose();
+		return matrix;
+	}
+
+	/**
+	 *
+	 * @param parts
+	 * @param restPose
+	 * @param transform
+	 * @param sprite
+	 * @return
+	 */
+	public static List<BakedQuad> bakeParts(List<ModelRenderer> parts, Map<ModelRenderer, float[]> restPose, Matrix4f transform, PaddedTextureSprite sprite) {
+		List<BakedQuad> quads = new ArrayList<>();
+		for (ModelRenderer part : parts) {
+			bakePart(part, restPose, transform, sprite, quads);
+		}
+		return quads;
+	}
+
+	/**
+	 * Follows ModelRenderer.render(): offset, rotation point, then rotation Z, Y, X. The children are drawn in the part's transform.
+	 */
+	private static void bakePart(ModelRenderer part, Map<ModelRenderer, float[]> restPose, Matrix4f parent, PaddedTextureSprite sprite, List<BakedQuad> quads) {
+		if (part.isHidden || !part.showModel) {
+			return;
+		}
+		float[] angles = restPose.get(part);
+		if (angles == null) {
+			angles = new float[] {part.rotateAngleX, part.rotateAngleY, part.rotateAngleZ};
+		}
+
+		Matrix4f matrix = new Matrix4f(parent);
+		matrix.mul(translation(part.offsetX + part.rotationPointX * SCALE, part.offsetY + part.rotationPointY * SCALE, part.offsetZ + part.rotationPointZ * SCALE));
+		Matrix4f rotation = new Matrix4f();
+		if (angles[2] != 0.0F) {
+			rotation.rotZ(angles[2]);
+			matrix.mul(rotation);
+		}
+		if (angles[1] != 0.0F) {
+			rotation.rotY(angles[1]);
+			matrix.mul(rotation);
+		}
+		if (angles[0] != 0.0F) {
+			rotation.rotX(angles[0]);
+			matrix.mul(rotation);
+		}
+
+		float[][] positions = new float[4][3];
+		float[][] uvs = new float[4][2];
+		for (ModelBox box : part.cubeList) {
+			for (TexturedQuad quad : getQuads(box)) {
+				for (int index = 0; index < 4; index++) {
+					PositionTextureVertex vertex = quad.vertexPositions[index];
+					Point3f point = new Point3f((float) vertex.vector3D.x * SCALE, (float) vertex.vector3D.y * SCALE, (float) vertex.vector3D.z * SCALE);
+					matrix.transform(point);
+					positions[index][0] = point.x;
+					positions[index][1] = point.y;
+					positions[index][2] = point.z;
+					uvs[index][0] = sprite.getTextureU(vertex.texturePositionX);
+					uvs[index][1] = sprite.getTextureV(vertex.texturePositionY);
+				}
+				BakedQuad bakedQuad = bakeQuad(positions, uvs, matrix.determinant() < 0.0F, sprite);
+				if (bakedQuad != null) {
+					quads.add(bakedQuad);
+				}
+			}
+		}
+
+		if (part.childModels != null) {
+			for (ModelRenderer child : part.childModels) {
+				bakePart(child, restPose, matrix, sprite, quads);
+			}
+		}
+	}
+
+	/**
+	 * Transforms the quads of an item model, ex. a lock, into block quads.
+	 * @param itemQuads
+	 * @param transform
+	 * @return
+	 */
+	public static List<BakedQuad> bakeItemQuads(List<BakedQuad> itemQuads, Matrix4f transform) {
+		List<BakedQuad> quads = new ArrayList<>(itemQuads.size());
+		boolean mirrored = transform.determinant() < 0.0F;
+		float[][] positions = new float[4][3];
+		float[][] uvs = new float[4][2];
+		float[] element = new float[4];
+		for (BakedQuad itemQuad : itemQuads) {
+			VertexFormat format = itemQuad.getFormat();
+			int positionElement = -1;
+			int uvElement = -1;
+			for (int index = 0; index < format.getElementCount(); index++) {
+				VertexFormatElement formatElement = format.getElement(index);
+				if (formatElement.getUsage() == VertexFormatElement.EnumUsage.POSITION) {
+					positionElement = index;
+				}
+				else if (formatElement.getUsage() == VertexFormatElement.EnumUsage.UV && formatElement.getIndex() == 0) {
+					uvElement = index;
+				}
+			}
+			if (positionElement < 0 || uvElement < 0) {
+				continue;
+			}
+
+			for (int vertex = 0; vertex < 4; vertex++) {
+				LightUtil.unpack(itemQuad.getVertexData(), element, format, vertex, positionElement);
+				Point3f point = new Point3f(element[0], element[1], element[2]);
+				transform.transform(point);
+				positions[vertex][0] = point.x;
+				positions[vertex][1] = point.y;
+				positions[vertex][2] = point.z;
+				LightUtil.unpack(itemQuad.getVertexData(), element, format, vertex, uvElement);
+				uvs[vertex][0] = element[0];
+				uvs[vertex][1] = element[1];
+			}
+			BakedQuad bakedQuad = bakeQuad(positions, uvs, mirrored, itemQuad.getSprite());
+			if (bakedQuad != null) {
+				quads.add(bakedQuad);
+			}
+		}
+		return quads;
+	}
+
+	/**
+	 *
+	 * @param positions
+	 * @param uvs
+	 * @param mirrored if true the vertex order is reversed to keep the face pointing outwards
+	 * @param sprite
+	 * @return the quad, or null if the quad has no area
+	 */
+	private static BakedQuad bakeQuad(float[][] positions, float[][] uvs, boolean mirrored, TextureAtlasSprite sprite) {
+		int[] data = new int[4 * VERTEX_SIZE];
+		for (int index = 0; index < 4; index++) {
+			int vertex = mirrored ? 3 - index : index;
+			int offset = index * VERTEX_SIZE;
+			data[offset] = Float.floatToRawIntBits(positions[vertex][0]);
+			data[offset + 1] = Float.floatToRawIntBits(positions[vertex][1]);
+			data[offset + 2] = Float.floatToRawIntBits(positions[vertex][2]);
+			data[offset + 3] = -1;
+			data[offset + 4] = Float.floatToRawIntBits(uvs[vertex][0]);
+			data[offset + 5] = Float.floatToRawIntBits(uvs[vertex][1]);
+			data[offset + 6] = 0;
+		}
+
+		// the normal of the quad as it is drawn, (v2 - v1) x (v0 - v1)
+		Vector3f v0 = vertex(data, 0);
+		Vector3f v1 = vertex(data, 1);
+		Vector3f v2 = vertex(data, 2);
+		v2.sub(v1);
+		v0.sub(v1);
+		Vector3f normal = new Vector3f();
+		normal.cross(v2, v0);
+		if (normal.lengthSquared() < 1.0E-12F) {
+			return null;
+		}
+		EnumFacing face = EnumFacing.getFacingFromVector(normal.x, normal.y, normal.z);
+		return new BakedQuad(data, -1, face, sprite, true, DefaultVertexFormats.BLOCK);
+	}
+
+	private static Vector3f vertex(int[] data, int index) {
+		int offset = index * VERTEX_SIZE;
+		return new Vector3f(Float.intBitsToFloat(data[offset]), Float.intBitsToFloat(data[offset + 1]), Float.intBitsToFloat(data[offset + 2]));
+	}
+
+	/**
+	 *
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @return
+	 */
+	public static Matrix4f translation(float x, float y, float z) {
+		Matrix4f matrix = new Matrix4f();
+		matrix.setIdentity();
+		matrix.setTranslation(new Vector3f(x, y, z));
+		return matrix;
+	}
+
+	private static TexturedQuad[] getQuads(ModelBox box) {
+		try {
+			return (TexturedQuad[]) QUAD_LIST.get(box);
+		}
+		catch(IllegalAccessException e) {
+			Treasure.LOGGER.warn("unable to read the quads of a model box: ", e);
+			return new TexturedQuad[0];
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.client.model.baked;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
+
+import com.someguyssoftware.treasure2.Treasure;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.texture.TextureUtil;
+import net.minecraft.client.resources.IResource;
+import net.minecraft.client.resources.IResourceManager;
+import net.minecraft.util.ResourceLocation;
+
+/**
+ * Stitches a chest entity texture into the blocks texture sheet.
+ * The entity textures are not square (ex. 128x64), which the texture sheet would load as a broken animation,
+ * so the texture is padded to a square and the model UVs are scaled to the original area.
+ */
+public class PaddedTextureSprite extends TextureAtlasSprite {
+	private final ResourceLocation texture;
+	private int textureWidth;
+	private int textureHeight;
+	private int size;
+
+	/**
+	 *
+	 * @param spriteName
+	 * @param texture the full location of the texture, ex. treasure2:textures/entity/chest/wood-chest.png
+	 */
+	public PaddedTextureSprite(String spriteName, ResourceLocation texture) {
+		super(spriteName);
+		this.texture = texture;
+	}
+
+	@Override
+	public boolean hasCustomLoader(IResourceManager manager, ResourceLocation location) {
+		return true;
+	}
+
+	/**
+	 *
+	 * @return false if the texture was loaded, true if vanilla should skip the sprite
+	 */
+	@Override
+	public boolean load(IResourceManager manager, ResourceLocation location, Function<ResourceLocation, TextureAtlasSprite> textureGetter) {
+		BufferedImage image;
+		try (IResource resource = manager.getResource(texture); InputStream stream = resource.getInputStream()) {
+			image = TextureUtil.readBufferedImage(stream);
+		}
+		catch(IOException e) {
+			Treasure.LOGGER.warn("unable to load chest texture -> {}", texture);
+			return true;
+		}
+
+		textureWidth = image.getWidth();
+		textureHeight = image.getHeight();
+		// a power of 2, so the mipmaps are not reduced
+		size = Integer.highestOneBit(Math.max(textureWidth, textureHeight) - 1) << 1;
+		int[] data = new int[size * size];
+		image.getRGB(0, 0, textureWidth, textureHeight, data, 0, size);
+
+		setIconWidth(size);
+		setIconHeight(size);
+		int[][] frame = new int[Minecraft.getMinecraft().gameSettings.mipmapLevels + 1][];
+		frame[0] = data;
+		clearFramesTextureData();
+		framesTextureData.add(frame);
+		return false;
+	}
+
+	/**
+	 *
+	 * @param u the u of the original texture, between 0 and 1
+	 * @return the u in the texture sheet
+	 */
+	public float getTextureU(float u) {
+		return getInterpolatedU(u * textureWidth / size * 16D);
+	}
+
+	/**
+	 *
+	 * @param v the v of the original texture, between 0 and 1
+	 * @return the v in the texture sheet
+	 */
+	public float getTextureV(float v) {
+		return getInterpolatedV(v * textureHeight / size * 16D);
+	}
+}
@@ -105,7 +105,7 @@ public class CrateChestTileEntityRenderer extends TreasureChestTileEntityRendere
         }
         
         ////////////// render the locks //////////////////////////////////////
-        if (!te.getLockStates().isEmpty()) {
+        if (!te.getLockStates().isEmpty() && isInLockRenderDistance(x, y, z)) {
         	renderLocks(te, x, y, z);
         }
         ////////////// end of render the locks //////////////////////////////////////
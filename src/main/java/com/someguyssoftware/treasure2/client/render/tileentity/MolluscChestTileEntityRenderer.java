@@ -38,7 +38,7 @@ public class MolluscChestTileEntityRenderer extends TreasureChestTileEntityRende
         for (LockState lockState : te.getLockStates()) {
         	if (lockState.getLock() != null) {        		
         		// convert lock to an item stack
-        		ItemStack lockStack = new ItemStack(lockState.getLock());
+        		ItemStack lockStack = getLockStack(lockState.getLock());
         		
                 GlStateManager.pushMatrix();                
                 // NOTE when rotating the item to match the face of chest, must adjust the amount of offset to the x,z axises and 
@@ -110,7 +110,7 @@ public class SafeTileEntityRenderer extends TreasureChestTileEntityRenderer {
         }
         
         ////////////// render the locks //////////////////////////////////////
-        if (!te.getLockStates().isEmpty()) {
+        if (!te.getLockStates().isEmpty() && isInLockRenderDistance(x, y, z)) {
         	renderLocks(te, x, y, z);
         }
         ////////////// end of render the locks //////////////////////////////////////
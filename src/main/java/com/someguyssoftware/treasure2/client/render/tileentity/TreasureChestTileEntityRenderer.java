@@ -3,12 +3,20 @@
  */
 package com.someguyssoftware.treasure2.client.render.tileentity;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.client.model.ITreasureChestModel;
+import com.someguyssoftware.treasure2.client.model.baked.BakedChestModels;
+import com.someguyssoftware.treasure2.client.model.baked.ChestModelBaker;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.item.LockItem;
 import com.someguyssoftware.treasure2.lock.LockState;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
 
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.model.ModelRenderer;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
 import net.minecraft.client.renderer.tileentity.TileEntitySpecialRenderer;
@@ -20,9 +28,20 @@ import net.minecraft.util.ResourceLocation;
  *
  */
 public class TreasureChestTileEntityRenderer extends TileEntitySpecialRenderer<AbstractTreasureChestTileEntity> implements ITreasureChestTileEntityRenderer {
+	/*
+	 * the lock item stacks, by lock. only used on the render thread.
+	 */
+	private static final Map<LockItem, ItemStack> LOCK_STACKS = new IdentityHashMap<>();
+
 	private ResourceLocation texture;
 	private ITreasureChestModel model;
 
+	/*
+	 * the rotation angles of the model parts when the model was set, ie. with the lid closed
+	 */
+	private Map<ModelRenderer, float[]> restPose;
+	private boolean bakeable;
+
 	/**
 	 * 
 	 * @param texture
@@ -76,6 +95,11 @@ public class TreasureChestTileEntityRenderer extends TileEntitySpecialRenderer<A
 		if (!(te instanceof AbstractTreasureChestTileEntity))
 			return; // should never happen
 
+		// an idle chest is drawn by its baked block model
+		if (destroyStage < 0 && isBaked() && BakedChestModels.isDrawnByChunk(te)) {
+			return;
+		}
+
 		// apply the destory gl state (if any)
 		applyDestroyGlState(destroyStage);
 
@@ -118,7 +142,7 @@ public class TreasureChestTileEntityRenderer extends TileEntitySpecialRenderer<A
 		popDestroyGlState(destroyStage);
 
 		////////////// render the locks //////////////////////////////////////
-		if (te.getLockStates() != null && !te.getLockStates().isEmpty()) {
+		if (te.getLockStates() != null && !te.getLockStates().isEmpty() && isInLockRenderDistance(x, y, z)) {
 			renderLocks(te, x, y, z);
 		}
 		
@@ -140,7 +164,7 @@ public class TreasureChestTileEntityRenderer extends TileEntitySpecialRenderer<A
 			// Treasure.logger.debug("Render LS:" + lockState);
 			if (lockState.getLock() != null) {
 				// convert lock to an item stack
-				ItemStack lockStack = new ItemStack(lockState.getLock());
+				ItemStack lockStack = getLockStack(lockState.getLock());
 
 				GlStateManager.pushMatrix();
 				// NOTE when rotating the item to match the face of chest, must adjust the
@@ -159,6 +183,42 @@ public class TreasureChestTileEntityRenderer extends TileEntitySpecialRenderer<A
 		}
 	}
 
+	/**
+	 * 
+	 * @param lock
+	 * @return the shared item stack of the lock
+	 */
+	protected static ItemStack getLockStack(LockItem lock) {
+		return LOCK_STACKS.computeIfAbsent(lock, ItemStack::new);
+	}
+
+	/**
+	 * 
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @return true if the chest at the render offset is within the lock render distance
+	 */
+	protected boolean isInLockRenderDistance(double x, double y, double z) {
+		double distance = TreasureConfig.CHESTS.lockRenderDistance;
+		return (x + 0.5D) * (x + 0.5D) + (y + 0.5D) * (y + 0.5D) + (z + 0.5D) * (z + 0.5D) <= distance * distance;
+	}
+
+	/**
+	 * 
+	 * @return true if idle chests are drawn by the baked block model instead of this renderer
+	 */
+	public boolean isBaked() {
+		return TreasureConfig.CHESTS.enableBakedChestModels && bakeable;
+	}
+
+	/**
+	 * @return the rotation angles of the model parts with the lid closed
+	 */
+	public Map<ModelRenderer, float[]> getRestPose() {
+		return restPose;
+	}
+
 	/**
 	 * @return the texture
 	 */
@@ -191,6 +251,8 @@ public class TreasureChestTileEntityRenderer extends TileEntitySpecialRenderer<A
 	@Override
 	public void setModel(ITreasureChestModel model) {
 		this.model = model;
+		this.restPose = ChestModelBaker.captureRestPose(model);
+		this.bakeable = !model.getParts(0).isEmpty();
 	}
 
 }
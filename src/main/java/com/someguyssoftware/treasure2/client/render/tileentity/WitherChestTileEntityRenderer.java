@@ -91,7 +91,7 @@ public class WitherChestTileEntityRenderer extends TreasureChestTileEntityRender
         }
         
         ////////////// render the locks //////////////////////////////////////
-        if (!te.getLockStates().isEmpty()) {
+        if (!te.getLockStates().isEmpty() && isInLockRenderDistance(x, y, z)) {
         	renderLocks(te, x, y, z);
         }
         ////////////// end of render the locks //////////////////////////////////////
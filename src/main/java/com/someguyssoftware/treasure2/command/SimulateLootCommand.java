@@ -0,0 +1,126 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.command;
+
+import static com.someguyssoftware.treasure2.Treasure.LOGGER;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.enums.ChestGeneratorType;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.loot.LootSimulator;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.WorldServer;
+
+/**
+ * Simulates filling chests of a rarity and reports the loot table and item distributions and the throughput.
+ * The simulation runs on worker threads; the full report is written to the log.
+ */
+public class SimulateLootCommand extends CommandBase {
+	private static final String GENERATOR_ARG = "generator";
+	private static final String ITERATIONS_ARG = "iterations";
+	private static final String THREADS_ARG = "threads";
+	private static final String SEED_ARG = "seed";
+
+	private static final int DEFAULT_ITERATIONS = 10000;
+	private static final int MAX_ITERATIONS = 10000000;
+	private static final int TOP_ITEMS = 10;
+
+	@Override
+	public String getName() {
+		return "t2-loot-sim";
+	}
+
+	@Override
+	public String getUsage(ICommandSender var1) {
+		return "/t2-loot-sim <rarity> [-generator <generator>] [-iterations <iterations>] [-threads <threads>] [-seed <seed>]: simulates the loot of chests of the rarity";
+	}
+
+	/**
+	 * Return the required permission level for this command.
+	 */
+	@Override
+	public int getRequiredPermissionLevel() {
+		return 2;
+	}
+
+	@Override
+	public void execute(MinecraftServer server, ICommandSender commandSender, String[] args) throws WrongUsageException {
+		if (args.length < 1) {
+			throw new WrongUsageException(getUsage(commandSender));
+		}
+
+		final Rarity rarity;
+		final ChestGeneratorType generatorType;
+		final int iterations;
+		final int threads;
+		final long seed;
+		try {
+			rarity = Rarity.valueOf(args[0].toUpperCase());
+
+			CommandLineParser parser = new DefaultParser();
+			Options options = new Options();
+			options.addOption(GENERATOR_ARG, true, "");
+			options.addOption(ITERATIONS_ARG, true, "");
+			options.addOption(THREADS_ARG, true, "");
+			options.addOption(SEED_ARG, true, "");
+			CommandLine line = parser.parse(options, Arrays.copyOfRange(args, 1, args.length));
+
+			generatorType = line.hasOption(GENERATOR_ARG) ? ChestGeneratorType.valueOf(line.getOptionValue(GENERATOR_ARG).toUpperCase())
+					: ChestGeneratorType.valueOf(rarity.name());
+			iterations = line.hasOption(ITERATIONS_ARG) ? Math.min(MAX_ITERATIONS, Integer.parseInt(line.getOptionValue(ITERATIONS_ARG))) : DEFAULT_ITERATIONS;
+			threads = line.hasOption(THREADS_ARG) ? Integer.parseInt(line.getOptionValue(THREADS_ARG)) : Runtime.getRuntime().availableProcessors();
+			seed = line.hasOption(SEED_ARG) ? Long.parseLong(line.getOptionValue(SEED_ARG)) : System.currentTimeMillis();
+		}
+		catch(Exception e) {
+			LOGGER.warn("unable to parse loot simulation arguments -> {}", Arrays.toString(args));
+			throw new WrongUsageException(getUsage(commandSender));
+		}
+
+		WorldServer world = server.getWorld(0);
+		commandSender.sendMessage(new TextComponentString(String.format("Simulating %d %s chests (%s) with seed %d...", iterations, rarity, generatorType, seed)));
+
+		LootSimulator.simulate(world, generatorType, rarity, iterations, threads, seed, report -> {
+			Treasure.LOGGER.info("{}", report);
+			report.getTableShares().forEach(s -> Treasure.LOGGER.info("  table -> {}", s));
+			List<String> topItems = report.getTopItems(Integer.MAX_VALUE);
+			topItems.forEach(s -> Treasure.LOGGER.info("  item -> {}", s));
+
+			commandSender.sendMessage(new TextComponentString(String.format("%d chests (%d failed) in %dms on %d threads, %.1f chests/s",
+					report.getChests(), report.getFailures(), report.getElapsedNanos() / 1_000_000, report.getThreads(), report.getChestsPerSecond())));
+			topItems.stream().limit(TOP_ITEMS).forEach(s -> commandSender.sendMessage(new TextComponentString(s)));
+		});
+	}
+
+	/**
+	 * Get a list of options for when the user presses the TAB key
+	 */
+	@Override
+	public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args,
+			@Nullable BlockPos targetPos) {
+		if (args.length == 1) {
+			return getListOfStringsMatchingLastWord(args, Rarity.getNames());
+		}
+		if (args.length > 1 && args[args.length - 2].equals("-" + GENERATOR_ARG)) {
+			return getListOfStringsMatchingLastWord(args, ChestGeneratorType.getNames());
+		}
+		return Collections.emptyList();
+	}
+}
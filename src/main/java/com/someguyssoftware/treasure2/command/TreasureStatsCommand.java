@@ -0,0 +1,98 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.command;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.someguyssoftware.treasure2.worldgen.GenerationMetrics;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+
+/**
+ * Reports, resets or writes the generation metrics.
+ */
+public class TreasureStatsCommand extends CommandBase {
+	private static final String STATS_ARG = "stats";
+	private static final String RESET_ARG = "reset";
+	private static final String DUMP_ARG = "dump";
+
+	@Override
+	public String getName() {
+		return "treasure";
+	}
+
+	@Override
+	public String getUsage(ICommandSender var1) {
+		return "/treasure stats [reset | dump [csv | json]]: reports the generation metrics";
+	}
+
+	/**
+	 * Return the required permission level for this command.
+	 */
+	@Override
+	public int getRequiredPermissionLevel() {
+		return 2;
+	}
+
+	@Override
+	public void execute(MinecraftServer server, ICommandSender commandSender, String[] args) throws WrongUsageException {
+		if (args.length < 1 || !STATS_ARG.equalsIgnoreCase(args[0])) {
+			throw new WrongUsageException(getUsage(commandSender));
+		}
+		if (!GenerationMetrics.isEnabled()) {
+			commandSender.sendMessage(new TextComponentString("Generation metrics are disabled."));
+			return;
+		}
+
+		if (args.length == 1) {
+			List<String> lines = GenerationMetrics.getInstance().getSummary();
+			if (lines.isEmpty()) {
+				commandSender.sendMessage(new TextComponentString("No generation metrics have been collected."));
+			}
+			lines.forEach(line -> commandSender.sendMessage(new TextComponentString(line)));
+		}
+		else if (RESET_ARG.equalsIgnoreCase(args[1])) {
+			GenerationMetrics.getInstance().reset();
+			commandSender.sendMessage(new TextComponentString("Generation metrics reset."));
+		}
+		else if (DUMP_ARG.equalsIgnoreCase(args[1])) {
+			String format = args.length > 2 ? args[2] : GenerationMetrics.CSV_FORMAT;
+			if (!GenerationMetrics.CSV_FORMAT.equalsIgnoreCase(format) && !GenerationMetrics.JSON_FORMAT.equalsIgnoreCase(format)) {
+				throw new WrongUsageException(getUsage(commandSender));
+			}
+			File file = GenerationMetrics.getInstance().dump(format);
+			commandSender.sendMessage(new TextComponentString(file == null ? "Unable to write the generation metrics." : "Generation metrics written to " + file.getPath()));
+		}
+		else {
+			throw new WrongUsageException(getUsage(commandSender));
+		}
+	}
+
+	/**
+	 * Get a list of options for when the user presses the TAB key
+	 */
+	@Override
+	public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args,
+			@Nullable BlockPos targetPos) {
+		if (args.length == 1) {
+			return getListOfStringsMatchingLastWord(args, STATS_ARG);
+		}
+		if (args.length == 2) {
+			return getListOfStringsMatchingLastWord(args, RESET_ARG, DUMP_ARG);
+		}
+		if (args.length == 3 && DUMP_ARG.equalsIgnoreCase(args[1])) {
+			return getListOfStringsMatchingLastWord(args, GenerationMetrics.CSV_FORMAT, GenerationMetrics.JSON_FORMAT);
+		}
+		return Collections.emptyList();
+	}
+}
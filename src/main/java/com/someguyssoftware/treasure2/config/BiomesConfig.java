@@ -8,6 +8,7 @@ import java.util.List;
 
 import com.someguyssoftware.gottschcore.biome.BiomeHelper;
 import com.someguyssoftware.gottschcore.biome.BiomeTypeHolder;
+import com.someguyssoftware.treasure2.biome.BiomeEligibility;
 import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper;
 
 import net.minecraft.world.biome.Biome;
@@ -39,6 +40,7 @@ public class BiomesConfig implements IBiomesConfig {
 	@Ignore public List<Biome> blackList = new ArrayList<>(5);
 	@Ignore public List<BiomeTypeHolder> typeWhiteList = new ArrayList<>(5);
 	@Ignore public List<BiomeTypeHolder> typeBlackList = new ArrayList<>(5);
+	@Ignore private BiomeEligibility eligibility;
 	
 	/**
 	 * 
@@ -58,6 +60,15 @@ public class BiomesConfig implements IBiomesConfig {
 		this.blackList = TreasureBiomeHelper.loadBiomesList(this.rawBiomeBlackList);
 		BiomeHelper.loadBiomeList(this.rawBiomeTypeWhiteList, this.typeWhiteList);
 		BiomeHelper.loadBiomeList(this.rawBiomeTypeBlackList, this.typeBlackList);	
+		this.eligibility = new BiomeEligibility(this);
+	}
+	
+	@Override
+	public boolean isAllowed(Biome biome) {
+		if (eligibility == null) {
+			eligibility = new BiomeEligibility(this);
+		}
+		return eligibility.isAllowed(biome);
 	}
 	
 	@Override
@@ -68,6 +79,7 @@ public class BiomesConfig implements IBiomesConfig {
 	@Override
 	public void setWhiteList(List<Biome> whiteList) {
 		this.whiteList = whiteList;
+		this.eligibility = null;
 	}
 	
 	@Override
@@ -78,6 +90,7 @@ public class BiomesConfig implements IBiomesConfig {
 	@Override
 	public void setBlackList(List<Biome> blackList) {
 		this.blackList = blackList;
+		this.eligibility = null;
 	}
 
 	@Override
@@ -88,7 +101,7 @@ public class BiomesConfig implements IBiomesConfig {
 	@Override
 	public void setTypeWhiteList(List<BiomeTypeHolder> whiteList) {
 		this.typeWhiteList = whiteList;
-		
+		this.eligibility = null;
 	}
 
 	@Override
@@ -98,6 +111,7 @@ public class BiomesConfig implements IBiomesConfig {
 
 	@Override
 	public void setTypeBlackList(List<BiomeTypeHolder> blackList) {
-		this.typeBlackList = blackList;		
+		this.typeBlackList = blackList;
+		this.eligibility = null;
 	}
 }
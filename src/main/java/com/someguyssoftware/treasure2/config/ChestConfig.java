@@ -164,6 +164,11 @@ public class ChestConfig implements IChestConfig {
 		return biomes.getBlackList();
 	}
 
+	@Override
+	public boolean isBiomeAllowed(Biome biome) {
+		return biomes.isAllowed(biome);
+	}
+
 	@Override
 	public int getMinDepth() {
 		return minDepth;
@@ -27,4 +27,11 @@ public interface IBiomesConfig {
 	List<BiomeTypeHolder> getTypeBlackList();
 	void setTypeBlackList(List<BiomeTypeHolder> blackList);
 
+	/**
+	 * 
+	 * @param biome
+	 * @return true if the biome is allowed by the white and black lists
+	 */
+	boolean isAllowed(Biome biome);
+
 }
@@ -30,6 +30,13 @@ public interface IChestConfig {
 	public List<BiomeTypeHolder> getBiomeTypeWhiteList();
 	public List<BiomeTypeHolder> getBiomeTypeBlackList();
 
+	/**
+	 * 
+	 * @param biome
+	 * @return true if the biome is allowed by the biome and biome type white and black lists
+	 */
+	public boolean isBiomeAllowed(Biome biome);
+
 	int getMinDepth();
 	int getMaxDepth();
 }
@@ -25,4 +25,11 @@ public interface IWellConfig {
 	public List<Biome> getBiomeBlackList();
 	public List<BiomeTypeHolder> getBiomeTypeWhiteList();
 	public List<BiomeTypeHolder> getBiomeTypeBlackList();
+
+	/**
+	 * 
+	 * @param biome
+	 * @return true if the biome is allowed by the biome and biome type white and black lists
+	 */
+	public boolean isBiomeAllowed(Biome biome);
 }
@@ -32,5 +32,12 @@ public interface IWitherTreeConfig {
 	public List<BiomeTypeHolder> getBiomeTypeWhiteList();
 	public List<BiomeTypeHolder> getBiomeTypeBlackList();
 
+	/**
+	 * 
+	 * @param biome
+	 * @return true if the biome is allowed by the biome and biome type white and black lists
+	 */
+	public boolean isBiomeAllowed(Biome biome);
+
 
 }
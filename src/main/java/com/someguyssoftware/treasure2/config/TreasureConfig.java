@@ -5,9 +5,13 @@ package com.someguyssoftware.treasure2.config;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.someguyssoftware.gottschcore.biome.BiomeTypeHolder;
@@ -16,6 +20,7 @@ import com.someguyssoftware.gottschcore.config.ILoggerConfig;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.enums.Rarity;
 
+import net.minecraft.item.Item;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.biome.Biome;
 import net.minecraftforge.common.config.Config;
@@ -31,6 +36,7 @@ import net.minecraftforge.common.config.Configuration;
 import net.minecraftforge.common.config.Property;
 import net.minecraftforge.fml.client.event.ConfigChangedEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
 
 /**
  * About Categories / Sub-categories: See
@@ -358,14 +364,6 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 		@Name("02 Submerged Chests")
 		public ChestCollection submergedChests;
 
-		@Comment({
-			"The number of chests that are monitored. Most recent additions replace least recent when the registry is full.",
-		"This is the set of chests used to measure distance between newly generated chests." })
-		@Name("01. Max. size of chest registry:")
-		@RangeInt(min = 5, max = 100)
-		@RequiresMcRestart
-		public int chestRegistrySize = 25;
-
 		@RequiresMcRestart
 		@Comment({ 
 		"Note: Disabling one or more chests could remove all chests from a particular rarity group and lead to empty treasure sites.",	
@@ -457,6 +455,23 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 		@Comment({ "Enable/Disable whether a milk crate will spawn." })
 		@Name("19. Enable milk crate:")
 		public boolean enableMilkCrate = true;
+
+		@Comment({ "Enable/Disable pre-generated chest loot.",
+		"If enabled, the loot of a generated chest is rolled when the chest is generated instead of the first time it is opened.",
+		"The loot is rolled with a Random seeded by the world seed and the chest position, so it is reproducible, but player luck is not applied." })
+		@Name("20. Enable pre-generated loot:")
+		public boolean enablePregeneratedLoot = false;
+
+		@RequiresMcRestart
+		@Comment({ "Enable/Disable baking idle chests and their locks into the chunk geometry.",
+		"If enabled, a chest is only drawn every frame while its lid is moving. Chests with custom animations are always drawn every frame." })
+		@Name("21. Enable baked chest models:")
+		public boolean enableBakedChestModels = true;
+
+		@Comment({ "The max. distance (in blocks) at which the locks of a chest that is drawn every frame are rendered." })
+		@Name("22. Lock render distance:")
+		@RangeInt(min = 0, max = 256)
+		public int lockRenderDistance = 32;
 		
 		@Ignore public Map<String, Boolean> chestEnablementMap = new HashMap<>();
 		
@@ -708,6 +723,11 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 			return biomes.getTypeBlackList();
 		}
 
+		@Override
+		public boolean isBiomeAllowed(Biome biome) {
+			return biomes.isAllowed(biome);
+		}
+
 	}
 
 	/*
@@ -830,6 +850,11 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 		public List<BiomeTypeHolder> getBiomeTypeBlackList() {
 			return biomes.getTypeBlackList();
 		}
+
+		@Override
+		public boolean isBiomeAllowed(Biome biome) {
+			return biomes.isAllowed(biome);
+		}
 	}
 
 	/*
@@ -1121,13 +1146,78 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 			public Integer[] rawDimensionsWhiteList = new Integer[] { 0 };
 			@Ignore
 			public List<Integer> dimensionsWhiteList = new ArrayList<>(3);
+			/*
+			 * the white listed dimensions by zigzag encoded ID, so that negative IDs (ex. the nether) are bits too
+			 */
+			@Ignore
+			private BitSet dimensionsWhiteListBits = new BitSet();
+
+			@Comment({ "Enable/Disable deferred generation of structures (pits, ruins, wells, wither trees).",
+			"If enabled, sites are selected during chunk population and are built over the following server ticks from a saved queue." })
+			@Name("06. Enable deferred generation:")
+			public boolean enableDeferredGeneration = false;
+
+			@Comment({ "The max. time in microseconds per server tick that is spent building deferred structures.",
+			"At least one structure is built per tick while the queue is not empty." })
+			@Name("07. Deferred generation tick budget (microseconds):")
+			@RangeInt(min = 500, max = 50000)
+			public int deferredGenerationTickBudget = 5000;
+
+			@Comment({ "Enable/Disable loading the loot tables, metas, templates and decay rulesets in parallel at world load." })
+			@Name("08. Enable parallel resource loading:")
+			public boolean enableParallelResourceLoading = true;
+
+			@Comment({ "Enable/Disable the cascading chunk generation guard.",
+			"If enabled, structure blocks that fall into chunks that are not yet populated are saved and placed when those chunks are populated,",
+			"and parts of a structure that need to read such chunks (ex. wither tree clearings) are skipped, instead of generating the chunks." })
+			@Name("09. Enable cascading generation guard:")
+			public boolean enableCascadeGuard = true;
+
+			@Comment({ "Enable/Disable the cascading chunk generation diagnostics.",
+			"If enabled, chunks loaded or generated while a Treasure structure is being placed are logged per generator." })
+			@Name("10. Enable cascading generation diagnostics:")
+			public boolean enableCascadeDiagnostics = false;
+
+			@Comment({ "Enable/Disable batched placement of structures.",
+			"If enabled, structure blocks are written directly into the chunks, which are relit and resent to players once the structure is placed.",
+			"Only falling blocks and liquids are updated." })
+			@Name("11. Enable batched structure placement:")
+			public boolean enableBatchedPlacement = true;
+
+			@Comment({ "Enable/Disable the generation metrics.",
+			"If enabled, the attempts, successes, rejections, times and block writes of the generators are collected and reported by /treasure stats." })
+			@Name("12. Enable generation metrics:")
+			public boolean enableGenerationMetrics = true;
+
+			@Comment({ "The interval in minutes at which the generation metrics are written to the world save folder.",
+			"0 = disabled" })
+			@Name("13. Generation metrics dump interval (minutes):")
+			@RangeInt(min = 0, max = 1440)
+			public int generationMetricsDumpInterval = 0;
+
+			@Comment({ "The format of the generation metrics files.", "Valid values are: csv, json" })
+			@Name("14. Generation metrics dump format:")
+			public String generationMetricsDumpFormat = "csv";
 
 			/**
 			 * 
 			 */
 			public void init() {
-				TreasureConfig.WORLD_GEN.getGeneralProperties().dimensionsWhiteList = Arrays
-						.asList(TreasureConfig.WORLD_GEN.getGeneralProperties().rawDimensionsWhiteList);
+				TreasureConfig.WORLD_GEN.getGeneralProperties().setDimensionsWhiteList(Arrays
+						.asList(TreasureConfig.WORLD_GEN.getGeneralProperties().rawDimensionsWhiteList));
+			}
+
+			/**
+			 * 
+			 * @param dimension
+			 * @return true if the dimension is white listed
+			 */
+			public boolean isDimensionAllowed(int dimension) {
+				return dimensionsWhiteListBits.get(toBit(dimension));
+			}
+
+			private int toBit(int dimension) {
+				return (dimension << 1) ^ (dimension >> 31);
 			}
 
 			public List<Integer> getDimensionsWhiteList() {
@@ -1136,6 +1226,13 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 
 			public void setDimensionsWhiteList(List<Integer> dimensionsWhiteList) {
 				this.dimensionsWhiteList = dimensionsWhiteList;
+				BitSet bits = new BitSet();
+				for (Integer dimension : dimensionsWhiteList) {
+					if (dimension != null) {
+						bits.set(toBit(dimension));
+					}
+				}
+				this.dimensionsWhiteListBits = bits;
 			}
 		}
 
@@ -1230,11 +1327,54 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 		@Name("02. Pouchable Items:")
 		public String[] rawPouchables = new String[] { "minecraft:diamond", "minecraft:emerald"  };
 		
+		@Comment({"The min. number of ticks between syncs of a player's charm mana and cooldowns to the client.",
+			"Durability changes and depleted charms are always synced at the end of the tick."})
+		@Name("03. Min. charm sync interval (in ticks):")
+		@RangeInt(min = 0, max = 200)
+		public int charmSyncInterval = 10;
+		
 		@Ignore
 		public List<ResourceLocation> pouchables = new ArrayList<>(3);
 		
+		// the pouchable items, resolved from the item registry once all the items are registered
+		@Ignore
+		private volatile Set<Item> pouchableItems;
+		
 		public void init() {
 			pouchables = Arrays.asList(rawPouchables).stream().map(p -> new ResourceLocation(p)).collect(Collectors.toList());
+			if (pouchableItems != null) {
+				resolvePouchables();
+			}
+		}
+		
+		/**
+		 * Resolves the pouchable item IDs to their items. Called at post init, when the item registry is complete.
+		 */
+		public void resolvePouchables() {
+			Set<Item> items = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (ResourceLocation name : pouchables) {
+				if (ForgeRegistries.ITEMS.containsKey(name)) {
+					items.add(ForgeRegistries.ITEMS.getValue(name));
+				}
+				else {
+					Treasure.LOGGER.warn("Unknown pouchable item -> {}", name);
+				}
+			}
+			pouchableItems = items;
+		}
+		
+		/**
+		 * 
+		 * @param item
+		 * @return
+		 */
+		public boolean isPouchable(Item item) {
+			Set<Item> items = pouchableItems;
+			if (items != null) {
+				return items.contains(item);
+			}
+			// stacks created before post init
+			return pouchables.contains(item.getRegistryName());
 		}
 	}
 	
@@ -38,6 +38,7 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 @Mod.EventBusSubscriber(modid = Treasure.MODID)
 public final class AdornmentsEventHandler {
 	private static final ResourceLocation ADORNMENT_ID = new ResourceLocation(Treasure.MODID, "adornment");
+	private static final ResourceLocation POUCHABLE_ID = new ResourceLocation(Treasure.MODID, "pouchable");
 
 	// TEMP testing attaching caps to foreign mod item
 	@SubscribeEvent
@@ -45,9 +46,9 @@ public final class AdornmentsEventHandler {
 
 		final ItemStack stack = event.getObject();
 		if (stack != null && (stack.getItem() instanceof RunestoneItem
-				|| TreasureConfig.WEALTH.pouchables.contains(stack.getItem().getRegistryName()))) {
+				|| TreasureConfig.WEALTH.isPouchable(stack.getItem()))) {
 //			Treasure.logger.debug("adding pouchable cap to item -> {}", stack.getDisplayName());
-			event.addCapability(new ResourceLocation(Treasure.MODID, "pouchable"), new PouchableCapabilityProvider());
+			event.addCapability(POUCHABLE_ID, new PouchableCapabilityProvider());
 		}
 		
 //		if (stack != null && stack.getItem() == Items.WOODEN_HOE) {
@@ -33,12 +33,11 @@ import com.someguyssoftware.treasure2.item.Adornment;
 
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
-import net.minecraftforge.fml.common.eventhandler.Event;
 
 public class BaublesEquipmentCharmHandler implements IEquipmentCharmHandler {
 
 	@Override
-	public List<CharmContext> handleEquipmentCharms(Event event, EntityPlayerMP player) {
+	public List<CharmContext> handleEquipmentCharms(EntityPlayerMP player) {
 		final List<CharmContext> contexts = new ArrayList<>(5);
 		if (BaublesIntegration.isEnabled()) {
 			AtomicInteger slot = new AtomicInteger(-1);
@@ -53,9 +52,6 @@ public class BaublesEquipmentCharmHandler implements IEquipmentCharmHandler {
 								AtomicInteger index = new AtomicInteger();
 								for (int i = 0; i < cap.getCharmEntities().get(type).size(); i++) {
 									ICharmEntity entity = ((List<ICharmEntity>)cap.getCharmEntities().get(type)).get(i);
-									if (!entity.getCharm().getRegisteredEvent().equals(event.getClass())) {
-										continue;
-									}
 									index.set(i);
 									CharmContext context = new CharmContext.Builder().with($ -> {
 										$.slotProviderId = BaublesIntegration.BAUBLES_MOD_ID;
@@ -77,4 +73,13 @@ public class BaublesEquipmentCharmHandler implements IEquipmentCharmHandler {
 		return contexts;
 	}
 
+	@Override
+	public int getEquipmentSlotCount() {
+		return BaublesIntegration.isEnabled() ? BaublesIntegration.BAUBLES_SLOTS.size() : 0;
+	}
+
+	@Override
+	public ItemStack getEquipmentStack(EntityPlayerMP player, int index) {
+		return BaublesIntegration.getStackInSlot(player, BaublesIntegration.BAUBLES_SLOTS.get(index));
+	}
 }
@@ -21,8 +21,12 @@ package com.someguyssoftware.treasure2.eventhandler;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.UUID;
+import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.someguyssoftware.gottschcore.positional.Coords;
@@ -33,9 +37,10 @@ import com.someguyssoftware.treasure2.capability.IDurabilityCapability;
 import com.someguyssoftware.treasure2.capability.InventoryType;
 import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
 import com.someguyssoftware.treasure2.charm.CharmContext;
+import com.someguyssoftware.treasure2.charm.CharmScheduler;
 import com.someguyssoftware.treasure2.charm.ICharm;
 import com.someguyssoftware.treasure2.charm.ICharmEntity;
-import com.someguyssoftware.treasure2.network.CharmMessageToClient;
+import com.someguyssoftware.treasure2.network.CharmStateSync;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -59,6 +64,11 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 public class CharmEventHandler {
 	private IEquipmentCharmHandler equipmentCharmHandler;
 
+	/*
+	 * the charm index of each player, rebuilt when the player's held items or equipment change
+	 */
+	private final Map<EntityPlayerMP, CharmIndex> charmIndexes = new WeakHashMap<>();
+
 	/**
 	 *
 	 * @param handler
@@ -162,40 +172,55 @@ public class CharmEventHandler {
 	 * @param player
 	 */
 	private void processCharms(Event event, EntityPlayerMP player) {
-		/*
-		 * a list of charm contexts to execute
-		 */
-		List<CharmContext> charmsToExecute;
-
-		// gather all charms
-		charmsToExecute = gatherCharms(event, player);
-
-		// sort charms
-		Collections.sort(charmsToExecute, CharmContext.priorityComparator);
+		// get the charms registered for the event, already sorted by priority
+		CharmIndex charmIndex = getCharmIndex(player);
+		CharmContext[] charmsToExecute = event instanceof LivingUpdateEvent
+				? charmIndex.getDueUpdates(player.world.getTotalWorldTime())
+				: charmIndex.get(event.getClass());
+		if (charmsToExecute.length == 0) {
+			return;
+		}
 
 		// execute charms
-		executeCharms(event, player, charmsToExecute);
+		if (executeCharms(event, player, charmsToExecute)) {
+			// a charm was removed or an item was used up
+			charmIndexes.remove(player);
+		}
+	}
+
+	/**
+	 * Gets the charm index of the player, rebuilding it if the held items or equipment have changed.
+	 * @param player
+	 * @return
+	 */
+	private CharmIndex getCharmIndex(EntityPlayerMP player) {
+		CharmIndex charmIndex = charmIndexes.get(player);
+		if (charmIndex == null || charmIndex.isChanged(player, getEquipmentCharmHandler())) {
+			charmIndex = new CharmIndex(player, getEquipmentCharmHandler(), gatherCharms(player));
+			charmIndexes.put(player, charmIndex);
+			CharmStateSync.getInstance().reset(player);
+		}
+		return charmIndex;
 	}
 
 	/**
 	 * Examine and collect  all Charms (not CharmEntity nor CharmItems) that the player has in valid slots.
-	 * @param event
 	 * @param player
 	 * @return
 	 */
-	private List<CharmContext> gatherCharms(Event event, EntityPlayerMP player) {
+	private List<CharmContext> gatherCharms(EntityPlayerMP player) {
 		final List<CharmContext> contexts = new ArrayList<>(5);
 
 		// check each hand
 		for (EnumHand hand : EnumHand.values()) {
 			ItemStack heldStack = player.getHeldItem(hand);
 			if (heldStack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
-				contexts.addAll(getCharmsFromStack(event, hand, -1, heldStack, false));
+				contexts.addAll(getCharmsFromStack(hand, -1, heldStack, false));
 			}
 		}
 
 		// check equipment slots
-		List<CharmContext> equipmentContexts = getEquipmentCharmHandler().handleEquipmentCharms(event, player);
+		List<CharmContext> equipmentContexts = getEquipmentCharmHandler().handleEquipmentCharms(player);
 		contexts.addAll(equipmentContexts);
 
 		return contexts;
@@ -203,13 +228,12 @@ public class CharmEventHandler {
 
 	/**
 	 *
-	 * @param event
 	 * @param hand
 	 * @param itemStack
 	 * @param isPouch
 	 * @return
 	 */
-	private List<CharmContext> getCharmsFromStack(Event event, EnumHand hand, int slot, ItemStack itemStack, boolean isPouch) {
+	private List<CharmContext> getCharmsFromStack(EnumHand hand, int slot, ItemStack itemStack, boolean isPouch) {
 		final List<CharmContext> contexts = new ArrayList<>(5);
 		ICharmableCapability cap = itemStack.getCapability(TreasureCapabilities.CHARMABLE, null);
 		if (cap.isExecuting()) {
@@ -217,9 +241,6 @@ public class CharmEventHandler {
 				AtomicInteger index = new AtomicInteger();
 				for (int i = 0; i < cap.getCharmEntities().get(type).size(); i++) {
 					ICharmEntity entity = ((List<ICharmEntity>)cap.getCharmEntities().get(type)).get(i);
-					if (!entity.getCharm().getRegisteredEvent().equals(event.getClass())) {
-						continue;
-					}
 					index.set(i);
 					CharmContext context = new CharmContext.Builder().with($ -> {
 						$.hand = hand;
@@ -243,19 +264,21 @@ public class CharmEventHandler {
 	 * @param event
 	 * @param player
 	 * @param contexts
+	 * @return true if a charm was removed or an item was used up, ie. the player's charm index is no longer valid
 	 */
-	private static void executeCharms(Event event, EntityPlayerMP player, List<CharmContext> contexts) {
+	private static boolean executeCharms(Event event, EntityPlayerMP player, CharmContext[] contexts) {
 		/*
 		 * a list of charm types that are non-stackable that should not be executed more than once.
 		 */
 		final List<String> executeOnceCharmTypes = new ArrayList<>(5);
+		boolean invalidated = false;
 
-		contexts.forEach(context -> {
+		for (CharmContext context : contexts) {
 			ICharm charm = (ICharm)context.getEntity().getCharm();
 			if (!charm.isEffectStackable()) {
 				// check if this charm type is already in the monitored list
 				if (executeOnceCharmTypes.contains(charm.getType())) {
-					return;
+					continue;
 				}
 				else {
 					// add the charm type to the monitored list
@@ -267,11 +290,12 @@ public class CharmEventHandler {
 			if (context.getEntity().getCharm().update(player.world, new Random(), new Coords(player.getPosition()), player, event, context.getEntity())) {
 				// TODO handle the durability of the adornment
 				processUsage(player.world, player, event, context);
+				if (context.getItemStack().isEmpty()) {
+					invalidated = true;
+				}
 
-				// send state message to client
-				CharmMessageToClient message = new CharmMessageToClient(player.getUUID(player.getGameProfile()).toString(), context);
-				//              Treasure.logger.debug("Message to client -> {}", message);
-				Treasure.simpleNetworkWrapper.sendTo(message, player);
+				// queue the state to be sent to the client at the end of the tick
+				CharmStateSync.getInstance().queue(player, context);
 			}
 
 			// remove if innate and empty
@@ -289,8 +313,10 @@ public class CharmEventHandler {
 					&& context.getEntity().getMana() <= 0.0 ) {
 				Treasure.LOGGER.debug("charm is empty without any recharges -> remove");
 				context.getCapability().remove(context.getType(), context.getIndex());
+				invalidated = true;
 			}
-		});
+		}
+		return invalidated;
 	}
 
 	private static void processUsage(World world, EntityPlayerMP player, Event event, CharmContext context) {
@@ -314,4 +340,92 @@ public class CharmEventHandler {
 		return equipmentCharmHandler;
 	}
 
+	/*
+	 * The executing charms of a player bucketed by registered event and sorted by priority,
+	 * along with the held and equipment stacks they were gathered from.
+	 * The update charms are scheduled, so that each is only executed on the ticks it is due.
+	 * The index is valid as long as the same stacks are in the same slots.
+	 */
+	private static class CharmIndex {
+		private static final CharmContext[] NO_CHARMS = new CharmContext[0];
+		private static final EnumHand[] HANDS = EnumHand.values();
+
+		private final ItemStack[] stacks;
+		private final Map<Class<?>, CharmContext[]> contextsByEvent = new HashMap<>();
+		private final CharmScheduler updateScheduler;
+
+		public CharmIndex(EntityPlayerMP player, IEquipmentCharmHandler handler, List<CharmContext> contexts) {
+			int handCount = HANDS.length;
+			stacks = new ItemStack[handCount + handler.getEquipmentSlotCount()];
+			for (EnumHand hand : HANDS) {
+				stacks[hand.ordinal()] = player.getHeldItem(hand);
+			}
+			for (int index = 0; index < handler.getEquipmentSlotCount(); index++) {
+				stacks[handCount + index] = handler.getEquipmentStack(player, index);
+			}
+
+			// sort charms
+			Collections.sort(contexts, CharmContext.priorityComparator);
+			Map<Class<?>, List<CharmContext>> lists = new HashMap<>();
+			for (CharmContext context : contexts) {
+				lists.computeIfAbsent(context.getEntity().getCharm().getRegisteredEvent(), k -> new ArrayList<>(3)).add(context);
+			}
+			lists.forEach((event, list) -> contextsByEvent.put(event, list.toArray(new CharmContext[list.size()])));
+
+			// only the highest priority charm of a non-stackable type is ever executed, so only it is scheduled
+			List<CharmContext> updates = new ArrayList<>(3);
+			List<String> executeOnceCharmTypes = new ArrayList<>(3);
+			for (CharmContext context : get(LivingUpdateEvent.class)) {
+				ICharm charm = context.getEntity().getCharm();
+				if (!charm.isEffectStackable()) {
+					if (executeOnceCharmTypes.contains(charm.getType())) {
+						continue;
+					}
+					executeOnceCharmTypes.add(charm.getType());
+				}
+				updates.add(context);
+			}
+			// the phase of the player spreads the updates of different players over different ticks
+			UUID id = player.getUniqueID();
+			updateScheduler = new CharmScheduler(updates.toArray(new CharmContext[updates.size()]), id.getMostSignificantBits() ^ id.getLeastSignificantBits());
+		}
+
+		/**
+		 * 
+		 * @param player
+		 * @param handler
+		 * @return true if any held or equipment slot holds a different stack than when the index was built
+		 */
+		public boolean isChanged(EntityPlayerMP player, IEquipmentCharmHandler handler) {
+			int handCount = HANDS.length;
+			if (stacks.length != handCount + handler.getEquipmentSlotCount()) {
+				return true;
+			}
+			for (EnumHand hand : HANDS) {
+				if (stacks[hand.ordinal()] != player.getHeldItem(hand)) {
+					return true;
+				}
+			}
+			for (int index = handCount; index < stacks.length; index++) {
+				if (stacks[index] != handler.getEquipmentStack(player, index - handCount)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		public CharmContext[] get(Class<?> event) {
+			CharmContext[] contexts = contextsByEvent.get(event);
+			return contexts == null ? NO_CHARMS : contexts;
+		}
+
+		/**
+		 * 
+		 * @param tick
+		 * @return the update charms that are due on the tick, sorted by priority
+		 */
+		public CharmContext[] getDueUpdates(long tick) {
+			return updateScheduler.getDue(tick);
+		}
+	}
 }
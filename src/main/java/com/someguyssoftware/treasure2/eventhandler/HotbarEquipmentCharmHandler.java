@@ -12,22 +12,22 @@ import com.someguyssoftware.treasure2.charm.ICharmEntity;
 
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
-import net.minecraftforge.fml.common.eventhandler.Event;
 
 public class HotbarEquipmentCharmHandler implements IEquipmentCharmHandler {
 	private static final int MAX_HOTBAR_CHARMS = 4;
+	private static final int HOTBAR_SIZE = 9;
 
 	/**
 	 * Without redoing a big chunk of functionality, temporarily pass in the event handler
 	 * so the methods can be accessed. (TODO fix for v2.0)
 	 */
 	@Override
-	public List<CharmContext> handleEquipmentCharms(Event event, EntityPlayerMP player) {
+	public List<CharmContext> handleEquipmentCharms(EntityPlayerMP player) {
 		final List<CharmContext> contexts = new ArrayList<>(5);
 		AtomicInteger adornmentCount = new AtomicInteger(0);
 		AtomicInteger slot = new AtomicInteger(-1);
 
-		for (int hotbarSlot = 0; hotbarSlot < 9; hotbarSlot++) {
+		for (int hotbarSlot = 0; hotbarSlot < HOTBAR_SIZE; hotbarSlot++) {
 			slot.set(hotbarSlot);
 			ItemStack inventoryStack = player.inventory.getStackInSlot(hotbarSlot);
 			if (inventoryStack != player.getHeldItemMainhand()) {
@@ -38,9 +38,6 @@ public class HotbarEquipmentCharmHandler implements IEquipmentCharmHandler {
 							AtomicInteger index = new AtomicInteger();
 							for (int i = 0; i < cap.getCharmEntities().get(type).size(); i++) {
 								ICharmEntity entity = ((List<ICharmEntity>)cap.getCharmEntities().get(type)).get(i);
-								if (!entity.getCharm().getRegisteredEvent().equals(event.getClass())) {
-									continue;
-								}
 								index.set(i);
 								CharmContext context = new CharmContext.Builder().with($ -> {
 									$.slotProviderId = "minecraft";
@@ -64,4 +61,14 @@ public class HotbarEquipmentCharmHandler implements IEquipmentCharmHandler {
 		}
 		return contexts;
 	}
+
+	@Override
+	public int getEquipmentSlotCount() {
+		return HOTBAR_SIZE;
+	}
+
+	@Override
+	public ItemStack getEquipmentStack(EntityPlayerMP player, int index) {
+		return player.inventory.getStackInSlot(index);
+	}
 }
@@ -24,7 +24,7 @@ import java.util.List;
 import com.someguyssoftware.treasure2.charm.CharmContext;
 
 import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraftforge.fml.common.eventhandler.Event;
+import net.minecraft.item.ItemStack;
 
 
 /**
@@ -34,5 +34,24 @@ import net.minecraftforge.fml.common.eventhandler.Event;
  */
 public interface IEquipmentCharmHandler {
 
-	public List<CharmContext> handleEquipmentCharms(Event event, EntityPlayerMP player);
+	/**
+	 * 
+	 * @param player
+	 * @return the contexts of all the executing charms in the equipment slots, for any event
+	 */
+	public List<CharmContext> handleEquipmentCharms(EntityPlayerMP player);
+
+	/**
+	 * 
+	 * @return the number of equipment slots examined for charms
+	 */
+	public int getEquipmentSlotCount();
+
+	/**
+	 * Used to detect equipment changes without examining capabilities.
+	 * @param player
+	 * @param index 0 to getEquipmentSlotCount() - 1
+	 * @return the stack in the equipment slot
+	 */
+	public ItemStack getEquipmentStack(EntityPlayerMP player, int index);
 }
\ No newline at end of file
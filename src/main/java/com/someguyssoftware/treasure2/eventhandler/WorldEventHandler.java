@@ -8,13 +8,14 @@ import java.util.Map.Entry;
 import com.someguyssoftware.gottschcore.mod.IMod;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
-import com.someguyssoftware.treasure2.loot.TreasureLootTableRegistry;
 import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
-import com.someguyssoftware.treasure2.registry.TreasureDecayRegistry;
-import com.someguyssoftware.treasure2.registry.TreasureMetaRegistry;
-import com.someguyssoftware.treasure2.registry.TreasureTemplateRegistry;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry;
+import com.someguyssoftware.treasure2.registry.ResourceRegistryLoader;
+import com.someguyssoftware.treasure2.registry.WishingWellRegistry;
+import com.someguyssoftware.treasure2.worldgen.DeferredGenerationQueue;
 import com.someguyssoftware.treasure2.worldgen.ITreasureWorldGenerator;
 
 import net.minecraft.util.ResourceLocation;
@@ -29,6 +30,8 @@ import net.minecraftforge.event.LootTableLoadEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
 
 /**
  * @author Mark Gottschling on Jun 29, 2018
@@ -50,6 +53,14 @@ public class WorldEventHandler {
 	public void onWorldLoad(WorldEvent.Load event) {
 		Treasure.LOGGER.debug("In world load event for dimension {}", event.getWorld().provider.getDimension());
 
+		/*
+		 * un-load the dimension's chest registry regions. they are lazily re-loaded from the world's storage.
+		 */
+		if (WorldInfo.isServerSide(event.getWorld())) {
+			ChestRegistry.getInstance().clear(event.getWorld().provider.getDimension());
+			WishingWellRegistry.getInstance().clear(event.getWorld().provider.getDimension());
+		}
+
 		/*
 		 * On load of dimension 0 (overworld), initialize the loot table's context and other static loot tables
 		 */
@@ -58,10 +69,7 @@ public class WorldEventHandler {
 			WorldServer world = (WorldServer) event.getWorld();
 			
 			// execute registry's event handler
-			TreasureLootTableRegistry.onWorldLoad(event);
-			TreasureMetaRegistry.onWorldLoad(event);
-			TreasureTemplateRegistry.onWorldLoad(event);
-			TreasureDecayRegistry.onWorldLoad(event);
+			ResourceRegistryLoader.onWorldLoad(event);
 
 			// register files with their respective managers
 //			Treasure.META_MANAGER.register(getMod().getId());
@@ -75,18 +83,35 @@ public class WorldEventHandler {
 				worldGenEntry.getValue().init();
 			}
 
-			/*
-			 * un-load the chest registry
-			 */
-			Treasure.LOGGER.debug("Chest registry size BEFORE cleaning -> {}", ChestRegistry.getInstance().getValues().size());
-			ChestRegistry.getInstance().clear();	
-			Treasure.LOGGER.debug("Chest registry size AFTER cleaning -> {}", ChestRegistry.getInstance().getValues().size());
-
-			GenDataPersistence.get(world);			
-			Treasure.LOGGER.debug("Chest registry size after world event load -> {}", ChestRegistry.getInstance().getValues().size());
+			// reset the per-dimension generation counters. they are reloaded with the gen data.
+			GenerationStateRegistry.getInstance().clear();
+			GenDataPersistence.get(world);
+			// move any chests from the older global chest registry into their regions
+			ChestRegistry.getInstance().migrateLegacy(world);
 		}	
 	}
 
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		if (WorldInfo.isServerSide(event.getWorld())) {
+			ChestRegistry.getInstance().clear(event.getWorld().provider.getDimension());
+			WishingWellRegistry.getInstance().clear(event.getWorld().provider.getDimension());
+		}
+	}
+
+	/**
+	 * Builds queued deferred generation sites within the configured per-tick budget.
+	 * @param event
+	 */
+	@SubscribeEvent
+	public void onWorldTick(TickEvent.WorldTickEvent event) {
+		if (event.phase != TickEvent.Phase.END || event.side != Side.SERVER) {
+			return;
+		}
+		// process any queue left over from a previous session, even if deferred generation has since been disabled
+		DeferredGenerationQueue.process(event.world, TreasureConfig.WORLD_GEN.getGeneralProperties().deferredGenerationTickBudget * 1000L);
+	}
+
 	@SubscribeEvent
 	public void lootLoad(LootTableLoadEvent event) {
 		if (event.getName().toString().equals(LootTableList.CHESTS_SIMPLE_DUNGEON.toString()/*"minecraft:chests/simple_dungeon"*/)) {
@@ -3,7 +3,6 @@
  */
 package com.someguyssoftware.treasure2.generator;
 
-import java.util.List;
 import java.util.Random;
 
 import com.someguyssoftware.gottschcore.cube.Cube;
@@ -16,10 +15,10 @@ import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.AbstractChestBlock;
 import com.someguyssoftware.treasure2.block.SkeletonBlock;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
-import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
 import com.someguyssoftware.treasure2.registry.TreasureTemplateRegistry;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
+import com.someguyssoftware.treasure2.worldgen.StructurePlacement;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockChest;
@@ -88,11 +87,7 @@ public class GenUtil {
 	 */
 	public static boolean replaceWithBlock(World world, ICoords coords, Block block) {
 		// don't change if old block is air
-		Cube cube = new Cube(world, coords);
-		if (cube.isAir())
-			return false;
-		world.setBlockState(coords.toPos(), block.getDefaultState());
-		return true;
+		return StructurePlacement.replaceBlockState(world, coords.toPos(), block.getDefaultState());
 	}
 
 	/**
@@ -104,11 +99,7 @@ public class GenUtil {
 	 */
 	public static boolean replaceWithBlockState(World world, ICoords coords, IBlockState blockState) {
 		// don't change if old block is air
-		Cube cube = new Cube(world, coords);
-		if (cube.isAir())
-			return false;
-		world.setBlockState(coords.toPos(), blockState);
-		return true;
+		return StructurePlacement.replaceBlockState(world, coords.toPos(), blockState);
 	}
 
 	/**
@@ -349,7 +340,7 @@ public class GenUtil {
 		final int ABOVE_CHEST_SIZE = 3; // above chests are always fill with logs, sand, and planks
 		final int BELOW_SURFACE_SIZE = 5; // the number of blocks below the surface
 		for (int i = coords.getY() + (ABOVE_CHEST_SIZE + 1); i <= surfaceCoords.getY() - BELOW_SURFACE_SIZE; i++) {
-			world.setBlockState(new BlockPos(coords.getX(), i, coords.getZ()), Blocks.AIR.getDefaultState(), 3);
+			StructurePlacement.setBlockState(world, new BlockPos(coords.getX(), i, coords.getZ()), Blocks.AIR.getDefaultState(), 3);
 		}
 	}
 
@@ -361,28 +352,7 @@ public class GenUtil {
 	 * @return
 	 */
 	public static boolean isRegisteredChestWithinDistance(World world, ICoords coords, int minDistance) {
-
-		double minDistanceSq = minDistance * minDistance;
-
-		// get a list of chests
-		List<ChestInfo> infos = ChestRegistry.getInstance().getValues();
-
-		if (infos == null || infos.size() == 0) {
-			Treasure.LOGGER
-					.debug("Unable to locate the ChestConfig Registry or the Registry doesn't contain any values");
-			return false;
-		}
-
-		Treasure.LOGGER.debug("Min distance Sq -> {}", minDistanceSq);
-		for (ChestInfo info : infos) {
-			// calculate the distance to the poi
-			double distance = coords.getDistanceSq(info.getCoords());
-			Treasure.LOGGER.debug("ChestConfig dist^2: " + distance);
-			if (distance < minDistanceSq) {
-				return true;
-			}
-		}
-		return false;
+		return ChestRegistry.getInstance().isWithinDistance(world, coords, minDistance);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.generator;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.gottschcore.world.WorldInfo;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+/**
+ * Evaluates the suitability of a structure site.
+ * The blocks of the site's footprint, over a small range of levels, are read once from the chunk sections
+ * into a summed-area table per level of the solid blocks and of the air blocks.
+ * The solid or air percent of any rectangle of the footprint at any evaluated level is then answered in constant time,
+ * so a site can be tested at several levels without reading the world again.
+ * Solid and air have the meaning of WorldInfo.isSolidBase() and WorldInfo.isAirBase():
+ * a base at y is solid if the material of the block below is solid, and is air if the block at y is air or replaceable.
+ */
+public class SiteEvaluator {
+	private final World world;
+	private final int minX;
+	private final int minZ;
+	private final int width;
+	private final int depth;
+	private final int minY;
+	private final int maxY;
+
+	// summed-area tables by level, of (width + 1) x (depth + 1) sums
+	private final int[][] solid;
+	private final int[][] air;
+
+	/**
+	 * Reads the blocks of the footprint from minY to maxY inclusive.
+	 * @param world
+	 * @param coords the min corner of the footprint
+	 * @param width the size of the footprint on the x axis
+	 * @param depth the size of the footprint on the z axis
+	 * @param minY
+	 * @param maxY
+	 */
+	public SiteEvaluator(World world, ICoords coords, int width, int depth, int minY, int maxY) {
+		this.world = world;
+		this.minX = coords.getX();
+		this.minZ = coords.getZ();
+		this.width = Math.max(1, width);
+		this.depth = Math.max(1, depth);
+		this.minY = minY;
+		this.maxY = Math.max(minY, maxY);
+
+		int levels = this.maxY - minY + 1;
+		solid = new int[levels][(this.width + 1) * (this.depth + 1)];
+		air = new int[levels][(this.width + 1) * (this.depth + 1)];
+		build();
+	}
+
+	/**
+	 * Creates an evaluator for a footprint whose base is tested at the levels from baseY - drop to baseY,
+	 * and whose air is tested at the level above each base.
+	 * @param world
+	 * @param coords the min corner of the footprint, at the highest base level
+	 * @param width
+	 * @param depth
+	 * @param drop the number of levels below the coords' level that the base may be moved down
+	 * @return
+	 */
+	public static SiteEvaluator forBase(World world, ICoords coords, int width, int depth, int drop) {
+		return new SiteEvaluator(world, coords, width, depth, coords.getY() - drop - 1, coords.getY() + 1);
+	}
+
+	private void build() {
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		int stride = depth + 1;
+		Chunk chunk = null;
+		for (int x = 0; x < width; x++) {
+			for (int z = 0; z < depth; z++) {
+				int worldX = minX + x;
+				int worldZ = minZ + z;
+				if (chunk == null || chunk.x != worldX >> 4 || chunk.z != worldZ >> 4) {
+					chunk = world.getChunkFromChunkCoords(worldX >> 4, worldZ >> 4);
+				}
+				ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+				int cell = (x + 1) * stride + (z + 1);
+				for (int y = minY; y <= maxY; y++) {
+					int level = y - minY;
+					IBlockState state = getState(sections, worldX, y, worldZ);
+					pos.setPos(worldX, y, worldZ);
+					int isSolid = state.getMaterial().isSolid() ? 1 : 0;
+					int isAir = state.getBlock().isAir(state, world, pos) || state.getBlock().isReplaceable(world, pos) ? 1 : 0;
+					// sum(x, z) = value + sum(x - 1, z) + sum(x, z - 1) - sum(x - 1, z - 1)
+					solid[level][cell] = isSolid + solid[level][cell - stride] + solid[level][cell - 1] - solid[level][cell - stride - 1];
+					air[level][cell] = isAir + air[level][cell - stride] + air[level][cell - 1] - air[level][cell - stride - 1];
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param sections
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @return the state of the block, air if its section is empty
+	 */
+	private static IBlockState getState(ExtendedBlockStorage[] sections, int x, int y, int z) {
+		if (y < 0 || y >> 4 >= sections.length) {
+			return Blocks.AIR.getDefaultState();
+		}
+		ExtendedBlockStorage section = sections[y >> 4];
+		if (section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty()) {
+			return Blocks.AIR.getDefaultState();
+		}
+		return section.get(x & 15, y & 15, z & 15);
+	}
+
+	/**
+	 *
+	 * @param table
+	 * @param x
+	 * @param z
+	 * @param width
+	 * @param depth
+	 * @return the sum of the rectangle, relative to the footprint
+	 */
+	private int sum(int[] table, int x, int z, int width, int depth) {
+		int stride = this.depth + 1;
+		int x2 = x + width;
+		int z2 = z + depth;
+		return table[x2 * stride + z2] - table[x * stride + z2] - table[x2 * stride + z] + table[x * stride + z];
+	}
+
+	/**
+	 *
+	 * @param coords
+	 * @param width
+	 * @param depth
+	 * @param y the level of the block
+	 * @return true if the rectangle and level were read by this evaluator
+	 */
+	private boolean contains(ICoords coords, int width, int depth, int y) {
+		int x = coords.getX() - minX;
+		int z = coords.getZ() - minZ;
+		return x >= 0 && z >= 0 && width > 0 && depth > 0 && x + width <= this.width && z + depth <= this.depth
+				&& y >= minY && y <= maxY;
+	}
+
+	/**
+	 *
+	 * @param coords the min corner and level of the base
+	 * @param width
+	 * @param depth
+	 * @return the percent of the blocks below the base that are solid
+	 */
+	public double getSolidPercent(ICoords coords, int width, int depth) {
+		int y = coords.getY() - 1;
+		if (width <= 0 || depth <= 0) {
+			return 0;
+		}
+		if (!contains(coords, width, depth, y)) {
+			return new SiteEvaluator(world, coords, width, depth, y, y).getSolidPercent(coords, width, depth);
+		}
+		return 100D * sum(solid[y - minY], coords.getX() - minX, coords.getZ() - minZ, width, depth) / (width * depth);
+	}
+
+	/**
+	 *
+	 * @param coords the min corner and level of the base
+	 * @param width
+	 * @param depth
+	 * @return the percent of the blocks of the base that are air or replaceable
+	 */
+	public double getAirPercent(ICoords coords, int width, int depth) {
+		int y = coords.getY();
+		if (width <= 0 || depth <= 0) {
+			return 0;
+		}
+		if (!contains(coords, width, depth, y)) {
+			return new SiteEvaluator(world, coords, width, depth, y, y).getAirPercent(coords, width, depth);
+		}
+		return 100D * sum(air[y - minY], coords.getX() - minX, coords.getZ() - minZ, width, depth) / (width * depth);
+	}
+
+	/**
+	 *
+	 * @param coords
+	 * @param width
+	 * @param depth
+	 * @param percentRequired
+	 * @return
+	 */
+	public boolean isSolidBase(ICoords coords, int width, int depth, double percentRequired) {
+		return getSolidPercent(coords, width, depth) >= percentRequired;
+	}
+
+	/**
+	 * Tests the whole footprint.
+	 * @param y the level of the base
+	 * @param percentRequired
+	 * @return
+	 */
+	public boolean isSolidBase(int y, double percentRequired) {
+		return isSolidBase(new Coords(minX, y, minZ), width, depth, percentRequired);
+	}
+
+	/**
+	 *
+	 * @param coords
+	 * @param width
+	 * @param depth
+	 * @param percentRequired
+	 * @return
+	 */
+	public boolean isAirBase(ICoords coords, int width, int depth, double percentRequired) {
+		return getAirPercent(coords, width, depth) >= percentRequired;
+	}
+
+	/**
+	 * Tests the whole footprint.
+	 * @param y the level of the base
+	 * @param percentRequired
+	 * @return
+	 */
+	public boolean isAirBase(int y, double percentRequired) {
+		return isAirBase(new Coords(minX, y, minZ), width, depth, percentRequired);
+	}
+
+	/**
+	 * Moves the coords down to the first block that is above a block that is not air, replaceable, leaves, liquid or burning.
+	 * Reads the column from the chunk sections instead of through Cubes.
+	 * @param world
+	 * @param coords
+	 * @return the coords, or WorldInfo.EMPTY_COORDS if there is no such block
+	 */
+	public static ICoords getSolidSurfaceCoords(final World world, final ICoords coords) {
+		Chunk chunk = world.getChunkFromChunkCoords(coords.getX() >> 4, coords.getZ() >> 4);
+		ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		for (int y = coords.getY() - 1; y > 0; y--) {
+			IBlockState state = getState(sections, coords.getX(), y, coords.getZ());
+			pos.setPos(coords.getX(), y, coords.getZ());
+			Material material = state.getMaterial();
+			if (material != Material.AIR && material != Material.LEAVES && !material.isLiquid()
+					&& !state.getBlock().isReplaceable(world, pos) && !state.getBlock().isBurning(world, pos)) {
+				return new Coords(coords.getX(), y + 1, coords.getZ());
+			}
+		}
+		return WorldInfo.EMPTY_COORDS;
+	}
+}
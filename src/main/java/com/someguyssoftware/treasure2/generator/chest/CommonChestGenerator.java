@@ -21,6 +21,7 @@ package com.someguyssoftware.treasure2.generator.chest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 
 import com.someguyssoftware.gottschcore.loot.LootTableShell;
@@ -29,6 +30,7 @@ import com.someguyssoftware.treasure2.enums.ChestGeneratorType;
 import com.someguyssoftware.treasure2.enums.Rarity;
 import com.someguyssoftware.treasure2.item.LockItem;
 import com.someguyssoftware.treasure2.item.TreasureItems;
+import com.someguyssoftware.treasure2.loot.TreasureLootTableMaster2.ManagedTableType;
 import com.someguyssoftware.treasure2.loot.TreasureLootTableRegistry;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
 
@@ -38,6 +40,8 @@ import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity
  *
  */
 public class CommonChestGenerator implements IChestGenerator {
+	// the rarities of the loot tables that a chest selects from
+	private static final Rarity[] LOOT_TABLE_RARITIES = {Rarity.COMMON, Rarity.UNCOMMON};
 	
 	/**
 	 * 
@@ -62,10 +66,12 @@ public class CommonChestGenerator implements IChestGenerator {
 	@Override
 	public List<LootTableShell> buildLootTableList2(final Rarity chestRarity) {
 		// get all loot tables by column key
-		List<LootTableShell> tables = new ArrayList<>();
-		tables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.COMMON));
-		tables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.UNCOMMON));
-		return tables;
+		return TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarities(LOOT_TABLE_RARITIES);
+	}
+
+	@Override
+	public Optional<LootTableShell> selectLootTable2(Random random, final Rarity chestRarity) {
+		return TreasureLootTableRegistry.getLootTableMaster().selectLootTable(ManagedTableType.CHEST, random, LOOT_TABLE_RARITIES);
 	}	
 	
 	/**
@@ -21,6 +21,7 @@ import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.world.gen.structure.BlockContext;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.AbstractChestBlock;
+import com.someguyssoftware.treasure2.block.IMimicBlock;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
 import com.someguyssoftware.treasure2.block.TreasureChestBlock;
 import com.someguyssoftware.treasure2.chest.TreasureChestType;
@@ -38,6 +39,7 @@ import com.someguyssoftware.treasure2.lock.LockState;
 import com.someguyssoftware.treasure2.loot.TreasureLootTableMaster2;
 import com.someguyssoftware.treasure2.loot.TreasureLootTableRegistry;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
+import com.someguyssoftware.treasure2.worldgen.GenerationMetrics;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -110,6 +112,12 @@ public interface IChestGenerator {
 		// add locks
 		addLocks(random, chest, (AbstractTreasureChestTileEntity) tileEntity, rarity);
 		
+		// roll the loot now instead of on first open
+		if (TreasureConfig.CHESTS.enablePregeneratedLoot && !(chest instanceof IMimicBlock)) {
+			fillChest(world, getLootRandom(world, coords), tileEntity, rarity, null);
+			((AbstractTreasureChestTileEntity) tileEntity).setSealed(false);
+		}
+		
 		// update result
 		result.getData().setChestContext(new BlockContext(coords, state));
 
@@ -209,80 +217,122 @@ public interface IChestGenerator {
 		}
 		Treasure.LOGGER.debug("loot table resource -> {}", lootTableResourceLocation); 
 		
-		LootTable lootTable = world.getLootTableManager().getLootTableFromLocation(lootTableResourceLocation);
+		// setup context
+		LootContext lootContext = null;
+		if (player == null) {
+			lootContext = TreasureLootTableRegistry.getLootTableMaster().getContext();
+		}
+		else {
+			lootContext = new LootContext.Builder((WorldServer) world)
+				.withLuck(player.getLuck())
+				.withPlayer(player)
+				.build();
+		}
+		
+		fillInventory(world, random, (IInventory) tileEntity, lootTableShell.get(), rarity, lootContext);
+	}
+
+	/**
+	 * Generates the loot of a loot table shell into an inventory. This is the loot generation part of fillChest
+	 * and does not depend on a tile entity.
+	 * @param world
+	 * @param random
+	 * @param inventory
+	 * @param lootTableShell
+	 * @param rarity
+	 * @param lootContext
+	 * @return false if the vanilla loot table of the shell could not be found
+	 */
+	default public boolean fillInventory(final World world, Random random, final IInventory inventory, final LootTableShell lootTableShell, final Rarity rarity, final LootContext lootContext) {
+		LootTable lootTable = world.getLootTableManager().getLootTableFromLocation(lootTableShell.getResourceLocation());
 		if (lootTable == null) {
 			LOGGER.warn("Unable to select a lootTable.");
-			return;
+			return false;
 		}		
-		Treasure.LOGGER.debug("selected loot table -> {} from resource -> {}", lootTable, lootTableResourceLocation);
 		
 		// update rarity from lootTableShell		
-		Rarity effectiveRarity = TreasureLootTableRegistry.getLootTableMaster().getEffectiveRarity(lootTableShell.get(), rarity);		
-		LOGGER.debug("Generating loot from loot table for effective rarity {}", effectiveRarity);
+		Rarity effectiveRarity = TreasureLootTableRegistry.getLootTableMaster().getEffectiveRarity(lootTableShell, rarity);		
 		
 		// setup lists of items
 		List<ItemStack> treasureStacks = new ArrayList<>();
 		List<ItemStack> itemStacks = new ArrayList<>();
+		generatePoolLoot(lootTableShell, lootTable, random, lootContext, treasureStacks, itemStacks);
 		
+		// record original item size (max number of items to pull from final list)
+		int lootItemSize = itemStacks.size();
+		
+		// TODO move to separate method
+		// fetch all injected loot tables by category/rarity
+		Optional<List<LootTableShell>> injectLootTableShells = buildInjectedLootTableList(lootTableShell.getCategory(), effectiveRarity);
+		if (injectLootTableShells.isPresent()) {
+			itemStacks.addAll(TreasureLootTableRegistry.getLootTableMaster().getInjectedLootItems(world, random, injectLootTableShells.get(), lootContext));
+		}
+		
+		fillInventory(inventory, random, treasureStacks, itemStacks, lootItemSize);
+		return true;
+	}
+
+	/**
+	 * Generates the loot of the pools of a loot table, with the treasure and charms pools kept apart from the other items.
+	 * Does not use the world, so it can also be run by the workers of the loot simulator.
+	 * @param lootTableShell
+	 * @param lootTable
+	 * @param random
+	 * @param lootContext
+	 * @param treasureStacks
+	 * @param itemStacks
+	 */
+	default public void generatePoolLoot(final LootTableShell lootTableShell, final LootTable lootTable, Random random, final LootContext lootContext,
+			final List<ItemStack> treasureStacks, final List<ItemStack> itemStacks) {
 		/*
 		 * Using per loot table file - category strategy (instead of per pool strategy)
 		 */
 		// get a list of loot pools
-		List<LootPoolShell> lootPoolShells = lootTableShell.get().getPools();
-		if (lootPoolShells != null && lootPoolShells.size() > 0) {
-			LOGGER.debug("# of pools -> {}", lootPoolShells.size());
-		}
-		
-		// setup context
-		LootContext lootContext = null;
-		if (player == null) {
-			lootContext = TreasureLootTableRegistry.getLootTableMaster().getContext();
-		}
-		else {
-			lootContext = new LootContext.Builder((WorldServer) world)
-				.withLuck(player.getLuck())
-				.withPlayer(player)
-				.build();
-		}
-		
+		List<LootPoolShell> lootPoolShells = lootTableShell.getPools();
 		for (LootPoolShell pool : lootPoolShells) {
-			LOGGER.debug("processing pool -> {}", pool.getName());
 			// go get the vanilla managed pool
 			LootPool lootPool = lootTable.getPool(pool.getName());
 			
 			// geneate loot from pools
 			if (pool.getName().equalsIgnoreCase("treasure") || pool.getName().equalsIgnoreCase("charms")) {
-				LOGGER.debug("processing 'treasure|charm' pool -> {}", pool.getName());
 				lootPool.generateLoot(treasureStacks, random, lootContext);
 			}
 			else {
 				lootPool.generateLoot(itemStacks, random, lootContext);
 			}
 		}
-		LOGGER.debug("size of treasure stacks -> {}", treasureStacks.size());
-		LOGGER.debug("size of item stacks -> {}", itemStacks.size());
-		
-		// record original item size (max number of items to pull from final list)
-		int lootItemSize = itemStacks.size();
-		
-		// TODO move to separate method
-		// fetch all injected loot tables by category/rarity
-		LOGGER.debug("searching for injectable tables for category ->{}, rarity -> {}", lootTableShell.get().getCategory(), effectiveRarity);
-		Optional<List<LootTableShell>> injectLootTableShells = buildInjectedLootTableList(lootTableShell.get().getCategory(), effectiveRarity);
-		if (injectLootTableShells.isPresent()) {
-			LOGGER.debug("found injectable tables for category ->{}, rarity -> {}", lootTableShell.get().getCategory(), effectiveRarity);
-			LOGGER.debug("size of injectable tables -> {}", injectLootTableShells.get().size());
-			itemStacks.addAll(TreasureLootTableRegistry.getLootTableMaster().getInjectedLootItems(world, random, injectLootTableShells.get(), lootContext));
-		}
-		
+	}
+
+	/**
+	 * Adds all of the treasure items, then the first lootItemSize of the shuffled items, to the inventory.
+	 * @param inventory
+	 * @param random
+	 * @param treasureStacks
+	 * @param itemStacks
+	 * @param lootItemSize the number of items generated by the pools of the loot table
+	 */
+	default public void fillInventory(final IInventory inventory, Random random, final List<ItemStack> treasureStacks,
+			final List<ItemStack> itemStacks, int lootItemSize) {
 		// add the treasure items to the chest
-		fillInventory((IInventory) tileEntity, random, treasureStacks);
+		fillInventory(inventory, random, treasureStacks);
 		
 		// shuffle the items list
 		Collections.shuffle(itemStacks, random);
 		
 		// fill the chest with items
-		fillInventory((IInventory) tileEntity, random, itemStacks.stream().limit(lootItemSize).collect(Collectors.toList()));
+		fillInventory(inventory, random, itemStacks.stream().limit(lootItemSize).collect(Collectors.toList()));
+	}
+
+	/**
+	 * The Random of pre-generated loot, seeded by the world seed and the chest position so that the loot
+	 * does not depend on the order that chests are generated in.
+	 * Loot rolled when a chest is first opened uses the world's Random instead.
+	 * @param world
+	 * @param coords
+	 * @return
+	 */
+	default public Random getLootRandom(final World world, final ICoords coords) {
+		return new Random(world.getSeed() ^ coords.toPos().toLong());
 	}
 
 	/**
@@ -293,7 +343,6 @@ public interface IChestGenerator {
 	 */
 	default public void fillInventory(IInventory inventory, Random random, List<ItemStack> list) {
 		List<Integer> emptySlots = getEmptySlotsRandomized(inventory, random);
-		LOGGER.debug("beginning empty slots size -> {}", emptySlots.size());
 		this.shuffleItems(list, emptySlots.size(), random);
 
 		for (ItemStack itemstack : list) {
@@ -311,7 +360,6 @@ public interface IChestGenerator {
 				inventory.setInventorySlotContents(((Integer) emptySlots.remove(emptySlots.size() - 1)).intValue(), itemstack);
 			}
 		}
-		LOGGER.debug("ending empty slots size -> {}", emptySlots.size());
 	}
 	
 	/**
@@ -401,24 +449,8 @@ public interface IChestGenerator {
 	 * @return
 	 */
     default public Optional<LootTableShell> selectLootTable2(Random random, final Rarity rarity) {
-    	LootTableShell lootTableShell = null;
-
-		// select the loot table by rarity
-		List<LootTableShell> tables = buildLootTableList2(rarity);
-		if (tables !=null)LOGGER.debug("tables size -> {}", tables.size());
-		
-		// select a random table from the list
-		if (tables != null && !tables.isEmpty()) {
-			int index = 0;
-			if (tables.size() == 1) {
-				lootTableShell = tables.get(0);
-			} else {
-				index = RandomHelper.randomInt(random, 0, tables.size() - 1);
-				lootTableShell = tables.get(index);
-			}
-			LOGGER.debug("Selected loot table shell index --> {}", index);
-		}
-		return Optional.ofNullable(lootTableShell);
+		// select a loot table of the rarity, without building a list of the tables
+		return TreasureLootTableRegistry.getLootTableMaster().selectLootTable(TreasureLootTableMaster2.ManagedTableType.CHEST, random, rarity);
 	}
     
     /**
@@ -539,9 +571,11 @@ public interface IChestGenerator {
 		if (!isSurfaceChest && TreasureConfig.WORLD_GEN.getMarkerProperties().isMarkerStructuresAllowed && RandomHelper
 				.checkProbability(random, TreasureConfig.WORLD_GEN.getMarkerProperties().markerStructureProbability)) {
 			LOGGER.debug("generating a random structure marker -> {}", coords.toShortString());
-			new StructureMarkerGenerator().generate(world, random, coords);
+			GenerationMetrics.Timer timer = GenerationMetrics.getInstance().start(GenerationMetrics.STRUCTURE_MARKER);
+			timer.stop(new StructureMarkerGenerator().generate(world, random, coords).isSuccess());
 		} else {
-			new GravestoneMarkerGenerator().generate(world, random, coords);
+			GenerationMetrics.Timer timer = GenerationMetrics.getInstance().start(GenerationMetrics.GRAVESTONE_MARKER);
+			timer.stop(new GravestoneMarkerGenerator().generate(world, random, coords).isSuccess());
 		}
 	}
 
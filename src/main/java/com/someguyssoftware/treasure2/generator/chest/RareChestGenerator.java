@@ -5,6 +5,7 @@ package com.someguyssoftware.treasure2.generator.chest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 
 import com.someguyssoftware.gottschcore.loot.LootTableShell;
@@ -16,6 +17,7 @@ import com.someguyssoftware.treasure2.enums.ChestGeneratorType;
 import com.someguyssoftware.treasure2.enums.Rarity;
 import com.someguyssoftware.treasure2.item.LockItem;
 import com.someguyssoftware.treasure2.item.TreasureItems;
+import com.someguyssoftware.treasure2.loot.TreasureLootTableMaster2.ManagedTableType;
 import com.someguyssoftware.treasure2.loot.TreasureLootTableRegistry;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
 
@@ -26,6 +28,8 @@ import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity
  *
  */
 public class RareChestGenerator implements IChestGenerator {
+	// the rarities of the loot tables that a chest selects from
+	private static final Rarity[] LOOT_TABLE_RARITIES = {Rarity.SCARCE, Rarity.RARE};
 
 	/**
 	 * 
@@ -44,10 +48,12 @@ public class RareChestGenerator implements IChestGenerator {
 	@Override
 	public List<LootTableShell> buildLootTableList2(final Rarity chestRarity) {
 		// get all loot tables by column key
-		List<LootTableShell> tables = new ArrayList<>();
-		tables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.SCARCE));
-		tables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.RARE));
-		return tables;
+		return TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarities(LOOT_TABLE_RARITIES);
+	}
+
+	@Override
+	public Optional<LootTableShell> selectLootTable2(Random random, final Rarity chestRarity) {
+		return TreasureLootTableRegistry.getLootTableMaster().selectLootTable(ManagedTableType.CHEST, random, LOOT_TABLE_RARITIES);
 	}	
 	
 	/**
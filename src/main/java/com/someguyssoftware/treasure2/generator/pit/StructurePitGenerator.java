@@ -114,27 +114,15 @@ public class StructurePitGenerator extends AbstractPitGenerator {
 		if (yDist > 6) {
 			Treasure.LOGGER.debug("generating structure room at -> {}", spawnCoords.toShortString());
 			
-			// get structure by archetype (subterranean) and type (room)
-			String key = StructureArchetype.SUBTERRANEAN.getName()
-					+ ":" + StructureType.ROOM.getName();
-			
-			// get the biome
+			// get structure by archetype (subterranean) and type (room) for the biome
 			Biome biome = world.getBiome(spawnCoords.toPos());
-			Integer biomeID = Biome.getIdForBiome(biome);
-			List<TemplateHolder> templateHolders = TreasureTemplateRegistry.getManager().getTemplatesByArchetypeTypeBiomeTable().get(key, biomeID);
-			if (templateHolders == null || templateHolders.isEmpty()) {
-				Treasure.LOGGER.debug("could not find template holders for archetype:type, biome -> {} [{}]:{}", key, biomeID, biome.toString());
-				return result.fail();
-			}
-			
-			TemplateHolder holder = templateHolders.get(random.nextInt(templateHolders.size()));
+			TemplateHolder holder = TreasureTemplateRegistry.getManager().getTemplate(world, random, StructureArchetype.SUBTERRANEAN, StructureType.ROOM, biome);
 			if (holder == null) {
-				Treasure.LOGGER.debug("could not find random template holder.");
+				Treasure.LOGGER.debug("could not find template holder for biome -> {}", biome.toString());
 				return result.fail();
 			}
 			
 			GottschTemplate template = (GottschTemplate) holder.getTemplate();
-			Treasure.LOGGER.debug("selected template holder -> {} : {}", holder.getLocation(), holder.getMetaLocation());
 			if (template == null) {
 				Treasure.LOGGER.debug("could not find random template");
 				return result.fail();
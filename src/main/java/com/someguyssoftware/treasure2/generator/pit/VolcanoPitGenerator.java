@@ -12,6 +12,7 @@ import com.someguyssoftware.treasure2.block.TreasureBlocks;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
+import com.someguyssoftware.treasure2.worldgen.StructurePlacement;
 import com.sun.media.jfxmedia.logging.Logger;
 
 import net.minecraft.block.Block;
@@ -187,10 +188,10 @@ public class VolcanoPitGenerator extends AbstractPitGenerator {
     private void addDecorations(World world, Random random, ICoords coords) {
         if (world.getBlockState(coords.toPos()).getBlock() != Blocks.AIR) {
             if (RandomHelper.checkProbability(random, 30)) {
-                world.setBlockState(coords.toPos(), TreasureBlocks.BLACKSTONE.getDefaultState());
+                StructurePlacement.setBlockState(world, coords.toPos(), TreasureBlocks.BLACKSTONE.getDefaultState());
             }
             else if (RandomHelper.checkProbability(random, 10)) {
-            	world.setBlockState(coords.toPos(), Blocks.LAVA.getDefaultState());
+            	StructurePlacement.setBlockState(world, coords.toPos(), Blocks.LAVA.getDefaultState());
             }
         }
     }
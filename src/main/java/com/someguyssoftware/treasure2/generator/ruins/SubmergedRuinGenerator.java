@@ -19,6 +19,7 @@ import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
+import com.someguyssoftware.treasure2.generator.SiteEvaluator;
 import com.someguyssoftware.treasure2.generator.TemplateGeneratorData;
 import com.someguyssoftware.treasure2.meta.StructureArchetype;
 import com.someguyssoftware.treasure2.meta.StructureMeta;
@@ -27,6 +28,8 @@ import com.someguyssoftware.treasure2.registry.TreasureDecayRegistry;
 import com.someguyssoftware.treasure2.registry.TreasureMetaRegistry;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateGenerator;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateHolder;
+import com.someguyssoftware.treasure2.worldgen.GenerationMetrics;
+import com.someguyssoftware.treasure2.worldgen.GenerationMetrics.Rejection;
 
 import net.minecraft.init.Blocks;
 import net.minecraft.util.Rotation;
@@ -92,6 +95,13 @@ public class SubmergedRuinGenerator implements IRuinGenerator<GeneratorResult<Ch
 		PlacementSettings placement = new PlacementSettings();
 		placement.setRotation(rotation).setRandom(random);
 
+		// the spawn coords are in the center of the chunk, so a rotated template may reach past the chunks being populated.
+		// move it into them, and check its footprint before the site checks read it.
+		originalSpawnCoords = generator.fitFootprint(world, holder, placement, originalSpawnCoords);
+		if (!generator.isFootprintAvailable(world, holder, placement, originalSpawnCoords)) {
+			return result.fail();
+		}
+
 		// determine the actual spawn coords
 		ICoords templateSize = new Coords(holder.getTemplate().transformedSize(placement.getRotation()));
 		ICoords actualSpawnCoords = generator.getTransformedSpawnCoords(originalSpawnCoords, templateSize, placement);
@@ -104,11 +114,15 @@ public class SubmergedRuinGenerator implements IRuinGenerator<GeneratorResult<Ch
 		actualSpawnCoords = WorldInfo.getOceanFloorSurfaceCoords(world, actualSpawnCoords);
 		Treasure.LOGGER.debug("ocean floor coords -> {}", actualSpawnCoords.toShortString());
 
+		// read the footprint once for the solid base checks at each level
+		SiteEvaluator site = SiteEvaluator.forBase(world, actualSpawnCoords, templateSize.getX(), templateSize.getZ(), 2);
+
 		// check if it has % land
 		for (int i = 0; i < 3; i++) {
-			if (!WorldInfo.isSolidBase(world, actualSpawnCoords, templateSize.getX(), templateSize.getZ(), REQUIRED_BASE_SIZE)) {
+			if (!site.isSolidBase(actualSpawnCoords.getY(), REQUIRED_BASE_SIZE)) {
 				if (i == 2) {
 					Treasure.LOGGER.debug("Coords -> [{}] does not meet {}% solid base requirements for size -> {} x {}", REQUIRED_BASE_SIZE, originalSpawnCoords.toShortString(), templateSize.getX(), templateSize.getY());
+					GenerationMetrics.getInstance().reject(GenerationMetrics.SUBMERGED_RUIN, Rejection.SOLID_BASE);
 					return result.fail();
 				}
 				else {
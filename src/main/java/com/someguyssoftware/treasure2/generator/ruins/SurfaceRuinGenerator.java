@@ -6,7 +6,6 @@ package com.someguyssoftware.treasure2.generator.ruins;
 import java.util.List;
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.measurement.Quantity;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
@@ -20,6 +19,7 @@ import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
+import com.someguyssoftware.treasure2.generator.SiteEvaluator;
 import com.someguyssoftware.treasure2.generator.TemplateGeneratorData;
 import com.someguyssoftware.treasure2.meta.StructureArchetype;
 import com.someguyssoftware.treasure2.meta.StructureMeta;
@@ -28,8 +28,9 @@ import com.someguyssoftware.treasure2.registry.TreasureDecayRegistry;
 import com.someguyssoftware.treasure2.registry.TreasureMetaRegistry;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateGenerator;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateHolder;
+import com.someguyssoftware.treasure2.worldgen.GenerationMetrics;
+import com.someguyssoftware.treasure2.worldgen.GenerationMetrics.Rejection;
 
-import net.minecraft.block.material.Material;
 import net.minecraft.util.Rotation;
 import net.minecraft.world.World;
 import net.minecraft.world.gen.structure.template.PlacementSettings;
@@ -91,6 +92,13 @@ public class SurfaceRuinGenerator implements IRuinGenerator<GeneratorResult<Ches
 		// setup placement
 		PlacementSettings placement = new PlacementSettings();
 		placement.setRotation(rotation).setRandom(random);
+
+		// the spawn coords are in the center of the chunk, so a rotated template may reach past the chunks being populated.
+		// move it into them, and check its footprint before the site checks read it.
+		originalSpawnCoords = generator.fitFootprint(world, holder, placement, originalSpawnCoords);
+		if (!generator.isFootprintAvailable(world, holder, placement, originalSpawnCoords)) {
+			return result.fail();
+		}
 	
 		// determine the actual spawn coords
 		ICoords templateSize = new Coords(holder.getTemplate().transformedSize(placement.getRotation()));
@@ -110,12 +118,16 @@ public class SurfaceRuinGenerator implements IRuinGenerator<GeneratorResult<Ches
 			return result.fail();
 		}
 		
+		// read the footprint once for the solid base checks at each level and the air check above the chosen level
+		SiteEvaluator site = SiteEvaluator.forBase(world, actualSpawnCoords, templateSize.getX(), templateSize.getZ(), 2);
+
 		// check if it has % land base
 		for (int i = 0; i < 3; i++) {
 			Treasure.LOGGER.debug("finding solid base index -> {} at coords -> {}", i, actualSpawnCoords.toShortString());
-			if (!WorldInfo.isSolidBase(world, actualSpawnCoords, templateSize.getX(), templateSize.getZ(), REQUIRED_BASE_SIZE)) {
+			if (!site.isSolidBase(actualSpawnCoords.getY(), REQUIRED_BASE_SIZE)) {
 				if (i == 2) {
 					Treasure.LOGGER.debug("Coords -> [{}] does not meet {}% solid base requirements for size -> {} x {}", originalSpawnCoords.toShortString(), REQUIRED_BASE_SIZE, templateSize.getX(), templateSize.getZ());
+					GenerationMetrics.getInstance().reject(GenerationMetrics.SURFACE_RUIN, Rejection.SOLID_BASE);
 					return result.fail();
 				}
 				else {
@@ -131,8 +143,9 @@ public class SurfaceRuinGenerator implements IRuinGenerator<GeneratorResult<Ches
 		
 		// check if the plane above the actual spawn coords is % air
 		Treasure.LOGGER.debug("checking for {} % air at coords -> {} for dimensions -> {} x {}", REQUIRED_AIR_SIZE, actualSpawnCoords.add(0, 1, 0), templateSize.getX(), templateSize.getZ());
-		if (!WorldInfo.isAirBase(world, actualSpawnCoords.add(0, 1, 0), templateSize.getX(), templateSize.getZ(), REQUIRED_AIR_SIZE)) {
+		if (!site.isAirBase(actualSpawnCoords.getY() + 1, REQUIRED_AIR_SIZE)) {
 			Treasure.LOGGER.debug("Coords -> [{}] does not meet {} % air base requirements for size -> {} x {}", originalSpawnCoords.toShortString(), REQUIRED_AIR_SIZE, templateSize.getX(), templateSize.getZ());
+			GenerationMetrics.getInstance().reject(GenerationMetrics.SURFACE_RUIN, Rejection.AIR_BASE);
 			return result.fail();
 		}
 		
@@ -248,28 +261,6 @@ public class SurfaceRuinGenerator implements IRuinGenerator<GeneratorResult<Ches
 	 * @return
 	 */
 	public static ICoords getSolidSurfaceCoords(final World world, final ICoords coords) {
-		boolean isSurfaceBlock = false;
-		ICoords newCoords = coords;
-		
-		while (!isSurfaceBlock) {
-			// get the cube that is 1 below current position
-			Cube cube = new Cube(world, newCoords.down(1));
-//			Treasure.logger.debug("below block -> {} @ {}", cube.getState().getBlock().getRegistryName(), cube.getCoords().toShortString());
-			// exit if not valid Y coordinate
-			if (!WorldInfo.isValidY(cube.getCoords())) {
-				return WorldInfo.EMPTY_COORDS;
-			}	
-
-			if (cube.equalsMaterial(Material.AIR) || cube.isReplaceable()
-					|| cube.equalsMaterial(Material.LEAVES) || cube.isLiquid()
-					|| cube.isBurning(world)) {
-//				Treasure.logger.debug("block is air, leaves, replacable, liquid or burning");
-				newCoords = newCoords.down(1);
-			}
-			else {
-				isSurfaceBlock = true;
-			}		
-		}
-		return newCoords;
+		return SiteEvaluator.getSolidSurfaceCoords(world, coords);
 	}
 }
@@ -16,6 +16,7 @@ import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.generator.IGeneratorResult;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateHolder;
+import com.someguyssoftware.treasure2.worldgen.StructurePlacement;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockDirt;
@@ -84,7 +85,8 @@ public interface IWellGenerator<RESULT extends IGeneratorResult<?>> {
 
 		IBlockState blockState = null;
 		for (int i = 0; i < 16; i++) {
-			if (random.nextInt(2) == 0) {
+			// don't generate a chunk to find the ground
+			if (random.nextInt(2) == 0 && StructurePlacement.isAvailable(world, circle[i])) {
 				// check if the block is dry land
 				ICoords markerCoords = WorldInfo.getDryLandSurfaceCoords(world, circle[i]);
 				if (markerCoords == null || markerCoords == WorldInfo.EMPTY_COORDS) {
@@ -20,6 +20,7 @@ import com.someguyssoftware.treasure2.meta.StructureType;
 import com.someguyssoftware.treasure2.registry.TreasureTemplateRegistry;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateGenerator;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateHolder;
+import com.someguyssoftware.treasure2.worldgen.StructurePlacement;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockDirt;
@@ -173,6 +174,10 @@ public class WellGenerator implements IWellGenerator<GeneratorResult<GeneratorDa
 
 	@Override
 	public void addDecoration(World world, Random random, ICoords coords) {
+		// don't generate a chunk to find the ground
+		if (!StructurePlacement.isAvailable(world, coords)) {
+			return;
+		}
 		IBlockState blockState = null;
 		ICoords markerCoords = WorldInfo.getDryLandSurfaceCoords(world, coords);
 		
@@ -29,6 +29,7 @@ import com.someguyssoftware.treasure2.adornment.AdornmentSize;
 import com.someguyssoftware.treasure2.adornment.TreasureAdornmentRegistry;
 import com.someguyssoftware.treasure2.capability.AdornmentCapabilityProvider;
 import com.someguyssoftware.treasure2.capability.CharmableCapabilityStorage;
+import com.someguyssoftware.treasure2.capability.CompactShareTag;
 import com.someguyssoftware.treasure2.capability.DurabilityCapability;
 import com.someguyssoftware.treasure2.capability.DurabilityCapabilityStorage;
 import com.someguyssoftware.treasure2.capability.ICharmableCapability;
@@ -177,28 +178,8 @@ public class Adornment extends ModItem {
 	@Override
     public NBTTagCompound getNBTShareTag(ItemStack stack) {
 //		Treasure.logger.debug("writing share tag");
-		// read cap -> write nbt
-		NBTTagCompound charmableTag;
-		charmableTag = (NBTTagCompound) CAPABILITY_STORAGE.writeNBT(
-				TreasureCapabilities.CHARMABLE,
-				stack.getCapability(TreasureCapabilities.CHARMABLE, null),
-				null);
-		NBTTagCompound runestonesTag;
-		runestonesTag = (NBTTagCompound) RUNESTONES_STORAGE.writeNBT(
-				TreasureCapabilities.RUNESTONES,
-				stack.getCapability(TreasureCapabilities.RUNESTONES, null),
-				null);		
-		NBTTagCompound durabilityTag = (NBTTagCompound) DURABILITY_STORAGE.writeNBT(
-				TreasureCapabilities.DURABILITY,
-				stack.getCapability(TreasureCapabilities.DURABILITY, null),
-				null);
-		
-		NBTTagCompound tag = new NBTTagCompound();
-		tag.setTag("charmable", charmableTag);
-		tag.setTag("runestones", runestonesTag);
-		tag.setTag("durability", durabilityTag);
-		
-		return tag;
+		// read cap -> write compact nbt
+		return CompactShareTag.write(stack, CompactShareTag.CHARMABLE | CompactShareTag.RUNESTONES | CompactShareTag.DURABILITY);
 	}
 	
     @Override
@@ -209,6 +190,10 @@ public class Adornment extends ModItem {
         	Treasure.LOGGER.debug("nbt is null - how?");
         	return;
         }
+        if (CompactShareTag.read(stack, nbt)) {
+        	return;
+        }
+        // legacy
         // read nbt -> write key item
         if (nbt.hasKey("charmable")) {
         	NBTTagCompound tag = nbt.getCompoundTag("charmable");
@@ -27,6 +27,7 @@ import com.someguyssoftware.gottschcore.item.ModItem;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.capability.CharmableCapabilityProvider;
 import com.someguyssoftware.treasure2.capability.CharmableCapabilityStorage;
+import com.someguyssoftware.treasure2.capability.CompactShareTag;
 import com.someguyssoftware.treasure2.capability.ICharmableCapability;
 import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
 
@@ -111,20 +112,14 @@ public class CharmItem extends ModItem {
 	 */
 	@Override
     public NBTTagCompound getNBTShareTag(ItemStack stack) {
-		NBTTagCompound charmableTag;
-		charmableTag = (NBTTagCompound) CAPABILITY_STORAGE.writeNBT(
-				TreasureCapabilities.CHARMABLE,
-				stack.getCapability(TreasureCapabilities.CHARMABLE, null),
-				null);
-		
-		return charmableTag;
+		return CompactShareTag.write(stack, CompactShareTag.CHARMABLE);
     }
 
     @Override
     public void readNBTShareTag(ItemStack stack, @Nullable NBTTagCompound nbt) {
         super.readNBTShareTag(stack, nbt);
 
-        if (nbt instanceof NBTTagCompound) {
+        if (nbt instanceof NBTTagCompound && !CompactShareTag.read(stack, nbt)) {
 	       CAPABILITY_STORAGE.readNBT(
 	    		   TreasureCapabilities.CHARMABLE, 
 					stack.getCapability(TreasureCapabilities.CHARMABLE, null), null, nbt);
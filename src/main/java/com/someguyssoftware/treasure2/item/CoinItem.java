@@ -22,12 +22,12 @@ package com.someguyssoftware.treasure2.item;
 import static com.someguyssoftware.treasure2.Treasure.LOGGER;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
 
-import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.item.ModItem;
 import com.someguyssoftware.gottschcore.loot.LootPoolShell;
 import com.someguyssoftware.gottschcore.loot.LootTableShell;
@@ -36,16 +36,15 @@ import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
-import com.someguyssoftware.treasure2.block.IWishingWellBlock;
 import com.someguyssoftware.treasure2.enums.Coins;
 import com.someguyssoftware.treasure2.enums.Rarity;
 import com.someguyssoftware.treasure2.item.wish.IWishable;
 import com.someguyssoftware.treasure2.loot.TreasureLootTableRegistry;
+import com.someguyssoftware.treasure2.registry.WishingWellRegistry;
 
 import net.minecraft.client.util.ITooltipFlag;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.inventory.InventoryHelper;
 import net.minecraft.item.ItemStack;
@@ -112,34 +111,15 @@ public class CoinItem extends ModItem implements IWishable {
 			return super.onEntityItemUpdate(entityItem);
 		}
 		
-		// get the position
-		ICoords coords = new Coords(entityItem.getPosition());
-		Cube cube = new Cube(world, coords);
-		int numWishingWellBlocks = 0;
-		// check if in water
-		if (cube.equalsBlock(Blocks.WATER)) {
-			// check if the water block is adjacent to 2 wishing well blocks
-			ICoords checkCoords = coords.add(-1, 0, -1);
-			for (int z = 0; z < 3; z++) {
-				for (int x = 0; x < 3; x++) {
-					Cube checkCube = new Cube(world, checkCoords);
-					if (checkCube.toBlock() instanceof IWishingWellBlock) {
-						numWishingWellBlocks++;
-					}					
-					if (numWishingWellBlocks >= 2) {
-						break;
-					}
-				}
-			}
-			
-			if (numWishingWellBlocks >=2) {
-				Random random = new Random();
-				for (int itemIndex = 0; itemIndex < entityItemStack.getCount(); itemIndex++) {
-					// generate an item for each item in the stack
-					generateLootItem(world, random, entityItem, coords);
-				}
-				return true;
+		// check if in the water of a wishing well
+		if (WishingWellRegistry.getInstance().isInWishingWell(entityItem)) {
+			ICoords coords = new Coords(entityItem.getPosition());
+			Random random = new Random();
+			for (int itemIndex = 0; itemIndex < entityItemStack.getCount(); itemIndex++) {
+				// generate an item for each item in the stack
+				generateLootItem(world, random, entityItem, coords);
 			}
+			return true;
 		}
 		
 		return super.onEntityItemUpdate(entityItem);
@@ -155,16 +135,14 @@ public class CoinItem extends ModItem implements IWishable {
 	private void generateLootItem(World world, Random random, EntityItem entityItem, ICoords coords) {
 		ItemStack coinItem = entityItem.getItem();
 		NBTTagCompound nbt = coinItem.getTagCompound();
-		List<LootTableShell> lootTables = new ArrayList<>();
+		List<LootTableShell> lootTables = Collections.emptyList();
 		
 		// determine coin type
 		if (getCoin() == Coins.SILVER) {
-			lootTables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.UNCOMMON));
-			lootTables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.SCARCE));
+			lootTables = TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarities(Rarity.UNCOMMON, Rarity.SCARCE);
 		}
 		else if (getCoin() == Coins.GOLD) {					
-			lootTables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.SCARCE));
-			lootTables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.RARE));
+			lootTables = TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarities(Rarity.SCARCE, Rarity.RARE);
 		}
 		
 		ItemStack stack = null;
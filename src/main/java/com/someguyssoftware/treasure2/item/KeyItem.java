@@ -15,6 +15,7 @@ import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.AbstractChestBlock;
 import com.someguyssoftware.treasure2.block.ITreasureChestProxy;
+import com.someguyssoftware.treasure2.capability.CompactShareTag;
 import com.someguyssoftware.treasure2.capability.DurabilityCapability;
 import com.someguyssoftware.treasure2.capability.DurabilityCapabilityProvider;
 import com.someguyssoftware.treasure2.capability.DurabilityCapabilityStorage;
@@ -122,18 +123,17 @@ public class KeyItem extends ModItem implements IKeyEffects {
 	 */
 	@Override
     public NBTTagCompound getNBTShareTag(ItemStack stack) {
-		NBTTagCompound nbt = null;
-		// read effective max damage cap -> write nbt
-		nbt = (NBTTagCompound) CAPABILITY_STORAGE.writeNBT(
-				TreasureCapabilities.DURABILITY, 
-				stack.getCapability(TreasureCapabilities.DURABILITY, null), null);
-		return nbt;
+		// read effective max damage cap -> write compact nbt
+		return CompactShareTag.write(stack, CompactShareTag.DURABILITY);
 	}
 	
     @Override
     public void readNBTShareTag(ItemStack stack, @Nullable NBTTagCompound nbt) {
         super.readNBTShareTag(stack, nbt);
-        // read nbt -> write key item
+        if (CompactShareTag.read(stack, nbt)) {
+        	return;
+        }
+        // read legacy nbt -> write key item
         CAPABILITY_STORAGE.readNBT(
         		TreasureCapabilities.DURABILITY, 
 				stack.getCapability(TreasureCapabilities.DURABILITY, null), 
@@ -28,6 +28,7 @@ import org.apache.commons.lang3.StringEscapeUtils;
 
 import com.someguyssoftware.gottschcore.item.ModItem;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.capability.CompactShareTag;
 import com.someguyssoftware.treasure2.capability.IRunestonesCapability;
 import com.someguyssoftware.treasure2.capability.InventoryType;
 import com.someguyssoftware.treasure2.capability.RunestonesCapabilityProvider;
@@ -123,20 +124,14 @@ public class RunestoneItem extends ModItem {
 	@Override
     public NBTTagCompound getNBTShareTag(ItemStack stack) {
 //		Treasure.logger.debug("writing share tag");
-		NBTTagCompound tag;
-		tag = (NBTTagCompound) CAPABILITY_STORAGE.writeNBT(
-				TreasureCapabilities.RUNESTONES,
-				stack.getCapability(TreasureCapabilities.RUNESTONES, null),
-				null);
-		
-		return tag;
+		return CompactShareTag.write(stack, CompactShareTag.RUNESTONES);
     }
 
     @Override
     public void readNBTShareTag(ItemStack stack, @Nullable NBTTagCompound nbt) {
         super.readNBTShareTag(stack, nbt);
 //        Treasure.logger.debug("reading share tag");
-        if (nbt instanceof NBTTagCompound) {
+        if (nbt instanceof NBTTagCompound && !CompactShareTag.read(stack, nbt)) {
 	       CAPABILITY_STORAGE.readNBT(
 	    		   TreasureCapabilities.RUNESTONES, 
 					stack.getCapability(TreasureCapabilities.RUNESTONES, null), null, nbt);
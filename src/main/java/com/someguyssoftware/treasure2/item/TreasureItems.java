@@ -562,11 +562,7 @@ public class TreasureItems {
 			SILVER_COIN = new WealthItem(Treasure.MODID, TreasureConfig.SILVER_COIN_ID) {
 				@Override
 				public List<LootTableShell> getLootTables() {
-					Treasure.LOGGER.debug("getting silver loot tables");
-					List<LootTableShell> lootTables = new ArrayList<>();
-					lootTables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.UNCOMMON));
-					lootTables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.SCARCE));
-					return lootTables;
+					return TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarities(Rarity.UNCOMMON, Rarity.SCARCE);
 				}
 				@Override
 				public ItemStack getDefaultLootKey (Random random) {
@@ -577,10 +573,7 @@ public class TreasureItems {
 			GOLD_COIN = new WealthItem(Treasure.MODID, TreasureConfig.GOLD_COIN_ID) {
 				@Override
 				public List<LootTableShell> getLootTables() {
-					List<LootTableShell> lootTables = new ArrayList<>();
-					lootTables.addAll(/*TreasureLootTableRegistry.getLootTableMaster()*/TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.SCARCE));
-					lootTables.addAll(/*TreasureLootTableRegistry.getLootTableMaster()*/TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.RARE));
-					return lootTables;
+					return TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarities(Rarity.SCARCE, Rarity.RARE);
 				}
 				@Override
 				public ItemStack getDefaultLootKey (Random random) {
@@ -637,9 +630,7 @@ public class TreasureItems {
 			WHITE_PEARL = new GemItem(Treasure.MODID, TreasureConfig.WHITE_PEARL_ID) {
 				@Override
 				public List<LootTableShell> getLootTables() {
-					List<LootTableShell> lootTables = new ArrayList<>();
-					lootTables.add(/*TreasureLootTableRegistry.getLootTableMaster()*/TreasureLootTableRegistry.getLootTableMaster().getSpecialLootTable(SpecialLootTables.WHITE_PEARL_WELL));
-					return lootTables;
+					return Collections.singletonList(TreasureLootTableRegistry.getLootTableMaster().getSpecialLootTable(SpecialLootTables.WHITE_PEARL_WELL));
 				}
 				@Override
 				public ItemStack getDefaultLootKey (Random random) {
@@ -649,9 +640,7 @@ public class TreasureItems {
 			BLACK_PEARL = new GemItem(Treasure.MODID, TreasureConfig.BLACK_PEARL_ID) {
 				@Override
 				public List<LootTableShell> getLootTables() {
-					List<LootTableShell> lootTables = new ArrayList<>();
-					lootTables.add(/*TreasureLootTableRegistry.getLootTableMaster()*/TreasureLootTableRegistry.getLootTableMaster().getSpecialLootTable(SpecialLootTables.BLACK_PEARL_WELL));
-					return lootTables;
+					return Collections.singletonList(TreasureLootTableRegistry.getLootTableMaster().getSpecialLootTable(SpecialLootTables.BLACK_PEARL_WELL));
 				}
 				@Override
 				public ItemStack getDefaultLootKey (Random random) {
@@ -0,0 +1,314 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.loot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.someguyssoftware.gottschcore.loot.LootTableShell;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.enums.ChestGeneratorType;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.generator.chest.IChestGenerator;
+import com.someguyssoftware.treasure2.loot.TreasureLootTableMaster2.ManagedTableType;
+import com.someguyssoftware.treasure2.loot.TreasureLootTableMaster2.SpecialLootTables;
+
+import net.minecraft.inventory.InventoryBasic;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.loot.LootContext;
+import net.minecraft.world.storage.loot.LootTable;
+import net.minecraft.world.storage.loot.LootTableManager;
+
+/**
+ * Runs the loot generation of chests (loot table selection, pools, inject tables and inventory filling) headlessly,
+ * many times over, and reports the distribution of the selected loot tables and the generated items along with the throughput.
+ * The loot tables are resolved up front on the server thread. The iterations are then split across worker threads,
+ * each with its own inventory, seeded Random and a loot context that is detached from the world,
+ * so no worker touches the live world. A simulation with the same seed and thread count is reproducible.
+ */
+public class LootSimulator {
+	private static final int INVENTORY_SIZE = 27;
+
+	private LootSimulator() {}
+
+	/**
+	 * Starts a simulation. Must be called on the server thread.
+	 * The report is passed to the callback on the server thread when the workers finish.
+	 * @param world
+	 * @param generatorType
+	 * @param rarity
+	 * @param iterations
+	 * @param threads
+	 * @param seed
+	 * @param callback
+	 */
+	public static void simulate(final WorldServer world, final ChestGeneratorType generatorType, final Rarity rarity,
+			final int iterations, final int threads, final long seed, final Consumer<Report> callback) {
+
+		IChestGenerator generator = generatorType.getChestGenerator();
+		LootTableManager lootTableManager = world.getLootTableManager();
+		Map<LootTableShell, ResolvedTable> tables = resolveTables(generator, lootTableManager, rarity);
+
+		int threadCount = getThreadCount(threads, iterations);
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		long start = System.nanoTime();
+		List<CompletableFuture<Report>> futures = new ArrayList<>();
+		for (int index = 0; index < threadCount; index++) {
+			// spread the remainder over the first threads
+			int count = iterations / threadCount + (index < iterations % threadCount ? 1 : 0);
+			long threadSeed = seed + index * 0x9E3779B97F4A7C15L;
+			futures.add(CompletableFuture.supplyAsync(() -> run(generator, lootTableManager, tables, generatorType, rarity, count, threadSeed), executor));
+		}
+		executor.shutdown();
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((ignored, exception) -> {
+			if (exception != null) {
+				Treasure.LOGGER.error("Unable to complete loot simulation:", exception);
+				return;
+			}
+			Report report = new Report(generatorType, rarity);
+			for (CompletableFuture<Report> future : futures) {
+				report.merge(future.join());
+			}
+			report.elapsedNanos = System.nanoTime() - start;
+			report.threads = threadCount;
+			Treasure.LOGGER.debug("loot simulation -> {}", report);
+			world.getMinecraftServer().addScheduledTask(() -> callback.accept(report));
+		});
+	}
+
+	/**
+	 *
+	 * @param threads the requested number of threads
+	 * @param iterations
+	 * @return the number of worker threads, at most one per iteration and per available processor
+	 */
+	public static int getThreadCount(int threads, int iterations) {
+		return Math.max(1, Math.min(threads, Math.min(iterations, Runtime.getRuntime().availableProcessors())));
+	}
+
+	/**
+	 * Resolves the vanilla loot tables of every table the generator can select, and of their inject tables.
+	 * @param generator
+	 * @param lootTableManager
+	 * @param rarity
+	 * @return the resolved tables by loot table shell
+	 */
+	private static Map<LootTableShell, ResolvedTable> resolveTables(IChestGenerator generator, LootTableManager lootTableManager, Rarity rarity) {
+		TreasureLootTableMaster2 master = TreasureLootTableRegistry.getLootTableMaster();
+		List<LootTableShell> shells = new ArrayList<>();
+		for (Rarity tableRarity : Rarity.values()) {
+			shells.addAll(master.getLootTableByRarity(ManagedTableType.CHEST, tableRarity));
+		}
+		for (SpecialLootTables specialLootTable : SpecialLootTables.values()) {
+			LootTableShell shell = master.getSpecialLootTable(specialLootTable);
+			if (shell != null) {
+				shells.add(shell);
+			}
+		}
+
+		Map<LootTableShell, ResolvedTable> tables = new IdentityHashMap<>();
+		for (LootTableShell shell : shells) {
+			LootTable lootTable = lootTableManager.getLootTableFromLocation(shell.getResourceLocation());
+			if (lootTable == null || tables.containsKey(shell)) {
+				continue;
+			}
+			Rarity effectiveRarity = master.getEffectiveRarity(shell, rarity);
+			List<LootTable> injectTables = new ArrayList<>();
+			Optional<List<LootTableShell>> injectShells = generator.buildInjectedLootTableList(shell.getCategory(), effectiveRarity);
+			if (injectShells.isPresent()) {
+				for (LootTableShell injectShell : injectShells.get()) {
+					LootTable injectTable = lootTableManager.getLootTableFromLocation(injectShell.getResourceLocation());
+					if (injectTable != null) {
+						injectTables.add(injectTable);
+					}
+				}
+			}
+			tables.put(shell, new ResolvedTable(lootTable, injectTables));
+		}
+		return tables;
+	}
+
+	/**
+	 * Runs the iterations of a worker. Only reads the resolved tables and the loot table selection of the generator,
+	 * which are not written while the world is loaded.
+	 * @return the report of the worker
+	 */
+	private static Report run(IChestGenerator generator, LootTableManager lootTableManager, Map<LootTableShell, ResolvedTable> tables,
+			ChestGeneratorType generatorType, Rarity rarity, int iterations, long seed) {
+
+		Report report = new Report(generatorType, rarity);
+		Random random = new Random(seed);
+		InventoryBasic inventory = new InventoryBasic("simulation", false, INVENTORY_SIZE);
+		// detached from the world. the context tracks the tables being rolled, so each worker needs its own
+		LootContext lootContext = new LootContext(0F, null, lootTableManager, null, null, null);
+		List<ItemStack> treasureStacks = new ArrayList<>();
+		List<ItemStack> itemStacks = new ArrayList<>();
+		boolean warned = false;
+
+		for (int iteration = 0; iteration < iterations; iteration++) {
+			Optional<LootTableShell> lootTableShell = generator.selectLootTable2(random, rarity);
+			ResolvedTable table = lootTableShell.isPresent() ? tables.get(lootTableShell.get()) : null;
+			if (table == null) {
+				report.failures++;
+				continue;
+			}
+
+			inventory.clear();
+			treasureStacks.clear();
+			itemStacks.clear();
+			try {
+				generator.generatePoolLoot(lootTableShell.get(), table.lootTable, random, lootContext, treasureStacks, itemStacks);
+				int lootItemSize = itemStacks.size();
+				// as the loot table master's getInjectedLootItems(), without the world
+				for (LootTable injectTable : table.injectTables) {
+					itemStacks.addAll(injectTable.generateLootForPools(random, lootContext));
+				}
+				generator.fillInventory(inventory, random, treasureStacks, itemStacks, lootItemSize);
+			}
+			catch(Exception e) {
+				// ex. a loot function that needs the world
+				if (!warned) {
+					Treasure.LOGGER.warn("Unable to simulate loot table -> " + lootTableShell.get().getResourceLocation(), e);
+					warned = true;
+				}
+				report.failures++;
+				continue;
+			}
+
+			report.chests++;
+			report.tableCounts.merge(lootTableShell.get().getResourceLocation(), 1, Integer::sum);
+			for (int slot = 0; slot < inventory.getSizeInventory(); slot++) {
+				ItemStack stack = inventory.getStackInSlot(slot);
+				if (!stack.isEmpty()) {
+					long[] counts = report.itemCounts.computeIfAbsent(stack.getItem().getRegistryName(), k -> new long[2]);
+					counts[0]++;
+					counts[1] += stack.getCount();
+				}
+			}
+		}
+		return report;
+	}
+
+	/*
+	 * The vanilla loot tables of a loot table shell
+	 */
+	private static class ResolvedTable {
+		private final LootTable lootTable;
+		private final List<LootTable> injectTables;
+
+		ResolvedTable(LootTable lootTable, List<LootTable> injectTables) {
+			this.lootTable = lootTable;
+			this.injectTables = Collections.unmodifiableList(injectTables);
+		}
+	}
+
+	/**
+	 * The results of a simulation.
+	 */
+	public static class Report {
+		private final ChestGeneratorType generatorType;
+		private final Rarity rarity;
+		private int chests;
+		private int failures;
+		private int threads;
+		private long elapsedNanos;
+		private final Map<ResourceLocation, Integer> tableCounts = new HashMap<>();
+		// item -> [# of stacks, # of items]
+		private final Map<ResourceLocation, long[]> itemCounts = new HashMap<>();
+
+		private Report(ChestGeneratorType generatorType, Rarity rarity) {
+			this.generatorType = generatorType;
+			this.rarity = rarity;
+		}
+
+		private void merge(Report report) {
+			chests += report.chests;
+			failures += report.failures;
+			report.tableCounts.forEach((key, value) -> tableCounts.merge(key, value, Integer::sum));
+			report.itemCounts.forEach((key, value) -> {
+				long[] counts = itemCounts.computeIfAbsent(key, k -> new long[2]);
+				counts[0] += value[0];
+				counts[1] += value[1];
+			});
+		}
+
+		/**
+		 *
+		 * @return the number of chests filled per second
+		 */
+		public double getChestsPerSecond() {
+			return elapsedNanos == 0 ? 0 : chests / (elapsedNanos / 1_000_000_000.0);
+		}
+
+		/**
+		 *
+		 * @param limit
+		 * @return the items that appear in the most chests, with the # of stacks per chest and the avg. stack size
+		 */
+		public List<String> getTopItems(int limit) {
+			return itemCounts.entrySet().stream()
+					.sorted(Comparator.comparingLong((Map.Entry<ResourceLocation, long[]> e) -> e.getValue()[0]).reversed())
+					.limit(limit)
+					.map(e -> String.format("%s: %.3f stacks/chest, %.2f avg. count", e.getKey(),
+							(double) e.getValue()[0] / Math.max(1, chests), (double) e.getValue()[1] / e.getValue()[0]))
+					.collect(Collectors.toList());
+		}
+
+		/**
+		 *
+		 * @return the share of the chests that used each loot table
+		 */
+		public List<String> getTableShares() {
+			return tableCounts.entrySet().stream()
+					.sorted(Map.Entry.<ResourceLocation, Integer>comparingByValue().reversed())
+					.map(e -> String.format("%s: %.2f%%", e.getKey(), 100.0 * e.getValue() / Math.max(1, chests)))
+					.collect(Collectors.toList());
+		}
+
+		public ChestGeneratorType getGeneratorType() {
+			return generatorType;
+		}
+
+		public Rarity getRarity() {
+			return rarity;
+		}
+
+		public int getChests() {
+			return chests;
+		}
+
+		public int getFailures() {
+			return failures;
+		}
+
+		public int getThreads() {
+			return threads;
+		}
+
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Report [generator=%s, rarity=%s, threads=%d, chests=%d, failures=%d, elapsed=%dms, chests/s=%.1f, tables=%d, items=%d]",
+					generatorType, rarity, threads, chests, failures, elapsedNanos / 1_000_000, getChestsPerSecond(), tableCounts.size(), itemCounts.size());
+		}
+	}
+}
@@ -26,12 +26,17 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -42,6 +47,7 @@ import com.google.common.collect.Table;
 import com.someguyssoftware.gottschcore.loot.LootTableMaster2;
 import com.someguyssoftware.gottschcore.loot.LootTableShell;
 import com.someguyssoftware.gottschcore.mod.IMod;
+import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.enums.Rarity;
 
@@ -95,6 +101,12 @@ public class TreasureLootTableMaster2 extends LootTableMaster2 {
 	 */
 	private final Table<String, Rarity, List<LootTableShell>> INJECT_LOOT_TABLES_TABLE = HashBasedTable.create();
 	
+	/*
+	 * Immutable snapshots of the tables by rarity, rebuilt (and swapped) whenever the tables are reloaded.
+	 */
+	private volatile RaritySnapshot chestSnapshot = RaritySnapshot.EMPTY;
+	private volatile RaritySnapshot injectSnapshot = RaritySnapshot.EMPTY;
+
 	/**
 	 * 
 	 * @param mod
@@ -123,6 +135,8 @@ public class TreasureLootTableMaster2 extends LootTableMaster2 {
 		SPECIAL_LOOT_TABLES_MAP.clear();
 		INJECT_LOOT_TABLES_TABLE.clear();
 		INJECT_LOOT_TABLES_RESOURCE_LOCATION_TABLE.clear();
+		chestSnapshot = RaritySnapshot.EMPTY;
+		injectSnapshot = RaritySnapshot.EMPTY;
 	}
 	
 	/**
@@ -150,6 +164,7 @@ public class TreasureLootTableMaster2 extends LootTableMaster2 {
 			LOGGER.debug("register chests -> loading loot table shell resource loc -> {}", loc.getResourcePath().toString());
 			tableChest(loc, loadLootTable(loc));
 		});
+		chestSnapshot = RaritySnapshot.of(CHEST_LOOT_TABLES_TABLE);
 	}
 
 	public void registerChestsFromWorldSave(String modID, List<String> resourceFolders) {
@@ -163,7 +178,7 @@ public class TreasureLootTableMaster2 extends LootTableMaster2 {
 				tableChest(loc, loadLootTable(getWorldDataBaseFolder(), loc));
 			});
 		}
-
+		chestSnapshot = RaritySnapshot.of(CHEST_LOOT_TABLES_TABLE);
 	}
 
 	/**
@@ -276,6 +291,7 @@ public class TreasureLootTableMaster2 extends LootTableMaster2 {
 			LOGGER.debug("register injects -> loading loot table shell resource loc -> {}", loc.getResourcePath().toString());
 			tableInject(loc, loadLootTable(loc));
 		});
+		injectSnapshot = RaritySnapshot.of(INJECT_LOOT_TABLES_TABLE);
 	}
 	
 	public void registerInjectsFromWorldSave(String modID, List<String> resourceFolders) {
@@ -286,6 +302,7 @@ public class TreasureLootTableMaster2 extends LootTableMaster2 {
 				tableInject(loc, loadLootTable(getWorldDataBaseFolder(), loc));
 			});
 		}
+		injectSnapshot = RaritySnapshot.of(INJECT_LOOT_TABLES_TABLE);
 	}
 
 	/**
@@ -364,21 +381,21 @@ public class TreasureLootTableMaster2 extends LootTableMaster2 {
 	/**
 	 * 
 	 * @param rarity
-	 * @return
+	 * @return an unmodifiable list of the chest loot tables of the rarity
 	 */
 	public List<LootTableShell> getLootTableByRarity(Rarity rarity) {
-		// get all loot tables by column key
-		List<LootTableShell> tables = new ArrayList<>();
-		Map<String, List<LootTableShell>> mapOfLootTables = CHEST_LOOT_TABLES_TABLE.column(rarity);
-		Treasure.LOGGER.debug("searching for {} {} -> {}", CUSTOM_LOOT_TABLE_KEY, rarity, CHEST_LOOT_TABLES_TABLE.get(CUSTOM_LOOT_TABLE_KEY, rarity));
-		// convert to a single list
-		for(Entry<String, List<LootTableShell>> n : mapOfLootTables.entrySet()) {
-			Treasure.LOGGER.debug("Adding table shell entry to loot table list -> {} {}: size {}", rarity, n.getKey(), n.getValue().size());
-			tables.addAll(n.getValue());
-		}
-		return tables;
+		return chestSnapshot.getList(rarity);
 	}
 	
+	/**
+	 * 
+	 * @param rarities
+	 * @return an unmodifiable list of the chest loot tables of all the rarities, built once per reload of the tables
+	 */
+	public List<LootTableShell> getLootTableByRarities(Rarity... rarities) {
+		return chestSnapshot.getList(rarities);
+	}
+
 	/**
 	 * 
 	 * @param location
@@ -396,17 +413,67 @@ public class TreasureLootTableMaster2 extends LootTableMaster2 {
 	 * @return
 	 */
 	public List<LootTableShell> getLootTableByRarity(ManagedTableType tableType, Rarity rarity) {
-		Treasure.LOGGER.debug("managed table type -> {}", tableType);
-		Table<String, Rarity, List<LootTableShell>> table = (tableType == ManagedTableType.CHEST) ? CHEST_LOOT_TABLES_TABLE : INJECT_LOOT_TABLES_TABLE;
-		// get all loot tables by column key
-		List<LootTableShell> tables = new ArrayList<>();
-		Map<String, List<LootTableShell>> mapOfLootTables = table.column(rarity);
-		// convert to a single list
-		for(Entry<String, List<LootTableShell>> n : mapOfLootTables.entrySet()) {
-			Treasure.LOGGER.debug("Adding table shell entry to loot table list -> {} {}: size {}", rarity, n.getKey(), n.getValue().size());
-			tables.addAll(n.getValue());
+		return getSnapshot(tableType).getList(rarity);
+	}
+
+	/**
+	 * Selects a loot table of the rarity, each table being equally likely. Does not allocate a list.
+	 * @param tableType
+	 * @param random
+	 * @param rarity
+	 * @return
+	 */
+	public Optional<LootTableShell> selectLootTable(ManagedTableType tableType, Random random, Rarity rarity) {
+		LootTableShell[] shells = getSnapshot(tableType).getShells(rarity);
+		if (shells.length == 0) {
+			return Optional.empty();
 		}
-		return tables;
+		return Optional.of(shells[selectIndex(random, shells.length)]);
+	}
+
+	/**
+	 * Selects a loot table from the tables of all the given rarities, each table being equally likely.
+	 * Does not allocate a list.
+	 * @param tableType
+	 * @param random
+	 * @param rarities
+	 * @return
+	 */
+	public Optional<LootTableShell> selectLootTable(ManagedTableType tableType, Random random, Rarity... rarities) {
+		RaritySnapshot snapshot = getSnapshot(tableType);
+		int total = 0;
+		for (Rarity rarity : rarities) {
+			total += snapshot.getShells(rarity).length;
+		}
+		if (total == 0) {
+			return Optional.empty();
+		}
+		int index = selectIndex(random, total);
+		for (Rarity rarity : rarities) {
+			LootTableShell[] shells = snapshot.getShells(rarity);
+			if (index < shells.length) {
+				return Optional.of(shells[index]);
+			}
+			index -= shells.length;
+		}
+		return Optional.empty();
+	}
+
+	/*
+	 * selects the same index from the same Random as a random selection from a list of the tables,
+	 * so the loot of a seed doesn't change
+	 */
+	private static int selectIndex(Random random, int size) {
+		return size == 1 ? 0 : RandomHelper.randomInt(random, 0, size - 1);
+	}
+
+	/**
+	 * 
+	 * @param tableType
+	 * @return
+	 */
+	private RaritySnapshot getSnapshot(ManagedTableType tableType) {
+		return (tableType == ManagedTableType.CHEST) ? chestSnapshot : injectSnapshot;
 	}
 	
 	/**
@@ -461,6 +528,75 @@ public class TreasureLootTableMaster2 extends LootTableMaster2 {
 		return !StringUtils.isNullOrEmpty(lootTableShell.getRarity()) ? Rarity.getByValue(lootTableShell.getRarity().toLowerCase()) : defaultRarity;
 	}
 	
+	/*
+	 * An immutable view of a loot table Table flattened by rarity (all keys), so that the rarity queries
+	 * made for every generated chest are a single array/list lookup.
+	 */
+	private static class RaritySnapshot {
+		private static final LootTableShell[] NO_SHELLS = new LootTableShell[0];
+		private static final RaritySnapshot EMPTY = new RaritySnapshot(new EnumMap<>(Rarity.class));
+
+		private final EnumMap<Rarity, LootTableShell[]> shells;
+		private final EnumMap<Rarity, List<LootTableShell>> lists;
+		// rarity bitmask -> combined list
+		private final Map<Integer, List<LootTableShell>> combinedLists = new ConcurrentHashMap<>();
+
+		private RaritySnapshot(EnumMap<Rarity, LootTableShell[]> shells) {
+			this.shells = shells;
+			this.lists = new EnumMap<>(Rarity.class);
+			for (Rarity rarity : Rarity.values()) {
+				lists.put(rarity, Collections.unmodifiableList(Arrays.asList(getShells(rarity))));
+			}
+		}
+
+		/**
+		 * 
+		 * @param table
+		 * @return
+		 */
+		public static RaritySnapshot of(Table<String, Rarity, List<LootTableShell>> table) {
+			EnumMap<Rarity, LootTableShell[]> shells = new EnumMap<>(Rarity.class);
+			for (Rarity rarity : Rarity.values()) {
+				List<LootTableShell> tables = new ArrayList<>();
+				for (List<LootTableShell> list : table.column(rarity).values()) {
+					tables.addAll(list);
+				}
+				shells.put(rarity, tables.toArray(new LootTableShell[tables.size()]));
+			}
+			return new RaritySnapshot(shells);
+		}
+
+		public LootTableShell[] getShells(Rarity rarity) {
+			LootTableShell[] array = shells.get(rarity);
+			return array == null ? NO_SHELLS : array;
+		}
+
+		public List<LootTableShell> getList(Rarity rarity) {
+			return lists.get(rarity);
+		}
+
+		/**
+		 * 
+		 * @param rarities
+		 * @return the combined list of the rarities, cached by the set of rarities
+		 */
+		public List<LootTableShell> getList(Rarity... rarities) {
+			int mask = 0;
+			for (Rarity rarity : rarities) {
+				mask |= 1 << rarity.ordinal();
+			}
+			return combinedLists.computeIfAbsent(mask, k -> {
+				List<LootTableShell> tables = new ArrayList<>();
+				for (Rarity rarity : Rarity.values()) {
+					if ((k & (1 << rarity.ordinal())) != 0) {
+						tables.addAll(Arrays.asList(getShells(rarity)));
+					}
+				}
+				return Collections.unmodifiableList(tables);
+			});
+		}
+	}
+
 	/*
 	 * Enum of special loot tables (not necessarily chests)
 	 */
@@ -40,6 +40,8 @@ public final class TreasureLootTableRegistry {
 	private static LootResources lootResources;
 	private static TreasureLootTableMaster2 lootTableMaster;
 	private static WorldServer world;
+	// the save folder of the world, resolved on the server thread so the mods can be loaded off of it
+	private static File worldSaveFolder;
 
 	static {
 		lootTableMaster = new TreasureLootTableMaster2(null);
@@ -66,6 +68,7 @@ public final class TreasureLootTableRegistry {
 	 */
 	public static void create(WorldServer world) {
 		TreasureLootTableRegistry.world = world;
+		TreasureLootTableRegistry.worldSaveFolder = world.getSaveHandler().getWorldDirectory();
 		lootTableMaster.init(world);
 	}
 
@@ -85,14 +88,20 @@ public final class TreasureLootTableRegistry {
 		if (WorldInfo.isServerSide(event.getWorld()) && event.getWorld().provider.getDimension() == 0) {
 			Treasure.LOGGER.debug("loot table registry world load");
 			TreasureLootTableRegistry.create((WorldServer) event.getWorld());
-
-			REGISTERED_MODS.forEach(mod -> {
-				Treasure.LOGGER.debug("registering mod -> {}", mod);
-				load(mod);
-			});
+			load();
 		}
 	}
 
+	/**
+	 * Loads the registered mods. Must follow create(), which accesses the world.
+	 */
+	public static void load() {
+		REGISTERED_MODS.forEach(mod -> {
+			Treasure.LOGGER.debug("registering mod -> {}", mod);
+			load(mod);
+		});
+	}
+
 	public static void load(String modID) {
 		// don't reload for session
 		if (LOADED_MODS.containsKey(modID)) {
@@ -102,7 +111,7 @@ public final class TreasureLootTableRegistry {
 		LootResources lootResources = null;
 		boolean worldSaveMetaLoaded = false;
 		// read from file location
-		File lootResourcesFile = Paths.get(world.getSaveHandler().getWorldDirectory().getPath(), "data", getResourceFolder(), modID, "loot_tables_list.json").toFile();
+		File lootResourcesFile = Paths.get(worldSaveFolder.getPath(), "data", getResourceFolder(), modID, "loot_tables_list.json").toFile();
 		if (lootResourcesFile.exists()) {
 			if (lootResourcesFile.isFile()) {
 				String json;
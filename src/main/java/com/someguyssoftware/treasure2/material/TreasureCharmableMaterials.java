@@ -167,6 +167,15 @@ public class TreasureCharmableMaterials {
 		return Optional.empty();
 	}
 	
+	/**
+	 * 
+	 * @param id
+	 * @return the registered base material with the id
+	 */
+	public static Optional<CharmableMaterial> getBaseMaterial(int id) {
+		return METAL_REGISTRY.values().stream().filter(material -> material.getId() == id).findFirst();
+	}
+	
 	/**
 	 * Accessor wrapper method to return Optional sourceItem
 	 * @param name
@@ -179,6 +188,15 @@ public class TreasureCharmableMaterials {
 		return Optional.empty();
 	}
 	
+	/**
+	 * 
+	 * @param id
+	 * @return the registered source item with the id
+	 */
+	public static Optional<CharmableMaterial> getSourceItem(int id) {
+		return GEM_REGISTRY.values().stream().filter(material -> material.getId() == id).findFirst();
+	}
+	
 	/**
 	 * 
 	 * @param sourceItem
@@ -19,17 +19,18 @@
  */
 package com.someguyssoftware.treasure2.network;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.capability.InventoryType;
 import com.someguyssoftware.treasure2.charm.CharmContext;
 import com.someguyssoftware.treasure2.charm.ICharm;
-import com.someguyssoftware.treasure2.charm.ICharmEntity;
-import com.someguyssoftware.treasure2.charm.ICooldownCharmEntity;
 import com.someguyssoftware.treasure2.charm.TreasureCharmRegistry;
-import com.someguyssoftware.treasure2.util.ResourceLocationUtil;
+import com.someguyssoftware.treasure2.integration.baubles.BaublesIntegration;
 
 import io.netty.buffer.ByteBuf;
 import net.minecraft.util.EnumHand;
@@ -37,119 +38,142 @@ import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 
 /**
+ * The charm state changes of a player's charms over a tick, batched into one message.
+ * Charms and slot providers are referenced by integer ids and each entry only carries the fields that changed.
+ * 
  * @author Mark Gottschling on Feb 17, 2020
  *
  */
 public class CharmMessageToClient implements IMessage {
+	// changed field flags
+	public static final int MANA = 1;
+	public static final int COOLDOWN_END = 2;
+	public static final int ITEM_DAMAGE = 4;
+
+	private static final String[] SLOT_PROVIDERS = {"minecraft", Treasure.MODID, BaublesIntegration.BAUBLES_MOD_ID};
+	private static final EnumHand[] HANDS = EnumHand.values();
+	private static final InventoryType[] INVENTORY_TYPES = InventoryType.values();
+
 	private boolean valid;
-	private String playerName;
-	private String charmName;
-	private ICharmEntity entity;
-	// location properties of charm(s) - who, what slot
-	private EnumHand hand;
-	private Integer slot;
-	private String slotProviderId;
-	private InventoryType inventoryType;
-	private int index;
-	private int itemDamage;
-	
+	private UUID playerId;
+	private List<Entry> entries;
+
 	/**
 	 * 
-	 * @param uuid
-	 * @param context
+	 * @param playerId
 	 */
-	public CharmMessageToClient(String playerName, CharmContext context) {
+	public CharmMessageToClient(UUID playerId) {
 		valid = true;
-		this.playerName = playerName;
-		this.charmName = context.getEntity().getCharm().getName().toString();
-		this.entity = context.getEntity();
-		this.hand = context.getHand();
-		this.slotProviderId = context.getSlotProviderId();
-		this.slot = context.getSlot();
-		this.inventoryType = context.getType();
-		this.index = context.getIndex();
-		this.itemDamage = context.getItemStack().getItemDamage();
+		this.playerId = playerId;
+		this.entries = new ArrayList<>(3);
 	}
-		
+
 	/**
 	 * 
 	 */
 	public CharmMessageToClient() {
 		valid = false;
 	}
-	
-    // these methods may also be of use for your code:
-    // for Itemstacks - ByteBufUtils.readItemStack()
-    // for NBT tags ByteBufUtils.readTag();
-    // for Strings: ByteBufUtils.readUTF8String();
+
+	/**
+	 * 
+	 * @param context
+	 * @param fields the changed fields
+	 * @param mana
+	 * @param cooldownEnd
+	 * @param itemDamage
+	 */
+	public void add(CharmContext context, int fields, double mana, double cooldownEnd, int itemDamage) {
+		Entry entry = new Entry();
+		entry.charm = context.getEntity().getCharm();
+		entry.fields = fields;
+		entry.hand = context.getHand();
+		entry.slot = context.getSlot() == null ? -1 : context.getSlot();
+		entry.slotProviderId = context.getSlotProviderId();
+		entry.inventoryType = context.getType();
+		entry.index = context.getIndex();
+		entry.mana = mana;
+		entry.cooldownEnd = cooldownEnd;
+		entry.itemDamage = itemDamage;
+		entries.add(entry);
+	}
+
 	@Override
 	public void fromBytes(ByteBuf buf) {
-	    try {
-	    	this.playerName = ByteBufUtils.readUTF8String(buf);
-	    	this.charmName = ByteBufUtils.readUTF8String(buf);
-	    	// create the charm entity
-	    	Optional<ICharm> optionalCharm = TreasureCharmRegistry.get(ResourceLocationUtil.create(charmName));
-	    	if (!optionalCharm.isPresent()) {
-	    		throw new RuntimeException(String.format("Unable to find charm %s in registry.", charmName));
-	    	}
-	    	entity = optionalCharm.get().createEntity();
-	    	entity.setCharm(optionalCharm.get());
-	    	// get entity data
-	    	entity.setMana(buf.readDouble());	    	
-	    	// get class specific entity data
-	    	if (entity instanceof ICooldownCharmEntity) {
-	    		((ICooldownCharmEntity) entity).setCooldownEnd(buf.readDouble());
-	    	}
-	    	
-	    	String handStr = ByteBufUtils.readUTF8String(buf);
-	    	if (!handStr.isEmpty()) {
-	    		this.hand = EnumHand.valueOf(handStr);
-	    	}
-	    	this.slot = buf.readInt();
-	    	this.slotProviderId = ByteBufUtils.readUTF8String(buf);
-			String inventoryType = ByteBufUtils.readUTF8String(buf);
-			if (!inventoryType.isEmpty()) {
-				this.setInventoryType(InventoryType.valueOf(inventoryType.toUpperCase()));
+		try {
+			this.playerId = new UUID(buf.readLong(), buf.readLong());
+			int size = ByteBufUtils.readVarInt(buf, 5);
+			this.entries = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				Entry entry = new Entry();
+				int charmId = ByteBufUtils.readVarInt(buf, 5);
+				Optional<ICharm> charm = TreasureCharmRegistry.getById(charmId);
+				if (!charm.isPresent()) {
+					throw new RuntimeException(String.format("Unable to find charm id %d in registry.", charmId));
+				}
+				entry.charm = charm.get();
+				entry.fields = buf.readByte();
+				byte hand = buf.readByte();
+				entry.hand = hand < 0 ? null : HANDS[hand];
+				entry.slot = ByteBufUtils.readVarInt(buf, 5) - 1;
+				byte slotProvider = buf.readByte();
+				entry.slotProviderId = slotProvider < 0 ? null : SLOT_PROVIDERS[slotProvider];
+				entry.inventoryType = INVENTORY_TYPES[buf.readByte()];
+				entry.index = ByteBufUtils.readVarInt(buf, 5);
+				if ((entry.fields & MANA) != 0) {
+					entry.mana = buf.readDouble();
+				}
+				if ((entry.fields & COOLDOWN_END) != 0) {
+					entry.cooldownEnd = buf.readDouble();
+				}
+				if ((entry.fields & ITEM_DAMAGE) != 0) {
+					entry.itemDamage = ByteBufUtils.readVarInt(buf, 5);
+				}
+				entries.add(entry);
 			}
-			this.setIndex(buf.readInt());
-			this.setItemDamage(buf.readInt());
-	      } catch (RuntimeException e) {
-	        Treasure.LOGGER.error("Exception while reading CharmMessageToClient: ", e);
-	        return;
-	      }
-	      valid = true;
-		
+		} catch (RuntimeException e) {
+			Treasure.LOGGER.error("Exception while reading CharmMessageToClient: ", e);
+			return;
+		}
+		valid = true;
 	}
 
 	@Override
 	public void toBytes(ByteBuf buf) {
-	    if (!valid) {
-	    	return;
-	    }
-	    ByteBufUtils.writeUTF8String(buf, playerName);
-	    ByteBufUtils.writeUTF8String(buf, charmName);
-	    
-	    // write entity data
-	    buf.writeDouble(entity.getMana());
-	    // write specific entity data
-	    if (entity instanceof ICooldownCharmEntity) {
-	    	buf.writeDouble(((ICooldownCharmEntity) entity).getCooldownEnd());
-	    }
-	    
-	    String handStr = "";
-	    if (hand != null) {
-	    	handStr = hand.name();
-	    }
-	    ByteBufUtils.writeUTF8String(buf, handStr);	    
-	    buf.writeInt(this.slot);
-	    ByteBufUtils.writeUTF8String(buf, Objects.toString(slotProviderId, ""));
-		String typeAsString = "";
-		if (inventoryType != null) {
-			typeAsString = inventoryType.name().toLowerCase();
+		if (!valid) {
+			return;
 		}
-		ByteBufUtils.writeUTF8String(buf, typeAsString);
-		buf.writeInt(index);
-		buf.writeInt(this.itemDamage);
+		buf.writeLong(playerId.getMostSignificantBits());
+		buf.writeLong(playerId.getLeastSignificantBits());
+		ByteBufUtils.writeVarInt(buf, entries.size(), 5);
+		for (Entry entry : entries) {
+			ByteBufUtils.writeVarInt(buf, TreasureCharmRegistry.getId(entry.charm.getName()), 5);
+			buf.writeByte(entry.fields);
+			buf.writeByte(entry.hand == null ? -1 : entry.hand.ordinal());
+			// slot is -1 for hands
+			ByteBufUtils.writeVarInt(buf, entry.slot + 1, 5);
+			buf.writeByte(getSlotProviderIndex(entry.slotProviderId));
+			buf.writeByte(entry.inventoryType.ordinal());
+			ByteBufUtils.writeVarInt(buf, entry.index, 5);
+			if ((entry.fields & MANA) != 0) {
+				buf.writeDouble(entry.mana);
+			}
+			if ((entry.fields & COOLDOWN_END) != 0) {
+				buf.writeDouble(entry.cooldownEnd);
+			}
+			if ((entry.fields & ITEM_DAMAGE) != 0) {
+				ByteBufUtils.writeVarInt(buf, entry.itemDamage, 5);
+			}
+		}
+	}
+
+	private static int getSlotProviderIndex(String slotProviderId) {
+		for (int i = 0; i < SLOT_PROVIDERS.length; i++) {
+			if (SLOT_PROVIDERS[i].equals(slotProviderId)) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
 	/**
@@ -157,13 +181,13 @@ public class CharmMessageToClient implements IMessage {
 	 * @return
 	 */
 	public boolean isMessageValid() {
-		if (charmName != null && playerName != null && entity != null) {
+		if (playerId != null && entries != null) {
 			return true;
 		}
 		return false;
 	}
 
-	public boolean isMessageIsValid() {
+	public boolean isValid() {
 		return valid;
 	}
 
@@ -171,86 +195,83 @@ public class CharmMessageToClient implements IMessage {
 		this.valid = messageIsValid;
 	}
 
-	public ICharmEntity getEntity() {
-		return entity;
-	}
-	
-	public String getPlayerName() {
-		return playerName;
+	public UUID getPlayerId() {
+		return playerId;
 	}
 
-	public EnumHand getHand() {
-		return hand;
+	public List<Entry> getEntries() {
+		return entries == null ? Collections.emptyList() : entries;
 	}
 
-	public Integer getSlot() {
-		return slot;
+	public boolean isEmpty() {
+		return entries == null || entries.isEmpty();
 	}
 
-	public String getCharmName() {
-		return charmName;
-	}
-
-	public String getSlotProviderId() {
-		return slotProviderId;
+	@Override
+	public String toString() {
+		return "CharmMessageToClient [valid=" + valid + ", playerId=" + playerId + ", entries=" + entries + "]";
 	}
 
-	public void setSlotProviderId(String slotProviderId) {
-		this.slotProviderId = slotProviderId;
-	}
+	/*
+	 * The changed state of a single charm and its location - who, what slot.
+	 */
+	public static class Entry {
+		private ICharm charm;
+		private int fields;
+		private EnumHand hand;
+		private int slot;
+		private String slotProviderId;
+		private InventoryType inventoryType;
+		private int index;
+		private double mana;
+		private double cooldownEnd;
+		private int itemDamage;
 
-	public boolean isValid() {
-		return valid;
-	}
+		public boolean isChanged(int field) {
+			return (fields & field) != 0;
+		}
 
-	public void setPlayerName(String playerName) {
-		this.playerName = playerName;
-	}
+		public ICharm getCharm() {
+			return charm;
+		}
 
-	public void setCharmName(String charmName) {
-		this.charmName = charmName;
-	}
+		public EnumHand getHand() {
+			return hand;
+		}
 
-	public void setEntity(ICharmEntity entity) {
-		this.entity = entity;
-	}
+		public int getSlot() {
+			return slot;
+		}
 
-	public void setHand(EnumHand hand) {
-		this.hand = hand;
-	}
+		public String getSlotProviderId() {
+			return slotProviderId;
+		}
 
-	public void setSlot(Integer slot) {
-		this.slot = slot;
-	}
-	
-	public InventoryType getInventoryType() {
-		return inventoryType;
-	}
+		public InventoryType getInventoryType() {
+			return inventoryType;
+		}
 
-	public void setInventoryType(InventoryType inventoryType) {
-		this.inventoryType = inventoryType;
-	}
+		public int getIndex() {
+			return index;
+		}
 
-	public int getIndex() {
-		return index;
-	}
+		public double getMana() {
+			return mana;
+		}
 
-	public void setIndex(int index) {
-		this.index = index;
-	}
-	
-	@Override
-	public String toString() {
-		return "CharmMessageToClient [valid=" + valid + ", playerName=" + playerName + ", charmName=" + charmName
-				+ ", entity=" + entity + ", hand=" + hand + ", slot=" + slot + ", slotProviderId=" + slotProviderId
-				+ ", inventoryType=" + inventoryType + ", index=" + index + ", itemDamage=" + itemDamage + "]";
-	}
+		public double getCooldownEnd() {
+			return cooldownEnd;
+		}
 
-	public int getItemDamage() {
-		return itemDamage;
-	}
+		public int getItemDamage() {
+			return itemDamage;
+		}
 
-	public void setItemDamage(int itemDamage) {
-		this.itemDamage = itemDamage;
+		@Override
+		public String toString() {
+			return "Entry [charm=" + charm.getName() + ", fields=" + fields + ", hand=" + hand + ", slot=" + slot
+					+ ", slotProviderId=" + slotProviderId + ", inventoryType=" + inventoryType + ", index=" + index
+					+ ", mana=" + mana + ", cooldownEnd=" + cooldownEnd + ", itemDamage=" + itemDamage + "]";
+		}
 	}
 }
@@ -0,0 +1,175 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.network;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.charm.CharmContext;
+import com.someguyssoftware.treasure2.charm.ICharmEntity;
+import com.someguyssoftware.treasure2.charm.ICooldownCharmEntity;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * Collects the charm state changes of each player during a tick and sends them to the client
+ * in one CharmMessageToClient at the end of the server tick.
+ * Only the fields that changed since the last sync are sent. Changes to the mana and cooldown alone
+ * are held back until the configured min. sync interval has passed, while durability changes and
+ * depleted charms, which are visible on the client, are always sent at the end of the tick.
+ */
+public class CharmStateSync {
+	private static final CharmStateSync INSTANCE = new CharmStateSync();
+
+	private final Map<EntityPlayerMP, PlayerSync> players = new WeakHashMap<>();
+	private long tick;
+
+	private CharmStateSync() {}
+
+	public static CharmStateSync getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Queues the state of an executed charm to be sent to the player.
+	 * @param player
+	 * @param context
+	 */
+	public void queue(EntityPlayerMP player, CharmContext context) {
+		players.computeIfAbsent(player, p -> new PlayerSync()).pending.put(context.getEntity(), context);
+	}
+
+	/**
+	 * Forgets the state last sent to the player, so the next sync of each charm sends all its fields.
+	 * Called when the player's charms are regathered.
+	 * @param player
+	 */
+	public void reset(EntityPlayerMP player) {
+		PlayerSync sync = players.get(player);
+		if (sync != null) {
+			sync.synced.clear();
+		}
+	}
+
+	/**
+	 *
+	 * @param event
+	 */
+	@SubscribeEvent
+	public void onServerTick(TickEvent.ServerTickEvent event) {
+		if (event.phase != TickEvent.Phase.END) {
+			return;
+		}
+		tick++;
+		int interval = TreasureConfig.WEALTH.charmSyncInterval;
+
+		for (Map.Entry<EntityPlayerMP, PlayerSync> playerEntry : players.entrySet()) {
+			PlayerSync sync = playerEntry.getValue();
+			if (sync.pending.isEmpty()) {
+				continue;
+			}
+			EntityPlayerMP player = playerEntry.getKey();
+			if (player.hasDisconnected()) {
+				sync.pending.clear();
+				continue;
+			}
+
+			// send everything that changed if the interval has passed or a visible change is going out anyway
+			boolean sendAll = tick - sync.lastSyncTick >= interval || hasVisibleChange(sync);
+			if (!sendAll) {
+				continue;
+			}
+
+			CharmMessageToClient message = new CharmMessageToClient(player.getUniqueID());
+			Iterator<CharmContext> iterator = sync.pending.values().iterator();
+			while (iterator.hasNext()) {
+				CharmContext context = iterator.next();
+				iterator.remove();
+				ICharmEntity entity = context.getEntity();
+				SyncedState state = sync.synced.get(entity);
+				int fields = getChangedFields(context, state);
+				if (fields == 0) {
+					continue;
+				}
+				if (state == null) {
+					state = new SyncedState();
+					sync.synced.put(entity, state);
+				}
+				state.mana = entity.getMana();
+				state.cooldownEnd = getCooldownEnd(entity);
+				state.itemDamage = context.getItemStack().getItemDamage();
+				message.add(context, fields, state.mana, state.cooldownEnd, state.itemDamage);
+			}
+
+			if (!message.isEmpty()) {
+				Treasure.simpleNetworkWrapper.sendTo(message, player);
+				sync.lastSyncTick = tick;
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param sync
+	 * @return true if any pending charm changed its durability or ran out of mana
+	 */
+	private static boolean hasVisibleChange(PlayerSync sync) {
+		for (CharmContext context : sync.pending.values()) {
+			SyncedState state = sync.synced.get(context.getEntity());
+			int fields = getChangedFields(context, state);
+			if ((fields & CharmMessageToClient.ITEM_DAMAGE) != 0
+					|| ((fields & CharmMessageToClient.MANA) != 0 && context.getEntity().getMana() <= 0.0)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 *
+	 * @param context
+	 * @param state the state last sent, or null if the charm has not been sent yet
+	 * @return the changed field flags
+	 */
+	private static int getChangedFields(CharmContext context, SyncedState state) {
+		ICharmEntity entity = context.getEntity();
+		int fields = 0;
+		if (state == null || state.mana != entity.getMana()) {
+			fields |= CharmMessageToClient.MANA;
+		}
+		if (entity instanceof ICooldownCharmEntity && (state == null || state.cooldownEnd != getCooldownEnd(entity))) {
+			fields |= CharmMessageToClient.COOLDOWN_END;
+		}
+		if (state == null || state.itemDamage != context.getItemStack().getItemDamage()) {
+			fields |= CharmMessageToClient.ITEM_DAMAGE;
+		}
+		return fields;
+	}
+
+	private static double getCooldownEnd(ICharmEntity entity) {
+		return entity instanceof ICooldownCharmEntity ? ((ICooldownCharmEntity) entity).getCooldownEnd() : 0.0;
+	}
+
+	/*
+	 * The pending charms and the last sent charm states of a player.
+	 * Charm entities override equals, so they are tracked by identity.
+	 */
+	private static class PlayerSync {
+		private final Map<ICharmEntity, CharmContext> pending = new IdentityHashMap<>();
+		private final Map<ICharmEntity, SyncedState> synced = new IdentityHashMap<>();
+		private long lastSyncTick = Long.MIN_VALUE / 2;
+	}
+
+	private static class SyncedState {
+		private double mana;
+		private double cooldownEnd;
+		private int itemDamage;
+	}
+}
@@ -4,19 +4,14 @@
 package com.someguyssoftware.treasure2.particle;
 
 import com.someguyssoftware.gottschcore.positional.ICoords;
-import com.someguyssoftware.treasure2.Treasure;
-import com.someguyssoftware.treasure2.tileentity.MistEmitterTileEntity;
 
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.particle.Particle;
-import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.tileentity.TileEntity;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 /**
+ * Purely visual; the effects of the mist are applied on the server by the mist emitter.
  * @author Mark Gottschling on Feb 17, 2020
  *
  */
@@ -93,8 +88,6 @@ public abstract class AbstractMistParticle extends Particle implements IMistPart
 	 */
 	@Override
 	public void onUpdate() {
-		doPlayerCollisions(Minecraft.getMinecraft().world);
-
 		// save the previous location
 		prevPosX = posX;
 		prevPosY = posY;
@@ -151,40 +144,6 @@ public abstract class AbstractMistParticle extends Particle implements IMistPart
 		}
 	}
 
-	/**
-	 * 
-	 * @param world
-	 */
-	public void doPlayerCollisions(World world) {
-		if (getParentEmitterCoords() == null) {
-			Treasure.LOGGER.debug("emitter coords is null");
-			return;
-		}
-
-		// get the emitter tile entity
-		TileEntity emitterTileEntity = world.getTileEntity(getParentEmitterCoords().toPos());
-		if (emitterTileEntity == null) {
-			return;
-		}
-
-		// create an AxisAlignedBB for the particle
-		AxisAlignedBB aabb = new AxisAlignedBB(posX - 0.125D, posY, posZ - 0.125D, posX + 0.125D, posY + 0.25D,
-				posZ + 0.125D);
-
-		// for all the players in the mist emitter tile entity list
-		for (EntityPlayer player : ((MistEmitterTileEntity) emitterTileEntity).getPlayersWithinProximity()) {
-			if (player.getEntityBoundingBox().intersects(aabb)) {
-				inflictEffectOnPlayer(player);
-			}
-		}
-	}
-
-	/**
-	 * 
-	 * @param player
-	 */
-	public abstract void inflictEffectOnPlayer(EntityPlayer player);
-
 	/**
 	 * Used to control what texture and lighting is used for the EntityFX. Returns
 	 * 1, which means "use a texture from the blocks + items texture sheet" The
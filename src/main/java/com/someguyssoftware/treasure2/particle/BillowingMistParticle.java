@@ -5,7 +5,6 @@ import com.someguyssoftware.treasure2.Treasure;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -101,16 +100,6 @@ public class BillowingMistParticle extends AbstractMistParticle {
 		}
 	}
 
-	@Override
-	public void doPlayerCollisions(World world) {
-		// do nothing
-	}
-
-	@Override
-	public void inflictEffectOnPlayer(EntityPlayer player) {
-		// do nothing
-	}
-
 	@Override
 	public float provideGravity() {
 		return billowingGravity;
@@ -7,7 +7,6 @@ import com.someguyssoftware.treasure2.Treasure;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -55,14 +54,4 @@ public class MistParticle extends AbstractMistParticle {
 	public void init() {
 		super.init();
 	}
-
-	@Override
-	public void doPlayerCollisions(World world) {
-		// do nothing
-	}
-
-	@Override
-	public void inflictEffectOnPlayer(EntityPlayer player) {
-		// do nothing
-	}
 }
@@ -0,0 +1,257 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.persistence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.chest.ChestInfo;
+import com.someguyssoftware.treasure2.enums.Rarity;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.WorldSavedData;
+
+/**
+ * Holds the registered chests of a single region (REGION_SIZE x REGION_SIZE chunks) of a dimension.
+ * Each region is saved to its own file in the dimension's data folder and is only loaded when requested.
+ * Chests are saved as a packed int array of records (x, y, z, rarity code) which is appended to as chests are registered
+ * and only compacted when chests have been removed, so a save costs a single array copy.
+ */
+public class ChestRegionPersistence extends WorldSavedData {
+	public static final String KEY_PREFIX = "treasureChests_";
+	// the number of bits to shift a chunk coordinate to get the region coordinate (32 x 32 chunks)
+	public static final int REGION_SHIFT = 5;
+	public static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+	private static final int VERSION = 1;
+	private static final int RECORD_SIZE = 4;
+
+	private static final String VERSION_TAG_NAME = "version";
+	private static final String PACKED_CHESTS_TAG_NAME = "packedChests";
+	// legacy (version 0) list of chest compounds
+	private static final String CHESTS_TAG_NAME = "chests";
+	private static final String RARITY_TAG_NAME = "rarity";
+	private static final String COORDS_TAG_NAME = "coords";
+
+	// chests of the region by chunk
+	private Map<Long, List<ChestInfo>> chunks = new HashMap<>();
+	private int size;
+	// append-only packed records of the chests
+	private int[] records = new int[RECORD_SIZE * 4];
+	private int recordCount;
+	// records contain removed chests and must be rebuilt before saving
+	private boolean compactionRequired;
+
+	/**
+	 * Required by MapStorage.
+	 * @param key
+	 */
+	public ChestRegionPersistence(String key) {
+		super(key);
+	}
+
+	/**
+	 *
+	 * @param regionX
+	 * @param regionZ
+	 * @return
+	 */
+	public static String getKey(int regionX, int regionZ) {
+		return KEY_PREFIX + regionX + "_" + regionZ;
+	}
+
+	/**
+	 * Loads the region from the dimension's storage.
+	 * @param world
+	 * @param regionX
+	 * @param regionZ
+	 * @return the region, or null if none has been saved
+	 */
+	public static ChestRegionPersistence load(World world, int regionX, int regionZ) {
+		return (ChestRegionPersistence) world.getPerWorldStorage().getOrLoadData(ChestRegionPersistence.class, getKey(regionX, regionZ));
+	}
+
+	/**
+	 * Loads the region from the dimension's storage, creating an empty (unsaved until dirty) region if none exists.
+	 * Only to be used to register a chest, as a created region is held by the storage until the world unloads.
+	 * @param world
+	 * @param regionX
+	 * @param regionZ
+	 * @return
+	 */
+	public static ChestRegionPersistence get(World world, int regionX, int regionZ) {
+		String key = getKey(regionX, regionZ);
+		ChestRegionPersistence data = (ChestRegionPersistence) world.getPerWorldStorage().getOrLoadData(ChestRegionPersistence.class, key);
+		if (data == null) {
+			data = new ChestRegionPersistence(key);
+			world.getPerWorldStorage().setData(key, data);
+		}
+		return data;
+	}
+
+	/**
+	 *
+	 * @param info
+	 */
+	public void add(ChestInfo info) {
+		long chunkKey = ChunkPos.asLong(info.getCoords().getX() >> 4, info.getCoords().getZ() >> 4);
+		chunks.computeIfAbsent(chunkKey, k -> new ArrayList<>(1)).add(info);
+		size++;
+		appendRecord(info);
+	}
+
+	/**
+	 *
+	 * @param info
+	 */
+	private void appendRecord(ChestInfo info) {
+		int index = recordCount * RECORD_SIZE;
+		if (index + RECORD_SIZE > records.length) {
+			records = Arrays.copyOf(records, records.length * 2);
+		}
+		records[index] = info.getCoords().getX();
+		records[index + 1] = info.getCoords().getY();
+		records[index + 2] = info.getCoords().getZ();
+		records[index + 3] = info.getRarity().getCode();
+		recordCount++;
+	}
+
+	/**
+	 * Rebuilds the packed records from the registered chests, dropping removed chests.
+	 */
+	private void compact() {
+		recordCount = 0;
+		for (List<ChestInfo> chunk : chunks.values()) {
+			for (ChestInfo info : chunk) {
+				appendRecord(info);
+			}
+		}
+		compactionRequired = false;
+	}
+
+	/**
+	 * Removes all the chests registered at the coords.
+	 * @param coords
+	 * @return whether any chests were removed
+	 */
+	public boolean remove(ICoords coords) {
+		long chunkKey = ChunkPos.asLong(coords.getX() >> 4, coords.getZ() >> 4);
+		List<ChestInfo> chunk = chunks.get(chunkKey);
+		if (chunk == null) {
+			return false;
+		}
+		boolean removed = false;
+		Iterator<ChestInfo> iterator = chunk.iterator();
+		while (iterator.hasNext()) {
+			ICoords chestCoords = iterator.next().getCoords();
+			if (chestCoords.getX() == coords.getX() && chestCoords.getY() == coords.getY() && chestCoords.getZ() == coords.getZ()) {
+				iterator.remove();
+				size--;
+				removed = true;
+			}
+		}
+		if (chunk.isEmpty()) {
+			chunks.remove(chunkKey);
+		}
+		if (removed) {
+			compactionRequired = true;
+		}
+		return removed;
+	}
+
+	/**
+	 *
+	 * @param chunkX
+	 * @param chunkZ
+	 * @return the chests in the chunk or null
+	 */
+	public List<ChestInfo> getChunk(int chunkX, int chunkZ) {
+		return chunks.get(ChunkPos.asLong(chunkX, chunkZ));
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public Collection<List<ChestInfo>> getChunks() {
+		return chunks.values();
+	}
+
+	/**
+	 *
+	 * @return the number of chunks holding chests
+	 */
+	public int getChunkCount() {
+		return chunks.size();
+	}
+
+	/**
+	 *
+	 * @return the number of chests
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void readFromNBT(NBTTagCompound tag) {
+		chunks.clear();
+		size = 0;
+		recordCount = 0;
+		if (tag.hasKey(PACKED_CHESTS_TAG_NAME)) {
+			int[] packed = tag.getIntArray(PACKED_CHESTS_TAG_NAME);
+			for (int index = 0; index + RECORD_SIZE <= packed.length; index += RECORD_SIZE) {
+				Rarity rarity = Rarity.getByCode(packed[index + 3]);
+				if (rarity == null) {
+					Treasure.LOGGER.warn("Unknown rarity code {} in chest region {}", packed[index + 3], mapName);
+					continue;
+				}
+				add(new ChestInfo(rarity, new Coords(packed[index], packed[index + 1], packed[index + 2])));
+			}
+		}
+		else {
+			NBTTagList chestTagList = tag.getTagList(CHESTS_TAG_NAME, 10);
+			for (int i = 0; i < chestTagList.tagCount(); i++) {
+				NBTTagCompound chestTag = chestTagList.getCompoundTagAt(i);
+				Rarity rarity = Rarity.getByValue(chestTag.getString(RARITY_TAG_NAME));
+				if (rarity == null) {
+					continue;
+				}
+				NBTTagCompound coords = chestTag.getCompoundTag(COORDS_TAG_NAME);
+				add(new ChestInfo(rarity, new Coords(coords.getInteger("x"), coords.getInteger("y"), coords.getInteger("z"))));
+			}
+		}
+		Treasure.LOGGER.debug("Loaded chest region {} with {} chests", mapName, size);
+	}
+
+	/*
+	 * NOTE thrown exceptions are silently handled, so they need to be caught here instead
+	 */
+	@Override
+	public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+		try {
+			if (compactionRequired) {
+				compact();
+			}
+			tag.setInteger(VERSION_TAG_NAME, VERSION);
+			tag.setTag(PACKED_CHESTS_TAG_NAME, new NBTTagIntArray(Arrays.copyOf(records, recordCount * RECORD_SIZE)));
+		}
+		catch(Exception e) {
+			Treasure.LOGGER.error("An exception occurred:", e);
+		}
+		return tag;
+	}
+}
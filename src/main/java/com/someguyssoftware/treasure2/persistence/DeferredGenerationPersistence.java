@@ -0,0 +1,172 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.persistence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
+import com.someguyssoftware.treasure2.worldgen.DeferredSite;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.WorldSavedData;
+
+/**
+ * The sites of a dimension that are waiting to be built, by chunk, saved so that no pending site is lost on restart.
+ * A site is only removed when it is built.
+ * Sites are saved as a packed int array of records (type, x, y, z, rarity code, seed high, seed low).
+ */
+public class DeferredGenerationPersistence extends WorldSavedData {
+	public static final String KEY = "treasureDeferredGen";
+
+	private static final int RECORD_SIZE = 7;
+	private static final int NO_RARITY = -1;
+	private static final String SITES_TAG_NAME = "sites";
+
+	// the sites by the chunk they are in
+	private final Map<Long, List<DeferredSite>> sitesByChunk = new HashMap<>();
+	private int size;
+
+	/**
+	 * Required by MapStorage.
+	 * @param key
+	 */
+	public DeferredGenerationPersistence(String key) {
+		super(key);
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @return
+	 */
+	public static DeferredGenerationPersistence get(World world) {
+		DeferredGenerationPersistence data = (DeferredGenerationPersistence) world.getPerWorldStorage().getOrLoadData(DeferredGenerationPersistence.class, KEY);
+		if (data == null) {
+			data = new DeferredGenerationPersistence(KEY);
+			world.getPerWorldStorage().setData(KEY, data);
+		}
+		return data;
+	}
+
+	/**
+	 *
+	 * @param site
+	 */
+	public void add(DeferredSite site) {
+		put(site);
+		markDirty();
+	}
+
+	private void put(DeferredSite site) {
+		sitesByChunk.computeIfAbsent(getChunkKey(site), key -> new ArrayList<>(1)).add(site);
+		size++;
+	}
+
+	/**
+	 *
+	 * @param site
+	 * @return true if the site was removed
+	 */
+	public boolean remove(DeferredSite site) {
+		long key = getChunkKey(site);
+		List<DeferredSite> sites = sitesByChunk.get(key);
+		if (sites == null || !sites.remove(site)) {
+			return false;
+		}
+		if (sites.isEmpty()) {
+			sitesByChunk.remove(key);
+		}
+		size--;
+		markDirty();
+		return true;
+	}
+
+	/**
+	 *
+	 * @param chunkX
+	 * @param chunkZ
+	 * @return the sites in the chunk
+	 */
+	public List<DeferredSite> getSites(int chunkX, int chunkZ) {
+		List<DeferredSite> sites = sitesByChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+		return sites == null ? Collections.emptyList() : sites;
+	}
+
+	/**
+	 *
+	 * @return all the sites
+	 */
+	public List<DeferredSite> getSites() {
+		List<DeferredSite> sites = new ArrayList<>(size);
+		for (List<DeferredSite> chunkSites : sitesByChunk.values()) {
+			sites.addAll(chunkSites);
+		}
+		return sites;
+	}
+
+	private static long getChunkKey(DeferredSite site) {
+		return ChunkPos.asLong(site.getCoords().getX() >> 4, site.getCoords().getZ() >> 4);
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void readFromNBT(NBTTagCompound tag) {
+		sitesByChunk.clear();
+		size = 0;
+		int[] packed = tag.getIntArray(SITES_TAG_NAME);
+		WorldGeneratorType[] types = WorldGeneratorType.values();
+		for (int index = 0; index + RECORD_SIZE <= packed.length; index += RECORD_SIZE) {
+			if (packed[index] < 0 || packed[index] >= types.length) {
+				Treasure.LOGGER.warn("Unknown deferred generation type -> {}", packed[index]);
+				continue;
+			}
+			Rarity rarity = packed[index + 4] == NO_RARITY ? null : Rarity.getByCode(packed[index + 4]);
+			long seed = ((long) packed[index + 5] << 32) | (packed[index + 6] & 0xFFFFFFFFL);
+			put(new DeferredSite(types[packed[index]], new Coords(packed[index + 1], packed[index + 2], packed[index + 3]), rarity, seed));
+		}
+		Treasure.LOGGER.debug("Loaded {} deferred generation sites", size);
+	}
+
+	/*
+	 * NOTE thrown exceptions are silently handled, so they need to be caught here instead
+	 */
+	@Override
+	public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+		try {
+			int[] packed = new int[size * RECORD_SIZE];
+			int index = 0;
+			for (DeferredSite site : getSites()) {
+				packed[index++] = site.getType().ordinal();
+				packed[index++] = site.getCoords().getX();
+				packed[index++] = site.getCoords().getY();
+				packed[index++] = site.getCoords().getZ();
+				packed[index++] = site.getRarity() == null ? NO_RARITY : site.getRarity().getCode();
+				packed[index++] = (int) (site.getSeed() >>> 32);
+				packed[index++] = (int) site.getSeed();
+			}
+			tag.setTag(SITES_TAG_NAME, new NBTTagIntArray(packed));
+		}
+		catch(Exception e) {
+			Treasure.LOGGER.error("An exception occurred:", e);
+		}
+		return tag;
+	}
+}
@@ -0,0 +1,156 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.persistence;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.someguyssoftware.treasure2.Treasure;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.WorldSavedData;
+
+/**
+ * The block writes of a dimension that are waiting for their chunk to be populated, saved so that no part of a structure is lost on restart.
+ * Writes are saved as a packed int array of records (x, y, z, block state id, flags).
+ */
+public class PendingBlocksPersistence extends WorldSavedData {
+	public static final String KEY = "treasurePendingBlocks";
+	public static final int RECORD_SIZE = 5;
+
+	private static final String BLOCKS_TAG_NAME = "blocks";
+
+	// packed records of the writes by chunk
+	private Map<Long, PendingChunk> chunks = new HashMap<>();
+	private int size;
+
+	/**
+	 * Required by MapStorage.
+	 * @param key
+	 */
+	public PendingBlocksPersistence(String key) {
+		super(key);
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @return
+	 */
+	public static PendingBlocksPersistence get(World world) {
+		PendingBlocksPersistence data = (PendingBlocksPersistence) world.getPerWorldStorage().getOrLoadData(PendingBlocksPersistence.class, KEY);
+		if (data == null) {
+			data = new PendingBlocksPersistence(KEY);
+			world.getPerWorldStorage().setData(KEY, data);
+		}
+		return data;
+	}
+
+	/**
+	 *
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @param stateId
+	 * @param flags
+	 */
+	public void add(int x, int y, int z, int stateId, int flags) {
+		chunks.computeIfAbsent(ChunkPos.asLong(x >> 4, z >> 4), key -> new PendingChunk()).add(x, y, z, stateId, flags);
+		size++;
+		markDirty();
+	}
+
+	/**
+	 *
+	 * @param chunkX
+	 * @param chunkZ
+	 * @return true if there are writes waiting for the chunk
+	 */
+	public boolean contains(int chunkX, int chunkZ) {
+		return chunks.containsKey(ChunkPos.asLong(chunkX, chunkZ));
+	}
+
+	/**
+	 * Removes the writes of the chunk.
+	 * @param chunkX
+	 * @param chunkZ
+	 * @return the packed records of the chunk, in the order they were added, or null if there are none
+	 */
+	public int[] remove(int chunkX, int chunkZ) {
+		PendingChunk chunk = chunks.remove(ChunkPos.asLong(chunkX, chunkZ));
+		if (chunk == null) {
+			return null;
+		}
+		size -= chunk.count;
+		markDirty();
+		return Arrays.copyOf(chunk.records, chunk.count * RECORD_SIZE);
+	}
+
+	public boolean isEmpty() {
+		return chunks.isEmpty();
+	}
+
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void readFromNBT(NBTTagCompound tag) {
+		chunks.clear();
+		size = 0;
+		int[] packed = tag.getIntArray(BLOCKS_TAG_NAME);
+		for (int index = 0; index + RECORD_SIZE <= packed.length; index += RECORD_SIZE) {
+			int x = packed[index];
+			int z = packed[index + 2];
+			chunks.computeIfAbsent(ChunkPos.asLong(x >> 4, z >> 4), key -> new PendingChunk()).add(x, packed[index + 1], z, packed[index + 3], packed[index + 4]);
+			size++;
+		}
+		Treasure.LOGGER.debug("Loaded {} pending block writes in {} chunks", size, chunks.size());
+	}
+
+	/*
+	 * NOTE thrown exceptions are silently handled, so they need to be caught here instead
+	 */
+	@Override
+	public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+		try {
+			int[] packed = new int[size * RECORD_SIZE];
+			int index = 0;
+			for (PendingChunk chunk : chunks.values()) {
+				System.arraycopy(chunk.records, 0, packed, index, chunk.count * RECORD_SIZE);
+				index += chunk.count * RECORD_SIZE;
+			}
+			tag.setTag(BLOCKS_TAG_NAME, new NBTTagIntArray(packed));
+		}
+		catch(Exception e) {
+			Treasure.LOGGER.error("An exception occurred:", e);
+		}
+		return tag;
+	}
+
+	/*
+	 * The append-only packed records of a chunk
+	 */
+	private static class PendingChunk {
+		private int[] records = new int[RECORD_SIZE * 8];
+		private int count;
+
+		void add(int x, int y, int z, int stateId, int flags) {
+			int index = count * RECORD_SIZE;
+			if (index + RECORD_SIZE > records.length) {
+				records = Arrays.copyOf(records, records.length * 2);
+			}
+			records[index] = x;
+			records[index + 1] = y;
+			records[index + 2] = z;
+			records[index + 3] = stateId;
+			records[index + 4] = flags;
+			count++;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.persistence;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.someguyssoftware.treasure2.Treasure;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.WorldSavedData;
+
+/**
+ * The wishing well blocks of a dimension, saved as a packed int array of (x, y, z) records.
+ * The number of well blocks horizontally adjacent to each cell is kept in memory (rebuilt on load), so
+ * testing if a cell is surrounded by a well is a single lookup.
+ */
+public class WishingWellPersistence extends WorldSavedData {
+	public static final String KEY = "treasureWishingWells";
+
+	private static final int RECORD_SIZE = 3;
+	private static final int MIN_ADJACENT_WELL_BLOCKS = 2;
+	private static final String WELLS_TAG_NAME = "wells";
+
+	private final Set<Long> wellBlocks = new HashSet<>();
+	// cell -> # of adjacent well blocks
+	private final Map<Long, Integer> cells = new HashMap<>();
+
+	/**
+	 * Required by MapStorage.
+	 * @param key
+	 */
+	public WishingWellPersistence(String key) {
+		super(key);
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @return
+	 */
+	public static WishingWellPersistence get(World world) {
+		WishingWellPersistence data = (WishingWellPersistence) world.getPerWorldStorage().getOrLoadData(WishingWellPersistence.class, KEY);
+		if (data == null) {
+			data = new WishingWellPersistence(KEY);
+			world.getPerWorldStorage().setData(KEY, data);
+		}
+		return data;
+	}
+
+	/**
+	 *
+	 * @param pos
+	 * @return true if the block was not already registered
+	 */
+	public boolean add(BlockPos pos) {
+		if (!wellBlocks.add(pos.toLong())) {
+			return false;
+		}
+		updateCells(pos, 1);
+		markDirty();
+		return true;
+	}
+
+	/**
+	 *
+	 * @param pos
+	 */
+	public void remove(BlockPos pos) {
+		if (wellBlocks.remove(pos.toLong())) {
+			updateCells(pos, -1);
+			markDirty();
+		}
+	}
+
+	/**
+	 *
+	 * @param pos
+	 * @return true if the cell is adjacent to at least 2 wishing well blocks
+	 */
+	public boolean isWellCell(BlockPos pos) {
+		Integer count = cells.get(pos.toLong());
+		return count != null && count >= MIN_ADJACENT_WELL_BLOCKS;
+	}
+
+	public int size() {
+		return wellBlocks.size();
+	}
+
+	/**
+	 * Adds the delta to the count of each cell horizontally adjacent to the well block.
+	 * @param pos
+	 * @param delta
+	 */
+	private void updateCells(BlockPos pos, int delta) {
+		for (int z = -1; z <= 1; z++) {
+			for (int x = -1; x <= 1; x++) {
+				if (x == 0 && z == 0) {
+					continue;
+				}
+				Long cell = pos.add(x, 0, z).toLong();
+				int count = cells.getOrDefault(cell, 0) + delta;
+				if (count <= 0) {
+					cells.remove(cell);
+				}
+				else {
+					cells.put(cell, count);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void readFromNBT(NBTTagCompound tag) {
+		wellBlocks.clear();
+		cells.clear();
+		int[] packed = tag.getIntArray(WELLS_TAG_NAME);
+		for (int index = 0; index + RECORD_SIZE <= packed.length; index += RECORD_SIZE) {
+			BlockPos pos = new BlockPos(packed[index], packed[index + 1], packed[index + 2]);
+			if (wellBlocks.add(pos.toLong())) {
+				updateCells(pos, 1);
+			}
+		}
+		Treasure.LOGGER.debug("Loaded {} wishing well blocks", wellBlocks.size());
+	}
+
+	/*
+	 * NOTE thrown exceptions are silently handled, so they need to be caught here instead
+	 */
+	@Override
+	public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+		try {
+			int[] packed = new int[wellBlocks.size() * RECORD_SIZE];
+			int index = 0;
+			for (Long key : wellBlocks) {
+				BlockPos pos = BlockPos.fromLong(key);
+				packed[index++] = pos.getX();
+				packed[index++] = pos.getY();
+				packed[index++] = pos.getZ();
+			}
+			tag.setTag(WELLS_TAG_NAME, new NBTTagIntArray(packed));
+		}
+		catch(Exception e) {
+			Treasure.LOGGER.error("An exception occurred:", e);
+		}
+		return tag;
+	}
+}
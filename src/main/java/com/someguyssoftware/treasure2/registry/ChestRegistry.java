@@ -3,38 +3,46 @@
  */
 package com.someguyssoftware.treasure2.registry;
 
+import static com.someguyssoftware.treasure2.persistence.ChestRegionPersistence.REGION_SHIFT;
+
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.Map;
 
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.ListMultimap;
-import com.google.common.collect.Sets;
+import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.persistence.ChestRegionPersistence;
+
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
 
 /**
+ * Registry of generated chests, partitioned by dimension and by region (see ChestRegionPersistence).
+ * Regions are loaded lazily from the dimension's storage the first time a registration or distance query touches them,
+ * so memory and lookup cost scale with the terrain that is being generated rather than the whole world history.
+ * Queries never create a region; a region is only created when a chest is registered in it.
  * 
  * @author Mark Gottschling on Jan 22, 2018
  *
  */
 public class ChestRegistry {
-	private static final int MAX_SIZE = TreasureConfig.CHESTS.chestRegistrySize;
-	
 	private static ChestRegistry instance = new ChestRegistry();
-	// TODO this does not need to be a ListMultimap, can be just a LinkedList to preserve order
-	private ListMultimap<String, ChestInfo> registry;
-	
+	// loaded regions by dimension. a null region has no saved chests.
+	private Map<Integer, Map<Long, ChestRegionPersistence>> registry;
+	// chests read from the pre-region (global) save data, waiting to be moved into their regions
+	private List<ChestInfo> legacy;
+
 	/**
 	 * 
 	 */
 	private ChestRegistry() {
-		registry = LinkedListMultimap.create();
+		registry = new HashMap<>();
+		legacy = new ArrayList<>();
 	}
-	
+
 	/**
 	 * 
 	 * @return
@@ -42,66 +50,253 @@ public class ChestRegistry {
 	public static ChestRegistry getInstance() {
 		return instance;
 	}
-	
+
 	/**
 	 * 
-	 * @param key
+	 * @param world
+	 * @param coords
 	 * @return
 	 */
-	public boolean isRegistered(final String key) {
-		return registry.containsKey(key);
+	public synchronized boolean isRegistered(final World world, final ICoords coords) {
+		List<ChestInfo> chunk = getChunk(world, coords.getX() >> 4, coords.getZ() >> 4);
+		if (chunk != null) {
+			for (ChestInfo info : chunk) {
+				if (info.getCoords().getX() == coords.getX() && info.getCoords().getY() == coords.getY() && info.getCoords().getZ() == coords.getZ()) {
+					return true;
+				}
+			}
+		}
+		return false;
 	}
-	
+
 	/**
-	 * Registers a ChestInfo with a key.
-	 * @param key
+	 * Registers a ChestInfo in the region of the world containing its coords.
+	 * @param world
 	 * @param info
 	 */
-	public synchronized void register(final String key, final ChestInfo info) {	
-		Treasure.LOGGER.debug("Registering chest using key: " + key);
-		// test the size
-		if (registry.size() >= MAX_SIZE) {
-			// remove the first element
-			String headKey = registry.keySet().iterator().next();
-			unregister(headKey);
-		}
-		// register by the unique key
-		registry.put(key, info);
+	public synchronized void register(final World world, final ChestInfo info) {
+		Treasure.LOGGER.debug("Registering chest in dimension -> {} @ {}", world.provider.getDimension(), info.getCoords().toShortString());
+		ChestRegionPersistence region = getRegion(world, (info.getCoords().getX() >> 4) >> REGION_SHIFT, (info.getCoords().getZ() >> 4) >> REGION_SHIFT, true);
+		region.add(info);
+		region.markDirty();
 	}
-	
+
 	/**
 	 * 
-	 * @param key
+	 * @param world
+	 * @param coords
+	 */
+	public synchronized void unregister(final World world, final ICoords coords) {
+		ChestRegionPersistence region = getRegion(world, (coords.getX() >> 4) >> REGION_SHIFT, (coords.getZ() >> 4) >> REGION_SHIFT, false);
+		if (region != null && region.remove(coords)) {
+			region.markDirty();
+		}
+	}
+
+	/**
+	 * This will not update parent collection.
+	 * @param dimensionID
+	 * @return the chests of all the currently loaded regions of the dimension
+	 */
+	public synchronized List<ChestInfo> getValues(final Integer dimensionID) {
+		List<ChestInfo> values = new ArrayList<>();
+		Map<Long, ChestRegionPersistence> regions = registry.get(dimensionID);
+		if (regions != null) {
+			for (ChestRegionPersistence region : regions.values()) {
+				region.getChunks().forEach(values::addAll);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Determines if any registered chest is strictly within the distance of the coords.
+	 * Only the regions and chunks overlapping the search square are visited. If a region holds chests in fewer chunks
+	 * than there are chunks to visit, its chests are scanned directly instead.
+	 * @param world
+	 * @param coords
+	 * @param distance
+	 * @return
 	 */
-	public synchronized void unregister(final String key) {
-		if (registry.containsKey(key)) {
-			registry.removeAll(key);
+	public synchronized boolean isWithinDistance(final World world, final ICoords coords, final int distance) {
+		double distanceSq = (double)distance * distance;
+
+		int minChunkX = (coords.getX() - distance) >> 4;
+		int maxChunkX = (coords.getX() + distance) >> 4;
+		int minChunkZ = (coords.getZ() - distance) >> 4;
+		int maxChunkZ = (coords.getZ() + distance) >> 4;
+
+		for (int regionX = minChunkX >> REGION_SHIFT; regionX <= maxChunkX >> REGION_SHIFT; regionX++) {
+			for (int regionZ = minChunkZ >> REGION_SHIFT; regionZ <= maxChunkZ >> REGION_SHIFT; regionZ++) {
+				ChestRegionPersistence region = getRegion(world, regionX, regionZ, false);
+				if (region == null || region.size() == 0) {
+					continue;
+				}
+				// clamp the search square to the region
+				int fromChunkX = Math.max(minChunkX, regionX << REGION_SHIFT);
+				int toChunkX = Math.min(maxChunkX, ((regionX + 1) << REGION_SHIFT) - 1);
+				int fromChunkZ = Math.max(minChunkZ, regionZ << REGION_SHIFT);
+				int toChunkZ = Math.min(maxChunkZ, ((regionZ + 1) << REGION_SHIFT) - 1);
+
+				if ((toChunkX - fromChunkX + 1) * (toChunkZ - fromChunkZ + 1) > region.getChunkCount()) {
+					for (List<ChestInfo> chunk : region.getChunks()) {
+						if (isWithinDistance(chunk, coords, distanceSq)) {
+							return true;
+						}
+					}
+				}
+				else {
+					for (int chunkX = fromChunkX; chunkX <= toChunkX; chunkX++) {
+						for (int chunkZ = fromChunkZ; chunkZ <= toChunkZ; chunkZ++) {
+							List<ChestInfo> chunk = region.getChunk(chunkX, chunkZ);
+							if (chunk != null && isWithinDistance(chunk, coords, distanceSq)) {
+								return true;
+							}
+						}
+					}
+				}
+			}
 		}
+		return false;
 	}
-	
+
 	/**
 	 * 
-	 * @param key
+	 * @param chunk
+	 * @param coords
+	 * @param distanceSq
 	 * @return
 	 */
-	public List<ChestInfo> get(String key) {
-		List<ChestInfo> info = null;
-		if (registry.containsKey(key)) {
-			info = registry.get(key);
+	private boolean isWithinDistance(List<ChestInfo> chunk, ICoords coords, double distanceSq) {
+		for (ChestInfo info : chunk) {
+			if (coords.getDistanceSq(info.getCoords()) < distanceSq) {
+				return true;
+			}
 		}
-		return info;
+		return false;
 	}
-	
+
 	/**
-	 * This will not update parent collection.
+	 * Finds the registered chest nearest to the coords, searching outwards ring by ring of chunks.
+	 * @param world
+	 * @param coords
+	 * @param maxDistance the maximum search distance in blocks
+	 * @return the nearest ChestInfo or null if none is within maxDistance
+	 */
+	public synchronized ChestInfo getNearest(final World world, final ICoords coords, final int maxDistance) {
+		ChestInfo nearest = null;
+		double nearestDistanceSq = (double)maxDistance * maxDistance;
+		int centerChunkX = coords.getX() >> 4;
+		int centerChunkZ = coords.getZ() >> 4;
+		int maxRing = (maxDistance >> 4) + 1;
+
+		for (int ring = 0; ring <= maxRing; ring++) {
+			// any chest in this ring or beyond is at least (ring - 1) chunks away
+			if (nearest != null) {
+				double ringDistance = Math.max(0, ring - 1) * 16.0;
+				if (ringDistance * ringDistance > nearestDistanceSq) {
+					break;
+				}
+			}
+			for (int chunkX = centerChunkX - ring; chunkX <= centerChunkX + ring; chunkX++) {
+				for (int chunkZ = centerChunkZ - ring; chunkZ <= centerChunkZ + ring; chunkZ++) {
+					// only visit the perimeter of the ring
+					if (Math.abs(chunkX - centerChunkX) != ring && Math.abs(chunkZ - centerChunkZ) != ring) {
+						continue;
+					}
+					List<ChestInfo> chunk = getChunk(world, chunkX, chunkZ);
+					if (chunk == null) {
+						continue;
+					}
+					for (ChestInfo info : chunk) {
+						double distanceSq = coords.getDistanceSq(info.getCoords());
+						if (distanceSq <= nearestDistanceSq) {
+							nearestDistanceSq = distanceSq;
+							nearest = info;
+						}
+					}
+				}
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * 
+	 * @param world
+	 * @param chunkX
+	 * @param chunkZ
 	 * @return
 	 */
-	public List<ChestInfo> getValues() {
-		HashSet<ChestInfo> set = Sets.newHashSet(registry.values());
-		return new ArrayList<>(set);
+	private List<ChestInfo> getChunk(World world, int chunkX, int chunkZ) {
+		ChestRegionPersistence region = getRegion(world, chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT, false);
+		return region == null ? null : region.getChunk(chunkX, chunkZ);
+	}
+
+	/**
+	 * Gets the region from the loaded regions of the dimension, loading it from storage on first use.
+	 * @param world
+	 * @param regionX
+	 * @param regionZ
+	 * @param create whether to create the region if it has not been saved
+	 * @return the region, or null if it has not been saved and is not to be created
+	 */
+	private ChestRegionPersistence getRegion(World world, int regionX, int regionZ, boolean create) {
+		Map<Long, ChestRegionPersistence> regions = registry.computeIfAbsent(world.provider.getDimension(), k -> new HashMap<>());
+		long regionKey = ChunkPos.asLong(regionX, regionZ);
+		ChestRegionPersistence region = regions.get(regionKey);
+		if (region == null && (create || !regions.containsKey(regionKey))) {
+			region = create ? ChestRegionPersistence.get(world, regionX, regionZ) : ChestRegionPersistence.load(world, regionX, regionZ);
+			// remember a region that has not been saved, so it is not looked up in storage again
+			regions.put(regionKey, region);
+		}
+		return region;
+	}
+
+	/**
+	 * Holds chests read from the pre-region save data until they can be moved into their regions.
+	 * @param info
+	 */
+	public synchronized void registerLegacy(final ChestInfo info) {
+		legacy.add(info);
+	}
+
+	/**
+	 * Moves any legacy chests into the regions of the world.
+	 * The legacy save data doesn't record the dimension of a chest, so the chests are only moved if the world's dimension
+	 * is the only dimension that chests could have been generated in. Otherwise they are dropped rather than registered
+	 * in the wrong dimension.
+	 * @param world
+	 */
+	public synchronized void migrateLegacy(final World world) {
+		if (legacy.isEmpty()) {
+			return;
+		}
+		List<Integer> dimensions = TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList();
+		if (dimensions.size() != 1 || dimensions.get(0) != world.provider.getDimension()) {
+			Treasure.LOGGER.warn("Unable to determine the dimensions of {} legacy chests, they will not be migrated", legacy.size());
+			legacy.clear();
+			return;
+		}
+		Treasure.LOGGER.debug("Migrating {} legacy chests into dimension -> {}", legacy.size(), world.provider.getDimension());
+		for (ChestInfo info : legacy) {
+			if (!isRegistered(world, info.getCoords())) {
+				register(world, info);
+			}
+		}
+		legacy.clear();
+	}
+
+	/**
+	 * Unloads the regions of a dimension. They will be reloaded from storage when next used.
+	 * @param dimensionID
+	 */
+	public synchronized void clear(final Integer dimensionID) {
+		registry.remove(dimensionID);
 	}
-	
-	public void clear() {
+
+	public synchronized void clear() {
 		registry.clear();
+		legacy.clear();
 	}
 }
@@ -0,0 +1,174 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.registry;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+/**
+ * Holds the world generators' counters (ex. chunks since last chest) for each dimension.
+ * Counters are primitive atomic arrays indexed by WorldGeneratorType (and Rarity) so that dimensions generating
+ * at the same time do not share or corrupt each other's state.
+ */
+public class GenerationStateRegistry {
+	private static final String GENERATION_STATE_TAG_NAME = "generationState";
+	private static final String DIMENSION_ID_TAG_NAME = "dimensionID";
+	private static final String RARITY_TAG_SUFFIX = "Rarity";
+
+	private static final int TYPE_COUNT = WorldGeneratorType.values().length;
+	private static final int RARITY_COUNT = Rarity.values().length;
+
+	private static GenerationStateRegistry instance = new GenerationStateRegistry();
+	private Map<Integer, GenerationState> registry;
+
+	/**
+	 *
+	 */
+	private GenerationStateRegistry() {
+		registry = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public static GenerationStateRegistry getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Gets the generation state of the dimension, creating it if necessary.
+	 * @param dimensionID
+	 * @return
+	 */
+	public GenerationState get(final Integer dimensionID) {
+		return registry.computeIfAbsent(dimensionID, k -> new GenerationState());
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public Set<Integer> getDimensionKeys() {
+		return registry.keySet();
+	}
+
+	/**
+	 *
+	 */
+	public void clear() {
+		registry.clear();
+	}
+
+	/**
+	 *
+	 * @param tag
+	 */
+	public void read(NBTTagCompound tag) {
+		clear();
+		NBTTagList dimensionTagList = tag.getTagList(GENERATION_STATE_TAG_NAME, 10);
+		for (int index = 0; index < dimensionTagList.tagCount(); index++) {
+			NBTTagCompound dimTag = dimensionTagList.getCompoundTagAt(index);
+			GenerationState state = get(dimTag.getInteger(DIMENSION_ID_TAG_NAME));
+			for (WorldGeneratorType type : WorldGeneratorType.values()) {
+				state.setChunksSinceLast(type, dimTag.getInteger(type.getValue()));
+				int[] rarityCounts = dimTag.getIntArray(type.getValue() + RARITY_TAG_SUFFIX);
+				for (Rarity rarity : Rarity.values()) {
+					if (rarity.getCode() < rarityCounts.length) {
+						state.setChunksSinceLastRarity(type, rarity, rarityCounts[rarity.getCode()]);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param tag
+	 * @return
+	 */
+	public NBTTagCompound write(NBTTagCompound tag) {
+		NBTTagList dimensionTagList = new NBTTagList();
+		for (Map.Entry<Integer, GenerationState> entry : registry.entrySet()) {
+			NBTTagCompound dimTag = new NBTTagCompound();
+			dimTag.setInteger(DIMENSION_ID_TAG_NAME, entry.getKey());
+			GenerationState state = entry.getValue();
+			for (WorldGeneratorType type : WorldGeneratorType.values()) {
+				dimTag.setInteger(type.getValue(), state.getChunksSinceLast(type));
+				int[] rarityCounts = new int[RARITY_COUNT];
+				for (Rarity rarity : Rarity.values()) {
+					rarityCounts[rarity.getCode()] = state.getChunksSinceLastRarity(type, rarity);
+				}
+				dimTag.setIntArray(type.getValue() + RARITY_TAG_SUFFIX, rarityCounts);
+			}
+			dimensionTagList.appendTag(dimTag);
+		}
+		tag.setTag(GENERATION_STATE_TAG_NAME, dimensionTagList);
+		return tag;
+	}
+
+	/**
+	 *
+	 * @param tag
+	 * @return
+	 */
+	public boolean hasState(NBTTagCompound tag) {
+		return tag.hasKey(GENERATION_STATE_TAG_NAME);
+	}
+
+	/**
+	 * The generation counters of a single dimension.
+	 */
+	public static class GenerationState {
+		private final AtomicIntegerArray chunksSinceLast = new AtomicIntegerArray(TYPE_COUNT);
+		private final AtomicIntegerArray chunksSinceLastRarity = new AtomicIntegerArray(TYPE_COUNT * RARITY_COUNT);
+
+		/**
+		 *
+		 * @param type
+		 * @return the incremented count
+		 */
+		public int incrementChunksSinceLast(WorldGeneratorType type) {
+			return chunksSinceLast.incrementAndGet(type.ordinal());
+		}
+
+		public int getChunksSinceLast(WorldGeneratorType type) {
+			return chunksSinceLast.get(type.ordinal());
+		}
+
+		public void setChunksSinceLast(WorldGeneratorType type, int count) {
+			chunksSinceLast.set(type.ordinal(), count);
+		}
+
+		/**
+		 *
+		 * @param type
+		 * @param rarity
+		 * @return the incremented count
+		 */
+		public int incrementChunksSinceLastRarity(WorldGeneratorType type, Rarity rarity) {
+			return chunksSinceLastRarity.incrementAndGet(index(type, rarity));
+		}
+
+		public int getChunksSinceLastRarity(WorldGeneratorType type, Rarity rarity) {
+			return chunksSinceLastRarity.get(index(type, rarity));
+		}
+
+		public void setChunksSinceLastRarity(WorldGeneratorType type, Rarity rarity, int count) {
+			chunksSinceLastRarity.set(index(type, rarity), count);
+		}
+
+		private static int index(WorldGeneratorType type, Rarity rarity) {
+			return type.ordinal() * RARITY_COUNT + rarity.ordinal();
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.registry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.someguyssoftware.gottschcore.world.WorldInfo;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.loot.TreasureLootTableRegistry;
+
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.event.world.WorldEvent;
+
+/**
+ * Loads the resource registries (loot tables, metas, templates and decay rulesets) at world load.
+ * The registries do not share state, except that templates are mapped by their metas, so they are loaded
+ * as three parallel pipelines: loot tables, metas then templates, and decay rulesets.
+ * The world is only accessed on the server thread, before the pipelines start. The world load waits for all of them to finish.
+ */
+public class ResourceRegistryLoader {
+	private static final int PIPELINES = 3;
+
+	private ResourceRegistryLoader() {}
+
+	/**
+	 *
+	 * @param event
+	 */
+	public static void onWorldLoad(WorldEvent.Load event) {
+		long start = System.nanoTime();
+		if (!TreasureConfig.WORLD_GEN.getGeneralProperties().enableParallelResourceLoading) {
+			TreasureLootTableRegistry.onWorldLoad(event);
+			TreasureMetaRegistry.onWorldLoad(event);
+			TreasureTemplateRegistry.onWorldLoad(event);
+			TreasureDecayRegistry.onWorldLoad(event);
+		}
+		else if (WorldInfo.isServerSide(event.getWorld()) && event.getWorld().provider.getDimension() == 0) {
+			// the world and its save handler are only accessed here, on the server thread
+			WorldServer world = (WorldServer) event.getWorld();
+			TreasureLootTableRegistry.create(world);
+			TreasureMetaRegistry.create(world);
+			TreasureTemplateRegistry.create(world);
+			TreasureDecayRegistry.create(world);
+
+			AtomicInteger threadCount = new AtomicInteger();
+			ExecutorService executor = Executors.newFixedThreadPool(PIPELINES, runnable -> {
+				Thread thread = new Thread(runnable, "Treasure2 Resource Loader " + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			try {
+				CompletableFuture<Void> lootTables = CompletableFuture.runAsync(TreasureLootTableRegistry::load, executor);
+				// templates are mapped using the metas, so they must wait for the metas
+				CompletableFuture<Void> templates = CompletableFuture.runAsync(TreasureMetaRegistry::load, executor)
+						.thenRunAsync(TreasureTemplateRegistry::load, executor);
+				CompletableFuture<Void> decay = CompletableFuture.runAsync(TreasureDecayRegistry::load, executor);
+
+				join(lootTables, "loot tables");
+				join(templates, "metas and templates");
+				join(decay, "decay rulesets");
+			}
+			finally {
+				executor.shutdown();
+			}
+		}
+		Treasure.LOGGER.debug("loaded resource registries in {}ms", (System.nanoTime() - start) / 1000000);
+	}
+
+	/**
+	 *
+	 * @param future
+	 * @param name
+	 */
+	private static void join(CompletableFuture<Void> future, String name) {
+		try {
+			future.join();
+		}
+		catch(Exception e) {
+			Treasure.LOGGER.error("Unable to load " + name + ":", e);
+		}
+	}
+}
@@ -48,6 +48,8 @@ public class TreasureDecayRegistry {
 	private static final Set<String> MODS;
 	private static final Map<String, Boolean> MODS_LOADED;
 	private static WorldServer world;
+	// the save folder of the world, resolved on the server thread so the mods can be loaded off of it
+	private static File worldSaveFolder;
 	
 	static {
 		DECAY_MANAGER = new TreasureDecayManager();
@@ -63,6 +65,7 @@ public class TreasureDecayRegistry {
 	 */
 	public static void create(WorldServer world) {
 		TreasureDecayRegistry.world = world;
+		TreasureDecayRegistry.worldSaveFolder = world.getSaveHandler().getWorldDirectory();
 		DECAY_MANAGER.setWorldSaveFolder(Paths.get(world.getSaveHandler().getWorldDirectory().getPath()).toFile());
 	}
 	
@@ -82,13 +85,19 @@ public class TreasureDecayRegistry {
 		if (WorldInfo.isServerSide(event.getWorld()) && event.getWorld().provider.getDimension() == 0) {
 			Treasure.LOGGER.debug("decay registry world load");
 			TreasureDecayRegistry.create((WorldServer) event.getWorld());
-			
-			MODS.forEach(mod -> {
-				Treasure.LOGGER.debug("registering mod -> {}", mod);
-				load(mod);
-			});
+			load();
 		}
 	}
+
+	/**
+	 * Loads the registered mods. Must follow create(), which accesses the world.
+	 */
+	public static void load() {
+		MODS.forEach(mod -> {
+			Treasure.LOGGER.debug("registering mod -> {}", mod);
+			load(mod);
+		});
+	}
 	
 	/**
 	 * 
@@ -103,7 +112,7 @@ public class TreasureDecayRegistry {
 		Manifest manifest = null;
 		boolean worldSaveMetaLoaded = false;
 		// read from file location
-		File manifestFile = Paths.get(world.getSaveHandler().getWorldDirectory().getPath(), "data", getResourceFolder(), modID, "manifest.json").toFile();
+		File manifestFile = Paths.get(worldSaveFolder.getPath(), "data", getResourceFolder(), modID, "manifest.json").toFile();
 		if (manifestFile.exists()) {
 			if (manifestFile.isFile()) {
 				String json;
@@ -49,6 +49,8 @@ public class TreasureMetaRegistry {
 	private static final Map<String, Boolean> LOADED_MODS;
 	
 	private static WorldServer world;
+	// the save folder of the world, resolved on the server thread so the mods can be loaded off of it
+	private static File worldSaveFolder;
 
 	static {
 		META_MANAGER = new TreasureMetaManager();
@@ -70,6 +72,7 @@ public class TreasureMetaRegistry {
 	 */
 	public static void create(WorldServer world) {
 		TreasureMetaRegistry.world = world;
+		TreasureMetaRegistry.worldSaveFolder = world.getSaveHandler().getWorldDirectory();
 		META_MANAGER.setWorldSaveFolder(Paths.get(world.getSaveHandler().getWorldDirectory().getPath()).toFile());
 	}
 	
@@ -77,15 +80,21 @@ public class TreasureMetaRegistry {
 		REGISTERED_MODS.add(modID);
 	}
 
+	/**
+	 * Loads the registered mods. Must follow create(), which accesses the world.
+	 */
+	public static void load() {
+		REGISTERED_MODS.forEach(mod -> {
+			Treasure.LOGGER.debug("registering mod -> {}", mod);
+			load(mod);
+		});
+	}
+
 	public static void onWorldLoad(WorldEvent.Load event) {
 		if (WorldInfo.isServerSide(event.getWorld()) && event.getWorld().provider.getDimension() == 0) {
 			Treasure.LOGGER.debug("meta registry world load");
 			TreasureMetaRegistry.create((WorldServer) event.getWorld());
-			
-			REGISTERED_MODS.forEach(mod -> {
-				Treasure.LOGGER.debug("registering mod -> {}", mod);
-				load(mod);
-			});
+			load();
 		}
 	}
 	
@@ -101,7 +110,7 @@ public class TreasureMetaRegistry {
 		Manifest manifest = null;
 		boolean worldSaveMetaLoaded = false;
 		// read from file location
-		File manifestFile = Paths.get(world.getSaveHandler().getWorldDirectory().getPath(), "data", "meta", modID, "manifest.json").toFile();
+		File manifestFile = Paths.get(worldSaveFolder.getPath(), "data", "meta", modID, "manifest.json").toFile();
 		if (manifestFile.exists()) {
 			if (manifestFile.isFile()) {
 				String json;
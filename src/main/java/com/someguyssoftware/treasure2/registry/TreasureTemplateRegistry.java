@@ -56,6 +56,8 @@ public class TreasureTemplateRegistry {
 	private static final Set<String> MODS;
 	private static final Map<String, Boolean> MODS_LOADED;
 	private static WorldServer world;
+	// the save folder of the world, resolved on the server thread so the mods can be loaded off of it
+	private static File worldSaveFolder;
 	
 	static {
 		TEMPLATE_MANAGER = new TreasureTemplateManager(Treasure.instance, "/structures",
@@ -72,6 +74,7 @@ public class TreasureTemplateRegistry {
 	 */
 	public static void create(WorldServer world) {
 		TreasureTemplateRegistry.world = world;
+		TreasureTemplateRegistry.worldSaveFolder = world.getSaveHandler().getWorldDirectory();
 		TEMPLATE_MANAGER.setWorldSaveFolder(Paths.get(world.getSaveHandler().getWorldDirectory().getPath()).toFile());
 	}
 	
@@ -91,13 +94,19 @@ public class TreasureTemplateRegistry {
 		if (WorldInfo.isServerSide(event.getWorld()) && event.getWorld().provider.getDimension() == 0) {
 			Treasure.LOGGER.debug("template registry world load");
 			TreasureTemplateRegistry.create((WorldServer) event.getWorld());
-			
-			MODS.forEach(mod -> {
-				Treasure.LOGGER.debug("registering mod -> {}", mod);
-				load(mod);
-			});
+			load();
 		}
 	}
+
+	/**
+	 * Loads the registered mods. Must follow create(), which accesses the world.
+	 */
+	public static void load() {
+		MODS.forEach(mod -> {
+			Treasure.LOGGER.debug("registering mod -> {}", mod);
+			load(mod);
+		});
+	}
 	
 	public static void load(String modID) {
 		// don't reload for session
@@ -108,7 +117,7 @@ public class TreasureTemplateRegistry {
 		Manifest manifest = null;
 		boolean worldSaveMetaLoaded = false;
 		// read from file location
-		File manifestFile = Paths.get(world.getSaveHandler().getWorldDirectory().getPath(), "data", "structures", modID, "manifest.json").toFile();
+		File manifestFile = Paths.get(worldSaveFolder.getPath(), "data", "structures", modID, "manifest.json").toFile();
 		if (manifestFile.exists()) {
 			if (manifestFile.isFile()) {
 				String json;
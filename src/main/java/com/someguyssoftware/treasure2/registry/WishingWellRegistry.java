@@ -0,0 +1,116 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.registry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.block.IWishingWellBlock;
+import com.someguyssoftware.treasure2.persistence.WishingWellPersistence;
+
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Index of the wishing well blocks of each dimension, used by wishable items to test if they were tossed into a well.
+ * Well blocks register themselves when placed, whether by the well generator or by a player, and unregister when broken.
+ * Wells that were built before the index existed are discovered by an occasional probe of the water's neighbours.
+ */
+public class WishingWellRegistry {
+	private static WishingWellRegistry instance = new WishingWellRegistry();
+
+	// the # of ticks between the probes of an unindexed water block for legacy wells
+	private static final int LEGACY_PROBE_INTERVAL = 20;
+
+	private Map<Integer, WishingWellPersistence> registry = new HashMap<>();
+
+	private WishingWellRegistry() {}
+
+	public static WishingWellRegistry getInstance() {
+		return instance;
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param pos
+	 */
+	public synchronized void register(final World world, final BlockPos pos) {
+		get(world).add(pos);
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param pos
+	 */
+	public synchronized void unregister(final World world, final BlockPos pos) {
+		get(world).remove(pos);
+	}
+
+	/**
+	 *
+	 * @param entityItem
+	 * @return true if the item is in the water of a wishing well
+	 */
+	public synchronized boolean isInWishingWell(final EntityItem entityItem) {
+		World world = entityItem.getEntityWorld();
+		BlockPos pos = entityItem.getPosition();
+		WishingWellPersistence wells = get(world);
+		if (wells.isWellCell(pos)) {
+			return world.getBlockState(pos).getBlock() == Blocks.WATER;
+		}
+		if (entityItem.ticksExisted % LEGACY_PROBE_INTERVAL != 0 || world.getBlockState(pos).getBlock() != Blocks.WATER) {
+			return false;
+		}
+		return registerLegacy(world, pos, wells);
+	}
+
+	/**
+	 * Probes the neighbours of a water block for wishing well blocks and registers them.
+	 * @param world
+	 * @param pos
+	 * @param wells
+	 * @return true if the water block is in a wishing well
+	 */
+	private boolean registerLegacy(World world, BlockPos pos, WishingWellPersistence wells) {
+		boolean found = false;
+		for (int z = -1; z <= 1; z++) {
+			for (int x = -1; x <= 1; x++) {
+				BlockPos checkPos = pos.add(x, 0, z);
+				if ((x != 0 || z != 0) && world.getBlockState(checkPos).getBlock() instanceof IWishingWellBlock) {
+					found |= wells.add(checkPos);
+				}
+			}
+		}
+		if (found) {
+			Treasure.LOGGER.debug("registered legacy wishing well at -> {}", pos);
+		}
+		return wells.isWellCell(pos);
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @return
+	 */
+	private WishingWellPersistence get(World world) {
+		return registry.computeIfAbsent(world.provider.getDimension(), k -> WishingWellPersistence.get(world));
+	}
+
+	/**
+	 *
+	 * @param dimensionID
+	 */
+	public synchronized void clear(final Integer dimensionID) {
+		registry.remove(dimensionID);
+	}
+
+	public synchronized void clear() {
+		registry.clear();
+	}
+}
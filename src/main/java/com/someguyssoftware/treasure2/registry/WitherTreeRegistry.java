@@ -16,7 +16,7 @@ import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
 import net.minecraft.nbt.NBTTagList;
 
 /**
@@ -29,9 +29,14 @@ public class WitherTreeRegistry {
 	private static final String WITHER_TREE_REGISTRY_TAG_NAME ="witherTreeRegistry";
 	private static final String BIOME_ID_TAG_NAME = "biomeID";
 	private static final String COORDS_TAG_NAME = "coords";
+	// packed int array of records (x, y, z, biomeID)
+	private static final String PACKED_INFO_TAG_NAME = "packedInfo";
+	private static final int RECORD_SIZE = 4;
 	
 	private static WitherTreeRegistry instance = new WitherTreeRegistry();
 	private Map<Integer, LinkedList<WitherTreeInfo>> registry;
+	// the last written registry tag, reused until the registry changes
+	private NBTTagList cachedTagList;
 	
 	/**
 	 * 
@@ -79,6 +84,7 @@ public class WitherTreeRegistry {
 		
 		// register
 		witherTrees.add(info);
+		cachedTagList = null;
 	}
 	
 	/**
@@ -91,6 +97,21 @@ public class WitherTreeRegistry {
 			// remove the head
 			if (witherTrees.size() > 0) {
 				witherTrees.pop();
+				cachedTagList = null;
+			}
+		}
+	}
+	
+	/**
+	 * Removes the wither tree registered at the coords.
+	 * @param dimensionID
+	 * @param coords
+	 */
+	public synchronized void unregister(final Integer dimensionID, final ICoords coords) {
+		if (registry.containsKey(dimensionID)) {
+			if (registry.get(dimensionID).removeIf(info -> info.getCoords().getX() == coords.getX()
+					&& info.getCoords().getY() == coords.getY() && info.getCoords().getZ() == coords.getZ())) {
+				cachedTagList = null;
 			}
 		}
 	}
@@ -144,6 +165,7 @@ public class WitherTreeRegistry {
 	 */
 	public void clear() {
 		registry.clear();
+		cachedTagList = null;
 	}
 	
 	/**
@@ -156,6 +178,13 @@ public class WitherTreeRegistry {
 		for (int index = 0; index < witherTreeRegistryDimensionTagList.tagCount(); index++) {
 			NBTTagCompound dimTag = witherTreeRegistryDimensionTagList.getCompoundTagAt(index);
 			int dimensionID = dimTag.getInteger(DIMENSION_ID_TAG_NAME);
+			if (dimTag.hasKey(PACKED_INFO_TAG_NAME)) {
+				int[] packed = dimTag.getIntArray(PACKED_INFO_TAG_NAME);
+				for (int i = 0; i + RECORD_SIZE <= packed.length; i += RECORD_SIZE) {
+					register(dimensionID, new WitherTreeInfo(new Coords(packed[i], packed[i + 1], packed[i + 2]), dimensionID, packed[i + 3]));
+				}
+				continue;
+			}
 			NBTTagList infoTagList = dimTag.getTagList("infoList", 10);
 			for (int infoIndex = 0; infoIndex < infoTagList.tagCount(); infoIndex++) {
 				NBTTagCompound infoTag = infoTagList.getCompoundTagAt(infoIndex);
@@ -175,37 +204,30 @@ public class WitherTreeRegistry {
 	 * @return
 	 */
 	public NBTTagCompound write(NBTTagCompound tag) {
-		
-		NBTTagList witherTreeRegistryDimensionTagList = new NBTTagList();
-		for (Integer dimensionKey : getDimensionKeys()) {
-			LinkedList<WitherTreeInfo> infoList = getDimensionEntry(dimensionKey);
-			NBTTagCompound dimTag = new NBTTagCompound();
-			dimTag.setInteger(DIMENSION_ID_TAG_NAME, dimensionKey);
-			NBTTagList infoTagList = new NBTTagList();
-			for(WitherTreeInfo info : infoList) {
-				NBTTagCompound infoTag = new NBTTagCompound();					
-				NBTTagInt biomeID = new NBTTagInt(info.getBiomeID());
-				NBTTagCompound coords = new NBTTagCompound();
-				NBTTagInt x = new NBTTagInt(info.getCoords().getX());
-				NBTTagInt y = new NBTTagInt(info.getCoords().getY());
-				NBTTagInt z = new NBTTagInt(info.getCoords().getZ());
-				
-				coords.setTag("x", x);
-				coords.setTag("y", y);
-				coords.setTag("z", z);
-
-				infoTag.setTag(BIOME_ID_TAG_NAME, biomeID);
-				infoTag.setTag(COORDS_TAG_NAME, coords);
-				
-				infoTagList.appendTag(infoTag);
+		// only re-encode the registry if it has changed since the last write
+		if (cachedTagList == null) {
+			NBTTagList witherTreeRegistryDimensionTagList = new NBTTagList();
+			for (Integer dimensionKey : getDimensionKeys()) {
+				LinkedList<WitherTreeInfo> infoList = getDimensionEntry(dimensionKey);
+				NBTTagCompound dimTag = new NBTTagCompound();
+				dimTag.setInteger(DIMENSION_ID_TAG_NAME, dimensionKey);
+				int[] packed = new int[infoList.size() * RECORD_SIZE];
+				int index = 0;
+				for(WitherTreeInfo info : infoList) {
+					packed[index++] = info.getCoords().getX();
+					packed[index++] = info.getCoords().getY();
+					packed[index++] = info.getCoords().getZ();
+					packed[index++] = info.getBiomeID();
+				}
+				dimTag.setTag(PACKED_INFO_TAG_NAME, new NBTTagIntArray(packed));
+				witherTreeRegistryDimensionTagList.appendTag(dimTag);
 			}
-			dimTag.setTag("infoList", infoTagList);
-			witherTreeRegistryDimensionTagList.appendTag(dimTag);
+			cachedTagList = witherTreeRegistryDimensionTagList;
 		}
 		// delete current tag
 		tag.removeTag(WITHER_TREE_REGISTRY_TAG_NAME);
 		// add new values
-		tag.setTag(WITHER_TREE_REGISTRY_TAG_NAME, witherTreeRegistryDimensionTagList);
+		tag.setTag(WITHER_TREE_REGISTRY_TAG_NAME, cachedTagList);
 		
 		return tag;		
 	}
@@ -46,6 +46,9 @@ public class TreasureRunes {
 	private static final Map<ResourceLocation, IRune> REGISTRY = new HashMap<>();
 	private static final Multimap<Rarity, IRune> RARITY_REGISTRY = ArrayListMultimap.create();
 	private static final Map<IRune, Item> ITEM_REGISTRY = new HashMap<>();
+	// runestones by network id, assigned in registration order, which is the same on the client and server
+	private static final List<IRune> REGISTRY_BY_ID = new ArrayList<>();
+	private static final Map<ResourceLocation, Integer> IDS = new HashMap<>();
 
 	// RUNE_OF_DAMAGE x2 - SCARCE
 	public static IRune RUNE_OF_MANA;
@@ -150,6 +153,8 @@ public class TreasureRunes {
 		Treasure.LOGGER.debug("registering runestone -> {}", runestone.getName());
 		if (!REGISTRY.containsKey(runestone.getName())) {        	
 			REGISTRY.put(runestone.getName(), runestone);
+			IDS.put(runestone.getName(), REGISTRY_BY_ID.size());
+			REGISTRY_BY_ID.add(runestone);
 		}
 		if (!RARITY_REGISTRY.containsValue(runestone)) {
 			RARITY_REGISTRY.put(runestone.getRarity(), runestone);
@@ -163,6 +168,28 @@ public class TreasureRunes {
 		return Optional.empty();
 	}
 	
+	/**
+	 * 
+	 * @param name
+	 * @return the network id of the runestone or -1 if it is not registered
+	 */
+	public static int getId(ResourceLocation name) {
+		Integer id = IDS.get(name);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * 
+	 * @param id
+	 * @return
+	 */
+	public static Optional<IRune> getById(int id) {
+		if (id >= 0 && id < REGISTRY_BY_ID.size()) {
+			return Optional.of(REGISTRY_BY_ID.get(id));
+		}
+		return Optional.empty();
+	}
+	
 	public static List<IRune> getByRarity(Rarity rarity	) {
 		return (List<IRune>) RARITY_REGISTRY.get(rarity);
 	}
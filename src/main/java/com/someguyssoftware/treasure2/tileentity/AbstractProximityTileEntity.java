@@ -3,24 +3,23 @@
  */
 package com.someguyssoftware.treasure2.tileentity;
 
+import java.util.List;
 import java.util.Random;
 
 import com.someguyssoftware.gottschcore.GottschCore;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.tileentity.AbstractModTileEntity;
-import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.util.ITickable;
 import net.minecraft.world.World;
 
 /**
  * @author Mark Gottschling on Jan 17, 2019
  *
  */
-public abstract class AbstractProximityTileEntity extends AbstractModTileEntity implements IProximityTileEntity, ITickable {
+public abstract class AbstractProximityTileEntity extends AbstractModTileEntity implements IProximityTileEntity, IProximityListener {
 	private double proximity;
 	private boolean isDead = false;
 	
@@ -63,40 +62,70 @@ public abstract class AbstractProximityTileEntity extends AbstractModTileEntity
 	    return tag;
 	}
 	
-	/* (non-Javadoc)
-	 * @see net.minecraft.util.ITickable#update()
+	/**
+	 * Registers with the proximity manager of the world, which ticks this tile entity while players are within its proximity.
+	 */
+	@Override
+	public void onLoad() {
+		super.onLoad();
+		if (!getWorld().isRemote && !isDead()) {
+			ProximityManager.get(getWorld()).register(this);
+		}
+	}
+
+	@Override
+	public void invalidate() {
+		super.invalidate();
+		unregister();
+	}
+
+	@Override
+	public void onChunkUnload() {
+		super.onChunkUnload();
+		unregister();
+	}
+
+	private void unregister() {
+		if (getWorld() != null && !getWorld().isRemote) {
+			ProximityManager.get(getWorld()).unregister(this);
+		}
+	}
+
+	@Override
+	public void onPlayerEnter(EntityPlayer player) {
+	}
+
+	@Override
+	public void onPlayerLeave(EntityPlayer player) {
+	}
+
+	/**
+	 * Checked every tick while players are within the proximity, so an action can still be triggered by a player
+	 * that was already within the proximity when it became triggerable.
 	 */
 	@Override
-	public void update() {
-        if (WorldInfo.isClientSide()) {
-        	return;
-        }      
-        
-    	// get all players within range
-        EntityPlayer player = null;
-
-        boolean isTriggered = false;         
-        double proximitySq = getProximity() * getProximity();
-        if (proximitySq < 1) proximitySq = 1;
-        
-        // for each player
-        for (int playerIndex = 0; playerIndex < getWorld().playerEntities.size(); ++playerIndex) {
-            player = (EntityPlayer)getWorld().playerEntities.get(playerIndex);
-            // get the distance
-            double distanceSq = player.getDistanceSq(this.getPos().add(0.5D, 0.5D, 0.5D));
-//            GottschCore.logger.debug("PTE @ -> {}, proximity -> {}, distance -> {}, triggered -> {}, dead -> {}, result -> {}", 
-//            		this.pos, proximitySq, distanceSq, isTriggered, this.isDead, (!isTriggered && !this.isDead && (distanceSq < proximitySq)) ? "met" : "not met");
-            if (!isTriggered && !this.isDead && (distanceSq < proximitySq)) {
-            	GottschCore.logger.debug("PTE proximity was met.");
-            	isTriggered = true;
-            	// exectute action
-            	execute(this.getWorld(), new Random(), new Coords(this.getPos()), new Coords(player.getPosition()));
-
-            	// NOTE: does not self-destruct that is up to the execute action to perform
-            }
-            
-            if (this.isDead) break;            
-        }
+	public int getProximityTickInterval() {
+		return 1;
+	}
+
+	/**
+	 * Executes the action for the first player within the proximity.
+	 */
+	@Override
+	public void onProximityTick(List<EntityPlayer> players) {
+		if (!isDead() && isTriggerable()) {
+			GottschCore.logger.debug("PTE proximity was met.");
+			execute(this.getWorld(), new Random(), new Coords(this.getPos()), new Coords(players.get(0).getPosition()));
+			// NOTE: does not self-destruct that is up to the execute action to perform
+		}
+	}
+
+	/**
+	 * 
+	 * @return whether a player within the proximity executes the action
+	 */
+	protected boolean isTriggerable() {
+		return true;
 	}
 
 	@Override
@@ -130,6 +159,10 @@ public abstract class AbstractProximityTileEntity extends AbstractModTileEntity
 	 */
 	public void setDead(boolean isDead) {
 		this.isDead = isDead;
+		if (isDead) {
+			// no longer interested in players
+			unregister();
+		}
 	}
 
 }
\ No newline at end of file
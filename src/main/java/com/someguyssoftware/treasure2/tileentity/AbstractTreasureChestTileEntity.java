@@ -14,6 +14,7 @@ import com.someguyssoftware.gottschcore.tileentity.AbstractModTileEntity;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.TreasureChestBlock;
+import com.someguyssoftware.treasure2.chest.ChestRenderState;
 import com.someguyssoftware.treasure2.enums.ChestGeneratorType;
 import com.someguyssoftware.treasure2.enums.Rarity;
 import com.someguyssoftware.treasure2.inventory.AbstractChestContainer;
@@ -121,6 +122,17 @@ public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEnt
 	/** Server sync counter (once per 20 ticks) */
 	public int ticksSinceSync;
 
+	/*
+	 * Client only. The snapshot of the chest taken on the client thread, and what the chest's block model
+	 * last drew into the chunk geometry
+	 */
+	private volatile ChestRenderState renderState;
+	private volatile ChestRenderState chunkRenderState;
+	private volatile boolean renderUpdatePending;
+	// the chunk render state last seen by the client thread, and the world time it was first seen
+	private ChestRenderState seenChunkRenderState;
+	private long chunkRenderTime;
+
 	/** IInventory properties */
 	private NonNullList<ItemStack> items = NonNullList.<ItemStack>withSize(getNumberOfSlots(), ItemStack.EMPTY);
 	private String customName;
@@ -202,6 +214,10 @@ public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEnt
 				this.lidAngle = 0.0F;
 			}
 		}
+
+		if (world.isRemote && updateRenderState()) {
+			requestRenderUpdate();
+		}
 	}
 
 	/**
@@ -429,6 +445,9 @@ public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEnt
 	public void onDataPacket(NetworkManager net, SPacketUpdateTileEntity pkt) {
 		super.onDataPacket(net, pkt);
 		handleUpdateTag(pkt.getNbtCompound());
+		if (updateRenderState()) {
+			requestRenderUpdate();
+		}
 	}
 
 	/**
@@ -460,6 +479,80 @@ public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEnt
 		return world.getBlockState(pos);
 	}
 
+	/**
+	 * 
+	 * @return true if the lid is closed and not in use
+	 */
+	public boolean isLidIdle() {
+		return numPlayersUsing <= 0 && lidAngle <= 0.0F && prevLidAngle <= 0.0F;
+	}
+
+	/**
+	 * Takes a new snapshot of the chest for the block model if the lid or the locks have changed since the last one.
+	 * Called on the client thread.
+	 * @return true if a new snapshot was taken
+	 */
+	public boolean updateRenderState() {
+		ChestRenderState state = renderState;
+		boolean idle = isLidIdle();
+		if (state != null && state.isIdle() == idle && state.hasLocks(getLockStates())) {
+			return false;
+		}
+		renderState = new ChestRenderState(idle, getLockStates());
+		return true;
+	}
+
+	/**
+	 * 
+	 * @return the last snapshot of the chest taken on the client thread, or null if none has been taken
+	 */
+	public ChestRenderState getRenderState() {
+		return renderState;
+	}
+
+	/**
+	 * Records the last snapshot of the chest as drawn by the chunk.
+	 * Called when the chunk is rebuilt, on a chunk render thread.
+	 * @return the snapshot, or null if none has been taken
+	 */
+	public ChestRenderState updateChunkRenderState() {
+		ChestRenderState state = renderState;
+		chunkRenderState = state;
+		renderUpdatePending = false;
+		return state;
+	}
+
+	/**
+	 * 
+	 * @return the snapshot last drawn by the block model, or null if the chunk has not been rebuilt with the chest
+	 */
+	public ChestRenderState getChunkRenderState() {
+		return chunkRenderState;
+	}
+
+	/**
+	 * Called on the client thread.
+	 * @return the ticks since the client thread first saw the chunk render state
+	 */
+	public long getChunkRenderAge() {
+		ChestRenderState state = chunkRenderState;
+		if (state != seenChunkRenderState) {
+			seenChunkRenderState = state;
+			chunkRenderTime = world.getTotalWorldTime();
+		}
+		return world.getTotalWorldTime() - chunkRenderTime;
+	}
+
+	/**
+	 * Requests a rebuild of the chunk geometry of the chest, once until the rebuild happens.
+	 */
+	public void requestRenderUpdate() {
+		if (!renderUpdatePending && world != null) {
+			renderUpdatePending = true;
+			world.markBlockRangeForRenderUpdate(pos, pos);
+		}
+	}
+
 	////////// Custom property modifiers //////////////////////
 	/**
 	 * @return the lockStates
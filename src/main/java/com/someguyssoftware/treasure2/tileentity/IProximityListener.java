@@ -0,0 +1,39 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.tileentity;
+
+import java.util.List;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * A block (tile entity) that is notified by the ProximityManager when players enter or leave its proximity,
+ * and optionally ticked at a fixed interval while players are within its proximity.
+ */
+public interface IProximityListener {
+
+	BlockPos getPos();
+
+	double getProximity();
+
+	void onPlayerEnter(EntityPlayer player);
+
+	void onPlayerLeave(EntityPlayer player);
+
+	/**
+	 * 
+	 * @return the number of ticks between calls to onProximityTick() while players are within proximity, or 0 for none
+	 */
+	default int getProximityTickInterval() {
+		return 0;
+	}
+
+	/**
+	 * Called at the proximity tick interval while players are within proximity.
+	 * @param players the players within proximity
+	 */
+	default void onProximityTick(List<EntityPlayer> players) {
+	}
+}
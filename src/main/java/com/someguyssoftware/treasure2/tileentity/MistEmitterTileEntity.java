@@ -3,61 +3,77 @@
  */
 package com.someguyssoftware.treasure2.tileentity;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import com.someguyssoftware.gottschcore.tileentity.AbstractModTileEntity;
-import com.someguyssoftware.gottschcore.world.WorldInfo;
-import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.block.WitherLogSoulBlock;
 
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.util.ITickable;
 
 /**
+ * Does not tick; the players within proximity are maintained by the ProximityManager of the server world,
+ * which also ticks the emitter at a low frequency while players are nearby to apply the effects of its mist.
  * @author Mark Gottschling on Feb 16, 2020
  *
  */
-public class MistEmitterTileEntity extends AbstractModTileEntity implements ITickable {
+public class MistEmitterTileEntity extends AbstractModTileEntity implements IProximityListener {
 	public static final float DEFAULT_PROXIMITY = 5.0F;
+	private static final int MIST_EFFECT_INTERVAL = 20;
 	private float proximity = DEFAULT_PROXIMITY;
-	private boolean active = false;
-	private List<EntityPlayer> playersWithinProximity;
 
 	/**
-	 * 
+	 * Registers with the proximity manager of the server world.
 	 */
-	public MistEmitterTileEntity() {
-		playersWithinProximity = Collections.synchronizedList(new ArrayList<>());
+	@Override
+	public void onLoad() {
+		super.onLoad();
+		if (!getWorld().isRemote) {
+			ProximityManager.get(getWorld()).register(this);
+		}
 	}
-	
+
+	@Override
+	public void invalidate() {
+		super.invalidate();
+		unregister();
+	}
+
+	@Override
+	public void onChunkUnload() {
+		super.onChunkUnload();
+		unregister();
+	}
+
+	private void unregister() {
+		if (getWorld() != null && !getWorld().isRemote) {
+			ProximityManager.get(getWorld()).unregister(this);
+		}
+	}
+
+	@Override
+	public void onPlayerEnter(EntityPlayer player) {
+	}
+
 	@Override
-	public void update() {
-        if (WorldInfo.isServerSide()) {
-        	return;
-        }
+	public void onPlayerLeave(EntityPlayer player) {
+	}
 
-    	// get all players within range
-        EntityPlayer player = null;
-        double proximitySq = getProximity() * getProximity();
+	@Override
+	public int getProximityTickInterval() {
+		return MIST_EFFECT_INTERVAL;
+	}
 
-        // clear list
-        getPlayersWithinProximity().clear();
-        setActive(false);
-        
-        // for each player
-        for (int playerIndex = 0; playerIndex < getWorld().playerEntities.size(); ++playerIndex) {
-            player = (EntityPlayer)getWorld().playerEntities.get(playerIndex);
-            // get the distance
-            double distanceSq = player.getDistanceSq(this.getPos().add(0.5D, 0.5D, 0.5D));
-           
-            if (distanceSq < proximitySq) {
-            	// add player to list
-            	getPlayersWithinProximity().add(player); // TODO this should be wrapped in a synchronized block
-            	setActive(true);
-            }
-        }
+	/**
+	 * Applies the effects of the mist to the players within the mist volume of the emitting block.
+	 */
+	@Override
+	public void onProximityTick(List<EntityPlayer> players) {
+		IBlockState state = getWorld().getBlockState(getPos());
+		if (state.getBlock() instanceof WitherLogSoulBlock) {
+			((WitherLogSoulBlock) state.getBlock()).inflictMistEffects(getWorld(), getPos(), state, players, getWorld().rand);
+		}
 	}
 	
 	/**
@@ -77,23 +93,8 @@ public class MistEmitterTileEntity extends AbstractModTileEntity implements ITic
 	    return tag;
 	}
 
-	public synchronized List<EntityPlayer> getPlayersWithinProximity() {
-		return playersWithinProximity;
-	}
-
-	private synchronized void setPlayersWithinProximity(List<EntityPlayer> playersWithinProximity) {
-		this.playersWithinProximity = playersWithinProximity;
-	}
-
-	public synchronized boolean isActive() {
-		return active;
-	}
-
-	public synchronized void setActive(boolean active) {
-		this.active = active;
-	}
-
-	public float getProximity() {
+	@Override
+	public double getProximity() {
 		return proximity;
 	}
 
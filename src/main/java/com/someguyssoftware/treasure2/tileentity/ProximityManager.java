@@ -0,0 +1,232 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.tileentity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * Tracks the players within the proximity of the registered listeners of a world.
+ * Once per tick the players are sorted into chunk buckets, and each listener only looks up the buckets of the chunks
+ * within its reach, or scans the buckets if there are fewer of them than chunks. Listeners are notified only when
+ * a player enters or leaves their proximity, and ticked at their own interval only while players are within it, so the listening tile entities do not need to tick.
+ * There is a manager per server world; each is only accessed by the server thread.
+ */
+public class ProximityManager {
+	private static final Map<World, ProximityManager> MANAGERS = new WeakHashMap<>();
+
+	private final World world;
+	private final List<ListenerEntry> entries = new ArrayList<>();
+	private final Map<IProximityListener, ListenerEntry> entriesByListener = new IdentityHashMap<>();
+	// listeners registered during a tick are added at the start of the next tick
+	private final List<ListenerEntry> addedEntries = new ArrayList<>();
+	private final List<Bucket> buckets = new ArrayList<>();
+	private final Map<Long, Bucket> bucketsByChunk = new HashMap<>();
+	private final List<EntityPlayer> playersInRange = new ArrayList<>();
+
+	private ProximityManager(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * 
+	 * @param world the server world
+	 * @return
+	 */
+	public static ProximityManager get(World world) {
+		return MANAGERS.computeIfAbsent(world, ProximityManager::new);
+	}
+
+	/**
+	 * 
+	 * @param listener
+	 */
+	public void register(IProximityListener listener) {
+		if (!entriesByListener.containsKey(listener)) {
+			ListenerEntry entry = new ListenerEntry(listener);
+			entriesByListener.put(listener, entry);
+			addedEntries.add(entry);
+		}
+	}
+
+	/**
+	 * Unregisters the listener, without notifying it of the players leaving. Safe to call during a tick.
+	 * @param listener
+	 */
+	public void unregister(IProximityListener listener) {
+		ListenerEntry entry = entriesByListener.remove(listener);
+		if (entry != null) {
+			entry.removed = true;
+			addedEntries.remove(entry);
+		}
+	}
+
+	/**
+	 * 
+	 */
+	public void tick() {
+		if (!addedEntries.isEmpty()) {
+			entries.addAll(addedEntries);
+			addedEntries.clear();
+		}
+		if (entries.isEmpty()) {
+			return;
+		}
+
+		// sort the players into chunk buckets
+		buckets.clear();
+		bucketsByChunk.clear();
+		for (EntityPlayer player : world.playerEntities) {
+			int chunkX = MathHelper.floor(player.posX) >> 4;
+			int chunkZ = MathHelper.floor(player.posZ) >> 4;
+			Bucket bucket = bucketsByChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+			if (bucket == null) {
+				bucket = new Bucket(chunkX, chunkZ);
+				bucketsByChunk.put(ChunkPos.asLong(chunkX, chunkZ), bucket);
+				buckets.add(bucket);
+			}
+			bucket.players.add(player);
+		}
+
+		for (int index = 0; index < entries.size(); index++) {
+			ListenerEntry entry = entries.get(index);
+			if (!entry.removed) {
+				update(entry);
+			}
+		}
+		entries.removeIf(e -> e.removed);
+	}
+
+	/**
+	 * 
+	 * @param entry
+	 */
+	private void update(ListenerEntry entry) {
+		BlockPos pos = entry.listener.getPos();
+		double proximity = Math.max(1D, entry.listener.getProximity());
+		double proximitySq = proximity * proximity;
+		double x = pos.getX() + 0.5D;
+		double y = pos.getY() + 0.5D;
+		double z = pos.getZ() + 0.5D;
+		int minChunkX = MathHelper.floor(x - proximity) >> 4;
+		int maxChunkX = MathHelper.floor(x + proximity) >> 4;
+		int minChunkZ = MathHelper.floor(z - proximity) >> 4;
+		int maxChunkZ = MathHelper.floor(z + proximity) >> 4;
+
+		playersInRange.clear();
+		if ((maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1) > buckets.size()) {
+			for (Bucket bucket : buckets) {
+				if (bucket.chunkX >= minChunkX && bucket.chunkX <= maxChunkX && bucket.chunkZ >= minChunkZ && bucket.chunkZ <= maxChunkZ) {
+					addPlayersInRange(bucket, x, y, z, proximitySq);
+				}
+			}
+		}
+		else {
+			for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+				for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+					Bucket bucket = bucketsByChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+					if (bucket != null) {
+						addPlayersInRange(bucket, x, y, z, proximitySq);
+					}
+				}
+			}
+		}
+		if (playersInRange.isEmpty() && entry.players.isEmpty()) {
+			return;
+		}
+
+		// notify of the players that left
+		for (int index = entry.players.size() - 1; index >= 0; index--) {
+			EntityPlayer player = entry.players.get(index);
+			if (!playersInRange.contains(player)) {
+				entry.players.remove(index);
+				entry.listener.onPlayerLeave(player);
+				if (entry.removed) {
+					return;
+				}
+			}
+		}
+		// notify of the players that entered
+		for (EntityPlayer player : playersInRange) {
+			if (!entry.players.contains(player)) {
+				entry.players.add(player);
+				entry.listener.onPlayerEnter(player);
+				if (entry.removed) {
+					return;
+				}
+			}
+		}
+
+		// tick the listener while players are within proximity, staggered by position
+		int interval = entry.listener.getProximityTickInterval();
+		if (interval > 0 && !entry.players.isEmpty() && (world.getTotalWorldTime() + pos.hashCode()) % interval == 0) {
+			entry.listener.onProximityTick(entry.players);
+		}
+	}
+
+	private void addPlayersInRange(Bucket bucket, double x, double y, double z, double proximitySq) {
+		for (EntityPlayer player : bucket.players) {
+			if (player.getDistanceSq(x, y, z) < proximitySq) {
+				playersInRange.add(player);
+			}
+		}
+	}
+
+	private static class ListenerEntry {
+		private final IProximityListener listener;
+		private final List<EntityPlayer> players = new ArrayList<>(2);
+		private boolean removed;
+
+		public ListenerEntry(IProximityListener listener) {
+			this.listener = listener;
+		}
+	}
+
+	private static class Bucket {
+		private final int chunkX;
+		private final int chunkZ;
+		private final List<EntityPlayer> players = new ArrayList<>(2);
+
+		public Bucket(int chunkX, int chunkZ) {
+			this.chunkX = chunkX;
+			this.chunkZ = chunkZ;
+		}
+	}
+
+	@Mod.EventBusSubscriber
+	public static class EventHandler {
+		@SubscribeEvent
+		public static void onWorldTick(TickEvent.WorldTickEvent event) {
+			if (event.phase != TickEvent.Phase.END || event.side != Side.SERVER) {
+				return;
+			}
+			ProximityManager manager = MANAGERS.get(event.world);
+			if (manager != null) {
+				manager.tick();
+			}
+		}
+
+		@SubscribeEvent
+		public static void onWorldUnload(WorldEvent.Unload event) {
+			if (!event.getWorld().isRemote) {
+				MANAGERS.remove(event.getWorld());
+			}
+		}
+	}
+}
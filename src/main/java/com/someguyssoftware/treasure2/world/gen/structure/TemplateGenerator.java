@@ -36,6 +36,7 @@ import com.someguyssoftware.treasure2.generator.TemplateGeneratorData;
 import com.someguyssoftware.treasure2.meta.StructureMeta;
 import com.someguyssoftware.treasure2.registry.TreasureMetaRegistry;
 import com.someguyssoftware.treasure2.registry.TreasureTemplateRegistry;
+import com.someguyssoftware.treasure2.worldgen.StructurePlacement;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockHorizontal;
@@ -122,15 +123,23 @@ public class TemplateGenerator implements ITemplateGenerator<GeneratorResult<Tem
 		// update the spawn coords with the offset
 		ICoords spawnCoords = coords.add(0, offset, 0);
 
+		/*
+		 * the template places its blocks directly, so it can't be split across chunks.
+		 * don't place it if any chunk of its footprint is not available.
+		 */
+		if (!isFootprintAvailable(world, templateHolder, placement, spawnCoords)) {
+			return result.fail();
+		}
+
 		// generate the structure
 		if (decayProcessor == null) {
 			Treasure.LOGGER.debug("no decay processor found.");
 			template.addBlocksToWorld(world, spawnCoords.toPos(), placement, getNullBlock(),
-					TreasureTemplateRegistry.getManager().getReplacementMap(), 3);
+					TreasureTemplateRegistry.getManager().getReplacementMap(), StructurePlacement.getTemplateFlags(world));
 		} else {
 			decayProcessor.setDecayStartY(Math.abs(offset));
 			template.addBlocksToWorld(world, spawnCoords.toPos(), decayProcessor, placement, getNullBlock(),
-					TreasureTemplateRegistry.getManager().getReplacementMap(), 3);
+					TreasureTemplateRegistry.getManager().getReplacementMap(), StructurePlacement.getTemplateFlags(world));
 		}
 
 		// process all markers and adding them to the result data (absolute positioned)
@@ -193,6 +202,46 @@ public class TemplateGenerator implements ITemplateGenerator<GeneratorResult<Tem
 		return result.success();
 	}
 
+	/**
+	 * Moves the coords so that the footprint of the template is in the chunks being populated, if it fits in them.
+	 * @param world
+	 * @param templateHolder
+	 * @param placement
+	 * @param coords
+	 * @return
+	 */
+	public ICoords fitFootprint(World world, TemplateHolder templateHolder, PlacementSettings placement, ICoords coords) {
+		BlockPos corner = getFootprintCorner(templateHolder, placement);
+		return coords.add(StructurePlacement.getOffsetIntoWindow(world, coords.getX() + Math.min(0, corner.getX()), coords.getZ() + Math.min(0, corner.getZ()),
+				coords.getX() + Math.max(0, corner.getX()), coords.getZ() + Math.max(0, corner.getZ())));
+	}
+
+	/**
+	 * Checks the footprint of the template before anything reads it, so that a skipped template doesn't load chunks.
+	 * @param world
+	 * @param templateHolder
+	 * @param placement
+	 * @param coords
+	 * @return false, and the skip is recorded, if any chunk of the footprint is not available
+	 */
+	public boolean isFootprintAvailable(World world, TemplateHolder templateHolder, PlacementSettings placement, ICoords coords) {
+		BlockPos corner = getFootprintCorner(templateHolder, placement);
+		if (!StructurePlacement.isAreaAvailable(world, coords.getX() + Math.min(0, corner.getX()), coords.getZ() + Math.min(0, corner.getZ()),
+				coords.getX() + Math.max(0, corner.getX()), coords.getZ() + Math.max(0, corner.getZ()))) {
+			Treasure.LOGGER.debug("template -> {} reaches chunks that are not populated", templateHolder.getLocation());
+			StructurePlacement.recordSkipped(world);
+			return false;
+		}
+		return true;
+	}
+
+	/*
+	 * the corner opposite of the spawn coords, relative to them
+	 */
+	private BlockPos getFootprintCorner(TemplateHolder templateHolder, PlacementSettings placement) {
+		return GottschTemplate.transformedBlockPos(placement, templateHolder.getTemplate().getSize().add(-1, 0, -1));
+	}
+
 	/**
 	 * 
 	 * @param contextIn
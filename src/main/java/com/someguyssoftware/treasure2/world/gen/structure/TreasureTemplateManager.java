@@ -19,25 +19,28 @@
  */
 package com.someguyssoftware.treasure2.world.gen.structure;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Random;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -48,6 +51,8 @@ import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Table;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.someguyssoftware.gottschcore.meta.IMetaArchetype;
 import com.someguyssoftware.gottschcore.meta.IMetaType;
 import com.someguyssoftware.gottschcore.mod.IMod;
@@ -90,7 +95,26 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	
 	private final Table<IMetaArchetype, IMetaType, List<TemplateHolder>> templatesByArchetypeType = HashBasedTable.create();
 
-	private final Table<String, Integer, List<TemplateHolder>> templatesByArchetypeTypeBiome = HashBasedTable.create();
+	/*
+	 * templates by archetype/type ordinal (see index()), each with the set of biome IDs it is allowed in
+	 */
+	private final BiomeIndex[] templatesByArchetypeTypeBiome = new BiomeIndex[ARCHETYPE_COUNT * TYPE_COUNT];
+
+	/*
+	 * the IDs of all the registered non-end, non-nether biomes, built on first use
+	 */
+	private BitSet allBiomes;
+
+	private static final int ARCHETYPE_COUNT = StructureArchetype.values().length;
+	private static final int TYPE_COUNT = StructureType.values().length;
+	private static final int BIOME_COUNT = 256;
+	private static final TemplateHolder[] NO_TEMPLATES = new TemplateHolder[0];
+
+	/*
+	 * parsed templates by id, with the hash of the file contents and parse parameters they were parsed from,
+	 * so unchanged files are not re-parsed on the next world load. a changed file replaces the template of its id.
+	 */
+	private static final Map<String, ParsedTemplate> PARSED_TEMPLATES = new ConcurrentHashMap<>();
 
 	private static List<String> FOLDER_LOCATIONS = ImmutableList.of("surface", "subterranean", "submerged", "float", "wells");
 	
@@ -121,13 +145,19 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 				templatesByArchetypeType.put(archetype, type, new ArrayList<>(5));
 			}
 		}
+		for (int index = 0; index < templatesByArchetypeTypeBiome.length; index++) {
+			templatesByArchetypeTypeBiome[index] = new BiomeIndex();
+		}
 	}
 
 	/**
 	 * 
 	 */
 	public void clear() {
-		templatesByArchetypeTypeBiome.clear();
+		for (BiomeIndex biomeIndex : templatesByArchetypeTypeBiome) {
+			biomeIndex.clear();
+		}
+		allBiomes = null;
 		templatesByArchetypeType.clear();
 	}
 	
@@ -218,17 +248,53 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	private void readTemplateFromStream(String id, InputStream stream, List<Block> markerBlocks, 
 			Map<IBlockState, IBlockState> replacementBlocks) throws IOException {
 		
-		NBTTagCompound nbttagcompound = CompressedStreamTools.readCompressed(stream);
+		byte[] bytes = IOUtils.toByteArray(stream);
+		String hash = hash(bytes, markerBlocks, replacementBlocks);
+		ParsedTemplate parsed = PARSED_TEMPLATES.get(id);
+		GottschTemplate template;
+		if (parsed == null || !parsed.hash.equals(hash)) {
+			NBTTagCompound nbttagcompound = CompressedStreamTools.readCompressed(new ByteArrayInputStream(bytes));
+
+			if (!nbttagcompound.hasKey("DataVersion", 99)) {
+				nbttagcompound.setInteger("DataVersion", 500);
+			}
 
-		if (!nbttagcompound.hasKey("DataVersion", 99)) {
-			nbttagcompound.setInteger("DataVersion", 500);
+			template = new GottschTemplate();
+			template.read(getFixer().process(FixTypes.STRUCTURE, nbttagcompound), markerBlocks, replacementBlocks);
+			PARSED_TEMPLATES.put(id, new ParsedTemplate(hash, template));
+		}
+		else {
+			Treasure.LOGGER.debug("using parsed template for unchanged file -> {}", id);
+			template = parsed.template;
 		}
-
-		GottschTemplate template = new GottschTemplate();
-		template.read(getFixer().process(FixTypes.STRUCTURE, nbttagcompound), markerBlocks, replacementBlocks);
 		Treasure.LOGGER.debug("adding template to map with key -> {}", id);
 		this.getTemplates().put(id, template);
 	}
+
+	/*
+	 * the marker and replacement blocks are resolved while parsing, so they are part of the hash
+	 */
+	private static String hash(byte[] bytes, List<Block> markerBlocks, Map<IBlockState, IBlockState> replacementBlocks) {
+		Hasher hasher = Hashing.sha1().newHasher().putBytes(bytes);
+		if (markerBlocks != null) {
+			for (Block block : markerBlocks) {
+				hasher.putString(String.valueOf(block.getRegistryName()), StandardCharsets.UTF_8).putByte((byte) 0);
+			}
+		}
+		hasher.putByte((byte) 1);
+		if (replacementBlocks != null) {
+			// the order of a map's entries is not part of its value
+			List<String> replacements = new ArrayList<>(replacementBlocks.size());
+			for (Map.Entry<IBlockState, IBlockState> entry : replacementBlocks.entrySet()) {
+				replacements.add(entry.getKey() + "=" + entry.getValue());
+			}
+			Collections.sort(replacements);
+			for (String replacement : replacements) {
+				hasher.putString(replacement, StandardCharsets.UTF_8).putByte((byte) 0);
+			}
+		}
+		return hasher.hash().toString();
+	}
 	
 	/**
 	 * 
@@ -307,7 +373,7 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 						holder.getDecayRuleSetLocation());
 
 				// TODO could move the wrapping for into this method instead, then could lose the archetype that is passed in. ***!!!
-				mapToTemplatesByArchetypeBiome(metaResourceLocation, resourceLocation, decayRuleSetResourceLocation, archetype, meta.getType(), template);
+				mapToTemplatesByArchetypeBiome(holder, meta, archetype, meta.getType());
 			}
 		}
 		else {
@@ -429,7 +495,7 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 							holder.getDecayRuleSetLocation());
 
 					// TODO could move the wrapping for into this method instead, then could lose the archetype that is passed in. ***!!!
-					mapToTemplatesByArchetypeBiome(metaResourceLocation, loc, decayRuleSetResourceLocation, archetype, meta.getType(), template);
+					mapToTemplatesByArchetypeBiome(holder, meta, archetype, meta.getType());
 				}
 			}
 		}
@@ -439,94 +505,118 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	}
 
 	/**
-	 * 
-	 * @param metaResourceLocation
-	 * @param location
+	 * Adds the holder to the archetype/type index with the set of biome IDs allowed by the meta.
+	 * @param holder
+	 * @param meta
 	 * @param archetype
-	 * @param template
+	 * @param type
 	 */
-	private void mapToTemplatesByArchetypeBiome(ResourceLocation metaResourceLocation, 
-			ResourceLocation location, List<ResourceLocation> decayResourceLocation, IMetaArchetype archetype, IMetaType type, 
-			Template template) {
+	private void mapToTemplatesByArchetypeBiome(TemplateHolder holder, StructureMeta meta, IMetaArchetype archetype, IMetaType type) {
+		int index = index(archetype, type);
+		if (index < 0) {
+			Treasure.LOGGER.debug("Unknown archetype:type -> {}:{}", archetype.getName(), type.getName());
+			return;
+		}
 
-		// build mapping key
-		String key = archetype.getName() + ":" + type.getName();
-		
-		// find the meta for the template
-		StructureMeta meta = (StructureMeta) TreasureMetaRegistry.get(metaResourceLocation.toString());
-		
-		// create a holder for the template
-		TemplateHolder holder = new TemplateHolder()
-				.setMetaLocation(metaResourceLocation)
-				.setDecayRuleSetLocation(decayResourceLocation)
-				.setLocation(location)
-				.setTemplate(template);
-		
 		// map according biomes - @see DungeonConfigManager @ line 55.
-		// TODO somehow extract the indexing of biomes to a helper class
+		BitSet biomeIDs;
 		if (meta.getBiomeWhiteList().contains("*")
 				|| (meta.getBiomeWhiteList().isEmpty() && meta.getBiomeBlackList().isEmpty())) {
-			Set<Biome> biomes = (Set<Biome>) ForgeRegistries.BIOMES.getValuesCollection();
-			for (Biome biome : biomes) {
-				if (!BiomeDictionary.hasType(biome, Type.END)
-						&& !BiomeDictionary.hasType(biome, Type.NETHER)) {
-					Integer biomeID = Biome.getIdForBiome(biome);
-					if (!templatesByArchetypeTypeBiome.contains(key, biomeID)) {
-						templatesByArchetypeTypeBiome.put(key, biomeID, new ArrayList<>(3));
-					}					
-					templatesByArchetypeTypeBiome.get(key, biomeID).add(holder);
+			biomeIDs = getAllBiomes();
+		} else if (!meta.getBiomeWhiteList().isEmpty()) {
+			biomeIDs = new BitSet(BIOME_COUNT);
+			for (String b : meta.getBiomeWhiteList()) {
+				String biomeName = b.trim().toLowerCase();
+				Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(biomeName));
+				if (biome == null) {
+					Treasure.LOGGER.debug("Unable to locate biome for name -> {}", biomeName);
+					continue;
+				}
+				if (isAllowed(biome)) {
+					biomeIDs.set(Biome.getIdForBiome(biome));
 				}
 			}
 		} else {
-			if (!meta.getBiomeWhiteList().isEmpty()) {
-				for (String b : meta.getBiomeWhiteList()) {
-					String biomeName = b.trim().toLowerCase();
-					Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(biomeName));
-					if (biome == null) {
-						Treasure.LOGGER.debug("Unable to locate biome for name -> {}", biomeName);
-						continue;
-					}
-					if (biome != null && !BiomeDictionary.hasType(biome, Type.END)
-							&& !BiomeDictionary.hasType(biome, Type.NETHER)) {
-						Integer biomeID = Biome.getIdForBiome(biome);
-						if (!templatesByArchetypeTypeBiome.contains(key, biomeID)) {
-							templatesByArchetypeTypeBiome.put(key, biomeID, new ArrayList<>(3));
-						}
-						templatesByArchetypeTypeBiome.get(key, biomeID).add(holder);
-					}
+			// all the biomes except the black listed ones
+			biomeIDs = (BitSet) getAllBiomes().clone();
+			for (String b : meta.getBiomeBlackList()) {
+				Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(b.trim().toLowerCase()));
+				if (biome != null) {
+					biomeIDs.clear(Biome.getIdForBiome(biome));
 				}
-			} else if (!meta.getBiomeBlackList().isEmpty()) {
-				/*
-				 * add all the black listed biome IDs to a list
-				 */
-				List<Integer> blackListBiomeIDs = new ArrayList<>();
-				for (String b : meta.getBiomeBlackList()) {
-					Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(b.trim().toLowerCase()));
-					if (biome != null) {
-						Integer biomeID = Biome.getIdForBiome(biome);
-						if (biomeID != null) blackListBiomeIDs.add(biomeID);
-					}
-					else {
-						Treasure.LOGGER.debug("Unable to locate biome for name -> {}", b);
-						continue;
-					}
+				else {
+					Treasure.LOGGER.debug("Unable to locate biome for name -> {}", b);
 				}
-				// get the set of all biomes
-				Set<Biome> biomes = (Set<Biome>) ForgeRegistries.BIOMES.getValuesCollection();
-				// for each biome is the list
-				for (Biome biome : biomes) {
-					if (!blackListBiomeIDs.contains(Biome.getIdForBiome(biome))
-							&& !BiomeDictionary.hasType(biome, Type.END)
-							&& !BiomeDictionary.hasType(biome, Type.NETHER)) {
-						Integer biomeID = Biome.getIdForBiome(biome);
-						if (!templatesByArchetypeTypeBiome.contains(key, biomeID)) {
-							templatesByArchetypeTypeBiome.put(key, biomeID, new ArrayList<>(3));
-						}
-						templatesByArchetypeTypeBiome.get(key, biomeID).add(holder);
-					}
+			}
+		}
+		templatesByArchetypeTypeBiome[index].add(holder, biomeIDs);
+	}
+
+	/**
+	 * 
+	 * @return the IDs of all the registered biomes that are not end or nether biomes. Do not modify.
+	 */
+	private BitSet getAllBiomes() {
+		if (allBiomes == null) {
+			allBiomes = new BitSet(BIOME_COUNT);
+			for (Biome biome : ForgeRegistries.BIOMES.getValuesCollection()) {
+				if (isAllowed(biome)) {
+					allBiomes.set(Biome.getIdForBiome(biome));
 				}
 			}
-		}		
+		}
+		return allBiomes;
+	}
+
+	/**
+	 * 
+	 * @param biome
+	 * @return
+	 */
+	private static boolean isAllowed(Biome biome) {
+		int biomeID = Biome.getIdForBiome(biome);
+		return biomeID >= 0 && biomeID < BIOME_COUNT
+				&& !BiomeDictionary.hasType(biome, Type.END)
+				&& !BiomeDictionary.hasType(biome, Type.NETHER);
+	}
+
+	/**
+	 * Meta archetypes and types are matched to the Treasure enums by name.
+	 * @param archetype
+	 * @param type
+	 * @return the index of the archetype/type or -1 if either is unknown
+	 */
+	private static int index(IMetaArchetype archetype, IMetaType type) {
+		int archetypeIndex = -1;
+		for (StructureArchetype a : StructureArchetype.values()) {
+			if (a.getName().equalsIgnoreCase(archetype.getName())) {
+				archetypeIndex = a.ordinal();
+				break;
+			}
+		}
+		int typeIndex = -1;
+		for (StructureType t : StructureType.values()) {
+			if (t.getName().equalsIgnoreCase(type.getName())) {
+				typeIndex = t.ordinal();
+				break;
+			}
+		}
+		return archetypeIndex < 0 || typeIndex < 0 ? -1 : index(archetypeIndex, typeIndex);
+	}
+
+	private static int index(int archetypeIndex, int typeIndex) {
+		return archetypeIndex * TYPE_COUNT + typeIndex;
+	}
+
+	/**
+	 * 
+	 * @param archetype
+	 * @param type
+	 * @param biomeID
+	 * @return the template holders of the archetype/type that are allowed in the biome. Do not modify.
+	 */
+	public TemplateHolder[] getTemplateHolders(StructureArchetype archetype, StructureType type, int biomeID) {
+		return templatesByArchetypeTypeBiome[index(archetype.ordinal(), type.ordinal())].get(biomeID);
 	}
 
 	/**
@@ -538,22 +628,14 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	 */
 	public TemplateHolder getTemplate(World world, Random random, StructureArchetype archetype, StructureType type, Biome biome) {
 		// get structure by archetype (subterranean) and type (room)
-		String key =archetype.getName()	+ ":" + type.getName();
-		
-		Integer biomeID = Biome.getIdForBiome(biome);
-		
-		List<TemplateHolder> templateHolders = getTemplatesByArchetypeTypeBiomeTable().get(key, biomeID);
-		if (templateHolders == null || templateHolders.isEmpty()) {
-			Treasure.LOGGER.debug("could not find template holders for archetype:type, biome -> {} {}", key, biomeID);
+		int biomeID = Biome.getIdForBiome(biome);
+		TemplateHolder[] templateHolders = getTemplateHolders(archetype, type, biomeID);
+		if (templateHolders.length == 0) {
+			Treasure.LOGGER.debug("could not find template holders for archetype:type, biome -> {}:{} {}", archetype.getName(), type.getName(), biomeID);
 			return null;
 		}
 		
-		TemplateHolder holder = templateHolders.get(random.nextInt(templateHolders.size()));
-		if (holder == null) {
-			Treasure.LOGGER.debug("could not find random template holder.");
-			return null;
-		}
-
+		TemplateHolder holder = templateHolders[random.nextInt(templateHolders.length)];
 		Treasure.LOGGER.debug("selected template holder -> {} : {}", holder.getLocation(), holder.getMetaLocation());
 
 		return holder;
@@ -641,24 +723,25 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 		}
 		sb.append(div);
 		sb.append(String.format(heading, "[Template by Archetype:Type | Biome]"));
-		Map<String, Map<Integer, List<TemplateHolder>>> map = getTemplatesByArchetypeTypeBiomeTable().rowMap();
-		if (map == null || map.isEmpty()) { Treasure.LOGGER.debug("template biome map is null/empty");}
-		Treasure.LOGGER.debug("biome map.size -> {}", map.size());
-		
-		for (String row : map.keySet()) {
-			Treasure.LOGGER.debug("template biome row key -> {}", row);
-			Map<Integer, List<TemplateHolder>> tmp = map.get(row);
-			for (Entry<Integer, List<TemplateHolder>> entry : tmp.entrySet()) {
-				String templateNames = entry.getValue().stream().map(a -> a.getLocation().toString()).collect(Collectors.joining(", "));
-				Biome biome = Biome.getBiome(entry.getKey());
-				String biomeName = "";
-				if (biome != null) {
-					biomeName = WorldInfo.isClientSide()  ? biome.getBiomeName() : String.valueOf(Biome.getIdForBiome(biome)) ;
-				}
-				else {
-					biomeName = String.format("No biome for {}", entry.getKey());
+		for (StructureArchetype archetype : StructureArchetype.values()) {
+			for (StructureType type : StructureType.values()) {
+				String row = archetype.getName() + ":" + type.getName();
+				for (int biomeID = 0; biomeID < BIOME_COUNT; biomeID++) {
+					TemplateHolder[] holders = getTemplateHolders(archetype, type, biomeID);
+					if (holders.length == 0) {
+						continue;
+					}
+					String templateNames = Arrays.stream(holders).map(a -> a.getLocation().toString()).collect(Collectors.joining(", "));
+					Biome biome = Biome.getBiome(biomeID);
+					String biomeName = "";
+					if (biome != null) {
+						biomeName = WorldInfo.isClientSide()  ? biome.getBiomeName() : String.valueOf(biomeID) ;
+					}
+					else {
+						biomeName = String.format("No biome for %d", biomeID);
+					}
+					sb.append(String.format(format2, row, biomeName, templateNames));
 				}
-				sb.append(String.format(format2, row, biomeName, templateNames));
 			}
 		}
 		
@@ -677,14 +760,6 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 		return templatesByResourceLocation;
 	}
 	
-	/**
-	 * 
-	 * @return
-	 */
-	public Table<String, Integer, List<TemplateHolder>> getTemplatesByArchetypeTypeBiomeTable() {
-		return templatesByArchetypeTypeBiome;
-	}
-
 	public File getWorldSaveFolder() {
 		return worldSaveFolder;
 	}
@@ -692,4 +767,54 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	public void setWorldSaveFolder(File worldSaveFolder) {
 		this.worldSaveFolder = worldSaveFolder;
 	}
+
+	private static class ParsedTemplate {
+		private final String hash;
+		private final GottschTemplate template;
+
+		public ParsedTemplate(String hash, GottschTemplate template) {
+			this.hash = hash;
+			this.template = template;
+		}
+	}
+
+	/*
+	 * The template holders of one archetype/type with the biome IDs each is allowed in.
+	 * The holders of a biome are resolved into an array on the first lookup of that biome.
+	 */
+	private static class BiomeIndex {
+		private final List<TemplateHolder> holders = new ArrayList<>(3);
+		private final List<BitSet> biomeIDs = new ArrayList<>(3);
+		private final TemplateHolder[][] holdersByBiome = new TemplateHolder[BIOME_COUNT][];
+
+		public void add(TemplateHolder holder, BitSet biomes) {
+			holders.add(holder);
+			biomeIDs.add(biomes);
+			Arrays.fill(holdersByBiome, null);
+		}
+
+		public TemplateHolder[] get(int biomeID) {
+			if (biomeID < 0 || biomeID >= BIOME_COUNT) {
+				return NO_TEMPLATES;
+			}
+			TemplateHolder[] resolved = holdersByBiome[biomeID];
+			if (resolved == null) {
+				List<TemplateHolder> list = new ArrayList<>(holders.size());
+				for (int index = 0; index < holders.size(); index++) {
+					if (biomeIDs.get(index).get(biomeID)) {
+						list.add(holders.get(index));
+					}
+				}
+				resolved = list.isEmpty() ? NO_TEMPLATES : list.toArray(new TemplateHolder[list.size()]);
+				holdersByBiome[biomeID] = resolved;
+			}
+			return resolved;
+		}
+
+		public void clear() {
+			holders.clear();
+			biomeIDs.clear();
+			Arrays.fill(holdersByBiome, null);
+		}
+	}
 }
\ No newline at end of file
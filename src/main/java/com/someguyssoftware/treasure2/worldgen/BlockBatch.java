@@ -0,0 +1,187 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.someguyssoftware.treasure2.Treasure;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockFalling;
+import net.minecraft.block.BlockLiquid;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraftforge.fluids.IFluidBlock;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+
+/**
+ * Writes block states directly into the storage sections of loaded chunks, without the per block
+ * neighbour updates, relighting and client packets of World.setBlockState().
+ * The height maps of the written columns are kept up to date, so surface searches within a batch see the written blocks.
+ * When the batch is finished, each written chunk is relit and resent to its watching players once.
+ * Blocks that need an update to behave, ex. falling blocks of traps and liquids, are updated when the batch is finished.
+ * Blocks with tile entities, or replacing blocks with tile entities, are set through the world.
+ */
+public class BlockBatch {
+	private static final int ALL_SECTIONS = 0xFFFF;
+	// the value of an entry of the precipitation height map that is recalculated when it is next read
+	private static final int UNKNOWN_PRECIPITATION_HEIGHT = -999;
+	private static final Field PRECIPITATION_HEIGHT_MAP = ReflectionHelper.findField(Chunk.class, "precipitationHeightMap", "field_76638_b");
+
+	private final World world;
+	private final Set<Chunk> chunks = new LinkedHashSet<>();
+	private final List<BlockPos> lights = new ArrayList<>();
+	private final List<BlockPos> updates = new ArrayList<>();
+	private int size;
+
+	/**
+	 *
+	 * @param world
+	 */
+	public BlockBatch(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * The chunk of the block must be loaded.
+	 * @param pos
+	 * @param state
+	 * @param flags the flags of World.setBlockState(), used if the block is set through the world
+	 * @return true if the block was changed
+	 */
+	public boolean setBlockState(BlockPos pos, IBlockState state, int flags) {
+		if (world.isOutsideBuildHeight(pos)) {
+			return false;
+		}
+		Chunk chunk = world.getChunkFromBlockCoords(pos);
+		ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+		int x = pos.getX() & 15;
+		int y = pos.getY() & 15;
+		int z = pos.getZ() & 15;
+		ExtendedBlockStorage section = sections[pos.getY() >> 4];
+		IBlockState oldState = section == Chunk.NULL_BLOCK_STORAGE ? Blocks.AIR.getDefaultState() : section.get(x, y, z);
+		if (oldState == state) {
+			return false;
+		}
+		if (oldState.getBlock().hasTileEntity(oldState) || state.getBlock().hasTileEntity(state)) {
+			return world.setBlockState(pos, state, flags);
+		}
+
+		if (section == Chunk.NULL_BLOCK_STORAGE) {
+			section = new ExtendedBlockStorage(pos.getY() >> 4 << 4, world.provider.hasSkyLight());
+			sections[pos.getY() >> 4] = section;
+		}
+		section.set(x, y, z, state);
+		updateHeight(chunk, pos, state);
+		chunks.add(chunk);
+		size++;
+
+		if (state.getLightValue() > 0 || oldState.getLightValue() > 0) {
+			lights.add(pos);
+		}
+		if (needsUpdate(state.getBlock())) {
+			updates.add(pos);
+		}
+		return true;
+	}
+
+	/**
+	 * Updates the height maps of the column of the block, like Chunk.setBlockState().
+	 * @param chunk
+	 * @param pos
+	 * @param state
+	 */
+	private void updateHeight(Chunk chunk, BlockPos pos, IBlockState state) {
+		int x = pos.getX() & 15;
+		int y = pos.getY();
+		int z = pos.getZ() & 15;
+		int index = z << 4 | x;
+
+		int[] heightMap = chunk.getHeightMap();
+		if (state.getLightOpacity(world, pos) > 0) {
+			if (y >= heightMap[index]) {
+				heightMap[index] = y + 1;
+			}
+		}
+		else if (y == heightMap[index] - 1) {
+			int height = y;
+			while (height > 0 && chunk.getBlockState(x, height - 1, z).getLightOpacity(world, new BlockPos(pos.getX(), height - 1, pos.getZ())) == 0) {
+				height--;
+			}
+			heightMap[index] = height;
+		}
+
+		try {
+			int[] precipitationHeightMap = (int[]) PRECIPITATION_HEIGHT_MAP.get(chunk);
+			if (y >= precipitationHeightMap[index] - 1) {
+				precipitationHeightMap[index] = UNKNOWN_PRECIPITATION_HEIGHT;
+			}
+		}
+		catch(IllegalAccessException e) {
+			Treasure.LOGGER.warn("unable to reset the precipitation height of a chunk: ", e);
+		}
+	}
+
+	/**
+	 *
+	 * @param block
+	 * @return true if the block does not behave unless it is updated after it is placed
+	 */
+	private static boolean needsUpdate(Block block) {
+		return block instanceof BlockFalling || block instanceof BlockLiquid || block instanceof IFluidBlock;
+	}
+
+	/**
+	 * Relights and resends the written chunks and updates the blocks that need it.
+	 */
+	public void finish() {
+		if (chunks.isEmpty()) {
+			return;
+		}
+		for (Chunk chunk : chunks) {
+			// rebuilds the sky light of the chunk. the light of the edges is checked when the chunk is next ticked.
+			chunk.generateSkylightMap();
+			chunk.setLightPopulated(false);
+			chunk.markDirty();
+		}
+		for (BlockPos pos : lights) {
+			world.checkLightFor(EnumSkyBlock.BLOCK, pos);
+		}
+		for (BlockPos pos : updates) {
+			IBlockState state = world.getBlockState(pos);
+			state.getBlock().onBlockAdded(world, pos, state);
+		}
+		if (world instanceof WorldServer) {
+			for (Chunk chunk : chunks) {
+				PlayerChunkMapEntry entry = ((WorldServer) world).getPlayerChunkMap().getEntry(chunk.x, chunk.z);
+				if (entry != null && entry.isSentToPlayers()) {
+					entry.sendPacket(new SPacketChunkData(chunk, ALL_SECTIONS));
+				}
+			}
+		}
+		chunks.clear();
+		lights.clear();
+		updates.clear();
+	}
+
+	/**
+	 *
+	 * @return the number of blocks written directly into chunk storage
+	 */
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
+import com.someguyssoftware.treasure2.generator.GeneratorData;
+import com.someguyssoftware.treasure2.generator.GeneratorResult;
+import com.someguyssoftware.treasure2.persistence.DeferredGenerationPersistence;
+
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * Builds the sites selected during chunk population within a per-tick budget,
+ * so that heavy structures do not show up as chunk population lag.
+ * The sites are saved by chunk, and a site is ready to be built once the area around it is loaded,
+ * which is checked when it is queued and whenever a chunk near it loads. Sites are never abandoned;
+ * a site whose area is not loaded waits, without being looked at, until its chunks are loaded.
+ */
+public class DeferredGenerationQueue {
+	// the radius around a site that must be loaded before it is built, which covers the largest structures
+	private static final int SITE_RADIUS = 32;
+	private static final int SITE_CHUNK_RADIUS = SITE_RADIUS >> 4;
+
+	/*
+	 * the sites of a world whose area is loaded, in the order they became ready. not saved;
+	 * a world's ready sites are found from its saved sites on the first tick of the session
+	 */
+	private static final Map<World, Set<DeferredSite>> READY = new WeakHashMap<>();
+
+	private DeferredGenerationQueue() {}
+
+	/**
+	 *
+	 * @return
+	 */
+	public static boolean isEnabled() {
+		return TreasureConfig.WORLD_GEN.getGeneralProperties().enableDeferredGeneration;
+	}
+
+	/**
+	 * Queues a site to be built. The site is built with a Random seeded from the population Random.
+	 * @param world
+	 * @param type
+	 * @param coords
+	 * @param rarity
+	 * @param random
+	 */
+	public static void enqueue(World world, WorldGeneratorType type, ICoords coords, Rarity rarity, Random random) {
+		DeferredSite site = new DeferredSite(type, coords, rarity, random.nextLong());
+		Treasure.LOGGER.debug("Deferring generation of site -> {}", site);
+		DeferredGenerationPersistence.get(world).add(site);
+		Set<DeferredSite> ready = READY.get(world);
+		if (ready != null && isAreaLoaded(world, site)) {
+			ready.add(site);
+		}
+	}
+
+	/**
+	 * Builds ready sites until the budget is spent.
+	 * A site is only built when the area around it is still loaded, so building it does not load or generate chunks.
+	 * Otherwise it waits for its chunks to be loaded again.
+	 * @param world
+	 * @param budgetNanos
+	 */
+	public static void process(World world, long budgetNanos) {
+		DeferredGenerationPersistence sites = DeferredGenerationPersistence.get(world);
+		Set<DeferredSite> ready = READY.computeIfAbsent(world, key -> findReady(key, sites));
+		long start = System.nanoTime();
+		while (!ready.isEmpty() && System.nanoTime() - start < budgetNanos) {
+			// building a site can load chunks, which adds to the ready sites, so an iterator is not kept
+			Iterator<DeferredSite> iterator = ready.iterator();
+			DeferredSite site = iterator.next();
+			iterator.remove();
+			if (!isAreaLoaded(world, site)) {
+				continue;
+			}
+
+			ITreasureWorldGenerator generator = Treasure.WORLD_GENERATORS.get(site.getType());
+			if (generator == null) {
+				// kept, as without its generator what was reserved for the site can't be released
+				Treasure.LOGGER.warn("Unable to locate world generator for deferred site -> {}", site);
+				continue;
+			}
+
+			sites.remove(site);
+			StructurePlacement.begin(world, site.getType());
+			try {
+				GeneratorResult<GeneratorData> result = generator.generateDeferred(world, new Random(site.getSeed()), site.getCoords(), site.getRarity());
+				Treasure.LOGGER.debug("deferred site -> {}, result -> {}", site, result.isSuccess());
+				if (result.isSuccess()) {
+					GenerationMetrics.getInstance().success(site.getType());
+				}
+			}
+			catch(Exception e) {
+				Treasure.LOGGER.error("Unable to generate deferred site -> " + site, e);
+				// the site is not built, so what was reserved for it must not keep other sites from spawning
+				generator.releaseDeferred(world, site.getCoords());
+			}
+			finally {
+				StructurePlacement.end(world);
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param sites
+	 * @return the saved sites whose area is loaded
+	 */
+	private static Set<DeferredSite> findReady(World world, DeferredGenerationPersistence sites) {
+		Set<DeferredSite> ready = new LinkedHashSet<>();
+		for (DeferredSite site : sites.getSites()) {
+			if (isAreaLoaded(world, site)) {
+				ready.add(site);
+			}
+		}
+		return ready;
+	}
+
+	private static boolean isAreaLoaded(World world, DeferredSite site) {
+		return world.isAreaLoaded(site.getCoords().toPos(), SITE_RADIUS);
+	}
+
+	@Mod.EventBusSubscriber(modid = Treasure.MODID)
+	public static class EventHandler {
+		/*
+		 * A loaded chunk can complete the area of the sites within SITE_RADIUS of it.
+		 * The sites are only marked as ready; they are built on the world tick.
+		 */
+		@SubscribeEvent
+		public static void onChunkLoad(ChunkEvent.Load event) {
+			World world = event.getWorld();
+			if (world.isRemote) {
+				return;
+			}
+			Set<DeferredSite> ready = READY.get(world);
+			if (ready == null) {
+				return;
+			}
+			DeferredGenerationPersistence sites = DeferredGenerationPersistence.get(world);
+			if (sites.isEmpty()) {
+				return;
+			}
+			Chunk chunk = event.getChunk();
+			for (int chunkX = chunk.x - SITE_CHUNK_RADIUS; chunkX <= chunk.x + SITE_CHUNK_RADIUS; chunkX++) {
+				for (int chunkZ = chunk.z - SITE_CHUNK_RADIUS; chunkZ <= chunk.z + SITE_CHUNK_RADIUS; chunkZ++) {
+					for (DeferredSite site : sites.getSites(chunkX, chunkZ)) {
+						if (!ready.contains(site) && isAreaLoaded(world, site)) {
+							ready.add(site);
+						}
+					}
+				}
+			}
+		}
+
+		@SubscribeEvent
+		public static void onWorldUnload(WorldEvent.Unload event) {
+			READY.remove(event.getWorld());
+		}
+	}
+}
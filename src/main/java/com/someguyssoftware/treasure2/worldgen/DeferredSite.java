@@ -0,0 +1,53 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
+
+/**
+ * A site selected during chunk population that is waiting to be built by the deferred generation queue.
+ */
+public class DeferredSite {
+	private WorldGeneratorType type;
+	private ICoords coords;
+	private Rarity rarity;
+	private long seed;
+
+	/**
+	 *
+	 * @param type
+	 * @param coords
+	 * @param rarity can be null for non-chest sites (ex. wells)
+	 * @param seed the seed of the Random used to build the site
+	 */
+	public DeferredSite(WorldGeneratorType type, ICoords coords, Rarity rarity, long seed) {
+		this.type = type;
+		this.coords = coords;
+		this.rarity = rarity;
+		this.seed = seed;
+	}
+
+	public WorldGeneratorType getType() {
+		return type;
+	}
+
+	public ICoords getCoords() {
+		return coords;
+	}
+
+	public Rarity getRarity() {
+		return rarity;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	@Override
+	public String toString() {
+		return "DeferredSite [type=" + type + ", coords=" + coords.toShortString() + ", rarity=" + rarity + ", seed=" + seed + "]";
+	}
+}
@@ -9,8 +9,11 @@ import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
 import com.someguyssoftware.treasure2.item.TreasureItems;
 import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry.GenerationState;
 import com.someguyssoftware.treasure2.worldgen.GemOreWorldGenerator.GemGenerationContext;
 import com.someguyssoftware.treasure2.worldgen.GemOreWorldGenerator.WorldGenMinable;
 
@@ -36,7 +39,6 @@ public class GemOreWorldGenerator implements ITreasureWorldGenerator {
     private WorldGenMinable onyxGenerator;
 	private WorldGenMinable sapphireGenerator;
 	private WorldGenMinable rubyGenerator;
-	private int chunksSinceLastOre = 1;
 
     Map<Item, GemGenerationContext> gemContexts;
 
@@ -55,9 +57,6 @@ public class GemOreWorldGenerator implements ITreasureWorldGenerator {
 	 * 
 	 */
 	public void init() {
-		// intialize chunks since last ore spawn
-        chunksSinceLastOre = 0;
-
         // create generators
         amethystGenerator = new WorldGenMinable(TreasureBlocks.AMETHYST_ORE.getDefaultState(), TreasureConfig.GEMS_ORES.amethystOreVeinSize);
         onyxGenerator = new WorldGenMinable(TreasureBlocks.ONYX_ORE.getDefaultState(), TreasureConfig.GEMS_ORES.onyxOreVeinSize);
@@ -101,10 +100,12 @@ public class GemOreWorldGenerator implements ITreasureWorldGenerator {
 		if (!TreasureConfig.GEMS_ORES.enableGemOreSpawn) {
 			return;
 		}
-		if (TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList().contains(Integer.valueOf(world.provider.getDimension()))) {
+		if (TreasureConfig.WORLD_GEN.getGeneralProperties().isDimensionAllowed(world.provider.getDimension())) {
             // generate(world, random, chunkX, chunkZ);
-            generate(world, random, chunkX, chunkZ, gemContexts.get(TreasureItems.RUBY), gemContexts.get(TreasureItems.SAPPHIRE));
-            generate(world, random, chunkX, chunkZ, gemContexts.get(TreasureItems.AMETHYST), gemContexts.get(TreasureItems.ONYX));
+            GenerationMetrics.getInstance().time(WorldGeneratorType.GEM, () -> {
+            	generate(world, random, chunkX, chunkZ, gemContexts.get(TreasureItems.RUBY), gemContexts.get(TreasureItems.SAPPHIRE));
+            	generate(world, random, chunkX, chunkZ, gemContexts.get(TreasureItems.AMETHYST), gemContexts.get(TreasureItems.ONYX));
+            });
 		}
 	}
 
@@ -118,7 +119,8 @@ public class GemOreWorldGenerator implements ITreasureWorldGenerator {
 	// private void generate(World world, Random random, int chunkX, int chunkZ) {
     private void generate(World world, Random random, int chunkX, int chunkZ, GemGenerationContext... contexts) {
 		// increment the chunk count
-		chunksSinceLastOre++;
+		GenerationState state = GenerationStateRegistry.getInstance().get(world.provider.getDimension());
+		int chunksSinceLastOre = state.incrementChunksSinceLast(WorldGeneratorType.GEM);
 
 		// get spawn position @ chunk
 		int xSpawn = chunkX * 16;
@@ -142,7 +144,7 @@ public class GemOreWorldGenerator implements ITreasureWorldGenerator {
 			context.gen.generate(world, random, new BlockPos(xSpawn, ySpawn, zSpawn));
 		}
 		// reset count
-		chunksSinceLastOre = 0;
+		state.setChunksSinceLast(WorldGeneratorType.GEM, 0);
 		//		}
 
 		// save world data
@@ -174,21 +176,6 @@ public class GemOreWorldGenerator implements ITreasureWorldGenerator {
 	private void generateEnd(World world, Random random, int i, int j) {
 	}
 
-	/**
-	 * @return the chunksSinceLastOre
-	 */
-	public int getChunksSinceLastOre() {
-		return chunksSinceLastOre;
-	}
-
-	/**
-	 * @param chunksSinceLastOre
-	 *            the chunksSinceLastOre to set
-	 */
-	public void setChunksSinceLastOre(int chunksSinceLastOre) {
-		this.chunksSinceLastOre = chunksSinceLastOre;
-	}
-
 	/**
 	 * Re-created this class for debugging purposes.
 	 * @author Mark Gottschling on Dec 10, 2018
@@ -0,0 +1,378 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
+
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * Counts and times the world generators and the pit, ruin, well, chest and marker generators they use.
+ * Each metric records the attempts, the successes, the rejections by reason, the placement times and the blocks written
+ * through the StructurePlacement. The metrics are shown by the /treasure stats command and can be dumped periodically
+ * to the world's treasure2/metrics folder as CSV or JSON.
+ * Only accessed by the server thread.
+ */
+public class GenerationMetrics {
+	public static final String CSV_FORMAT = "csv";
+	public static final String JSON_FORMAT = "json";
+
+	// the names of the metrics of the generators used by the world generators
+	public static final String PIT_PREFIX = "pit:";
+	public static final String CHEST_PREFIX = "chest:";
+	public static final String SURFACE_RUIN = "ruin:surface";
+	public static final String SUBMERGED_RUIN = "ruin:submerged";
+	public static final String WELL = "well";
+	public static final String STRUCTURE_MARKER = "marker:structure";
+	public static final String GRAVESTONE_MARKER = "marker:gravestone";
+
+	private static final String METRICS_FOLDER = "treasure2/metrics";
+	private static final int TICKS_PER_MINUTE = 1200;
+
+	private static GenerationMetrics instance = new GenerationMetrics();
+
+	/**
+	 * The reasons a generator rejects a site
+	 */
+	public enum Rejection {
+		BIOME,
+		PROBABILITY,
+		DISTANCE,
+		SOLID_BASE,
+		AIR_BASE;
+	}
+
+	// metrics by name, sorted for display
+	private final Map<String, Metric> metrics = new TreeMap<>();
+	private long startMillis = System.currentTimeMillis();
+
+	private GenerationMetrics() {}
+
+	/**
+	 *
+	 * @return
+	 */
+	public static GenerationMetrics getInstance() {
+		return instance;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public static boolean isEnabled() {
+		return TreasureConfig.WORLD_GEN.getGeneralProperties().enableGenerationMetrics;
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return the name of the metric of a world generator
+	 */
+	public static String getName(WorldGeneratorType type) {
+		return type.getValue();
+	}
+
+	/**
+	 * Starts timing a generator. The attempt is counted when the timer is stopped.
+	 * @param name
+	 * @return
+	 */
+	public Timer start(String name) {
+		return isEnabled() ? new Timer(getMetric(name)) : Timer.NONE;
+	}
+
+	/**
+	 * Times a world generator populating a chunk, counting an attempt. Successes and rejections are counted by the generator.
+	 * @param type
+	 * @param generator
+	 */
+	public void time(WorldGeneratorType type, Runnable generator) {
+		if (!isEnabled()) {
+			generator.run();
+			return;
+		}
+		long writes = StructurePlacement.getWriteCount();
+		long start = System.nanoTime();
+		try {
+			generator.run();
+		}
+		finally {
+			Metric metric = getMetric(getName(type));
+			metric.attempts++;
+			metric.record(System.nanoTime() - start, StructurePlacement.getWriteCount() - writes);
+		}
+	}
+
+	/**
+	 *
+	 * @param type
+	 */
+	public void success(WorldGeneratorType type) {
+		if (isEnabled()) {
+			getMetric(getName(type)).successes++;
+		}
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @param rejection
+	 */
+	public void reject(WorldGeneratorType type, Rejection rejection) {
+		reject(getName(type), rejection);
+	}
+
+	/**
+	 *
+	 * @param name
+	 * @param rejection
+	 */
+	public void reject(String name, Rejection rejection) {
+		if (isEnabled()) {
+			getMetric(name).rejections[rejection.ordinal()]++;
+		}
+	}
+
+	private Metric getMetric(String name) {
+		return metrics.computeIfAbsent(name, key -> new Metric());
+	}
+
+	/**
+	 *
+	 */
+	public void reset() {
+		metrics.clear();
+		startMillis = System.currentTimeMillis();
+	}
+
+	/**
+	 *
+	 * @return a line per metric for display
+	 */
+	public List<String> getSummary() {
+		List<String> lines = new ArrayList<>();
+		for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+			Metric metric = entry.getValue();
+			double[] percentiles = metric.getPercentiles();
+			StringBuilder line = new StringBuilder(String.format("%s: %d/%d ok, p50 %.2fms, p90 %.2fms, p99 %.2fms, max %.2fms, %d blocks",
+					entry.getKey(), metric.successes, metric.attempts, percentiles[0], percentiles[1], percentiles[2], toMillis(metric.maxNanos), metric.blocks));
+			for (Rejection rejection : Rejection.values()) {
+				if (metric.rejections[rejection.ordinal()] > 0) {
+					line.append(String.format(", %s %d", rejection.name().toLowerCase(), metric.rejections[rejection.ordinal()]));
+				}
+			}
+			lines.add(line.toString());
+		}
+		for (WorldGeneratorType type : WorldGeneratorType.values()) {
+			if (StructurePlacement.getCascades(type) > 0 || StructurePlacement.getDeferred(type) > 0 || StructurePlacement.getSkipped(type) > 0) {
+				lines.add(String.format("%s placement: %d chunks loaded, %d writes deferred, %d structures skipped",
+						getName(type), StructurePlacement.getCascades(type), StructurePlacement.getDeferred(type), StructurePlacement.getSkipped(type)));
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Writes the metrics to a new file in the world's metrics folder.
+	 * @param format csv or json
+	 * @return the file, or null if it could not be written
+	 */
+	public File dump(String format) {
+		File saveFolder = DimensionManager.getCurrentSaveRootDirectory();
+		if (saveFolder == null) {
+			return null;
+		}
+		boolean json = JSON_FORMAT.equalsIgnoreCase(format);
+		File folder = new File(saveFolder, METRICS_FOLDER);
+		File file = new File(folder, "generation-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + (json ? ".json" : ".csv"));
+		try {
+			Files.createDirectories(folder.toPath());
+			try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+				if (json) {
+					writeJson(writer);
+				}
+				else {
+					writeCsv(writer);
+				}
+			}
+		}
+		catch(IOException e) {
+			Treasure.LOGGER.warn("Unable to write generation metrics -> {}", file, e);
+			return null;
+		}
+		return file;
+	}
+
+	private void writeCsv(Writer writer) throws IOException {
+		StringBuilder header = new StringBuilder("name,attempts,successes");
+		for (Rejection rejection : Rejection.values()) {
+			header.append(",rejected_").append(rejection.name().toLowerCase());
+		}
+		header.append(",p50_ms,p90_ms,p99_ms,max_ms,total_ms,blocks\n");
+		writer.write(header.toString());
+		for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+			Metric metric = entry.getValue();
+			double[] percentiles = metric.getPercentiles();
+			StringBuilder line = new StringBuilder(entry.getKey()).append(',').append(metric.attempts).append(',').append(metric.successes);
+			for (long count : metric.rejections) {
+				line.append(',').append(count);
+			}
+			line.append(String.format(",%.3f,%.3f,%.3f,%.3f,%.3f,%d%n", percentiles[0], percentiles[1], percentiles[2],
+					toMillis(metric.maxNanos), toMillis(metric.totalNanos), metric.blocks));
+			writer.write(line.toString());
+		}
+	}
+
+	private void writeJson(Writer writer) throws IOException {
+		JsonObject root = new JsonObject();
+		root.addProperty("since", startMillis);
+		root.addProperty("time", System.currentTimeMillis());
+		JsonArray array = new JsonArray();
+		for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+			Metric metric = entry.getValue();
+			double[] percentiles = metric.getPercentiles();
+			JsonObject object = new JsonObject();
+			object.addProperty("name", entry.getKey());
+			object.addProperty("attempts", metric.attempts);
+			object.addProperty("successes", metric.successes);
+			JsonObject rejections = new JsonObject();
+			for (Rejection rejection : Rejection.values()) {
+				rejections.addProperty(rejection.name().toLowerCase(), metric.rejections[rejection.ordinal()]);
+			}
+			object.add("rejections", rejections);
+			object.addProperty("p50Ms", percentiles[0]);
+			object.addProperty("p90Ms", percentiles[1]);
+			object.addProperty("p99Ms", percentiles[2]);
+			object.addProperty("maxMs", toMillis(metric.maxNanos));
+			object.addProperty("totalMs", toMillis(metric.totalNanos));
+			object.addProperty("blocks", metric.blocks);
+			array.add(object);
+		}
+		root.add("metrics", array);
+		Gson gson = new GsonBuilder().setPrettyPrinting().create();
+		writer.write(gson.toJson(root));
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000D;
+	}
+
+	/*
+	 * The counters of a generator and a window of its most recent times
+	 */
+	private static class Metric {
+		// the number of most recent times the percentiles are taken from
+		private static final int WINDOW = 1024;
+
+		private long attempts;
+		private long successes;
+		private final long[] rejections = new long[Rejection.values().length];
+		private long blocks;
+		private long totalNanos;
+		private long maxNanos;
+		private final long[] times = new long[WINDOW];
+		// the index of the next time in the window, and the number of times in it
+		private int timeIndex;
+		private int timeCount;
+
+		void record(long nanos, long writes) {
+			times[timeIndex] = nanos;
+			timeIndex = (timeIndex + 1) % WINDOW;
+			if (timeCount < WINDOW) {
+				timeCount++;
+			}
+			totalNanos += nanos;
+			maxNanos = Math.max(maxNanos, nanos);
+			blocks += writes;
+		}
+
+		/**
+		 *
+		 * @return the 50th, 90th and 99th percentile times in milliseconds
+		 */
+		double[] getPercentiles() {
+			int size = timeCount;
+			if (size == 0) {
+				return new double[3];
+			}
+			long[] sorted = Arrays.copyOf(times, size);
+			Arrays.sort(sorted);
+			return new double[] {
+					toMillis(sorted[(size - 1) * 50 / 100]),
+					toMillis(sorted[(size - 1) * 90 / 100]),
+					toMillis(sorted[(size - 1) * 99 / 100]) };
+		}
+	}
+
+	/**
+	 * Times an attempt of a generator
+	 */
+	public static class Timer {
+		private static final Timer NONE = new Timer(null);
+
+		private final Metric metric;
+		private final long writes;
+		private final long start;
+
+		private Timer(Metric metric) {
+			this.metric = metric;
+			this.writes = metric == null ? 0 : StructurePlacement.getWriteCount();
+			this.start = metric == null ? 0 : System.nanoTime();
+		}
+
+		/**
+		 *
+		 * @param success
+		 */
+		public void stop(boolean success) {
+			if (metric == null) {
+				return;
+			}
+			metric.attempts++;
+			if (success) {
+				metric.successes++;
+			}
+			metric.record(System.nanoTime() - start, StructurePlacement.getWriteCount() - writes);
+		}
+	}
+
+	@Mod.EventBusSubscriber(modid = Treasure.MODID)
+	public static class EventHandler {
+		@SubscribeEvent
+		public static void onServerTick(TickEvent.ServerTickEvent event) {
+			if (event.phase != TickEvent.Phase.END || !isEnabled()) {
+				return;
+			}
+			int interval = TreasureConfig.WORLD_GEN.getGeneralProperties().generationMetricsDumpInterval;
+			if (interval > 0 && FMLCommonHandler.instance().getMinecraftServerInstance().getTickCounter() % (interval * TICKS_PER_MINUTE) == 0) {
+				File file = getInstance().dump(TreasureConfig.WORLD_GEN.getGeneralProperties().generationMetricsDumpFormat);
+				Treasure.LOGGER.debug("dumped generation metrics -> {}", file);
+			}
+		}
+	}
+}
@@ -3,6 +3,14 @@
  */
 package com.someguyssoftware.treasure2.worldgen;
 
+import java.util.Random;
+
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.generator.GeneratorData;
+import com.someguyssoftware.treasure2.generator.GeneratorResult;
+
+import net.minecraft.world.World;
 import net.minecraftforge.fml.common.IWorldGenerator;
 
 /**
@@ -11,4 +19,23 @@ import net.minecraftforge.fml.common.IWorldGenerator;
  */
 public interface ITreasureWorldGenerator extends IWorldGenerator {
 	void init();
+
+	/**
+	 * Builds a site that was selected during chunk population and queued by the DeferredGenerationQueue.
+	 * @param world
+	 * @param random
+	 * @param coords
+	 * @param rarity
+	 * @return
+	 */
+	default GeneratorResult<GeneratorData> generateDeferred(World world, Random random, ICoords coords, Rarity rarity) {
+		return new GeneratorResult<>(GeneratorData.class).fail();
+	}
+
+	/**
+	 * Releases what was reserved for a queued site that will not be built.
+	 * @param world
+	 * @param coords
+	 */
+	default void releaseDeferred(World world, ICoords coords) {}
 }
@@ -0,0 +1,520 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
+import com.someguyssoftware.treasure2.persistence.PendingBlocksPersistence;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.terraingen.PopulateChunkEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * The block placement layer of the structure generators, which keeps structures from generating chunks in a cascade.
+ * While a generator populates a chunk, the chunk and its +x/+z neighbours (the population window) can be written freely.
+ * Writes to other chunks are applied immediately only if the chunk is loaded and populated, else they are saved per chunk
+ * and applied when the chunk is populated (or loaded, if it was populated while unloaded).
+ * Outside of a generator session, ex. deferred generation or commands, all writes are applied immediately.
+ * Within a session the writes are batched into chunk storage, see BlockBatch, and the chunks are relit and resent when the session ends.
+ * Only accessed by the server thread.
+ */
+public class StructurePlacement {
+	// a flag of a pending write: only replace the block if it is not air when the write is applied
+	private static final int IF_NOT_AIR = 1 << 8;
+	private static final int BLOCK_FLAGS = 0xFF;
+	private static final int DEFAULT_FLAGS = 3;
+	// the flags of the blocks of a template placed in a batching session. neighbours are not notified.
+	private static final int TEMPLATE_BATCH_FLAGS = 2;
+
+	// the sessions of the running generators, innermost last. a generator may cascade into the population of another chunk
+	private static final Deque<Session> SESSIONS = new ArrayDeque<>();
+	// chunks with pending writes that were loaded already populated, by world. applied on the next world tick.
+	private static final Map<World, Set<Long>> LOADED_CHUNKS = new WeakHashMap<>();
+	private static final Map<WorldGeneratorType, Counters> COUNTERS = new EnumMap<>(WorldGeneratorType.class);
+	// the number of writes through the layer, applied or deferred
+	private static long writeCount;
+
+	private StructurePlacement() {}
+
+	/**
+	 *
+	 * @return
+	 */
+	public static boolean isEnabled() {
+		return TreasureConfig.WORLD_GEN.getGeneralProperties().enableCascadeGuard;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public static boolean isDiagnosticsEnabled() {
+		return TreasureConfig.WORLD_GEN.getGeneralProperties().enableCascadeDiagnostics;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public static boolean isBatchEnabled() {
+		return TreasureConfig.WORLD_GEN.getGeneralProperties().enableBatchedPlacement;
+	}
+
+	/**
+	 * Starts the session of a generator populating a chunk. Must be followed by end(), ex. in a finally block.
+	 * @param world
+	 * @param type
+	 * @param chunkX
+	 * @param chunkZ
+	 */
+	public static void begin(World world, WorldGeneratorType type, int chunkX, int chunkZ) {
+		SESSIONS.addLast(new Session(world, type, chunkX, chunkZ, true));
+	}
+
+	/**
+	 * Starts the session of a generator outside of chunk population, ex. a deferred site.
+	 * Writes are batched, but all chunks are available. Must be followed by end(), ex. in a finally block.
+	 * @param world
+	 * @param type
+	 */
+	public static void begin(World world, WorldGeneratorType type) {
+		SESSIONS.addLast(new Session(world, type, 0, 0, false));
+	}
+
+	/**
+	 * Ends the current session of the world.
+	 * @param world
+	 */
+	public static void end(World world) {
+		Session session = SESSIONS.peekLast();
+		if (session == null || session.world != world) {
+			Treasure.LOGGER.warn("Unbalanced structure placement session in dimension {}", world.provider.getDimension());
+			return;
+		}
+		SESSIONS.removeLast();
+		if (session.batch != null) {
+			session.batch.finish();
+		}
+		if (isDiagnosticsEnabled() && (session.cascades > 0 || session.deferred > 0)) {
+			Treasure.LOGGER.info("{} generator populating chunk [{}, {}] loaded {} other chunks, deferred {} block writes",
+					session.type, session.chunkX, session.chunkZ, session.cascades, session.deferred);
+		}
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param coords
+	 * @return
+	 */
+	public static boolean isAvailable(World world, ICoords coords) {
+		return isAvailable(world, coords.getX(), coords.getZ());
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param pos
+	 * @return
+	 */
+	public static boolean isAvailable(World world, BlockPos pos) {
+		return isAvailable(world, pos.getX(), pos.getZ());
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param x
+	 * @param z
+	 * @return true if the block column can be read and written without generating a chunk
+	 */
+	public static boolean isAvailable(World world, int x, int z) {
+		Session session = getSession(world);
+		if (session == null || !session.guarded || !isEnabled()) {
+			return true;
+		}
+		return isChunkAvailable(world, session, x >> 4, z >> 4);
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param minX
+	 * @param minZ
+	 * @param maxX
+	 * @param maxZ
+	 * @return true if all the block columns of the area can be read and written without generating a chunk
+	 */
+	public static boolean isAreaAvailable(World world, int minX, int minZ, int maxX, int maxZ) {
+		Session session = getSession(world);
+		if (session == null || !session.guarded || !isEnabled()) {
+			return true;
+		}
+		for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+			for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+				if (!isChunkAvailable(world, session, chunkX, chunkZ)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * An area may reach past the chunks of the session's population, ex. a template rotated from a spawn in the center of the chunk.
+	 * @param world
+	 * @param minX
+	 * @param minZ
+	 * @param maxX
+	 * @param maxZ
+	 * @return the offset that moves the area into the chunks of the session's population, zero if it is already in them,
+	 * doesn't fit in them or there is no guarded session
+	 */
+	public static ICoords getOffsetIntoWindow(World world, int minX, int minZ, int maxX, int maxZ) {
+		Session session = getSession(world);
+		if (session == null || !session.guarded || !isEnabled()) {
+			return new Coords(0, 0, 0);
+		}
+		int offsetX = getOffsetIntoWindow(minX, maxX, session.chunkX << 4);
+		int offsetZ = getOffsetIntoWindow(minZ, maxZ, session.chunkZ << 4);
+		return new Coords(offsetX, 0, offsetZ);
+	}
+
+	private static int getOffsetIntoWindow(int min, int max, int windowMin) {
+		// the window is two chunks wide
+		int windowMax = windowMin + 31;
+		if (max - min > windowMax - windowMin) {
+			return 0;
+		}
+		if (min < windowMin) {
+			return windowMin - min;
+		}
+		if (max > windowMax) {
+			return windowMax - max;
+		}
+		return 0;
+	}
+
+	private static boolean isChunkAvailable(World world, Session session, int chunkX, int chunkZ) {
+		if (session.isInWindow(chunkX, chunkZ)) {
+			return true;
+		}
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+		// writes wait behind any writes still pending for the chunk
+		return chunk != null && chunk.isTerrainPopulated() && !PendingBlocksPersistence.get(world).contains(chunkX, chunkZ);
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param pos
+	 * @param state
+	 * @return
+	 */
+	public static boolean setBlockState(World world, BlockPos pos, IBlockState state) {
+		return setBlockState(world, pos, state, DEFAULT_FLAGS);
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param pos
+	 * @param state
+	 * @param flags the flags of World.setBlockState()
+	 * @return true if the block was set or deferred
+	 */
+	public static boolean setBlockState(World world, BlockPos pos, IBlockState state, int flags) {
+		if (isAvailable(world, pos)) {
+			return write(world, pos, state, flags);
+		}
+		return defer(world, pos, state, flags & BLOCK_FLAGS);
+	}
+
+	/*
+	 * Writes an available block, into the batch of the session if there is one
+	 */
+	private static boolean write(World world, BlockPos pos, IBlockState state, int flags) {
+		writeCount++;
+		Session session = getSession(world);
+		if (session != null && session.batch != null) {
+			return session.batch.setBlockState(pos, state, flags);
+		}
+		return world.setBlockState(pos, state, flags);
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @return the flags to place the blocks of a template with
+	 */
+	public static int getTemplateFlags(World world) {
+		Session session = getSession(world);
+		return session != null && session.batch != null ? TEMPLATE_BATCH_FLAGS : DEFAULT_FLAGS;
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param pos
+	 * @return
+	 */
+	public static boolean setBlockToAir(World world, BlockPos pos) {
+		return setBlockState(world, pos, Blocks.AIR.getDefaultState(), DEFAULT_FLAGS);
+	}
+
+	/**
+	 * Replaces the block if it is not air. If the write is deferred, the block is checked when the write is applied.
+	 * @param world
+	 * @param pos
+	 * @param state
+	 * @return false if the block is air
+	 */
+	public static boolean replaceBlockState(World world, BlockPos pos, IBlockState state) {
+		if (isAvailable(world, pos)) {
+			if (world.isAirBlock(pos)) {
+				return false;
+			}
+			write(world, pos, state, DEFAULT_FLAGS);
+			return true;
+		}
+		return defer(world, pos, state, DEFAULT_FLAGS | IF_NOT_AIR);
+	}
+
+	private static boolean defer(World world, BlockPos pos, IBlockState state, int flags) {
+		if (world.isOutsideBuildHeight(pos)) {
+			return false;
+		}
+		PendingBlocksPersistence.get(world).add(pos.getX(), pos.getY(), pos.getZ(), Block.getStateId(state), flags);
+		writeCount++;
+		Session session = getSession(world);
+		session.deferred++;
+		getCounters(session.type).deferred++;
+		return true;
+	}
+
+	/**
+	 * Records a structure that was not placed because its area was not available.
+	 * @param world
+	 */
+	public static void recordSkipped(World world) {
+		Session session = getSession(world);
+		if (session != null) {
+			getCounters(session.type).skipped++;
+			if (isDiagnosticsEnabled()) {
+				Treasure.LOGGER.info("{} generator populating chunk [{}, {}] skipped a structure outside of the populated chunks",
+						session.type, session.chunkX, session.chunkZ);
+			}
+			else {
+				Treasure.LOGGER.debug("{} generator populating chunk [{}, {}] skipped a structure outside of the populated chunks",
+						session.type, session.chunkX, session.chunkZ);
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of block writes through the layer, applied or deferred, since the server started
+	 */
+	public static long getWriteCount() {
+		return writeCount;
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return the number of chunks loaded or generated by the generator while placing structures
+	 */
+	public static long getCascades(WorldGeneratorType type) {
+		Counters counters = COUNTERS.get(type);
+		return counters == null ? 0 : counters.cascades;
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return the number of block writes of the generator that were deferred
+	 */
+	public static long getDeferred(WorldGeneratorType type) {
+		Counters counters = COUNTERS.get(type);
+		return counters == null ? 0 : counters.deferred;
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return the number of structures of the generator that were skipped
+	 */
+	public static long getSkipped(WorldGeneratorType type) {
+		Counters counters = COUNTERS.get(type);
+		return counters == null ? 0 : counters.skipped;
+	}
+
+	private static Counters getCounters(WorldGeneratorType type) {
+		return COUNTERS.computeIfAbsent(type, key -> new Counters());
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @return the innermost session if it belongs to the world, else null
+	 */
+	private static Session getSession(World world) {
+		Session session = SESSIONS.peekLast();
+		return session != null && session.world == world ? session : null;
+	}
+
+	/**
+	 * Applies the pending writes of the chunk. Neighbours are not notified, as in chunk decoration,
+	 * so that applying the writes does not load the surrounding chunks.
+	 * @param world
+	 * @param chunkX
+	 * @param chunkZ
+	 */
+	private static void apply(World world, int chunkX, int chunkZ) {
+		int[] records = PendingBlocksPersistence.get(world).remove(chunkX, chunkZ);
+		if (records == null) {
+			return;
+		}
+		BlockBatch batch = isBatchEnabled() ? new BlockBatch(world) : null;
+		for (int index = 0; index < records.length; index += PendingBlocksPersistence.RECORD_SIZE) {
+			BlockPos pos = new BlockPos(records[index], records[index + 1], records[index + 2]);
+			int flags = records[index + 4];
+			if ((flags & IF_NOT_AIR) != 0 && world.isAirBlock(pos)) {
+				continue;
+			}
+			if (batch != null) {
+				batch.setBlockState(pos, Block.getStateById(records[index + 3]), flags & BLOCK_FLAGS & ~1);
+			}
+			else {
+				world.setBlockState(pos, Block.getStateById(records[index + 3]), flags & BLOCK_FLAGS & ~1);
+			}
+		}
+		if (batch != null) {
+			batch.finish();
+		}
+		Treasure.LOGGER.debug("applied {} pending block writes to chunk [{}, {}]", records.length / PendingBlocksPersistence.RECORD_SIZE, chunkX, chunkZ);
+	}
+
+	/*
+	 * A generator populating a chunk
+	 */
+	private static class Session {
+		private final World world;
+		private final WorldGeneratorType type;
+		private final int chunkX;
+		private final int chunkZ;
+		// false if the session is outside of chunk population, and so all chunks are available
+		private final boolean guarded;
+		private final BlockBatch batch;
+		private int cascades;
+		private int deferred;
+
+		Session(World world, WorldGeneratorType type, int chunkX, int chunkZ, boolean guarded) {
+			this.world = world;
+			this.type = type;
+			this.chunkX = chunkX;
+			this.chunkZ = chunkZ;
+			this.guarded = guarded;
+			this.batch = isBatchEnabled() ? new BlockBatch(world) : null;
+		}
+
+		boolean isInWindow(int x, int z) {
+			return x >= chunkX && x <= chunkX + 1 && z >= chunkZ && z <= chunkZ + 1;
+		}
+	}
+
+	private static class Counters {
+		private long cascades;
+		private long deferred;
+		private long skipped;
+	}
+
+	@Mod.EventBusSubscriber(modid = Treasure.MODID)
+	public static class EventHandler {
+		/*
+		 * Treasure generators run after the chunk's PopulateChunkEvent.Post, so the writes are in place before them.
+		 */
+		@SubscribeEvent
+		public static void onPopulateChunk(PopulateChunkEvent.Post event) {
+			World world = event.getWorld();
+			if (world.isRemote || PendingBlocksPersistence.get(world).isEmpty()) {
+				return;
+			}
+			apply(world, event.getChunkX(), event.getChunkZ());
+		}
+
+		/*
+		 * Blocks can't be written while the chunk is loading, so the writes of a populated chunk are applied on the next tick.
+		 */
+		@SubscribeEvent
+		public static void onChunkLoad(ChunkEvent.Load event) {
+			World world = event.getWorld();
+			if (world.isRemote) {
+				return;
+			}
+			Chunk chunk = event.getChunk();
+			Session session = getSession(world);
+			if (session != null && session.guarded) {
+				session.cascades++;
+				getCounters(session.type).cascades++;
+				if (isDiagnosticsEnabled()) {
+					Treasure.LOGGER.debug("{} generator populating chunk [{}, {}] loaded chunk [{}, {}]", session.type, session.chunkX, session.chunkZ, chunk.x, chunk.z);
+				}
+			}
+			if (chunk.isTerrainPopulated() && PendingBlocksPersistence.get(world).contains(chunk.x, chunk.z)) {
+				LOADED_CHUNKS.computeIfAbsent(world, key -> new HashSet<>()).add(ChunkPos.asLong(chunk.x, chunk.z));
+			}
+		}
+
+		@SubscribeEvent
+		public static void onWorldTick(TickEvent.WorldTickEvent event) {
+			if (event.phase != TickEvent.Phase.END || event.side != Side.SERVER) {
+				return;
+			}
+			Set<Long> chunks = LOADED_CHUNKS.get(event.world);
+			if (chunks == null || chunks.isEmpty()) {
+				return;
+			}
+			// applying the writes may load a chunk, which adds to the set
+			Long[] keys = chunks.toArray(new Long[chunks.size()]);
+			chunks.clear();
+			for (long key : keys) {
+				int chunkX = (int) key;
+				int chunkZ = (int) (key >> 32);
+				// an unloaded chunk is applied the next time it loads
+				if (event.world.getChunkProvider().getLoadedChunk(chunkX, chunkZ) != null) {
+					apply(event.world, chunkX, chunkZ);
+				}
+			}
+		}
+
+		@SubscribeEvent
+		public static void onWorldUnload(WorldEvent.Unload event) {
+			LOADED_CHUNKS.remove(event.getWorld());
+		}
+	}
+}
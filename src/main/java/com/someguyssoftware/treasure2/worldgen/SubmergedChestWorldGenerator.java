@@ -17,19 +17,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.biome.BiomeHelper;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.random.RandomWeightedCollection;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
-import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper;
-import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper.Result;
 import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.config.IChestConfig;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
@@ -48,6 +46,9 @@ import com.someguyssoftware.treasure2.generator.chest.UncommonChestGenerator;
 import com.someguyssoftware.treasure2.generator.ruins.SubmergedRuinGenerator;
 import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry.GenerationState;
+import com.someguyssoftware.treasure2.worldgen.GenerationMetrics.Rejection;
 
 import net.minecraft.init.Biomes;
 import net.minecraft.world.World;
@@ -62,9 +63,6 @@ import net.minecraftforge.common.BiomeDictionary;
  *
  */
 public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
-	private int chunksSinceLastChest;
-	private Map<Rarity, Integer> chunksSinceLastRarityChest;
-
 	private Map<Rarity, RandomWeightedCollection<IChestGenerator>> chestCollectionGeneratorsMap = new HashMap<>();
 
 	private static final List<Rarity> RARITIES = new ArrayList<>();
@@ -82,15 +80,6 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 	
 	public void init() {
 		RARITIES.clear();
-		
-		// initialize chunks since last array
-		chunksSinceLastChest = 0;
-		chunksSinceLastRarityChest = new HashMap<>(Rarity.values().length);
-		
-		// setup temporary rarity-generators map
-		for (Rarity rarity : Rarity.values()) {
-			chunksSinceLastRarityChest.put(rarity, 0);
-		}
 				
 		// setup chest collection generator maps
 		if (TreasureConfig.CHESTS.submergedChests.configMap.get(COMMON).isEnableChest()) {
@@ -143,8 +132,14 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 			return;
 		}
 		
-		if (TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList().contains(Integer.valueOf(world.provider.getDimension()))) {
-			generate(world, random, chunkX, chunkZ);
+		if (TreasureConfig.WORLD_GEN.getGeneralProperties().isDimensionAllowed(world.provider.getDimension())) {
+			StructurePlacement.begin(world, WorldGeneratorType.SUBMERGED_CHEST, chunkX, chunkZ);
+			try {
+				GenerationMetrics.getInstance().time(WorldGeneratorType.SUBMERGED_CHEST, () -> generate(world, random, chunkX, chunkZ));
+			}
+			finally {
+				StructurePlacement.end(world);
+			}
 		}
 		
 //		switch(world.provider.getDimension()){
@@ -181,10 +176,10 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 		}
 		
 		// increment the chunk counts
-		chunksSinceLastChest++;
+		GenerationState state = GenerationStateRegistry.getInstance().get(world.provider.getDimension());
+		int chunksSinceLastChest = state.incrementChunksSinceLast(WorldGeneratorType.SUBMERGED_CHEST);
 		for (Rarity rarity : RARITIES) {
-			Integer i = chunksSinceLastRarityChest.get(rarity);
-			chunksSinceLastRarityChest.put(rarity, ++i);			
+			state.incrementChunksSinceLastRarity(WorldGeneratorType.SUBMERGED_CHEST, rarity);
 		}
 
 		// test if min chunks was met
@@ -202,57 +197,58 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 				return;
 			}
 			
-    		if (chunksSinceLastRarityChest.get(rarity) >= chestConfig.getChunksPerChest()) {
+    		if (state.getChunksSinceLastRarity(WorldGeneratorType.SUBMERGED_CHEST, rarity) >= chestConfig.getChunksPerChest()) {
 				// 1. test if chest meets the probability criteria
 				if (!RandomHelper.checkProbability(random, chestConfig.getGenProbability())) {
+					GenerationMetrics.getInstance().reject(WorldGeneratorType.SUBMERGED_CHEST, Rejection.PROBABILITY);
 					Treasure.LOGGER.debug("Submerged chest does not meet generate probability.");
 					return;
 				}
 				
 				// 2. test if the override (global) biome is allowed
-				TreasureBiomeHelper.Result biomeCheck =TreasureBiomeHelper.isBiomeAllowed(biome, chestConfig.getBiomeWhiteList(), chestConfig.getBiomeBlackList());
-				if(biomeCheck == Result.BLACK_LISTED ) {
-		    		if (WorldInfo.isClientSide(world)) {
-		    			Treasure.LOGGER.debug("{} is not a valid biome @ {}", biome.getBiomeName(), coords.toShortString());
-		    		}
-		    		else {
-		    			Treasure.LOGGER.debug("Biome {} is not valid @ {}",rarity.getValue(), coords.toShortString());
-		    		}					
+				if (!chestConfig.isBiomeAllowed(biome)) {
+					GenerationMetrics.getInstance().reject(WorldGeneratorType.SUBMERGED_CHEST, Rejection.BIOME);
+					if (Treasure.LOGGER.isDebugEnabled()) {
+						if (WorldInfo.isClientSide(world)) {
+							Treasure.LOGGER.debug("{} is not a valid biome @ {}", biome.getBiomeName(), coords.toShortString());
+						}
+						else {
+							Treasure.LOGGER.debug("Biome {} is not valid @ {}",rarity.getValue(), coords.toShortString());
+						}
+					}
 					return;
 				}
-				else if (biomeCheck == Result.OK) {
-				    if (!BiomeHelper.isBiomeAllowed(biome, chestConfig.getBiomeTypeWhiteList(), chestConfig.getBiomeTypeBlackList())) {
-				    	if (Treasure.LOGGER.isDebugEnabled()) {
-				    		if (WorldInfo.isClientSide(world)) {
-				    			Treasure.LOGGER.debug("{} is not a valid biome type @ {}", biome.getBiomeName(), coords.toShortString());
-				    		}
-				    		else {
-				    			Treasure.LOGGER.debug("Biome type of {} is not valid @ {}",rarity.getValue(), coords.toShortString());
-				    		}
-				    	}
-				    	return;
-				    }
-				}
 			    
      			// 3. check against all registered chests
      			if (isRegisteredChestWithinDistance(world, coords, TreasureConfig.CHESTS.submergedChests.minDistancePerChest)) {
+     				GenerationMetrics.getInstance().reject(WorldGeneratorType.SUBMERGED_CHEST, Rejection.DISTANCE);
    					Treasure.LOGGER.debug("The distance to the nearest treasure chest is less than the minimun required.");
      				return;
      			}
      			     			
     			// reset chunks since last common chest regardless of successful generation - makes more rare and realistic and configurable generation.
-    			chunksSinceLastRarityChest.put(rarity, 0);
+    			state.setChunksSinceLastRarity(WorldGeneratorType.SUBMERGED_CHEST, rarity, 0);
  			
     			// generate the chest/pit/chambers
 				Treasure.LOGGER.debug("Attempting to generate pit/chest.");
 				GeneratorResult<GeneratorData> result = null;
-				result = generate(world, random, coords, rarity, chestCollectionGeneratorsMap.get(rarity).next(), TreasureConfig.CHESTS.submergedChests.configMap.get(rarity));
+				if (DeferredGenerationQueue.isEnabled()) {
+					// reserve the site now and build it from the deferred generation queue
+					DeferredGenerationQueue.enqueue(world, WorldGeneratorType.SUBMERGED_CHEST, coords, rarity, random);
+					result = new GeneratorResult<>(GeneratorData.class).success();
+				}
+				else {
+					result = generate(world, random, coords, rarity, chestCollectionGeneratorsMap.get(rarity).next(), TreasureConfig.CHESTS.submergedChests.configMap.get(rarity));
+					if (result.isSuccess()) {
+						GenerationMetrics.getInstance().success(WorldGeneratorType.SUBMERGED_CHEST);
+					}
+				}
 				
     			if (result.isSuccess()) {
     				// add to registry
-    				ChestRegistry.getInstance().register(coords.toShortString(), new ChestInfo(rarity, coords));
+    				ChestRegistry.getInstance().register(world, new ChestInfo(rarity, coords));
     				// reset the chunk counts
-        			chunksSinceLastChest = 0;
+        			state.setChunksSinceLast(WorldGeneratorType.SUBMERGED_CHEST, 0);
     			}
     		}
 
@@ -299,7 +295,9 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 		}
 		Treasure.LOGGER.debug("submerged spawn coords -> {}", markerCoords.toShortString());
 
+		GenerationMetrics.Timer timer = GenerationMetrics.getInstance().start(GenerationMetrics.CHEST_PREFIX + chestSelector.getClass().getSimpleName());
 		GeneratorResult<ChestGeneratorData> chestResult = chestSelector.generate(world, random, chestCoords, chestRarity, genResult.getData().getChestContext().getState());
+		timer.stop(chestResult.isSuccess());
 		if (!chestResult.isSuccess()) {
 			return result.fail();
 		}
@@ -325,7 +323,9 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 		SubmergedRuinGenerator generator = new SubmergedRuinGenerator();
 
 		// build the structure
+		GenerationMetrics.Timer timer = GenerationMetrics.getInstance().start(GenerationMetrics.SUBMERGED_RUIN);
 		GeneratorResult<ChestGeneratorData> genResult = generator.generate(world, random, spawnCoords);
+		timer.stop(genResult.isSuccess());
 		Treasure.LOGGER.debug("submerged struct result -> {}", genResult);
 		if (!genResult.isSuccess()) return result.fail();
 
@@ -333,6 +333,24 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 		return result.success();
 	}
 	
+	@Override
+	public GeneratorResult<GeneratorData> generateDeferred(World world, Random random, ICoords coords, Rarity rarity) {
+		GeneratorResult<GeneratorData> result = new GeneratorResult<>(GeneratorData.class);
+		if (rarity != null && chestCollectionGeneratorsMap.containsKey(rarity)) {
+			result = generate(world, random, coords, rarity, chestCollectionGeneratorsMap.get(rarity).next(), TreasureConfig.CHESTS.submergedChests.configMap.get(rarity));
+		}
+		if (!result.isSuccess()) {
+			releaseDeferred(world, coords);
+		}
+		return result;
+	}
+
+	@Override
+	public void releaseDeferred(World world, ICoords coords) {
+		// release the site that was reserved when it was queued
+		ChestRegistry.getInstance().unregister(world, coords);
+	}
+
 	/**
 	 * 
 	 * @param world
@@ -361,41 +379,7 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 	 * @return
 	 */
 	public boolean isRegisteredChestWithinDistance(World world, ICoords coords, int minDistance) {
-		
-		double minDistanceSq = minDistance * minDistance;
-		
-		// get a list of dungeons
-		List<ChestInfo> infos = ChestRegistry.getInstance().getValues();
-
-		if (infos == null || infos.size() == 0) {
-			Treasure.LOGGER.debug("Unable to locate the ChestConfig Registry or the Registry doesn't contain any values");
-			return false;
-		}
-		
-		for (ChestInfo info : infos) {
-			// calculate the distance to the poi
-			double distance = coords.getDistanceSq(info.getCoords());
-			if (distance < minDistanceSq) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	public int getChunksSinceLastChest() {
-		return chunksSinceLastChest;
-	}
-
-	public void setChunksSinceLastChest(int chunksSinceLastChest) {
-		this.chunksSinceLastChest = chunksSinceLastChest;
-	}
-
-	public Map<Rarity, Integer> getChunksSinceLastRarityChest() {
-		return chunksSinceLastRarityChest;
-	}
-
-	public void setChunksSinceLastRarityChest(Map<Rarity, Integer> chunksSinceLastRarityChest) {
-		this.chunksSinceLastRarityChest = chunksSinceLastRarityChest;
+		return ChestRegistry.getInstance().isWithinDistance(world, coords, minDistance);
 	}
 
 	public Map<Rarity, RandomWeightedCollection<IChestGenerator>> getChestCollectionGeneratorsMap() {
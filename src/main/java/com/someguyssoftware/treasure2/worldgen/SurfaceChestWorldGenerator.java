@@ -20,7 +20,6 @@ import java.util.stream.Collectors;
 
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
-import com.someguyssoftware.gottschcore.biome.BiomeHelper;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
@@ -28,17 +27,17 @@ import com.someguyssoftware.gottschcore.random.RandomWeightedCollection;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.gottschcore.world.gen.structure.IDecayRuleSet;
 import com.someguyssoftware.treasure2.Treasure;
-import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper;
-import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper.Result;
 import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.config.IChestConfig;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.PitTypes;
 import com.someguyssoftware.treasure2.enums.Pits;
 import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
+import com.someguyssoftware.treasure2.generator.SiteEvaluator;
 import com.someguyssoftware.treasure2.generator.chest.CauldronChestGenerator;
 import com.someguyssoftware.treasure2.generator.chest.CommonChestGenerator;
 import com.someguyssoftware.treasure2.generator.chest.CrystalSkullChestGenerator;
@@ -65,7 +64,10 @@ import com.someguyssoftware.treasure2.generator.pit.VolcanoPitGenerator;
 import com.someguyssoftware.treasure2.generator.ruins.SurfaceRuinGenerator;
 import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry.GenerationState;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateHolder;
+import com.someguyssoftware.treasure2.worldgen.GenerationMetrics.Rejection;
 
 import net.minecraft.init.Biomes;
 import net.minecraft.world.World;
@@ -82,9 +84,6 @@ import net.minecraftforge.common.BiomeDictionary;
 public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 	protected static int UNDERGROUND_OFFSET = 5;
 	
-	private int chunksSinceLastChest;
-	private Map<Rarity, Integer> chunksSinceLastRarityChest;
-	
 	// the chest chestGeneratorsMap
 	private Map<Rarity, RandomWeightedCollection<IChestGenerator>> chestGenMap = new HashMap<>();
 
@@ -106,15 +105,6 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 	
 	@Override
 	public void init() {
-		// TODO all these values need to be indexed by dimension
-		// initialize chunks since last array
-		chunksSinceLastChest = 0;
-		chunksSinceLastRarityChest = new HashMap<>(Rarity.values().length);
-		
-		// setup temporary rarity-generators map
-		for (Rarity rarity : Rarity.values()) {
-			chunksSinceLastRarityChest.put(rarity, 0);
-		}
 	
 		// setup chest collection generator maps
 		if (TreasureConfig.CHESTS.surfaceChests.configMap.get(COMMON).isEnableChest()) {
@@ -191,8 +181,14 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 	 */
 	@Override
 	public void generate(Random random, int chunkX, int chunkZ, World world, IChunkGenerator chunkGenerator, IChunkProvider chunkProvider) {
-		if (TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList().contains(Integer.valueOf(world.provider.getDimension()))) {
-			generate(world, random, chunkX, chunkZ);
+		if (TreasureConfig.WORLD_GEN.getGeneralProperties().isDimensionAllowed(world.provider.getDimension())) {
+			StructurePlacement.begin(world, WorldGeneratorType.SURFACE_CHEST, chunkX, chunkZ);
+			try {
+				GenerationMetrics.getInstance().time(WorldGeneratorType.SURFACE_CHEST, () -> generate(world, random, chunkX, chunkZ));
+			}
+			finally {
+				StructurePlacement.end(world);
+			}
 		}
 	}
 
@@ -220,11 +216,10 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 		}
 		
 		// increment the chunk counts
-		chunksSinceLastChest++;
-
+		GenerationState state = GenerationStateRegistry.getInstance().get(world.provider.getDimension());
+		int chunksSinceLastChest = state.incrementChunksSinceLast(WorldGeneratorType.SURFACE_CHEST);
 		for (Rarity rarity : RARITIES) {
-			Integer i = chunksSinceLastRarityChest.get(rarity);
-			chunksSinceLastRarityChest.put(rarity, ++i);			
+			state.incrementChunksSinceLastRarity(WorldGeneratorType.SURFACE_CHEST, rarity);
 		}
 
 		// test if min chunks was met
@@ -241,60 +236,61 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 				Treasure.LOGGER.warn("Unable to locate a chest for rarity {}.", rarity);
 				return;
 			}
-//			Treasure.logger.debug("Chunks since last {} chest: {}", rarity,  chunksSinceLastRarityChest.get(rarity) );
+//			Treasure.logger.debug("Chunks since last {} chest: {}", rarity,  state.getChunksSinceLastRarity(WorldGeneratorType.SURFACE_CHEST, rarity) );
 //			Treasure.logger.debug("Chunks per {} chest: {}", rarity, chestConfig.getChunksPerChest());
-    		if (chunksSinceLastRarityChest.get(rarity) >= chestConfig.getChunksPerChest()) {
+    		if (state.getChunksSinceLastRarity(WorldGeneratorType.SURFACE_CHEST, rarity) >= chestConfig.getChunksPerChest()) {
     			    			
 				// 1. test if chest meets the probability criteria
 				if (!RandomHelper.checkProbability(random, chestConfig.getGenProbability())) {
+					GenerationMetrics.getInstance().reject(WorldGeneratorType.SURFACE_CHEST, Rejection.PROBABILITY);
 //					Treasure.logger.debug("ChestConfig does not meet generate probability.");
 					return;
 				}
 				
 				// 2. test if the override (global) biome is allowed
-				TreasureBiomeHelper.Result biomeCheck =TreasureBiomeHelper.isBiomeAllowed(biome, chestConfig.getBiomeWhiteList(), chestConfig.getBiomeBlackList());
-				if(biomeCheck == Result.BLACK_LISTED ) {
-		    		if (WorldInfo.isClientSide(world)) {
-		    			Treasure.LOGGER.debug("{} is not a valid biome @ {}", biome.getBiomeName(), coords.toShortString());
-		    		}
-		    		else {
-		    			Treasure.LOGGER.debug("Biome {} is not valid @ {}",rarity.getValue(), coords.toShortString());
-		    		}					
+				if (!chestConfig.isBiomeAllowed(biome)) {
+					GenerationMetrics.getInstance().reject(WorldGeneratorType.SURFACE_CHEST, Rejection.BIOME);
+					if (Treasure.LOGGER.isDebugEnabled()) {
+						if (WorldInfo.isClientSide(world)) {
+							Treasure.LOGGER.debug("{} is not a valid biome @ {}", biome.getBiomeName(), coords.toShortString());
+						}
+						else {
+							Treasure.LOGGER.debug("Biome {} is not valid @ {}",rarity.getValue(), coords.toShortString());
+						}
+					}
 					return;
 				}
-				else if (biomeCheck == Result.OK) {
-				    if (!BiomeHelper.isBiomeAllowed(biome, chestConfig.getBiomeTypeWhiteList(), chestConfig.getBiomeTypeBlackList())) {
-				    	if (Treasure.LOGGER.isDebugEnabled()) {
-				    		if (WorldInfo.isClientSide(world)) {
-				    			Treasure.LOGGER.debug("{} is not a valid biome type @ {}", biome.getBiomeName(), coords.toShortString());
-				    		}
-				    		else {
-				    			Treasure.LOGGER.debug("Biome type of {} is not valid @ {}",rarity.getValue(), coords.toShortString());
-				    		}
-				    	}
-				    	return;
-				    }
-				}
 			    
      			// 3. check against all registered chests
      			if (isRegisteredChestWithinDistance(world, coords, TreasureConfig.CHESTS.surfaceChests.minDistancePerChest)) {
+     				GenerationMetrics.getInstance().reject(WorldGeneratorType.SURFACE_CHEST, Rejection.DISTANCE);
 //   					Treasure.logger.debug("The distance to the nearest treasure chest is less than the minimun required.");
      				return;
      			}
      			     			
     			// reset chunks since last common chest regardless of successful generation - makes more rare and realistic and configurable generation.
-    			chunksSinceLastRarityChest.put(rarity, 0);
+    			state.setChunksSinceLastRarity(WorldGeneratorType.SURFACE_CHEST, rarity, 0);
  			
     			// generate the chest/pit/chambers
 				Treasure.LOGGER.debug("Attempting to generate pit/chest.");
 				GeneratorResult<GeneratorData> result = null;
-				result = generate(world, random, coords, rarity, chestGenMap.get(rarity).next(), TreasureConfig.CHESTS.surfaceChests.configMap.get(rarity));
+				if (DeferredGenerationQueue.isEnabled()) {
+					// reserve the site now and build it from the deferred generation queue
+					DeferredGenerationQueue.enqueue(world, WorldGeneratorType.SURFACE_CHEST, coords, rarity, random);
+					result = new GeneratorResult<>(GeneratorData.class).success();
+				}
+				else {
+					result = generate(world, random, coords, rarity, chestGenMap.get(rarity).next(), TreasureConfig.CHESTS.surfaceChests.configMap.get(rarity));
+					if (result.isSuccess()) {
+						GenerationMetrics.getInstance().success(WorldGeneratorType.SURFACE_CHEST);
+					}
+				}
 				
     			if (result.isSuccess()) {
     				// add to registry
-    				ChestRegistry.getInstance().register(coords.toShortString(), new ChestInfo(rarity, coords));
+    				ChestRegistry.getInstance().register(world, new ChestInfo(rarity, coords));
     				// reset the chunk counts
-        			chunksSinceLastChest = 0;
+        			state.setChunksSinceLast(WorldGeneratorType.SURFACE_CHEST, 0);
     			}
     		}
 
@@ -376,7 +372,9 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 			return result.fail();
 		}
 	
+		GenerationMetrics.Timer timer = GenerationMetrics.getInstance().start(GenerationMetrics.CHEST_PREFIX + chestGenerator.getClass().getSimpleName());
 		GeneratorResult<ChestGeneratorData> chestResult = chestGenerator.generate(world, random, chestCoords, chestRarity, genResult.getData().getChestContext().getState());
+		timer.stop(chestResult.isSuccess());
 		if (!chestResult.isSuccess()) {
 			return result.fail();
 		}
@@ -423,7 +421,9 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 		SurfaceRuinGenerator generator = new SurfaceRuinGenerator();
 
 		// build the structure
+		GenerationMetrics.Timer timer = GenerationMetrics.getInstance().start(GenerationMetrics.SURFACE_RUIN);
 		GeneratorResult<ChestGeneratorData> genResult = generator.generate(world, random, spawnCoords, holder, decayRuleSet);
+		timer.stop(genResult.isSuccess());
 		Treasure.LOGGER.debug("surface struct result -> {}", genResult);
 		if (!genResult.isSuccess()) return result.fail();
 
@@ -445,7 +445,8 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 		GeneratorResult<ChestGeneratorData> pitResult = new GeneratorResult<ChestGeneratorData>(ChestGeneratorData.class);
 
 		// 2.5. check if it has 50% land
-		if (!WorldInfo.isSolidBase(world, markerCoords, 2, 2, 50)) {
+		if (!SiteEvaluator.forBase(world, markerCoords, 2, 2, 0).isSolidBase(markerCoords.getY(), 50)) {
+			GenerationMetrics.getInstance().reject(WorldGeneratorType.SURFACE_CHEST, Rejection.SOLID_BASE);
 			Treasure.LOGGER.debug("Coords [{}] does not meet solid base requires for {} x {}", markerCoords.toShortString(), 3, 3);
 			return result.fail();
 		}
@@ -466,7 +467,9 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 		Treasure.LOGGER.debug("Using pit generator -> {}", pitGenerator.getClass().getSimpleName());
 		
 		// 3. build the pit
+		GenerationMetrics.Timer timer = GenerationMetrics.getInstance().start(GenerationMetrics.PIT_PREFIX + pitGenerator.getClass().getSimpleName());
 		pitResult = pitGenerator.generate(world, random, markerCoords, spawnCoords);
+		timer.stop(pitResult.isSuccess());
 
 		if (!pitResult.isSuccess()) return result.fail();
 
@@ -536,6 +539,25 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 
 		return spawnPos;
 	}
+
+	@Override
+	public GeneratorResult<GeneratorData> generateDeferred(World world, Random random, ICoords coords, Rarity rarity) {
+		GeneratorResult<GeneratorData> result = new GeneratorResult<>(GeneratorData.class);
+		if (rarity != null && chestGenMap.containsKey(rarity)) {
+			result = generate(world, random, coords, rarity, chestGenMap.get(rarity).next(), TreasureConfig.CHESTS.surfaceChests.configMap.get(rarity));
+		}
+		if (!result.isSuccess()) {
+			releaseDeferred(world, coords);
+		}
+		return result;
+	}
+
+	@Override
+	public void releaseDeferred(World world, ICoords coords) {
+		// release the site that was reserved when it was queued
+		ChestRegistry.getInstance().unregister(world, coords);
+	}
+
 	/**
 	 * 
 	 * @param world
@@ -565,41 +587,7 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 	 * @return
 	 */
 	public boolean isRegisteredChestWithinDistance(World world, ICoords coords, int minDistance) {
-		
-		double minDistanceSq = minDistance * minDistance;
-		
-		// get a list of dungeons
-		List<ChestInfo> infos = ChestRegistry.getInstance().getValues();
-
-		if (infos == null || infos.size() == 0) {
-			Treasure.LOGGER.debug("Unable to locate the ChestConfig Registry or the Registry doesn't contain any values");
-			return false;
-		}
-		
-		for (ChestInfo info : infos) {
-			// calculate the distance to the poi
-			double distance = coords.getDistanceSq(info.getCoords());
-			if (distance < minDistanceSq) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	public int getChunksSinceLastChest() {
-		return chunksSinceLastChest;
-	}
-
-	public void setChunksSinceLastChest(int chunksSinceLastChest) {
-		this.chunksSinceLastChest = chunksSinceLastChest;
-	}
-
-	public Map<Rarity, Integer> getChunksSinceLastRarityChest() {
-		return chunksSinceLastRarityChest;
-	}
-
-	public void setChunksSinceLastRarityChest(Map<Rarity, Integer> chunksSinceLastRarityChest) {
-		this.chunksSinceLastRarityChest = chunksSinceLastRarityChest;
+		return ChestRegistry.getInstance().isWithinDistance(world, coords, minDistance);
 	}
 
 	public Map<Rarity, RandomWeightedCollection<IChestGenerator>> getChestGenMap() {
@@ -3,27 +3,27 @@
  */
 package com.someguyssoftware.treasure2.worldgen;
 
-import java.util.List;
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.biome.BiomeHelper;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
-import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper;
-import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper.Result;
-import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.config.IWellConfig;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.enums.Rarity;
 import com.someguyssoftware.treasure2.enums.Wells;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.generator.well.IWellGenerator;
 import com.someguyssoftware.treasure2.generator.well.WellGenerator;
 import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry.GenerationState;
+import com.someguyssoftware.treasure2.worldgen.GenerationMetrics.Rejection;
 
 import net.minecraft.init.Biomes;
 import net.minecraft.world.World;
@@ -41,8 +41,6 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 	// the number of blocks of half a chunk (radius) (a chunk is 16x16)
 	public static final int CHUNK_RADIUS = 8;
 
-	private int chunksSinceLastWell;
-
 	// the well geneators
 	private IWellGenerator<GeneratorResult<GeneratorData>> generator = new WellGenerator();
 
@@ -59,8 +57,6 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 
 	@Override
 	public void init() {
-		// intialize chunks since last array
-		chunksSinceLastWell = 0;
 	}
 
 	/**
@@ -68,8 +64,14 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 	 */
 	@Override
 	public void generate(Random random, int chunkX, int chunkZ, World world, IChunkGenerator chunkGenerator, IChunkProvider chunkProvider) {
-		if (TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList().contains(Integer.valueOf(world.provider.getDimension()))) {
-			generate(world, random, chunkX, chunkZ);
+		if (TreasureConfig.WORLD_GEN.getGeneralProperties().isDimensionAllowed(world.provider.getDimension())) {
+			StructurePlacement.begin(world, WorldGeneratorType.WELL, chunkX, chunkZ);
+			try {
+				GenerationMetrics.getInstance().time(WorldGeneratorType.WELL, () -> generate(world, random, chunkX, chunkZ));
+			}
+			finally {
+				StructurePlacement.end(world);
+			}
 		}
 //		switch(world.provider.getDimension()){
 //		case 0:
@@ -105,7 +107,8 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 		}
 		
 		// increment the chunk counts
-		chunksSinceLastWell++;
+		GenerationState state = GenerationStateRegistry.getInstance().get(world.provider.getDimension());
+		int chunksSinceLastWell = state.incrementChunksSinceLast(WorldGeneratorType.WELL);
 
 		GeneratorResult<GeneratorData> result = new GeneratorResult<>(GeneratorData.class);
 
@@ -128,46 +131,51 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 			if (chunksSinceLastWell >= wellConfig.getChunksPerWell()) {
 
 				// 1. test if correct biome
-				// TODO this whole biome check should be wrapped in a method that returns true/false
-				TreasureBiomeHelper.Result biomeCheck =TreasureBiomeHelper.isBiomeAllowed(biome, wellConfig.getBiomeWhiteList(), wellConfig.getBiomeBlackList());
-				if(biomeCheck == Result.BLACK_LISTED ) {
-					chunksSinceLastWell = 0;
-					return;
-				}
-				else if (biomeCheck == Result.OK) {
-					if (!BiomeHelper.isBiomeAllowed(biome, wellConfig.getBiomeTypeWhiteList(), wellConfig.getBiomeTypeBlackList())) {
-						if (Treasure.LOGGER.isDebugEnabled()) {
-				    		if (WorldInfo.isClientSide(world)) {
-				    			Treasure.LOGGER.debug("{} is not a valid biome @ {} for Well", biome.getBiomeName(), coords.toShortString());
-				    		}
-				    		else {
-				    			Treasure.LOGGER.debug("Biome is not valid @ {} for Well", coords.toShortString());
-				    		}
-						}
-						chunksSinceLastWell = 0;
-						return;
+				if (!wellConfig.isBiomeAllowed(biome)) {
+					GenerationMetrics.getInstance().reject(WorldGeneratorType.WELL, Rejection.BIOME);
+					if (Treasure.LOGGER.isDebugEnabled()) {
+			    		if (WorldInfo.isClientSide(world)) {
+			    			Treasure.LOGGER.debug("{} is not a valid biome @ {} for Well", biome.getBiomeName(), coords.toShortString());
+			    		}
+			    		else {
+			    			Treasure.LOGGER.debug("Biome is not valid @ {} for Well", coords.toShortString());
+			    		}
 					}
+					state.setChunksSinceLast(WorldGeneratorType.WELL, 0);
+					return;
 				}
 				
 				// 2. test if well meets the probability criteria
 //				Treasure.logger.debug("{} well probability: {}", well, wellConfig.getGenProbability());
 				if (!RandomHelper.checkProbability(random, wellConfig.getGenProbability())) {
+					GenerationMetrics.getInstance().reject(WorldGeneratorType.WELL, Rejection.PROBABILITY);
 					Treasure.LOGGER.debug("Well does not meet generate probability.");
 					return;
 				}
 
 				// increment chunks since last common chest regardless of successful generation - makes more rare and realistic and configurable generation.
-				chunksSinceLastWell++;    	    	
+				state.incrementChunksSinceLast(WorldGeneratorType.WELL);    	    	
 
 				// generate the well
 				Treasure.LOGGER.debug("Attempting to generate a well");
 //				isGenerated = generators.get(well)
-				result = generator.generate(world, random, coords, wellConfig); 
+				if (DeferredGenerationQueue.isEnabled()) {
+					DeferredGenerationQueue.enqueue(world, WorldGeneratorType.WELL, coords, null, random);
+					result.success();
+				}
+				else {
+					GenerationMetrics.Timer timer = GenerationMetrics.getInstance().start(GenerationMetrics.WELL);
+					result = generator.generate(world, random, coords, wellConfig); 
+					timer.stop(result.isSuccess());
+					if (result.isSuccess()) {
+						GenerationMetrics.getInstance().success(WorldGeneratorType.WELL);
+					}
+				}
 				Treasure.LOGGER.debug("well world gen result -> {}", result.isSuccess());
 				if (result.isSuccess()) {
 					// add to registry
 					//				ChestRegistry.getInstance().register(coords.toShortString(), new ChestInfo(rarity, coords));
-					chunksSinceLastWell = 0;
+					state.setChunksSinceLast(WorldGeneratorType.WELL, 0);
 				}
 			}
 			// save world data
@@ -178,6 +186,14 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 		}
 	}
 
+	@Override
+	public GeneratorResult<GeneratorData> generateDeferred(World world, Random random, ICoords coords, Rarity rarity) {
+		GenerationMetrics.Timer timer = GenerationMetrics.getInstance().start(GenerationMetrics.WELL);
+		GeneratorResult<GeneratorData> result = generator.generate(world, random, coords, TreasureConfig.WELL);
+		timer.stop(result.isSuccess());
+		return result;
+	}
+
 	/**
 	 * 
 	 * @param world
@@ -206,40 +222,7 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 	 * @return
 	 */
 	public boolean isRegisteredChestWithinDistance(World world, ICoords coords, int minDistance) {
-
-		double minDistanceSq = minDistance * minDistance;
-
-		// get a list of dungeons
-		List<ChestInfo> infos = ChestRegistry.getInstance().getValues();
-
-		if (infos == null || infos.size() == 0) {
-			Treasure.LOGGER.debug("Unable to locate the ChestConfig Registry or the Registry doesn't contain any values");
-			return false;
-		}
-
-		for (ChestInfo info : infos) {
-			// calculate the distance to the poi
-			double distance = coords.getDistanceSq(info.getCoords());
-			//		    Dungeons2.log.debug("Dungeon dist^2: " + distance);
-			if (distance < minDistanceSq) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	/**
-	 * @return the chunksSinceLastWell
-	 */
-	public int getChunksSinceLastWell() {
-		return chunksSinceLastWell;
-	}
-
-	/**
-	 * @param chunksSinceLastWell the chunksSinceLastWell to set
-	 */
-	public void setChunksSinceLastWell(int chunksSinceLastWell) {
-		this.chunksSinceLastWell = chunksSinceLastWell;
+		return ChestRegistry.getInstance().isWithinDistance(world, coords, minDistance);
 	}
 
 //	/**
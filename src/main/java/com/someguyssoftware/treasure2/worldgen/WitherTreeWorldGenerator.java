@@ -7,7 +7,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.biome.BiomeHelper;
 import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.enums.Direction;
 import com.someguyssoftware.gottschcore.positional.Coords;
@@ -15,8 +14,6 @@ import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
-import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper;
-import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper.Result;
 import com.someguyssoftware.treasure2.block.ITreasureBlock;
 import com.someguyssoftware.treasure2.block.SpanishMossBlock;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
@@ -27,14 +24,18 @@ import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.config.IWitherTreeConfig;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.generator.chest.WitherChestGenerator;
 import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry;
+import com.someguyssoftware.treasure2.registry.GenerationStateRegistry.GenerationState;
 import com.someguyssoftware.treasure2.registry.WitherTreeRegistry;
 import com.someguyssoftware.treasure2.registry.WitherTreeRegistry.WitherTreeInfo;
+import com.someguyssoftware.treasure2.worldgen.GenerationMetrics.Rejection;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockDirt;
@@ -102,8 +103,6 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		topMatrix.add(null);
 	}
 
-	private int chunksSinceLastTree;
-
 	/**
 	 * 
 	 */
@@ -119,8 +118,6 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 	 * 
 	 */
 	public void init() {
-		// intialize chunks since last array
-		chunksSinceLastTree = 0;
 	}
 
 	/**
@@ -129,9 +126,14 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 	@Override
 	public void generate(Random random, int chunkX, int chunkZ, World world, IChunkGenerator chunkGenerator,
 			IChunkProvider chunkProvider) {
-		if (TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList()
-				.contains(Integer.valueOf(world.provider.getDimension()))) {
-			generate(world, random, chunkX, chunkZ);
+		if (TreasureConfig.WORLD_GEN.getGeneralProperties().isDimensionAllowed(world.provider.getDimension())) {
+			StructurePlacement.begin(world, WorldGeneratorType.WITHER_TREE, chunkX, chunkZ);
+			try {
+				GenerationMetrics.getInstance().time(WorldGeneratorType.WITHER_TREE, () -> generate(world, random, chunkX, chunkZ));
+			}
+			finally {
+				StructurePlacement.end(world);
+			}
 		}
 	}
 
@@ -162,7 +164,8 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		Integer biomeID = Biome.getIdForBiome(biome);
 		
 		// increment the chunk counts
-		chunksSinceLastTree++;
+		GenerationState state = GenerationStateRegistry.getInstance().get(world.provider.getDimension());
+		int chunksSinceLastTree = state.incrementChunksSinceLast(WorldGeneratorType.WITHER_TREE);
 
 		// test if min chunks was met
 		if (chunksSinceLastTree > TreasureConfig.WITHER_TREE.chunksPerTree) {
@@ -181,58 +184,65 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 			if (chunksSinceLastTree >= treeConfig.getChunksPerTree()) {
 				// 1. test if correct biome
 				// if not the correct biome, reset the count
-				TreasureBiomeHelper.Result biomeCheck = TreasureBiomeHelper.isBiomeAllowed(biome,
-						treeConfig.getBiomeWhiteList(), treeConfig.getBiomeBlackList());
-				if (biomeCheck == Result.BLACK_LISTED) {
-					chunksSinceLastTree = 0;
-					return;
-				} else if (biomeCheck == Result.OK) {
-					if (!BiomeHelper.isBiomeAllowed(biome, treeConfig.getBiomeTypeWhiteList(),
-							treeConfig.getBiomeTypeBlackList())) {
-						if (Treasure.LOGGER.isDebugEnabled()) {
-							if (WorldInfo.isClientSide(world)) {
-								Treasure.LOGGER.debug("{} is not a valid biome @ {} for Wither Tree",
-										biome.getBiomeName(), coords.toShortString());
-							} else {
-								Treasure.LOGGER.debug("Biome is not valid @ {} for Wither Tree",
-										coords.toShortString());
-							}
+				if (!treeConfig.isBiomeAllowed(biome)) {
+					GenerationMetrics.getInstance().reject(WorldGeneratorType.WITHER_TREE, Rejection.BIOME);
+					if (Treasure.LOGGER.isDebugEnabled()) {
+						if (WorldInfo.isClientSide(world)) {
+							Treasure.LOGGER.debug("{} is not a valid biome @ {} for Wither Tree",
+									biome.getBiomeName(), coords.toShortString());
+						} else {
+							Treasure.LOGGER.debug("Biome is not valid @ {} for Wither Tree",
+									coords.toShortString());
 						}
-						chunksSinceLastTree = 0;
-						return;
 					}
+					state.setChunksSinceLast(WorldGeneratorType.WITHER_TREE, 0);
+					return;
 				}
 
 				// 2. test if well meets the probability criteria
 //				Treasure.logger.debug("wither tree probability: {}", treeConfig.getGenProbability());
 				if (!RandomHelper.checkProbability(random, treeConfig.getGenProbability())) {
+					GenerationMetrics.getInstance().reject(WorldGeneratorType.WITHER_TREE, Rejection.PROBABILITY);
 					Treasure.LOGGER.debug("Wither does not meet generate probability.");
 					return;
 				}
 
 				// 3. check against all registered chests
 				if (isRegisteredChestWithinDistance(world, coords, TreasureConfig.CHESTS.surfaceChests.minDistancePerChest)) {
+					GenerationMetrics.getInstance().reject(WorldGeneratorType.WITHER_TREE, Rejection.DISTANCE);
 					Treasure.LOGGER.debug("The distance to the nearest treasure chest is less than the minimun required.");
 					return;
 				}
 				
 				// 4. check against all wither trees
 				if (isRegisteredWitherTreeWithinDistance(world, coords, dimensionID, TreasureConfig.WITHER_TREE.minDistancePerWitherTree)) {
+					GenerationMetrics.getInstance().reject(WorldGeneratorType.WITHER_TREE, Rejection.DISTANCE);
 					Treasure.LOGGER.debug("The distance to the nearest wither tree is less than the minimun required.");
 					return;
 				}
 
 				// increment chunks since last tree regardless of successful generation - makes
 				// more rare and realistic and configurable generation.
-				chunksSinceLastTree = 0;
+				state.setChunksSinceLast(WorldGeneratorType.WITHER_TREE, 0);
 
 				// generate the well
 				Treasure.LOGGER.debug("Attempting to generate a wither tree");
-				GeneratorResult<GeneratorData> result = generate(world, random, coords, treeConfig);
+				GeneratorResult<GeneratorData> result = null;
+				if (DeferredGenerationQueue.isEnabled()) {
+					// reserve the site now and build it from the deferred generation queue
+					DeferredGenerationQueue.enqueue(world, WorldGeneratorType.WITHER_TREE, coords, Rarity.SCARCE, random);
+					result = new GeneratorResult<>(GeneratorData.class).success();
+				}
+				else {
+					result = generate(world, random, coords, treeConfig);
+					if (result.isSuccess()) {
+						GenerationMetrics.getInstance().success(WorldGeneratorType.WITHER_TREE);
+					}
+				}
 
 				if (result.isSuccess()) {
 					// add to registry
-					ChestRegistry.getInstance().register(coords.toShortString(), new ChestInfo(Rarity.SCARCE, coords));
+					ChestRegistry.getInstance().register(world, new ChestInfo(Rarity.SCARCE, coords));
     				WitherTreeRegistry.getInstance().register(dimensionID, coords, biomeID);
 				}
 			}
@@ -244,6 +254,22 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		}
 	}
 	
+	@Override
+	public GeneratorResult<GeneratorData> generateDeferred(World world, Random random, ICoords coords, Rarity rarity) {
+		GeneratorResult<GeneratorData> result = generate(world, random, coords, TreasureConfig.WITHER_TREE);
+		if (!result.isSuccess()) {
+			releaseDeferred(world, coords);
+		}
+		return result;
+	}
+
+	@Override
+	public void releaseDeferred(World world, ICoords coords) {
+		// release the site that was reserved when it was queued
+		ChestRegistry.getInstance().unregister(world, coords);
+		WitherTreeRegistry.getInstance().unregister(world.provider.getDimension(), coords);
+	}
+
 	/**
 	 * 
 	 * @param world
@@ -312,6 +338,10 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 			int degrees = RandomHelper.randomInt(0, DEGREES);
 
 			ICoords c = witherTreeCoords.rotate(xlen, zlen, degrees);
+			// don't generate a chunk to find the ground
+			if (!StructurePlacement.isAvailable(world, c)) {
+				continue;
+			}
 
 			// get the yspawn
 			c = WorldInfo.getDryLandSurfaceCoords(world, c.withY(WorldInfo.getHeightValue(world, c)));
@@ -345,8 +375,10 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 			return result.fail();
 		}
 		WitherChestGenerator chestGen = new WitherChestGenerator();
+		GenerationMetrics.Timer timer = GenerationMetrics.getInstance().start(GenerationMetrics.CHEST_PREFIX + chestGen.getClass().getSimpleName());
 		GeneratorResult<ChestGeneratorData> chestResult = chestGen.generate(world, random, chestCoords, Rarity.SCARCE,
 				null);
+		timer.stop(chestResult.isSuccess());
 		if (!chestResult.isSuccess()) {
 			return result.fail();
 		}
@@ -365,6 +397,9 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		for (int scrubIndex = 0; scrubIndex < RandomHelper.randomInt(MIN_SCRUB, MAX_SCRUB); scrubIndex++) {
 			int xOffset = (int) (random.nextFloat() * width - (width/2));
 			int zOffset = (int) (random.nextFloat() * depth - (depth/2));
+			if (!StructurePlacement.isAvailable(world, centerCoords.getX() + xOffset, centerCoords.getZ() + zOffset)) {
+				continue;
+			}
 			
 			ICoords surfaceCoords = WorldInfo.getDryLandSurfaceCoords(world, centerCoords.add(xOffset, 0, zOffset).withY(255));
 //			Treasure.logger.debug("adding scrub at -> {}", surfaceCoords.toShortString());
@@ -373,10 +408,10 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 			if (supportBlock == Blocks.DIRT || supportBlock == Blocks.SAND) {
 				// randomize between bush and stump
 				if (RandomHelper.checkProbability(random, 25)) {
-					world.setBlockState(surfaceCoords.toPos(), Blocks.LOG.getDefaultState());
+					StructurePlacement.setBlockState(world, surfaceCoords.toPos(), Blocks.LOG.getDefaultState());
 				}
 				else {
-					world.setBlockState(surfaceCoords.toPos(), Blocks.DEADBUSH.getDefaultState());
+					StructurePlacement.setBlockState(world, surfaceCoords.toPos(), Blocks.DEADBUSH.getDefaultState());
 				}
 			}
 		}
@@ -392,6 +427,9 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 			// randomize a position within the aabb
 			int xOffset = (int) (random.nextFloat() * width - (width/2));
 			int zOffset = (int) (random.nextFloat() * depth - (depth/2));
+			if (!StructurePlacement.isAvailable(world, centerCoords.getX() + xOffset, centerCoords.getZ() + zOffset)) {
+				continue;
+			}
 			
 			ICoords rocksCoords = WorldInfo.getDryLandSurfaceCoords(world, centerCoords.add(xOffset, 0, zOffset).withY(255));
 			rocksCoords = rocksCoords.down(1);
@@ -407,7 +445,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 					for (int x = 0; x < 2; x++) {
 						if (RandomHelper.checkProbability(random, 70)) {
 							ICoords spawnCoords = new Coords(rocksCoords).add(x, y, z);
-							world.setBlockState(spawnCoords.toPos(), Blocks.MOSSY_COBBLESTONE.getDefaultState());
+							StructurePlacement.setBlockState(world, spawnCoords.toPos(), Blocks.MOSSY_COBBLESTONE.getDefaultState());
 						}
 					}
 				}
@@ -427,6 +465,10 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		for (int xOffset = -(CLEARING_RADIUS); xOffset <= CLEARING_RADIUS; xOffset++) {
 			for (int zOffset = -(CLEARING_RADIUS); zOffset <= CLEARING_RADIUS; zOffset++) {
 				if (Math.abs(xOffset) + Math.abs(zOffset) <= CLEARING_RADIUS) {
+					// the column can't be cleared without reading it
+					if (!StructurePlacement.isAvailable(world, coords.getX() + xOffset, coords.getZ() + zOffset)) {
+						continue;
+					}
 
 					// find the first surface
 					int yHeight = WorldInfo.getHeightValue(world, coords.add(xOffset, 255, zOffset));
@@ -441,11 +483,11 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 						}
 						if (RandomHelper.checkProbability(random, DIRT_REPLACEMENT_PROBABILITY)) {
 							if (Math.abs(xOffset) < 4 && Math.abs(zOffset) < 4 && !(Math.abs(xOffset) == 3 && Math.abs(zOffset) == 3)) {
-								world.setBlockState(buildCoords.add(0, -1, 0).toPos(),
+								StructurePlacement.setBlockState(world, buildCoords.add(0, -1, 0).toPos(),
 										Blocks.DIRT.getDefaultState()
 										.withProperty(BlockDirt.VARIANT, BlockDirt.DirtType.PODZOL));
 							} else {
-								world.setBlockState(buildCoords.add(0, -1, 0).toPos(),
+								StructurePlacement.setBlockState(world, buildCoords.add(0, -1, 0).toPos(),
 										Blocks.DIRT.getDefaultState()
 										.withProperty(BlockDirt.VARIANT, BlockDirt.DirtType.DIRT));
 							}
@@ -457,7 +499,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 					// remove the tree
 					while (cube.equalsBlock(Blocks.LOG) || cube.equalsBlock(Blocks.LOG2)) {
 						// remove log
-						world.setBlockToAir(climbCoords.toPos());
+						StructurePlacement.setBlockToAir(world, climbCoords.toPos());
 						// climb upwards
 						climbCoords = climbCoords.add(0, 1, 0);
 						cube = new Cube(world, climbCoords);
@@ -483,14 +525,14 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		for (int y = 0; y < maxSize; y++) {
 			if (y == 0) {
 				if (!hasLifeBeenAdded) {
-					world.setBlockState(coords.add(0, y, 0).toPos(), TreasureBlocks.WITHER_LOG_SOUL.getDefaultState());
+					StructurePlacement.setBlockState(world, coords.add(0, y, 0).toPos(), TreasureBlocks.WITHER_LOG_SOUL.getDefaultState());
 					hasLifeBeenAdded = true;
 					continue;
 				}
 			}
 
 			// add the trunk
-			world.setBlockState(coords.add(0, y, 0).toPos(), TreasureBlocks.WITHER_LOG.getDefaultState());
+			StructurePlacement.setBlockState(world, coords.add(0, y, 0).toPos(), TreasureBlocks.WITHER_LOG.getDefaultState());
 
 			// add the branches/roots
 			if (y == 0) {
@@ -527,7 +569,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 				if (trunkIndex == 2 && y == 2) { // TODO <-- select the right index and the face facing in the right
 													// direction
 					if (!hasLifeBeenAdded) {
-						world.setBlockState(trunkCoords[trunkIndex].add(0, y, 0).toPos(),
+						StructurePlacement.setBlockState(world, trunkCoords[trunkIndex].add(0, y, 0).toPos(),
 								TreasureBlocks.WITHER_LOG_SOUL.getDefaultState()
 										.withProperty(WitherLogSoulBlock.APPEARANCE, WitherLogSoulBlock.Appearance.FACE)
 										.withProperty(WitherLogSoulBlock.FACING, EnumFacing.SOUTH));
@@ -537,7 +579,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 				}
 
 				// add the trunk
-				world.setBlockState(trunkCoords[trunkIndex].add(0, y, 0).toPos(),
+				StructurePlacement.setBlockState(world, trunkCoords[trunkIndex].add(0, y, 0).toPos(),
 						TreasureBlocks.WITHER_LOG.getDefaultState());
 
 				// add the decorations (branches, roots, top)
@@ -571,7 +613,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 			IBlockState state = TreasureBlocks.WITHER_BROKEN_LOG.getDefaultState().withProperty(WitherRootBlock.FACING,
 					direction.toFacing());
 			// add the top log to the world
-			world.setBlockState(coords.add(0, y, 0).toPos(), state);
+			StructurePlacement.setBlockState(world, coords.add(0, y, 0).toPos(), state);
 		}
 	}
 
@@ -588,6 +630,9 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 			if (RandomHelper.checkProbability(random, WITHER_ROOT_PROBABILITY)) {
 				// update the coords to the correct position
 				ICoords c = coords.add(d, 1);
+				if (!StructurePlacement.isAvailable(world, c)) {
+					continue;
+				}
 				Cube groundCube = new Cube(world, c.down(1));
 				Cube replaceCube = new Cube(world, c);
 				if (groundCube.isSolid() && groundCube.isTopSolid()
@@ -598,7 +643,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 							.withProperty(WitherRootBlock.ACTIVATED, true);
 
 					// add the branch to the world
-					world.setBlockState(c.toPos(), state);
+					StructurePlacement.setBlockState(world, c.toPos(), state);
 //					 Treasure.logger.debug("Wither Tree building root @ " +  coords.toShortString());					
 				}
 			}
@@ -628,6 +673,9 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 				ICoords c = trunkCoords;
 				for (int segment = 0; segment < branchSize; segment++) {
 					c = c.add(d, 1);
+					if (!StructurePlacement.isAvailable(world, c)) {
+						break;
+					}
 					Cube replaceCube = new Cube(world, c);
 
 					// if there is a branch directly below, don't build
@@ -641,13 +689,13 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 								.withProperty(WitherBranchBlock.FACING, d.toFacing());
 
 						// add the branch to the world
-						world.setBlockState(c.add(0, y, 0).toPos(), state);
+						StructurePlacement.setBlockState(world, c.add(0, y, 0).toPos(), state);
 
 						// add spanish moss
 						if (RandomHelper.checkProbability(random, SPANISH_MOSS_PROBABILITY)) {
 							replaceCube = new Cube(world, c.add(0, y - 1, 0));
 							if (replaceCube.isAir() || replaceCube.isReplaceable()) {
-								world.setBlockState(c.add(0, y - 1, 0).toPos(), TreasureBlocks.SPANISH_MOSS
+								StructurePlacement.setBlockState(world, c.add(0, y - 1, 0).toPos(), TreasureBlocks.SPANISH_MOSS
 										.getDefaultState().withProperty(SpanishMossBlock.ACTIVATED, true));
 							}
 						}
@@ -689,26 +737,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 	 * @return
 	 */
 	public boolean isRegisteredChestWithinDistance(World world, ICoords coords, int minDistance) {
-
-		double minDistanceSq = minDistance * minDistance;
-
-		// get a list of dungeons
-		List<ChestInfo> infos = ChestRegistry.getInstance().getValues();
-
-		if (infos == null || infos.size() == 0) {
-			Treasure.LOGGER
-					.debug("Unable to locate the ChestConfig Registry or the Registry doesn't contain any values");
-			return false;
-		}
-
-		for (ChestInfo info : infos) {
-			// calculate the distance to the poi
-			double distance = coords.getDistanceSq(info.getCoords());
-			if (distance < minDistanceSq) {
-				return true;
-			}
-		}
-		return false;
+		return ChestRegistry.getInstance().isWithinDistance(world, coords, minDistance);
 	}
 
 	/**
@@ -738,18 +767,4 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		return false;
 	}
 	
-	/**
-	 * @return the chunksSinceLastTree
-	 */
-	public int getChunksSinceLastTree() {
-		return chunksSinceLastTree;
-	}
-
-	/**
-	 * 
-	 * @param chunksSinceLastTree
-	 */
-	public void setChunksSinceLastTree(int chunksSinceLastTree) {
-		this.chunksSinceLastTree = chunksSinceLastTree;
-	}
 }